@@ -0,0 +1,60 @@
+#!/usr/bin/env sh
+# Starts the servlet application (port 8080) and the reactive module (port 8081) on one shared MySQL database,
+# runs TransactionApiStackBenchmark against both and writes the JMH results as JSON to
+# benchmarks/results/stacks-<git describe>-<timestamp>.json. Bulkheads are disabled so both stacks are limited
+# only by their own threading model. Extra arguments are passed to JMH, e.g. "./compare-stacks.sh -t 256".
+#
+# The database is taken from WALLET_DB_HOST, WALLET_DB_PORT, WALLET_DB_NAME, WALLET_DB_USER and WALLET_DB_PASSWORD;
+# the servlet application recreates its schema there. Embedded H2 is not an option: r2dbc-h2 runs its queries
+# synchronously on the event loop, which would measure the driver rather than the stack.
+set -e
+
+cd "$(dirname "$0")/.."
+DB_HOST=${WALLET_DB_HOST:-localhost}
+DB_PORT=${WALLET_DB_PORT:-3306}
+DB_NAME=${WALLET_DB_NAME:-digital_wallet_stacks}
+DB_USER=${WALLET_DB_USER:-root}
+DB_PASSWORD=${WALLET_DB_PASSWORD:-}
+
+./mvnw -q -B install -DskipTests
+(cd reactive && ../mvnw -q -B package -DskipTests)
+(cd benchmarks && ../mvnw -q -B package)
+
+SECRET=stack-comparison-secret-key-for-wallet-service-0123456789
+mkdir -p benchmarks/results
+LOGS=benchmarks/results
+PIDS=""
+trap 'kill $PIDS 2>/dev/null' EXIT INT TERM
+
+java -jar target/wallet-service-0.0.1-SNAPSHOT.jar --server.port=8080 \
+    --spring.datasource.url="jdbc:mysql://$DB_HOST:$DB_PORT/$DB_NAME?createDatabaseIfNotExist=true" \
+    --spring.datasource.username="$DB_USER" --spring.datasource.password="$DB_PASSWORD" \
+    --spring.jpa.hibernate.ddl-auto=create \
+    --jwt.secret="$SECRET" --wallet.warmup.enabled=false --wallet.bulkhead.enabled=false \
+    --logging.level.root=WARN --logging.level.org.springframework.security=WARN \
+    > "$LOGS/stacks-servlet.log" 2>&1 &
+PIDS="$PIDS $!"
+
+wait_for() {
+    for _ in $(seq 1 120); do
+        if curl -sf "$1/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "$1 did not become healthy" >&2
+    exit 1
+}
+wait_for http://localhost:8080
+
+java -jar reactive/target/wallet-service-reactive-0.0.1-SNAPSHOT.jar --server.port=8081 \
+    --spring.r2dbc.url="r2dbc:mysql://$DB_HOST:$DB_PORT/$DB_NAME" \
+    --spring.r2dbc.username="$DB_USER" --spring.r2dbc.password="$DB_PASSWORD" \
+    --jwt.secret="$SECRET" --logging.level.root=WARN > "$LOGS/stacks-reactive.log" 2>&1 &
+PIDS="$PIDS $!"
+wait_for http://localhost:8081
+
+cd benchmarks
+RESULT="results/stacks-$(git describe --tags --always --dirty)-$(date +%Y%m%d-%H%M%S).json"
+java -jar target/benchmarks.jar TransactionApiStackBenchmark -rf json -rff "$RESULT" "$@"
+echo "Results written to benchmarks/$RESULT"
@@ -0,0 +1,17 @@
+#!/usr/bin/env sh
+# Builds the application and the benchmarks, then runs the benchmarks and writes the JMH results as JSON to
+# benchmarks/results/<git describe>-<timestamp>.json so they can be compared across releases.
+# Extra arguments are passed to JMH, e.g. "./run-benchmarks.sh Jwt" to run only the JWT benchmarks.
+set -e
+
+cd "$(dirname "$0")/.."
+./mvnw -q -B install -DskipTests
+
+cd benchmarks
+../mvnw -q -B package
+
+mkdir -p results
+RESULT="results/$(git describe --tags --always --dirty)-$(date +%Y%m%d-%H%M%S).json"
+# TransactionApiStackBenchmark needs running servers and is run by compare-stacks.sh instead
+java -jar target/benchmarks.jar -e TransactionApiStackBenchmark -rf json -rff "$RESULT" "$@"
+echo "Results written to benchmarks/$RESULT"
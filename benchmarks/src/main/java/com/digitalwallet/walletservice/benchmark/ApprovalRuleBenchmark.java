@@ -0,0 +1,65 @@
+package com.digitalwallet.walletservice.benchmark;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.CustomerTier;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.rules.ApprovalContext;
+import com.digitalwallet.walletservice.rules.ApprovalRule;
+import com.digitalwallet.walletservice.rules.ApprovalRuleParser;
+import com.digitalwallet.walletservice.rules.ApprovalRuleSet;
+import com.digitalwallet.walletservice.rules.RuleHits;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluating the auto-approval rules on the deposit/withdraw path, with and without a time of day rule.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApprovalRuleBenchmark {
+
+    @Param({"false", "true"})
+    private boolean timeOfDay;
+
+    private ApprovalRuleSet ruleSet;
+    private ApprovalContext context;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> definition = new HashMap<>();
+        definition.put("zone", "Europe/Istanbul");
+        definition.put("default.max-amount", "1000");
+        for (int i = 0; i < 10; i++) {
+            definition.put("rule.r" + i + ".currencies", "USD,EUR");
+            definition.put("rule.r" + i + ".min-recent-count", String.valueOf(i + 1));
+            definition.put("rule.r" + i + ".max-amount", "500");
+        }
+        definition.put("rule.night.hours", "00:00-06:00");
+        definition.put("rule.night.max-amount", "250");
+        definition.put("rule.premium.tiers", "PREMIUM");
+        definition.put("rule.premium.max-amount", "20000");
+        definition.put("rules", "r0,r1,r2,r3,r4,r5,r6,r7,r8,r9," + (timeOfDay ? "night," : "") + "premium");
+        if (!timeOfDay) {
+            definition.remove("rule.night.hours");
+            definition.remove("rule.night.max-amount");
+        }
+        ruleSet = ApprovalRuleParser.parse(definition, 1, "benchmark", name -> new RuleHits());
+        context = new ApprovalContext(TransactionType.WITHDRAW, Currency.TRY, CustomerTier.STANDARD,
+                OppositePartyType.IBAN, new BigDecimal("750.00"), 2, new BigDecimal("1200.00"),
+                System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public ApprovalRule evaluate() {
+        return ruleSet.evaluate(context);
+    }
+}
@@ -0,0 +1,29 @@
+package com.digitalwallet.walletservice.benchmark;
+
+import com.digitalwallet.walletservice.WalletServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the wallet service against an embedded H2 database for benchmarks that need the full application.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Starts the application with {@code benchmark.properties} instead of the application's own configuration.
+     *
+     * @param overrides further properties as command line arguments ({@code --name=value})
+     * @return the running application context; callers must close it
+     */
+    static ConfigurableApplicationContext start(String... overrides) {
+        String[] args = new String[overrides.length + 1];
+        args[0] = "--spring.config.name=benchmark";
+        System.arraycopy(overrides, 0, args, 1, overrides.length);
+        return new SpringApplicationBuilder(WalletServiceApplication.class)
+                .logStartupInfo(false)
+                .run(args);
+    }
+}
@@ -0,0 +1,103 @@
+package com.digitalwallet.walletservice.benchmark;
+
+import com.digitalwallet.walletservice.dto.DepositRequest;
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Employee;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.digitalwallet.walletservice.service.GroupCommitExecutor;
+import com.digitalwallet.walletservice.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares deposits committed one by one with deposits committed through {@link GroupCommitExecutor}, with 16
+ * threads on a file-backed H2 database, so every commit writes the transaction log. Every thread deposits into its
+ * own wallet.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class GroupCommitBenchmark {
+
+    private static final String IBAN = "TR330006100519786457841326";
+
+    @Param({"false", "true"})
+    private boolean groupCommit;
+
+    private final AtomicLong tckns = new AtomicLong(10_000_000_000L);
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private WalletRepository walletRepository;
+    private CustomerRepository customerRepository;
+    private GroupCommitExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "--spring.datasource.url=jdbc:h2:file:./target/h2/group-commit;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        transactionService = context.getBean(TransactionService.class);
+        walletRepository = context.getBean(WalletRepository.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        executor = new GroupCommitExecutor(context.getBean(PlatformTransactionManager.class), groupCommit,
+                Duration.ofMillis(2), 256, 4096, Duration.ofSeconds(30));
+        executor.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.stop();
+        context.close();
+    }
+
+    /**
+     * Per-thread wallet and employee authentication. A customer has one wallet per currency, so every thread
+     * gets its own customer.
+     */
+    @State(Scope.Thread)
+    public static class WalletState {
+
+        private Long walletId;
+
+        @Setup(Level.Trial)
+        public void setUp(GroupCommitBenchmark benchmark) {
+            Customer customer = benchmark.customerRepository.save(new Customer(null, "Bench", "Mark", "secret",
+                    String.valueOf(benchmark.tckns.incrementAndGet())));
+            walletId = benchmark.walletRepository.save(new Wallet(null, "Bench", Currency.TRY, true, true,
+                    BigDecimal.ZERO, BigDecimal.ZERO, customer)).getId();
+            Employee employee = new Employee(1L, "Kemal", "Yildiz", "secret", "kemal@company.com");
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    employee, null, List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public TransactionResponse deposit(WalletState wallet) {
+        DepositRequest request = new DepositRequest(wallet.walletId, BigDecimal.ONE, IBAN, OppositePartyType.IBAN);
+        return executor.submit(() -> transactionService.deposit(request));
+    }
+}
@@ -0,0 +1,62 @@
+package com.digitalwallet.walletservice.benchmark;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing {@link TransactionResponse} lists, as returned by the transaction list endpoint,
+ * with an {@link ObjectMapper} configured like the one Spring Boot creates, without the application's
+ * {@code WalletJsonModule}; see {@link TransactionHistorySerializationBenchmark} for the fast path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<TransactionResponse> responses;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot writes ISO-8601 timestamps
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TransactionResponse response = new TransactionResponse();
+            response.setId((long) i);
+            response.setWalletId(1L);
+            response.setAmount(new BigDecimal("125.50"));
+            response.setType(i % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAW);
+            response.setOppositePartyType(OppositePartyType.IBAN);
+            response.setOppositeParty("TR330006100519786457841326");
+            response.setStatus(TransactionStatus.APPROVED);
+            response.setCreatedAt(LocalDateTime.of(2025, 7, 31, 12, 0).plusMinutes(i));
+            responses.add(response);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
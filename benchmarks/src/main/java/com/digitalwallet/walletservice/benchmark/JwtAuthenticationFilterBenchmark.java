@@ -0,0 +1,77 @@
+package com.digitalwallet.walletservice.benchmark;
+
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Employee;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.EmployeeRepository;
+import com.digitalwallet.walletservice.security.JwtAuthenticationFilter;
+import com.digitalwallet.walletservice.security.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JwtAuthenticationFilter} end to end: parsing the token, loading the user from the
+ * embedded database and populating the security context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private ConfigurableApplicationContext context;
+    private JwtAuthenticationFilter filter;
+    private String customerHeader;
+    private String employeeHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        filter = context.getBean(JwtAuthenticationFilter.class);
+        JwtService jwtService = context.getBean(JwtService.class);
+
+        Customer customer = context.getBean(CustomerRepository.class)
+                .save(new Customer(null, "Bench", "Mark", "secret", "10000000146"));
+        Employee employee = context.getBean(EmployeeRepository.class)
+                .save(new Employee(null, "Kemal", "Yildiz", "secret", "kemal@company.com"));
+        customerHeader = "Bearer " + jwtService.generateToken(customer);
+        employeeHeader = "Bearer " + jwtService.generateToken(employee);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication customerToken() throws Exception {
+        return authenticate(customerHeader);
+    }
+
+    @Benchmark
+    public Authentication employeeToken() throws Exception {
+        return authenticate(employeeHeader);
+    }
+
+    private Authentication authenticate(String header) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/wallets");
+        request.addHeader("Authorization", header);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.digitalwallet.walletservice.benchmark;
+
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.security.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures signing and validating JWT tokens with {@link JwtService}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private Customer customer;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService("benchmark-secret-key-for-wallet-service-0123456789abcdef");
+        jwtService.init();
+        customer = new Customer(1L, "Bench", "Mark", "secret", "10000000146");
+        token = jwtService.generateToken(customer);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(customer);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, customer);
+    }
+}
@@ -0,0 +1,119 @@
+package com.digitalwallet.walletservice.benchmark;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.WalletResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.mapper.TransactionMapper;
+import com.digitalwallet.walletservice.mapper.WalletMapper;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Transaction;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the wallet list and transaction history reads before and after they were turned into DTO projections,
+ * against an embedded H2 database: loading managed entities and mapping them, as the services used to, versus the
+ * constructor-expression queries of the repositories. Both run in a read-only transaction, like the services.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation per read ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListQueryBenchmark {
+
+    @Param({"100"})
+    private int transactions;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private EntityManager entityManager;
+    private WalletRepository walletRepository;
+    private TransactionRepository transactionRepository;
+    private Long customerId;
+    private Long walletId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        walletRepository = context.getBean(WalletRepository.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+
+        Customer customer = context.getBean(CustomerRepository.class)
+                .save(new Customer(null, "Bench", "Mark", "secret", "10000000278"));
+        customerId = customer.getId();
+        Wallet wallet = null;
+        for (Currency currency : Currency.values()) {
+            wallet = walletRepository.save(new Wallet(null, "Bench " + currency, currency, true, true,
+                    BigDecimal.ZERO, BigDecimal.ZERO, customer));
+        }
+        walletId = wallet.getId();
+        List<Transaction> history = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            history.add(new Transaction(null, new BigDecimal("125.50"), TransactionType.DEPOSIT,
+                    OppositePartyType.IBAN, "TR330006100519786457841326", TransactionStatus.APPROVED, null, wallet));
+        }
+        transactionRepository.saveAll(history);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionResponse> historyFromEntities() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select t from Transaction t where t.wallet.id = :walletId order by t.createdAt, t.id",
+                        Transaction.class)
+                .setParameter("walletId", walletId)
+                .getResultStream()
+                .map(TransactionMapper::toResponse)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<TransactionResponse> historyProjection() {
+        return readOnlyTransaction.execute(status -> transactionRepository.findResponsesByWalletId(walletId));
+    }
+
+    @Benchmark
+    public List<WalletResponse> walletsFromEntities() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select w from Wallet w where w.customer.id = :customerId order by w.id", Wallet.class)
+                .setParameter("customerId", customerId)
+                .getResultStream()
+                .map(WalletMapper::toResponse)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<WalletResponse> walletsProjection() {
+        return readOnlyTransaction.execute(status -> walletRepository.findResponsesByCustomerId(customerId));
+    }
+}
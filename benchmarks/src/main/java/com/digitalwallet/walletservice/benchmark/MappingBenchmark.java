@@ -0,0 +1,67 @@
+package com.digitalwallet.walletservice.benchmark;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.WalletResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.mapper.TransactionMapper;
+import com.digitalwallet.walletservice.mapper.WalletMapper;
+import com.digitalwallet.walletservice.model.Transaction;
+import com.digitalwallet.walletservice.model.Wallet;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures mapping entities to response DTOs, one at a time and as the lists returned by the list endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"100"})
+    private int size;
+
+    private Wallet wallet;
+    private Transaction transaction;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        wallet = new Wallet(1L, "Main", Currency.TRY, true, true,
+                new BigDecimal("2500.00"), new BigDecimal("1500.00"), null);
+        transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            transactions.add(new Transaction((long) i, new BigDecimal("125.50"), TransactionType.DEPOSIT,
+                    OppositePartyType.IBAN, "TR330006100519786457841326", TransactionStatus.APPROVED,
+                    LocalDateTime.of(2025, 7, 31, 12, 0).plusMinutes(i), wallet));
+        }
+        transaction = transactions.get(0);
+    }
+
+    @Benchmark
+    public TransactionResponse mapTransaction() {
+        return TransactionMapper.toResponse(transaction);
+    }
+
+    @Benchmark
+    public List<TransactionResponse> mapTransactionList() {
+        return transactions.stream().map(TransactionMapper::toResponse).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public WalletResponse mapWallet() {
+        return WalletMapper.toResponse(wallet);
+    }
+}
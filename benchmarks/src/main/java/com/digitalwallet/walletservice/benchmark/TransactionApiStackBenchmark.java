@@ -0,0 +1,132 @@
+package com.digitalwallet.walletservice.benchmark;
+
+import com.digitalwallet.walletservice.dto.CreateWalletRequest;
+import com.digitalwallet.walletservice.dto.DepositRequest;
+import com.digitalwallet.walletservice.dto.RegisterRequest;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.Role;
+import com.digitalwallet.walletservice.loadtest.LoadTestClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the servlet transaction API with the reactive one (the {@code reactive} module) under many concurrent
+ * clients: every JMH thread is one client with a request in flight at all times.
+ * <p>
+ * Both servers must already be running against the same database ({@code compare-stacks.sh} starts them on a
+ * shared H2 server). Customers, wallets and the history are created through the servlet API, which issues the
+ * tokens both stacks accept. Raise the concurrency with {@code -t}, e.g. {@code -t 256}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionApiStackBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+    private static final String IBAN = "TR330006100519786457841326";
+    private static final AtomicInteger CUSTOMERS = new AtomicInteger();
+
+    @Param({"servlet", "reactive"})
+    public String stack;
+
+    @Param("http://localhost:8080")
+    public String servletUrl;
+
+    @Param("http://localhost:8081")
+    public String reactiveUrl;
+
+    /**
+     * Transactions in the history read by {@link #history}.
+     */
+    @Param("100")
+    public int historySize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int runTag = ThreadLocalRandom.current().nextInt(10_000);
+
+    private LoadTestClient setupClient;
+    private LoadTestClient client;
+    private Customer historyOwner;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        setupClient = new LoadTestClient(servletUrl, objectMapper, Duration.ofSeconds(30));
+        client = new LoadTestClient("reactive".equals(stack) ? reactiveUrl : servletUrl, objectMapper,
+                Duration.ofSeconds(30));
+        historyOwner = createCustomer();
+        for (int i = 0; i < historySize; i++) {
+            setupClient.post("/api/transactions/deposit", historyOwner.token, depositRequest(historyOwner.walletId))
+                    .require("id", "history deposit");
+        }
+    }
+
+    /**
+     * A client of its own, so deposits of different threads do not queue on one wallet row.
+     */
+    @State(Scope.Thread)
+    public static class ClientState {
+
+        private Customer customer;
+
+        @Setup(Level.Trial)
+        public void setUp(TransactionApiStackBenchmark benchmark) throws IOException {
+            customer = benchmark.createCustomer();
+        }
+    }
+
+    @Benchmark
+    public int history() throws IOException {
+        return check(client.get("/api/transactions/wallet/" + historyOwner.walletId, historyOwner.token)).getStatus();
+    }
+
+    @Benchmark
+    public int deposit(ClientState state) throws IOException {
+        return check(client.post("/api/transactions/deposit", state.customer.token,
+                depositRequest(state.customer.walletId))).getStatus();
+    }
+
+    private Customer createCustomer() throws IOException {
+        String tckn = String.format("8%04d%06d", runTag, CUSTOMERS.incrementAndGet());
+        String token = setupClient.post("/api/auth/register", null,
+                        new RegisterRequest("Stack", "Benchmark", tckn, null, PASSWORD, Role.CUSTOMER))
+                .require("token", "customer registration").asText();
+        long walletId = setupClient.post("/api/auth/wallets", token,
+                        new CreateWalletRequest("Stack Benchmark", Currency.TRY, true, true))
+                .require("id", "wallet creation").asLong();
+        return new Customer(token, walletId);
+    }
+
+    private static DepositRequest depositRequest(long walletId) {
+        return new DepositRequest(walletId, BigDecimal.ONE, IBAN, OppositePartyType.IBAN);
+    }
+
+    private static LoadTestClient.Response check(LoadTestClient.Response response) {
+        if (!response.isSuccessful()) {
+            throw new IllegalStateException("Request failed with HTTP " + response.getStatus());
+        }
+        return response;
+    }
+
+    private static final class Customer {
+
+        private final String token;
+        private final long walletId;
+
+        private Customer(String token, long walletId) {
+            this.token = token;
+            this.walletId = walletId;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.digitalwallet.walletservice.benchmark;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.json.TransactionListJsonWriter;
+import com.digitalwallet.walletservice.json.WalletJsonModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways a large transaction history can be serialized:
+ * <ul>
+ *     <li>{@code reflective}: Jackson's bean serializer, as before {@code WalletJsonModule}</li>
+ *     <li>{@code module}: the same {@code ObjectMapper} with {@code WalletJsonModule} registered</li>
+ *     <li>{@code streaming}: {@code TransactionListJsonWriter}, as used by the transaction list endpoint</li>
+ * </ul>
+ * All three produce the same bytes. Amounts and timestamps vary per element like a real history does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionHistorySerializationBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private ObjectMapper reflectiveMapper;
+    private ObjectMapper moduleMapper;
+    private TransactionListJsonWriter streamingWriter;
+    private ByteArrayOutputStream buffer;
+    private List<TransactionResponse> responses;
+
+    @Setup
+    public void setUp() {
+        reflectiveMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        moduleMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new WalletJsonModule())
+                .build();
+        streamingWriter = new TransactionListJsonWriter(moduleMapper.getFactory(), false);
+        buffer = new ByteArrayOutputStream(size * 256);
+
+        responses = new ArrayList<>(size);
+        LocalDateTime start = LocalDateTime.of(2025, 7, 31, 12, 0);
+        for (int i = 0; i < size; i++) {
+            TransactionResponse response = new TransactionResponse();
+            response.setId((long) i);
+            response.setWalletId(1L);
+            response.setAmount(BigDecimal.valueOf(10_000 + i * 37L, 2));
+            response.setType(i % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAW);
+            response.setOppositePartyType(i % 3 == 0 ? OppositePartyType.PAYMENT : OppositePartyType.IBAN);
+            response.setOppositeParty("TR330006100519786457841326");
+            response.setStatus(i % 10 == 0 ? TransactionStatus.PENDING : TransactionStatus.APPROVED);
+            response.setCreatedAt(start.plusSeconds(i * 97L).plusNanos(i * 1_000_000L % 1_000_000_000L));
+            responses.add(response);
+        }
+    }
+
+    @Benchmark
+    public byte[] reflective() throws Exception {
+        return reflectiveMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] module() throws Exception {
+        return moduleMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public int streaming() throws Exception {
+        buffer.reset();
+        streamingWriter.write(responses, buffer);
+        return buffer.size();
+    }
+}
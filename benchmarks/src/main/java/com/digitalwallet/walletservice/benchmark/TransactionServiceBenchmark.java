@@ -0,0 +1,91 @@
+package com.digitalwallet.walletservice.benchmark;
+
+import com.digitalwallet.walletservice.dto.DepositRequest;
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Employee;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.digitalwallet.walletservice.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code TransactionServiceImpl.deposit/withdraw} end to end against an embedded H2 database,
+ * including the transaction commit. Every benchmark thread works on its own wallet.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceBenchmark {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000000");
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private WalletRepository walletRepository;
+    private Customer customer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        transactionService = context.getBean(TransactionService.class);
+        walletRepository = context.getBean(WalletRepository.class);
+        customer = context.getBean(CustomerRepository.class)
+                .save(new Customer(null, "Bench", "Mark", "secret", "10000000146"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Per-thread wallet and employee authentication.
+     */
+    @State(Scope.Thread)
+    public static class WalletState {
+
+        private Long walletId;
+
+        @Setup(Level.Trial)
+        public void setUp(TransactionServiceBenchmark benchmark) {
+            walletId = benchmark.walletRepository.save(new Wallet(null, "Bench", Currency.TRY, true, true,
+                    INITIAL_BALANCE, INITIAL_BALANCE, benchmark.customer)).getId();
+            Employee employee = new Employee(1L, "Kemal", "Yildiz", "secret", "kemal@company.com");
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    employee, null, List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public TransactionResponse deposit(WalletState wallet) {
+        return transactionService.deposit(
+                new DepositRequest(wallet.walletId, BigDecimal.ONE, "TR330006100519786457841326", OppositePartyType.IBAN));
+    }
+
+    @Benchmark
+    public TransactionResponse withdraw(WalletState wallet) {
+        return transactionService.withdraw(
+                new WithDrawRequest(wallet.walletId, BigDecimal.ONE, OppositePartyType.IBAN, "TR330006100519786457841326"));
+    }
+}
@@ -0,0 +1,18 @@
+package com.digitalwallet.walletservice.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Entry point of the non-blocking transaction API (WebFlux + R2DBC).
+ * <p>
+ * Serves deposit, withdraw, approve and history against the same database as the servlet application, with the
+ * same balance rules, JWT tokens and authorization checks.
+ */
+@SpringBootApplication
+public class ReactiveWalletApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveWalletApplication.class, args);
+    }
+}
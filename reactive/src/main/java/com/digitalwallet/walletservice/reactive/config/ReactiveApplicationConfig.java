@@ -0,0 +1,42 @@
+package com.digitalwallet.walletservice.reactive.config;
+
+import com.digitalwallet.walletservice.json.WalletJsonModule;
+import com.digitalwallet.walletservice.security.JwtService;
+import com.digitalwallet.walletservice.service.ApprovalRuleService;
+import com.digitalwallet.walletservice.service.ApprovalRuleServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Beans shared with the servlet application.
+ * <p>
+ * Tokens are validated by the same {@link JwtService} (so {@code jwt.secret} must match), and responses are
+ * written by the same {@link WalletJsonModule} serializers, so both stacks return byte-identical JSON. Deposits and
+ * withdrawals are approved by the same {@link ApprovalRuleService}; point {@code wallet.approval.rules-file} at the
+ * file the servlet application reads, and both stacks pick up rule changes on their next reload.
+ */
+@Configuration
+@EnableScheduling
+public class ReactiveApplicationConfig {
+
+    @Bean
+    public JwtService jwtService(@Value("${jwt.secret}") String secret) {
+        return new JwtService(secret);
+    }
+
+    @Bean
+    public ApprovalRuleService approvalRuleService(
+            @Value("${wallet.approval.rules-file:classpath:approval-rules.properties}") Resource rulesFile,
+            MeterRegistry meterRegistry) {
+        return new ApprovalRuleServiceImpl(rulesFile, meterRegistry);
+    }
+
+    @Bean
+    public WalletJsonModule walletJsonModule() {
+        return new WalletJsonModule();
+    }
+}
@@ -0,0 +1,45 @@
+package com.digitalwallet.walletservice.reactive.config;
+
+import com.digitalwallet.walletservice.reactive.security.JwtReactiveAuthenticationManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Security configuration of the reactive transaction API.
+ * <p>
+ * Stateless JWT authentication with the same URL rules as the servlet application for the endpoints served here:
+ * approvals are restricted to employees, the other transaction endpoints are open to customers and employees.
+ * Anything else is denied.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         JwtReactiveAuthenticationManager jwtAuthentication) {
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(jwtAuthentication);
+        jwtFilter.setServerAuthenticationConverter(jwtAuthentication);
+        jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/api/transactions/approve").hasRole("EMPLOYEE")
+                        .pathMatchers("/api/transactions/**").hasAnyRole("CUSTOMER", "EMPLOYEE")
+                        .pathMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .anyExchange().denyAll())
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
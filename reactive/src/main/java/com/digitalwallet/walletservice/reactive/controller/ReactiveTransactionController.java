@@ -0,0 +1,80 @@
+package com.digitalwallet.walletservice.reactive.controller;
+
+import com.digitalwallet.walletservice.dto.DepositRequest;
+import com.digitalwallet.walletservice.dto.TransactionApprovalRequest;
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import com.digitalwallet.walletservice.reactive.service.ReactiveTransactionService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive transaction endpoints, with the same paths, request bodies and responses as the servlet
+ * {@code TransactionController}.
+ * <p>
+ * Base path: /api/transactions
+ */
+@RestController
+@RequestMapping("/api/transactions")
+public class ReactiveTransactionController {
+
+    private final ReactiveTransactionService transactionService;
+
+    public ReactiveTransactionController(ReactiveTransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * Endpoint to create a deposit transaction.
+     * <p>
+     * Deposits greater than 1000 will be marked as PENDING, otherwise APPROVED.
+     *
+     * @param request the deposit request containing wallet ID, amount, and source
+     * @return the created transaction response
+     */
+    @PostMapping("/deposit")
+    public Mono<TransactionResponse> deposit(@Valid @RequestBody DepositRequest request) {
+        return transactionService.deposit(request);
+    }
+
+    /**
+     * Endpoint to approve or deny a pending transaction.
+     *
+     * @param request contains the transaction ID and desired status
+     * @return the updated transaction response
+     */
+    @PostMapping("/approve")
+    public Mono<TransactionResponse> approveTransaction(@Valid @RequestBody TransactionApprovalRequest request) {
+        return transactionService.approveTransaction(request);
+    }
+
+    /**
+     * Endpoint to create a withdraw transaction.
+     *
+     * @param request the withdraw request including wallet ID, amount, and destination
+     * @return the created transaction response
+     */
+    @PostMapping("/withdraw")
+    public Mono<TransactionResponse> withdraw(@Valid @RequestBody WithDrawRequest request) {
+        return transactionService.withdraw(request);
+    }
+
+    /**
+     * Endpoint to stream all transactions of a wallet.
+     * <p>
+     * Written as a JSON array for {@code application/json}, or one object per line for
+     * {@code application/x-ndjson}. Either way rows are read from the database only as fast as the client
+     * consumes the response.
+     *
+     * @param walletId the ID of the wallet
+     * @return the transactions of the wallet
+     */
+    @GetMapping(value = "/wallet/{walletId}", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TransactionResponse> getTransactions(@PathVariable Long walletId) {
+        return transactionService.getTransactionsForWallet(walletId);
+    }
+}
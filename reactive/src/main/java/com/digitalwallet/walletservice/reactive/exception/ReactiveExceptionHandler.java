@@ -0,0 +1,59 @@
+package com.digitalwallet.walletservice.reactive.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exception handler of the reactive API, producing the same error bodies and statuses as the servlet
+ * application's {@code GlobalExceptionHandler} for the exceptions the transaction endpoints raise.
+ */
+@ControllerAdvice
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handles generic RuntimeException with 500 Internal Server Error status.
+     *
+     * @param ex the exception
+     * @return structured error response
+     */
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<Object> handleRuntime(RuntimeException ex) {
+        return buildResponse("An unexpected error occurred: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Handles validation errors triggered by @Valid annotation.
+     *
+     * @param ex the exception containing field validation errors
+     * @return structured error map for all invalid fields
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", "Validation Error");
+        response.put("message", errors);
+        response.put("timestamp", LocalDateTime.now());
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    private ResponseEntity<Object> buildResponse(String message, HttpStatus status) {
+        Map<String, Object> errorBody = new HashMap<>();
+        errorBody.put("timestamp", LocalDateTime.now());
+        errorBody.put("status", status.value());
+        errorBody.put("error", status.getReasonPhrase());
+        errorBody.put("message", message);
+
+        return new ResponseEntity<>(errorBody, status);
+    }
+}
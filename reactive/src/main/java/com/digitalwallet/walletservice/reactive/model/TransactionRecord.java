@@ -0,0 +1,156 @@
+package com.digitalwallet.walletservice.reactive.model;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.search.CounterpartyKeys;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the {@code transaction} table.
+ */
+@Table("transaction")
+public class TransactionRecord {
+
+    @Id
+    private Long id;
+
+    private Long walletId;
+
+    private BigDecimal amount;
+
+    private TransactionType type;
+
+    private OppositePartyType oppositePartyType;
+
+    private String oppositeParty;
+
+    private String counterpartyKey;
+
+    /**
+     * Always {@code false}: the reactive API has no transfers. Written explicitly, as the column has no default.
+     */
+    private boolean transferLeg;
+
+    private TransactionStatus status;
+
+    private LocalDateTime createdAt;
+
+    public TransactionRecord() {
+    }
+
+    /**
+     * Creates a new, not yet saved transaction stamped with the current time.
+     *
+     * @param walletId          the wallet the transaction belongs to
+     * @param amount            the transaction amount
+     * @param type              DEPOSIT or WITHDRAW
+     * @param status            PENDING or APPROVED
+     * @param oppositeParty     the party on the other side
+     * @param oppositePartyType the type of the opposite party
+     */
+    public TransactionRecord(Long walletId, BigDecimal amount, TransactionType type, TransactionStatus status,
+                             String oppositeParty, OppositePartyType oppositePartyType) {
+        this.walletId = walletId;
+        this.amount = amount;
+        this.type = type;
+        this.status = status;
+        this.oppositeParty = oppositeParty;
+        this.counterpartyKey = CounterpartyKeys.normalize(oppositeParty);
+        this.oppositePartyType = oppositePartyType;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * @return the API representation, identical to the servlet application's
+     */
+    public TransactionResponse toResponse() {
+        return new TransactionResponse(id, walletId, amount, type, oppositePartyType, oppositeParty, status,
+                createdAt);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public void setWalletId(Long walletId) {
+        this.walletId = walletId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public OppositePartyType getOppositePartyType() {
+        return oppositePartyType;
+    }
+
+    public void setOppositePartyType(OppositePartyType oppositePartyType) {
+        this.oppositePartyType = oppositePartyType;
+    }
+
+    public String getOppositeParty() {
+        return oppositeParty;
+    }
+
+    public void setOppositeParty(String oppositeParty) {
+        this.oppositeParty = oppositeParty;
+    }
+
+    public String getCounterpartyKey() {
+        return counterpartyKey;
+    }
+
+    public void setCounterpartyKey(String counterpartyKey) {
+        this.counterpartyKey = counterpartyKey;
+    }
+
+    public boolean isTransferLeg() {
+        return transferLeg;
+    }
+
+    public void setTransferLeg(boolean transferLeg) {
+        this.transferLeg = transferLeg;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TransactionStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
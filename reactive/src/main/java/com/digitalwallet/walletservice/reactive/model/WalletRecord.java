@@ -0,0 +1,109 @@
+package com.digitalwallet.walletservice.reactive.model;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the {@code wallet} table.
+ * <p>
+ * Balances are never written from this object: they are changed by the atomic update statements of
+ * {@link com.digitalwallet.walletservice.reactive.repository.WalletRecordRepository}.
+ */
+@Table("wallet")
+public class WalletRecord {
+
+    @Id
+    private Long id;
+
+    private String walletName;
+
+    private Currency currency;
+
+    private boolean activeForShopping;
+
+    private boolean activeForWithdraw;
+
+    private BigDecimal balance;
+
+    private BigDecimal usableBalance;
+
+    private Long customerId;
+
+    private LocalDateTime updatedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getWalletName() {
+        return walletName;
+    }
+
+    public void setWalletName(String walletName) {
+        this.walletName = walletName;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public boolean isActiveForShopping() {
+        return activeForShopping;
+    }
+
+    public void setActiveForShopping(boolean activeForShopping) {
+        this.activeForShopping = activeForShopping;
+    }
+
+    public boolean isActiveForWithdraw() {
+        return activeForWithdraw;
+    }
+
+    public void setActiveForWithdraw(boolean activeForWithdraw) {
+        this.activeForWithdraw = activeForWithdraw;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public BigDecimal getUsableBalance() {
+        return usableBalance;
+    }
+
+    public void setUsableBalance(BigDecimal usableBalance) {
+        this.usableBalance = usableBalance;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
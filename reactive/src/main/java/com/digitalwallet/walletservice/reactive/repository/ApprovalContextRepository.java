@@ -0,0 +1,64 @@
+package com.digitalwallet.walletservice.reactive.repository;
+
+import com.digitalwallet.walletservice.enums.CustomerTier;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.velocity.VelocityWindow;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Reads what the approval rules need to know about a wallet beyond the wallet row itself.
+ * <p>
+ * The servlet application keeps the recent activity of each wallet in memory; here it is counted in the
+ * database, over {@code idx_transaction_wallet_created}.
+ */
+@Repository
+public class ApprovalContextRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ApprovalContextRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * @param customerId the ID of the wallet owner
+     * @return the owner's tier, {@link CustomerTier#STANDARD} if none is set
+     */
+    public Mono<CustomerTier> findTier(Long customerId) {
+        return databaseClient.sql("select tier from customer where id = :id")
+                .bind("id", customerId)
+                .map(row -> {
+                    String tier = row.get("tier", String.class);
+                    return tier == null ? CustomerTier.STANDARD : CustomerTier.valueOf(tier);
+                })
+                .one()
+                .defaultIfEmpty(CustomerTier.STANDARD);
+    }
+
+    /**
+     * Counts a wallet's deposits or withdrawals since the given time, transfer legs excluded, whatever their
+     * status.
+     *
+     * @param walletId the ID of the wallet
+     * @param type     deposit or withdrawal
+     * @param since    start of the window
+     * @return their number and total amount
+     */
+    public Mono<VelocityWindow> findRecentActivity(Long walletId, TransactionType type, LocalDateTime since) {
+        return databaseClient.sql("select count(*) as recent_count, coalesce(sum(amount), 0) as recent_amount "
+                        + "from transaction where wallet_id = :walletId and created_at >= :since and type = :type "
+                        + "and transfer_leg = false")
+                .bind("walletId", walletId)
+                .bind("since", since)
+                .bind("type", type.name())
+                .map(row -> new VelocityWindow(row.get("recent_count", Long.class).intValue(),
+                        row.get("recent_amount", BigDecimal.class)))
+                .one()
+                .defaultIfEmpty(VelocityWindow.EMPTY);
+    }
+}
@@ -0,0 +1,40 @@
+package com.digitalwallet.walletservice.reactive.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Looks up the IDs of the customers and employees named in tokens.
+ */
+@Repository
+public class PrincipalRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public PrincipalRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * @param tckn the customer's TCKN
+     * @return the customer's ID, or empty if there is no such customer
+     */
+    public Mono<Long> findCustomerIdByTckn(String tckn) {
+        return databaseClient.sql("select id from customer where tckn = :tckn")
+                .bind("tckn", tckn)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * @param email the employee's email
+     * @return the employee's ID, or empty if there is no such employee
+     */
+    public Mono<Long> findEmployeeIdByEmail(String email) {
+        return databaseClient.sql("select id from employee where email = :email")
+                .bind("email", email)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+}
@@ -0,0 +1,36 @@
+package com.digitalwallet.walletservice.reactive.repository;
+
+import com.digitalwallet.walletservice.reactive.model.TransactionRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repository for {@link TransactionRecord}s.
+ */
+public interface TransactionRecordRepository extends R2dbcRepository<TransactionRecord, Long> {
+
+    /**
+     * Streams a wallet's transactions in creation order, using {@code idx_transaction_wallet_created}.
+     * Rows are fetched as the subscriber requests them.
+     *
+     * @param walletId the ID of the wallet
+     * @return the wallet's transactions
+     */
+    @Query("select * from transaction where wallet_id = :walletId order by created_at, id")
+    Flux<TransactionRecord> findByWalletId(@Param("walletId") Long walletId);
+
+    /**
+     * Sets the status of a transaction that is still pending.
+     *
+     * @param id     the ID of the transaction
+     * @param status the name of the new {@link com.digitalwallet.walletservice.enums.TransactionStatus}
+     * @return 1 if the transaction was pending and has been updated, 0 if it had already been processed
+     */
+    @Modifying
+    @Query("update transaction set status = :status where id = :id and status = 'PENDING'")
+    Mono<Integer> updateStatusIfPending(@Param("id") Long id, @Param("status") String status);
+}
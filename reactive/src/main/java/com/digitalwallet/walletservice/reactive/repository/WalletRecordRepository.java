@@ -0,0 +1,52 @@
+package com.digitalwallet.walletservice.reactive.repository;
+
+import com.digitalwallet.walletservice.reactive.model.WalletRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Reactive repository for {@link WalletRecord}s.
+ * <p>
+ * Balances are changed with single update statements computed by the database, so concurrent deposits and
+ * withdrawals on the same wallet never lose an update and no row lock is held across a round trip.
+ */
+public interface WalletRecordRepository extends R2dbcRepository<WalletRecord, Long> {
+
+    /**
+     * Adds the given deltas to a wallet's balances.
+     *
+     * @param id                 the ID of the wallet
+     * @param balanceDelta       change of the total balance
+     * @param usableBalanceDelta change of the usable balance
+     * @param now                the new modification timestamp
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update wallet set balance = balance + :balanceDelta, usable_balance = usable_balance + :usableBalanceDelta, "
+            + "updated_at = :now where id = :id")
+    Mono<Integer> adjustBalances(@Param("id") Long id, @Param("balanceDelta") BigDecimal balanceDelta,
+                                 @Param("usableBalanceDelta") BigDecimal usableBalanceDelta,
+                                 @Param("now") LocalDateTime now);
+
+    /**
+     * Subtracts the given amounts from a wallet's balances if its usable balance covers the usable debit.
+     *
+     * @param id                  the ID of the wallet
+     * @param balanceDebit        amount taken from the total balance
+     * @param usableBalanceDebit  amount taken from the usable balance, which must not exceed it
+     * @param now                 the new modification timestamp
+     * @return 1 if the wallet was debited, 0 if the usable balance was insufficient
+     */
+    @Modifying
+    @Query("update wallet set balance = balance - :balanceDebit, usable_balance = usable_balance - :usableBalanceDebit, "
+            + "updated_at = :now where id = :id and usable_balance >= :usableBalanceDebit")
+    Mono<Integer> debitIfCovered(@Param("id") Long id, @Param("balanceDebit") BigDecimal balanceDebit,
+                                 @Param("usableBalanceDebit") BigDecimal usableBalanceDebit,
+                                 @Param("now") LocalDateTime now);
+}
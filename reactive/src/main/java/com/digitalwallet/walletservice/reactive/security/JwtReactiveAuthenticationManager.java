@@ -0,0 +1,85 @@
+package com.digitalwallet.walletservice.reactive.security;
+
+import com.digitalwallet.walletservice.enums.Role;
+import com.digitalwallet.walletservice.reactive.repository.PrincipalRepository;
+import com.digitalwallet.walletservice.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Authenticates bearer tokens issued by the servlet application.
+ * <p>
+ * Mirrors {@code JwtAuthenticationFilter}: the token's subject is looked up as a customer TCKN or employee email
+ * depending on its role claim, and expired tokens or unknown users are not authenticated. The resulting
+ * {@link WalletPrincipal} carries the {@code ROLE_CUSTOMER} or {@code ROLE_EMPLOYEE} authority.
+ */
+@Component
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager, ServerAuthenticationConverter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final PrincipalRepository principalRepository;
+
+    /**
+     * @param jwtService          service to parse and validate JWT tokens
+     * @param principalRepository lookup of customer and employee IDs
+     */
+    public JwtReactiveAuthenticationManager(JwtService jwtService, PrincipalRepository principalRepository) {
+        this.jwtService = jwtService;
+        this.principalRepository = principalRepository;
+    }
+
+    /**
+     * Extracts the bearer token of a request as unauthenticated credentials.
+     *
+     * @param exchange the current exchange
+     * @return the token, or empty if the request carries none
+     */
+    @Override
+    public Mono<Authentication> convert(ServerWebExchange exchange) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return Mono.empty();
+        }
+        String token = header.substring(BEARER_PREFIX.length());
+        return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(token, token));
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String token = (String) authentication.getCredentials();
+        String username;
+        Role role;
+        try {
+            // Parsed once; parsing rejects expired or tampered tokens
+            Claims claims = jwtService.extractClaim(token, Function.identity());
+            username = claims.getSubject();
+            role = Role.valueOf(claims.get("role", String.class));
+        } catch (JwtException | IllegalArgumentException | NullPointerException ex) {
+            return Mono.error(new BadCredentialsException("Invalid token", ex));
+        }
+
+        Mono<Long> id = role == Role.CUSTOMER
+                ? principalRepository.findCustomerIdByTckn(username)
+                : principalRepository.findEmployeeIdByEmail(username);
+        return id
+                .switchIfEmpty(Mono.error(new BadCredentialsException("Unknown user")))
+                .map(principalId -> UsernamePasswordAuthenticationToken.authenticated(
+                        new WalletPrincipal(principalId, username, role), null,
+                        List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+    }
+}
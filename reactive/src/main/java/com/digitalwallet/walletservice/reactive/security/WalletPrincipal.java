@@ -0,0 +1,41 @@
+package com.digitalwallet.walletservice.reactive.security;
+
+import com.digitalwallet.walletservice.enums.Role;
+
+/**
+ * Authenticated customer or employee of a request.
+ */
+public class WalletPrincipal {
+
+    private final Long id;
+    private final String username;
+    private final Role role;
+
+    /**
+     * @param id       the customer or employee ID
+     * @param username the TCKN of a customer or the email of an employee
+     * @param role     CUSTOMER or EMPLOYEE
+     */
+    public WalletPrincipal(Long id, String username, Role role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    @Override
+    public String toString() {
+        return role + ":" + username;
+    }
+}
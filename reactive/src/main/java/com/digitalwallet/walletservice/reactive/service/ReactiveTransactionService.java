@@ -0,0 +1,51 @@
+package com.digitalwallet.walletservice.reactive.service;
+
+import com.digitalwallet.walletservice.dto.DepositRequest;
+import com.digitalwallet.walletservice.dto.TransactionApprovalRequest;
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@code TransactionService} for deposit, withdrawal, approval and history.
+ * <p>
+ * Balance rules and authorization are the same: the approval rules decide which amounts are PENDING, pending
+ * withdrawals reserve the usable balance, and customers may only touch their own wallets. Errors are signalled
+ * with the same exception types and messages.
+ */
+public interface ReactiveTransactionService {
+
+    /**
+     * Performs a deposit transaction for a given wallet.
+     *
+     * @param request the deposit request containing wallet ID, amount, and opposite party info
+     * @return the created deposit transaction
+     */
+    Mono<TransactionResponse> deposit(DepositRequest request);
+
+    /**
+     * Performs a withdrawal transaction for a given wallet.
+     *
+     * @param request the withdrawal request containing wallet ID, amount, and opposite party info
+     * @return the created withdrawal transaction
+     */
+    Mono<TransactionResponse> withdraw(WithDrawRequest request);
+
+    /**
+     * Approves or rejects a pending transaction based on the provided status.
+     *
+     * @param request the approval request containing transaction ID and new status
+     * @return the updated transaction
+     */
+    Mono<TransactionResponse> approveTransaction(TransactionApprovalRequest request);
+
+    /**
+     * Streams the transactions of a wallet in creation order, fetching rows as the subscriber requests them.
+     *
+     * @param walletId the ID of the wallet
+     * @return the wallet's transactions; fails before the first element if the wallet does not exist or the
+     *         authenticated user may not read it
+     */
+    Flux<TransactionResponse> getTransactionsForWallet(Long walletId);
+}
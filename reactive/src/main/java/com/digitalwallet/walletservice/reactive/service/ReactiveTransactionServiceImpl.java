@@ -0,0 +1,232 @@
+package com.digitalwallet.walletservice.reactive.service;
+
+import com.digitalwallet.walletservice.dto.DepositRequest;
+import com.digitalwallet.walletservice.dto.TransactionApprovalRequest;
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.Role;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.reactive.model.TransactionRecord;
+import com.digitalwallet.walletservice.reactive.model.WalletRecord;
+import com.digitalwallet.walletservice.reactive.repository.ApprovalContextRepository;
+import com.digitalwallet.walletservice.reactive.repository.TransactionRecordRepository;
+import com.digitalwallet.walletservice.reactive.repository.WalletRecordRepository;
+import com.digitalwallet.walletservice.reactive.security.WalletPrincipal;
+import com.digitalwallet.walletservice.rules.ApprovalContext;
+import com.digitalwallet.walletservice.rules.ApprovalRule;
+import com.digitalwallet.walletservice.service.ApprovalRuleService;
+import com.digitalwallet.walletservice.velocity.VelocityWindow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC implementation of {@link ReactiveTransactionService}.
+ * <p>
+ * Where {@code TransactionServiceImpl} loads the wallet, changes its balances in memory and lets Hibernate flush
+ * them, this implementation applies the balance change as one conditional update statement: the
+ * "usable balance covers the withdrawal" check and the debit happen atomically in the database, and a
+ * transaction can only leave PENDING once. No database row stays locked while the event loop waits.
+ * <p>
+ * Deposits and withdrawals are approved or left PENDING by the same {@link ApprovalRuleService} as in the servlet
+ * application, reading the same {@code wallet.approval.rules-file}. The recent activity some rules look at is
+ * counted in the database, and only while such a rule is in effect.
+ * <p>
+ * Withdrawals are not checked against the servlet application's velocity or daily and monthly withdrawal limits,
+ * whose counters live in that application's memory. They count against the daily and monthly limits once the
+ * servlet application rebuilds its counters on its next start.
+ */
+@Service
+public class ReactiveTransactionServiceImpl implements ReactiveTransactionService {
+
+    private final WalletRecordRepository walletRepository;
+    private final TransactionRecordRepository transactionRepository;
+    private final ApprovalContextRepository approvalContextRepository;
+    private final ApprovalRuleService approvalRuleService;
+    private final Duration velocityWindow;
+    private final int historyPrefetch;
+
+    /**
+     * @param walletRepository          repository for wallet rows
+     * @param transactionRepository     repository for transaction rows
+     * @param approvalContextRepository owner tiers and recent activity read by the approval rules
+     * @param approvalRuleService       decides whether deposits and withdrawals are approved immediately
+     * @param velocityWindow            how far back the recent activity of a wallet is counted
+     * @param historyPrefetch           number of history rows requested from the database at a time
+     */
+    public ReactiveTransactionServiceImpl(WalletRecordRepository walletRepository,
+                                          TransactionRecordRepository transactionRepository,
+                                          ApprovalContextRepository approvalContextRepository,
+                                          ApprovalRuleService approvalRuleService,
+                                          @Value("${wallet.velocity.window:10m}") Duration velocityWindow,
+                                          @Value("${wallet.reactive.history-prefetch:256}") int historyPrefetch) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.approvalContextRepository = approvalContextRepository;
+        this.approvalRuleService = approvalRuleService;
+        this.velocityWindow = velocityWindow;
+        this.historyPrefetch = historyPrefetch;
+    }
+
+    @Override
+    @Transactional
+    public Mono<TransactionResponse> deposit(DepositRequest request) {
+        BigDecimal amount = request.getAmount();
+        return findWallet(request.getWalletId())
+                .flatMap(this::authorizeWalletAccess)
+                .flatMap(wallet -> determineStatus(wallet, TransactionType.DEPOSIT, amount,
+                        request.getOppositePartyType())
+                        .flatMap(status -> {
+                            BigDecimal usableDelta = status == TransactionStatus.APPROVED ? amount : BigDecimal.ZERO;
+                            return walletRepository.adjustBalances(wallet.getId(), amount, usableDelta,
+                                            LocalDateTime.now())
+                                    .then(transactionRepository.save(new TransactionRecord(wallet.getId(), amount,
+                                            TransactionType.DEPOSIT, status, request.getOppositeParty(),
+                                            request.getOppositePartyType())));
+                        }))
+                .map(TransactionRecord::toResponse);
+    }
+
+    @Override
+    @Transactional
+    public Mono<TransactionResponse> withdraw(WithDrawRequest request) {
+        BigDecimal amount = request.getAmount();
+        return findWallet(request.getWalletId())
+                .flatMap(this::authorizeWalletAccess)
+                .flatMap(wallet -> {
+                    if (!wallet.isActiveForWithdraw()) {
+                        return Mono.error(new IllegalStateException("This wallet is not active for withdraw."));
+                    }
+                    return determineStatus(wallet, TransactionType.WITHDRAW, amount, request.getOppositePartyType())
+                            .flatMap(status -> {
+                                // Approved withdrawals leave the balance at once; pending ones only reserve
+                                // the usable balance
+                                boolean approved = status == TransactionStatus.APPROVED;
+                                BigDecimal balanceDebit = approved ? amount : BigDecimal.ZERO;
+                                String insufficient = approved ? "Insufficient usable balance"
+                                        : "Insufficient usable balance for pending transaction";
+                                return walletRepository.debitIfCovered(wallet.getId(), balanceDebit, amount,
+                                                LocalDateTime.now())
+                                        .flatMap(updated -> updated == 0
+                                                ? Mono.<TransactionRecord>error(
+                                                new IllegalArgumentException(insufficient))
+                                                : transactionRepository.save(new TransactionRecord(wallet.getId(),
+                                                amount, TransactionType.WITHDRAW, status,
+                                                request.getOppositeParty(), request.getOppositePartyType())));
+                            });
+                })
+                .map(TransactionRecord::toResponse);
+    }
+
+    @Override
+    @Transactional
+    public Mono<TransactionResponse> approveTransaction(TransactionApprovalRequest request) {
+        return transactionRepository.findById(request.getTransactionId())
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Transaction not found")))
+                .flatMap(transaction -> transactionRepository
+                        .updateStatusIfPending(transaction.getId(), request.getStatus().name())
+                        .flatMap(updated -> {
+                            if (updated == 0) {
+                                return Mono.error(new IllegalStateException("Transaction is already processed."));
+                            }
+                            transaction.setStatus(request.getStatus());
+                            return settle(transaction).thenReturn(transaction);
+                        }))
+                .map(TransactionRecord::toResponse);
+    }
+
+    @Override
+    public Flux<TransactionResponse> getTransactionsForWallet(Long walletId) {
+        return findWallet(walletId)
+                .flatMap(this::authorizeWalletAccess)
+                .flatMapMany(wallet -> transactionRepository.findByWalletId(wallet.getId()))
+                .limitRate(historyPrefetch)
+                .map(TransactionRecord::toResponse);
+    }
+
+    /**
+     * Applies the balance effect of an approval: an approved deposit becomes usable, an approved withdrawal
+     * leaves the total balance (its usable part was reserved on creation). Denials move no money.
+     *
+     * @param transaction the transaction with its new status
+     * @return completion of the balance update
+     */
+    private Mono<Integer> settle(TransactionRecord transaction) {
+        if (transaction.getStatus() != TransactionStatus.APPROVED) {
+            return Mono.just(0);
+        }
+        BigDecimal amount = transaction.getAmount();
+        return transaction.getType() == TransactionType.DEPOSIT
+                ? walletRepository.adjustBalances(transaction.getWalletId(), BigDecimal.ZERO, amount,
+                LocalDateTime.now())
+                : walletRepository.adjustBalances(transaction.getWalletId(), amount.negate(), BigDecimal.ZERO,
+                LocalDateTime.now());
+    }
+
+    private Mono<WalletRecord> findWallet(Long walletId) {
+        return walletRepository.findById(walletId)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Wallet not found")));
+    }
+
+    /**
+     * Verifies that the authenticated user may access the wallet: employees may access any wallet, customers
+     * only their own.
+     *
+     * @param wallet the wallet to check access for
+     * @return the wallet, or an {@link AccessDeniedException}
+     */
+    private Mono<WalletRecord> authorizeWalletAccess(WalletRecord wallet) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(context -> (WalletPrincipal) context.getAuthentication().getPrincipal())
+                .switchIfEmpty(Mono.error(new AccessDeniedException("Authentication required.")))
+                .flatMap(principal -> principal.getRole() == Role.CUSTOMER
+                        && !wallet.getCustomerId().equals(principal.getId())
+                        ? Mono.error(new AccessDeniedException("You are not allowed to access this wallet."))
+                        : Mono.just(wallet));
+    }
+
+    /**
+     * Determines whether a transaction should be approved immediately or marked as pending, with the approval
+     * rules currently in effect.
+     *
+     * @param wallet            the wallet of the transaction
+     * @param type              deposit or withdrawal
+     * @param amount            the amount of the transaction
+     * @param oppositePartyType the type of the opposite party, may be {@code null}
+     * @return {@link TransactionStatus#APPROVED} or {@link TransactionStatus#PENDING}
+     */
+    private Mono<TransactionStatus> determineStatus(WalletRecord wallet, TransactionType type, BigDecimal amount,
+                                                    OppositePartyType oppositePartyType) {
+        long now = System.currentTimeMillis();
+        Mono<VelocityWindow> recent = readsRecentActivity()
+                ? approvalContextRepository.findRecentActivity(wallet.getId(), type,
+                LocalDateTime.now().minus(velocityWindow))
+                : Mono.just(VelocityWindow.EMPTY);
+        return approvalContextRepository.findTier(wallet.getCustomerId())
+                .zipWith(recent, (tier, window) -> approvalRuleService.evaluate(new ApprovalContext(type,
+                        wallet.getCurrency(), tier, oppositePartyType, amount, window.getCount(),
+                        window.getAmount(), now)));
+    }
+
+    /**
+     * @return whether any rule currently in effect looks at the recent activity of the wallet
+     */
+    private boolean readsRecentActivity() {
+        for (ApprovalRule rule : approvalRuleService.getRuleSet().getRules()) {
+            if (rule.getMinRecentCount() > 0 || rule.getMinRecentAmount() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
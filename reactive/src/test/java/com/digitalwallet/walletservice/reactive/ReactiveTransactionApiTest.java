@@ -0,0 +1,254 @@
+package com.digitalwallet.walletservice.reactive;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.Role;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Employee;
+import com.digitalwallet.walletservice.reactive.model.WalletRecord;
+import com.digitalwallet.walletservice.reactive.repository.WalletRecordRepository;
+import com.digitalwallet.walletservice.reactive.security.WalletPrincipal;
+import com.digitalwallet.walletservice.reactive.service.ReactiveTransactionService;
+import com.digitalwallet.walletservice.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive transaction API against an embedded H2 database over R2DBC, with the approval rules of the test
+ * {@code test-approval-rules.properties}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "wallet.approval.rules-file=classpath:test-approval-rules.properties")
+@AutoConfigureWebTestClient
+class ReactiveTransactionApiTest {
+
+    private static final AtomicLong TCKN = new AtomicLong(41_000_000_000L);
+    private static final String IBAN = "TR330006100519786457841326";
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private WalletRecordRepository walletRepository;
+
+    @Autowired
+    private ReactiveTransactionService transactionService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Long customerId;
+    private Long walletId;
+    private String customerToken;
+    private String employeeToken;
+
+    @BeforeEach
+    void setUp() {
+        String tckn = String.valueOf(TCKN.incrementAndGet());
+        customerId = insert("insert into customer (name, surname, password, tckn) values ('Ayse', 'Kaya', 'secret', '"
+                + tckn + "')");
+        walletId = insertWallet(customerId, "100.00");
+        customerToken = jwtService.generateToken(new Customer(customerId, "Ayse", "Kaya", "secret", tckn));
+
+        String email = "reactive-" + tckn + "@wallet.test";
+        Long employeeId = insert("insert into employee (name, surname, password, email) values ('Deniz', 'Aydin', "
+                + "'secret', '" + email + "')");
+        employeeToken = jwtService.generateToken(new Employee(employeeId, "Deniz", "Aydin", "secret", email));
+    }
+
+    @Test
+    void depositsAndWithdrawalsFollowTheBalanceRules() {
+        post("/api/transactions/deposit", customerToken, depositBody(walletId, "50.00"))
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("APPROVED").jsonPath("$.amount").isEqualTo(50.00);
+        post("/api/transactions/deposit", customerToken, depositBody(walletId, "1500.00"))
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("PENDING");
+        assertBalances(walletId, "1650.00", "150.00");
+
+        post("/api/transactions/withdraw", customerToken, depositBody(walletId, "200.00"))
+                .expectStatus().is5xxServerError()
+                .expectBody().jsonPath("$.message").isEqualTo("An unexpected error occurred: Insufficient usable balance");
+        post("/api/transactions/withdraw", customerToken, depositBody(walletId, "40.00"))
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.type").isEqualTo("WITHDRAW").jsonPath("$.status").isEqualTo("APPROVED");
+        assertBalances(walletId, "1610.00", "110.00");
+
+        post("/api/transactions/deposit", customerToken, "{\"walletId\":" + walletId + "}")
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Validation Error");
+    }
+
+    @Test
+    void approvalRulesSeeTheTierAndRecentActivity() {
+        databaseClient.sql("update customer set tier = 'PREMIUM' where id = " + customerId).then().block();
+        post("/api/transactions/deposit", customerToken, depositBody(walletId, "1500.00"))
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("APPROVED");
+        post("/api/transactions/withdraw", customerToken, depositBody(walletId, "1200.00"))
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("APPROVED");
+
+        post("/api/transactions/deposit", customerToken, depositBody(walletId, "1.00")).expectStatus().isOk();
+        post("/api/transactions/deposit", customerToken, depositBody(walletId, "1.00"))
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("APPROVED");
+        post("/api/transactions/deposit", customerToken, depositBody(walletId, "1.00"))
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("PENDING");
+        assertBalances(walletId, "403.00", "402.00");
+    }
+
+    @Test
+    void employeeApprovesPendingTransactionsOnce() {
+        Long pendingId = post("/api/transactions/deposit", customerToken, depositBody(walletId, "2000.00"))
+                .expectStatus().isOk()
+                .expectBody(TransactionResponse.class)
+                .returnResult().getResponseBody().getId();
+        String approval = "{\"transactionId\":" + pendingId + ",\"status\":\"APPROVED\"}";
+
+        post("/api/transactions/approve", customerToken, approval).expectStatus().isForbidden();
+        post("/api/transactions/approve", employeeToken, approval)
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("APPROVED");
+        assertBalances(walletId, "2100.00", "2100.00");
+
+        post("/api/transactions/approve", employeeToken, approval)
+                .expectStatus().is5xxServerError()
+                .expectBody().jsonPath("$.message")
+                .isEqualTo("An unexpected error occurred: Transaction is already processed.");
+        assertBalances(walletId, "2100.00", "2100.00");
+    }
+
+    @Test
+    void customersOnlyReachTheirOwnWallets() {
+        Long otherCustomer = insert("insert into customer (name, surname, password, tckn) values ('Can', 'Demir', "
+                + "'secret', '" + TCKN.incrementAndGet() + "')");
+        Long otherWallet = insertWallet(otherCustomer, "100.00");
+
+        post("/api/transactions/deposit", customerToken, depositBody(otherWallet, "10.00"))
+                .expectStatus().is5xxServerError()
+                .expectBody().jsonPath("$.message")
+                .isEqualTo("An unexpected error occurred: You are not allowed to access this wallet.");
+        client.get().uri("/api/transactions/wallet/" + otherWallet)
+                .header("Authorization", "Bearer " + customerToken)
+                .exchange()
+                .expectStatus().is5xxServerError();
+        assertBalances(otherWallet, "100.00", "100.00");
+
+        post("/api/transactions/deposit", employeeToken, depositBody(otherWallet, "10.00")).expectStatus().isOk();
+        client.get().uri("/api/transactions/wallet/" + walletId).exchange().expectStatus().isUnauthorized();
+        client.get().uri("/api/transactions/wallet/" + walletId)
+                .header("Authorization", "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void historyStreamsInCreationOrder() {
+        for (int i = 1; i <= 5; i++) {
+            post("/api/transactions/deposit", customerToken, depositBody(walletId, i + ".00")).expectStatus().isOk();
+        }
+
+        client.get().uri("/api/transactions/wallet/" + walletId)
+                .header("Authorization", "Bearer " + customerToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(5).jsonPath("$[4].amount").isEqualTo(5.00);
+
+        List<TransactionResponse> streamed = client.get()
+                .uri("/api/transactions/wallet/" + walletId)
+                .header("Authorization", "Bearer " + customerToken)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TransactionResponse.class)
+                .getResponseBody().collectList().block();
+        assertEquals(5, streamed.size());
+        assertEquals(0, new BigDecimal("1.00").compareTo(streamed.get(0).getAmount()));
+
+        // Demand-driven: the subscriber receives exactly what it requests
+        StepVerifier.create(transactionService.getTransactionsForWallet(walletId)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(customerAuthentication())), 2)
+                .expectNextCount(2)
+                .thenRequest(3)
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
+    @Test
+    void concurrentWithdrawalsNeverOverdraw() {
+        WithDrawRequest request = new WithDrawRequest(walletId, new BigDecimal("30.00"), OppositePartyType.IBAN, IBAN);
+
+        long succeeded = Flux.range(0, 8)
+                .flatMap(i -> transactionService.withdraw(request)
+                        .map(response -> 1)
+                        .onErrorReturn(IllegalArgumentException.class, 0), 8)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(customerAuthentication()))
+                .reduce(0, Integer::sum)
+                .block();
+
+        assertEquals(3, succeeded);
+        assertBalances(walletId, "10.00", "10.00");
+    }
+
+    private UsernamePasswordAuthenticationToken customerAuthentication() {
+        return UsernamePasswordAuthenticationToken.authenticated(new WalletPrincipal(customerId, "test", Role.CUSTOMER),
+                null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+    }
+
+    private WebTestClient.ResponseSpec post(String path, String token, String body) {
+        return client.post().uri(path)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange();
+    }
+
+    private static String depositBody(Long walletId, String amount) {
+        return "{\"walletId\":" + walletId + ",\"amount\":" + amount + ",\"oppositeParty\":\"" + IBAN
+                + "\",\"oppositePartyType\":\"IBAN\"}";
+    }
+
+    private void assertBalances(Long id, String balance, String usableBalance) {
+        WalletRecord wallet = walletRepository.findById(id).block();
+        assertEquals(0, new BigDecimal(balance).compareTo(wallet.getBalance()), "balance");
+        assertEquals(0, new BigDecimal(usableBalance).compareTo(wallet.getUsableBalance()), "usable balance");
+    }
+
+    private Long insertWallet(Long customer, String balance) {
+        return insert("insert into wallet (wallet_name, currency, active_for_shopping, active_for_withdraw, balance, "
+                + "usable_balance, customer_id) values ('Reactive', 'TRY', true, true, " + balance + ", " + balance
+                + ", " + customer + ")");
+    }
+
+    private Long insert(String sql) {
+        return databaseClient.sql(sql)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+    }
+}
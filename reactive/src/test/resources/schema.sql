@@ -0,0 +1,52 @@
+-- Tables used by the reactive API, as created by Hibernate for the servlet application (see database/schema.sql).
+-- Enum columns are varchar here: r2dbc-h2 binds strings as CLOBs, which H2 will not convert to ENUM.
+
+create table customer (
+    id bigint not null auto_increment,
+    tckn varchar(11) unique,
+    name varchar(255),
+    password varchar(255) not null,
+    surname varchar(255),
+    tier varchar(255) default 'STANDARD' not null,
+    primary key (id)
+);
+
+create table employee (
+    id bigint not null auto_increment,
+    email varchar(255) unique,
+    name varchar(255),
+    password varchar(255) not null,
+    surname varchar(255),
+    primary key (id)
+);
+
+create table wallet (
+    active_for_shopping bit not null,
+    active_for_withdraw bit not null,
+    balance decimal(38,2),
+    usable_balance decimal(38,2),
+    customer_id bigint,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    wallet_name varchar(255),
+    currency varchar(255),
+    primary key (id),
+    constraint uk_wallet_customer_currency unique (customer_id, currency)
+);
+
+create table transaction (
+    transfer_leg bit not null,
+    amount decimal(38,2),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    wallet_id bigint,
+    counterparty_key varchar(64),
+    opposite_party varchar(255),
+    opposite_party_type varchar(255),
+    status varchar(255),
+    type varchar(255),
+    primary key (id)
+);
+
+create index idx_transaction_wallet_created on transaction (wallet_id, created_at);
+create index idx_transaction_counterparty on transaction (counterparty_key, id, created_at, type, status);
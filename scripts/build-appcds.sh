@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+#
+# Builds the application and an AppCDS (class data sharing) archive for it.
+#
+# The executable jar is extracted into target/appcds/ (CDS only works with plain jars on the class path), then a
+# training run starts the application up to the end of context refresh and exits, dumping every class it loaded
+# into target/appcds/application.jsa. Instances started with that archive map those classes instead of loading,
+# parsing and verifying them again.
+#
+# The archive records the class path as given, so the training run starts from inside target/appcds/ and instances
+# must be started from that directory (or the same layout copied elsewhere) with the same relative jar path.
+#
+# The training run uses the same profiles as production (PROFILES, default prod,faststart) and therefore needs the
+# database to be reachable; pass datasource overrides as arguments. The archive is only valid for the exact JDK and
+# jars it was built with, so rebuild it with every release.
+#
+#   ./scripts/build-appcds.sh --spring.datasource.url=jdbc:mysql://db:3306/digital_wallet
+#   cd target/appcds && java -XX:SharedArchiveFile=application.jsa -jar wallet-service-<version>.jar \
+#        --spring.profiles.active=prod,faststart
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PROFILES="${PROFILES:-prod,faststart}"
+OUTPUT_DIR=target/appcds
+
+mvn -B -q ${MAVEN_ARGS:-} package -DskipTests
+
+JAR="$(ls target/wallet-service-*.jar | grep -v -- '-classes\.jar$')"
+rm -rf "$OUTPUT_DIR"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUTPUT_DIR"
+
+APPLICATION_JAR="$(basename "$JAR")"
+(cd "$OUTPUT_DIR" && java -XX:ArchiveClassesAtExit=application.jsa -Dspring.context.exit=onRefresh \
+    -jar "$APPLICATION_JAR" --spring.profiles.active="$PROFILES" "$@")
+
+echo "AppCDS archive written to $OUTPUT_DIR/application.jsa"
+echo "Start with: cd $OUTPUT_DIR && java -XX:SharedArchiveFile=application.jsa -jar $APPLICATION_JAR --spring.profiles.active=$PROFILES"
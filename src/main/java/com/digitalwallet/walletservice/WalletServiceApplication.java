@@ -2,12 +2,22 @@ package com.digitalwallet.walletservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class WalletServiceApplication {
 
+	/**
+	 * Maximum number of startup steps kept for {@code /actuator/startup}; later steps are dropped.
+	 */
+	static final int STARTUP_STEP_CAPACITY = 8192;
+
 	public static void main(String[] args) {
-		SpringApplication.run(WalletServiceApplication.class, args);
+		SpringApplication application = new SpringApplication(WalletServiceApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		application.run(args);
 	}
 
-}
\ No newline at end of file
+}
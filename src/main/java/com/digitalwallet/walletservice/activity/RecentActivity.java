@@ -0,0 +1,32 @@
+package com.digitalwallet.walletservice.activity;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+
+import java.util.List;
+
+/**
+ * The most recent transactions of a wallet, as kept by {@link RecentActivityStore}, and the owner of the wallet so
+ * access can be checked without a query.
+ */
+public final class RecentActivity {
+
+    private final Long ownerId;
+    private final List<TransactionResponse> transactions;
+
+    /**
+     * @param ownerId      ID of the customer owning the wallet
+     * @param transactions the wallet's most recent transactions, newest first
+     */
+    public RecentActivity(Long ownerId, List<TransactionResponse> transactions) {
+        this.ownerId = ownerId;
+        this.transactions = transactions;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public List<TransactionResponse> getTransactions() {
+        return transactions;
+    }
+}
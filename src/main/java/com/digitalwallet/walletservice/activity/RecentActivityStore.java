@@ -0,0 +1,493 @@
+package com.digitalwallet.walletservice.activity;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The most recent {@code wallet.activity.size} transactions of each active wallet, kept off the heap, so the recent
+ * activity of a wallet is served without a query while its copy is younger than {@code wallet.activity.max-age}.
+ * <p>
+ * One direct buffer of {@code wallet.activity.max-memory} is allocated on startup and divided into fixed-size
+ * blocks, one per wallet: a header with the wallet's owner, followed by a ring buffer of fixed-size transaction
+ * records. The store never takes more memory however many wallets are active, and the garbage collector never sees
+ * the records. When all blocks are taken, the least recently read of {@value #EVICTION_SAMPLE} blocks is reused.
+ * <p>
+ * A wallet is filled from the database on its first read. After that, transactions committed by this instance are
+ * written into its block (see {@link #recordAfterCommit(TransactionResponse)}), and approvals update the status of
+ * the records they touch. Transactions written by other instances are not seen until the block is refilled, which
+ * happens on the first read after {@code wallet.activity.max-age}; that read, and every read of a wallet not in the
+ * store, goes to the database. A transaction that does not fit a record (an opposite party longer than
+ * {@value #MAX_PARTY_BYTES} bytes, or an amount with more than 18 digits) drops its wallet from the store, so that
+ * wallet is read from the database instead.
+ * <p>
+ * Each block has its own {@link StampedLock}. A read copies its block optimistically and only takes the read lock
+ * if a write to that block got in the way, so reads of different wallets, and reads of the same wallet, never wait
+ * for each other. Recording takes the write lock of one block. Only filling and dropping wallets share a lock.
+ * <p>
+ * Metrics: {@code wallet.activity.hits}, {@code wallet.activity.misses}, {@code wallet.activity.wallets},
+ * {@code wallet.activity.evictions} and {@code wallet.activity.memory}.
+ */
+@Component
+public class RecentActivityStore implements MeterBinder {
+
+    static final int MAX_PARTY_BYTES = 64;
+
+    // Number of blocks compared when one has to be reused
+    static final int EVICTION_SAMPLE = 8;
+
+    // Wallet ID of a block that holds no wallet
+    private static final long NO_WALLET = Long.MIN_VALUE;
+
+    // Block header: wallet ID, owner ID, fill time, number of records, next slot
+    private static final int WALLET_ID = 0;
+    private static final int OWNER_ID = 8;
+    private static final int FILLED_AT = 16;
+    private static final int COUNT = 24;
+    private static final int HEAD = 28;
+    private static final int HEADER_BYTES = 32;
+
+    // Transaction record; enum ordinals are stored plus one, so 0 stands for null
+    private static final int ID = 0;
+    private static final int UNSCALED_AMOUNT = 8;
+    private static final int SCALE = 16;
+    private static final int TYPE = 17;
+    private static final int OPPOSITE_PARTY_TYPE = 18;
+    private static final int STATUS = 19;
+    private static final int CREATED_SECONDS = 20;
+    private static final int CREATED_NANOS = 28;
+    private static final int PARTY_LENGTH = 32;
+    private static final int PARTY = 34;
+    private static final int RECORD_BYTES = PARTY + MAX_PARTY_BYTES;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final OppositePartyType[] OPPOSITE_PARTY_TYPES = OppositePartyType.values();
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+
+    private final boolean enabled;
+    private final int size;
+    private final int blockBytes;
+    private final long maxAgeMillis;
+    private final ByteBuffer buffer;
+    // Block number of each wallet in the store; changed only under the directory lock
+    private final Map<Long, Integer> blocks = new ConcurrentHashMap<>();
+    // Wallets being filled, and whether no transaction of them was recorded since the fill started
+    private final Map<Long, Boolean> filling = new ConcurrentHashMap<>();
+    private final StampedLock[] locks;
+    // System.nanoTime() of the last read of each block
+    private final AtomicLongArray lastRead;
+    // Guards freeBlocks, nextSample and every change of blocks
+    private final ReentrantLock directory = new ReentrantLock();
+    private final ArrayDeque<Integer> freeBlocks = new ArrayDeque<>();
+    private int nextSample;
+    private final TransactionRepository transactionRepository;
+    private final WalletRepository walletRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param enabled               whether recent activity is kept at all
+     * @param size                  the number of transactions kept per wallet
+     * @param maxMemory             the size of the direct buffer
+     * @param maxAge                how long a wallet is served before it is refilled from the database
+     * @param transactionRepository source of the transactions a wallet is filled with
+     * @param walletRepository      source of the owner of a wallet
+     * @param transactionManager    transaction manager for the fill queries
+     */
+    public RecentActivityStore(@Value("${wallet.activity.enabled:true}") boolean enabled,
+                               @Value("${wallet.activity.size:20}") int size,
+                               @Value("${wallet.activity.max-memory:32MB}") DataSize maxMemory,
+                               @Value("${wallet.activity.max-age:60s}") Duration maxAge,
+                               TransactionRepository transactionRepository,
+                               WalletRepository walletRepository,
+                               PlatformTransactionManager transactionManager) {
+        if (size < 1) {
+            throw new IllegalArgumentException("wallet.activity.size must be positive");
+        }
+        this.enabled = enabled;
+        this.size = size;
+        this.blockBytes = HEADER_BYTES + size * RECORD_BYTES;
+        long blockCount = enabled ? maxMemory.toBytes() / blockBytes : 0;
+        if (blockCount * blockBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("wallet.activity.max-memory must be below 2GB");
+        }
+        this.buffer = ByteBuffer.allocateDirect((int) (blockCount * blockBytes));
+        this.locks = new StampedLock[(int) blockCount];
+        this.lastRead = new AtomicLongArray((int) blockCount);
+        for (int block = 0; block < blockCount; block++) {
+            locks[block] = new StampedLock();
+            freeBlocks.add(block);
+        }
+        this.maxAgeMillis = maxAge.toMillis();
+        this.transactionRepository = transactionRepository;
+        this.walletRepository = walletRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Returns the recent activity of a wallet, from memory if the wallet is in the store, otherwise from the
+     * database, filling the wallet's block on the way.
+     *
+     * @param walletId the wallet
+     * @return the owner and the most recent transactions of the wallet, or empty if the wallet does not exist
+     */
+    public Optional<RecentActivity> get(Long walletId) {
+        long now = System.currentTimeMillis();
+        Integer block = blocks.get(walletId);
+        if (block != null) {
+            ByteBuffer copy = ByteBuffer.wrap(copy(block));
+            // The block may have been given to another wallet since the lookup
+            if (copy.getLong(WALLET_ID) == walletId && now - copy.getLong(FILLED_AT) < maxAgeMillis) {
+                lastRead.setOpaque(block, System.nanoTime());
+                hits.increment();
+                return Optional.of(read(copy));
+            }
+        }
+        misses.increment();
+        if (enabled) {
+            filling.putIfAbsent(walletId, Boolean.TRUE);
+        }
+        try {
+            Optional<RecentActivity> loaded = readOnlyTransaction.execute(status -> load(walletId));
+            if (loaded.isPresent()) {
+                fill(walletId, loaded.get(), now);
+            }
+            return loaded;
+        } finally {
+            filling.remove(walletId);
+        }
+    }
+
+    /**
+     * Records a new transaction, or the new status of a recorded one, once the surrounding database transaction has
+     * committed, or immediately if there is none.
+     *
+     * @param transaction the transaction as just saved
+     */
+    public void recordAfterCommit(TransactionResponse transaction) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(transaction);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(transaction);
+            }
+        });
+    }
+
+    /**
+     * Writes a committed transaction into its wallet's block, if the wallet is in the store. The status of a
+     * transaction already recorded is updated in place.
+     *
+     * @param transaction the committed transaction
+     */
+    public void record(TransactionResponse transaction) {
+        Long walletId = transaction.getWalletId();
+        // A fill in progress may have read the database before this commit. A fill puts its block before it checks
+        // this flag, so either the fill sees the flag, or the block is found below.
+        filling.replace(walletId, Boolean.FALSE);
+        Integer block = blocks.get(walletId);
+        if (block == null) {
+            return;
+        }
+        if (!fits(transaction)) {
+            release(walletId);
+            return;
+        }
+        StampedLock lock = locks[block];
+        long stamp = lock.writeLock();
+        try {
+            int offset = offset(block);
+            if (buffer.getLong(offset + WALLET_ID) != walletId) {
+                // Dropped since the lookup
+                return;
+            }
+            int count = buffer.getInt(offset + COUNT);
+            int head = buffer.getInt(offset + HEAD);
+            for (int i = 0; i < count; i++) {
+                int record = offset + record(Math.floorMod(head - 1 - i, size));
+                if (buffer.getLong(record + ID) == transaction.getId()) {
+                    write(record, transaction);
+                    return;
+                }
+            }
+            append(offset, transaction);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private Optional<RecentActivity> load(Long walletId) {
+        return walletRepository.findCustomerIdById(walletId).map(ownerId -> new RecentActivity(ownerId,
+                transactionRepository.findRecentResponsesByWalletId(walletId, Pageable.ofSize(size))));
+    }
+
+    private void fill(Long walletId, RecentActivity activity, long filledAt) {
+        boolean fits = activity.getTransactions().stream().allMatch(RecentActivityStore::fits);
+        directory.lock();
+        try {
+            Boolean fresh = filling.get(walletId);
+            if (fresh == null) {
+                // A concurrent read of the same wallet has filled it already
+                return;
+            }
+            if (!fresh || !fits) {
+                // Either a transaction was committed meanwhile or one does not fit; the next read tries again
+                filling.remove(walletId);
+                release(walletId);
+                return;
+            }
+            Integer block = blocks.get(walletId);
+            if (block == null) {
+                block = allocate();
+                if (block == null) {
+                    return;
+                }
+            }
+            StampedLock lock = locks[block];
+            long stamp = lock.writeLock();
+            try {
+                int offset = offset(block);
+                blocks.put(walletId, block);
+                if (!Boolean.TRUE.equals(filling.remove(walletId))) {
+                    // A transaction was committed since the check above
+                    blocks.remove(walletId);
+                    buffer.putLong(offset + WALLET_ID, NO_WALLET);
+                    freeBlocks.add(block);
+                    return;
+                }
+                buffer.putLong(offset + WALLET_ID, walletId);
+                buffer.putLong(offset + OWNER_ID, activity.getOwnerId());
+                buffer.putLong(offset + FILLED_AT, filledAt);
+                buffer.putInt(offset + COUNT, 0);
+                buffer.putInt(offset + HEAD, 0);
+                List<TransactionResponse> newestFirst = activity.getTransactions();
+                for (int i = newestFirst.size() - 1; i >= 0; i--) {
+                    append(offset, newestFirst.get(i));
+                }
+                lastRead.setOpaque(block, System.nanoTime());
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        } finally {
+            directory.unlock();
+        }
+    }
+
+    /**
+     * Takes a free block, or the least recently read of the next {@value #EVICTION_SAMPLE} blocks, which are all
+     * taken then. Called under the directory lock.
+     *
+     * @return the block, or {@code null} if {@code wallet.activity.max-memory} is smaller than one block
+     */
+    private Integer allocate() {
+        Integer block = freeBlocks.poll();
+        if (block != null || locks.length == 0) {
+            return block;
+        }
+        int victim = nextSample;
+        for (int i = 1; i < Math.min(EVICTION_SAMPLE, locks.length); i++) {
+            int candidate = (nextSample + i) % locks.length;
+            if (lastRead.getOpaque(candidate) - lastRead.getOpaque(victim) < 0) {
+                victim = candidate;
+            }
+        }
+        nextSample = (nextSample + EVICTION_SAMPLE) % locks.length;
+        blocks.remove(buffer.getLong(offset(victim) + WALLET_ID));
+        evictions.increment();
+        return victim;
+    }
+
+    private void release(Long walletId) {
+        directory.lock();
+        try {
+            Integer block = blocks.remove(walletId);
+            if (block == null) {
+                return;
+            }
+            StampedLock lock = locks[block];
+            long stamp = lock.writeLock();
+            try {
+                buffer.putLong(offset(block) + WALLET_ID, NO_WALLET);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            freeBlocks.add(block);
+        } finally {
+            directory.unlock();
+        }
+    }
+
+    /**
+     * Copies a block, without locking unless a write to the block overlaps the copy.
+     */
+    private byte[] copy(int block) {
+        byte[] copy = new byte[blockBytes];
+        StampedLock lock = locks[block];
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            buffer.get(offset(block), copy);
+            if (lock.validate(stamp)) {
+                return copy;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            buffer.get(offset(block), copy);
+            return copy;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void append(int offset, TransactionResponse transaction) {
+        int head = buffer.getInt(offset + HEAD);
+        write(offset + record(head), transaction);
+        buffer.putInt(offset + HEAD, (head + 1) % size);
+        buffer.putInt(offset + COUNT, Math.min(buffer.getInt(offset + COUNT) + 1, size));
+    }
+
+    private RecentActivity read(ByteBuffer block) {
+        long walletId = block.getLong(WALLET_ID);
+        int count = block.getInt(COUNT);
+        int head = block.getInt(HEAD);
+        List<TransactionResponse> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(read(block, record(Math.floorMod(head - 1 - i, size)), walletId));
+        }
+        return new RecentActivity(block.getLong(OWNER_ID), Collections.unmodifiableList(transactions));
+    }
+
+    private int offset(int block) {
+        return block * blockBytes;
+    }
+
+    private static int record(int slot) {
+        return HEADER_BYTES + slot * RECORD_BYTES;
+    }
+
+    private void write(int record, TransactionResponse transaction) {
+        BigDecimal amount = transaction.getAmount();
+        buffer.putLong(record + ID, transaction.getId());
+        buffer.putLong(record + UNSCALED_AMOUNT, amount.unscaledValue().longValue());
+        buffer.put(record + SCALE, (byte) amount.scale());
+        buffer.put(record + TYPE, ordinal(transaction.getType()));
+        buffer.put(record + OPPOSITE_PARTY_TYPE, ordinal(transaction.getOppositePartyType()));
+        buffer.put(record + STATUS, ordinal(transaction.getStatus()));
+        LocalDateTime createdAt = transaction.getCreatedAt();
+        buffer.putLong(record + CREATED_SECONDS,
+                createdAt == null ? Long.MIN_VALUE : createdAt.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(record + CREATED_NANOS, createdAt == null ? 0 : createdAt.getNano());
+        String party = transaction.getOppositeParty();
+        if (party == null) {
+            buffer.putShort(record + PARTY_LENGTH, (short) -1);
+        } else {
+            byte[] bytes = party.getBytes(StandardCharsets.UTF_8);
+            buffer.putShort(record + PARTY_LENGTH, (short) bytes.length);
+            buffer.put(record + PARTY, bytes);
+        }
+    }
+
+    private static TransactionResponse read(ByteBuffer block, int record, long walletId) {
+        long seconds = block.getLong(record + CREATED_SECONDS);
+        short partyLength = block.getShort(record + PARTY_LENGTH);
+        String party = null;
+        if (partyLength >= 0) {
+            byte[] bytes = new byte[partyLength];
+            block.get(record + PARTY, bytes);
+            party = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new TransactionResponse(block.getLong(record + ID), walletId,
+                BigDecimal.valueOf(block.getLong(record + UNSCALED_AMOUNT), block.get(record + SCALE)),
+                value(TYPES, block.get(record + TYPE)),
+                value(OPPOSITE_PARTY_TYPES, block.get(record + OPPOSITE_PARTY_TYPE)), party,
+                value(STATUSES, block.get(record + STATUS)),
+                seconds == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(seconds,
+                        block.getInt(record + CREATED_NANOS), ZoneOffset.UTC));
+    }
+
+    private static boolean fits(TransactionResponse transaction) {
+        BigDecimal amount = transaction.getAmount();
+        String party = transaction.getOppositeParty();
+        return transaction.getId() != null && amount != null && amount.unscaledValue().bitLength() < 64
+                && amount.scale() >= Byte.MIN_VALUE && amount.scale() <= Byte.MAX_VALUE
+                && (party == null || party.getBytes(StandardCharsets.UTF_8).length <= MAX_PARTY_BYTES);
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return (byte) (value == null ? 0 : value.ordinal() + 1);
+    }
+
+    private static <E> E value(E[] values, byte ordinal) {
+        return ordinal == 0 ? null : values[ordinal - 1];
+    }
+
+    /**
+     * @return the number of wallets in the store
+     */
+    public int getWallets() {
+        return blocks.size();
+    }
+
+    /**
+     * @return the size of the direct buffer in bytes
+     */
+    public long getMemoryBytes() {
+        return buffer.capacity();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("wallet.activity.hits", hits, LongAdder::sum)
+                .description("Recent activity reads served from memory").register(registry);
+        FunctionCounter.builder("wallet.activity.misses", misses, LongAdder::sum)
+                .description("Recent activity reads that went to the database").register(registry);
+        FunctionCounter.builder("wallet.activity.evictions", evictions, LongAdder::sum)
+                .description("Wallets dropped to make room for others").register(registry);
+        Gauge.builder("wallet.activity.wallets", this, RecentActivityStore::getWallets)
+                .description("Wallets with recent activity in memory").register(registry);
+        Gauge.builder("wallet.activity.memory", this, RecentActivityStore::getMemoryBytes)
+                .baseUnit("bytes").description("Direct memory reserved for recent activity").register(registry);
+    }
+}
@@ -0,0 +1,137 @@
+package com.digitalwallet.walletservice.approval;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.enums.ApprovalJobStatus;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One asynchronous approval, from submission until its result has been retained long enough to be polled.
+ * <p>
+ * Written by one worker and read by the status endpoint, so the mutable state is volatile; the result fields are
+ * written before {@link #getStatus() status} becomes final.
+ */
+public final class ApprovalJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long transactionId;
+    private final TransactionStatus requestedStatus;
+    private final Long walletId;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final long submittedNanos = System.nanoTime();
+
+    private volatile ApprovalJobStatus status = ApprovalJobStatus.QUEUED;
+    private volatile TransactionResponse transaction;
+    private volatile String error;
+    private volatile LocalDateTime completedAt;
+    private volatile long completedNanos;
+
+    /**
+     * @param transactionId   the transaction to approve or deny
+     * @param requestedStatus the status to set
+     * @param walletId        the wallet of the transaction, {@code null} if the transaction does not exist
+     */
+    public ApprovalJob(Long transactionId, TransactionStatus requestedStatus, Long walletId) {
+        this.transactionId = transactionId;
+        this.requestedStatus = requestedStatus;
+        this.walletId = walletId;
+    }
+
+    /**
+     * Marks the job as picked up by a worker.
+     */
+    public void markProcessing() {
+        status = ApprovalJobStatus.PROCESSING;
+    }
+
+    /**
+     * Records the outcome and completes the job.
+     *
+     * @param outcome the result of the approval
+     */
+    public void complete(ApprovalOutcome outcome) {
+        if (outcome.isSucceeded()) {
+            transaction = outcome.getTransaction();
+            finish(ApprovalJobStatus.SUCCEEDED);
+        } else {
+            fail(outcome.getError());
+        }
+    }
+
+    /**
+     * Completes the job without applying it.
+     *
+     * @param reason why the approval was not applied
+     */
+    public void fail(String reason) {
+        error = reason;
+        finish(ApprovalJobStatus.FAILED);
+    }
+
+    private void finish(ApprovalJobStatus finalStatus) {
+        completedNanos = System.nanoTime();
+        completedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public TransactionStatus getRequestedStatus() {
+        return requestedStatus;
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public ApprovalJobStatus getStatus() {
+        return status;
+    }
+
+    public boolean isDone() {
+        ApprovalJobStatus current = status;
+        return current == ApprovalJobStatus.SUCCEEDED || current == ApprovalJobStatus.FAILED;
+    }
+
+    public TransactionResponse getTransaction() {
+        return transaction;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public long getSubmittedNanos() {
+        return submittedNanos;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} at completion, only meaningful once {@link #isDone()}
+     */
+    public long getCompletedNanos() {
+        return completedNanos;
+    }
+
+    /**
+     * @return time from submission until completion, or until now if the job is still open
+     */
+    public long getLagNanos() {
+        return (isDone() ? completedNanos : System.nanoTime()) - submittedNanos;
+    }
+}
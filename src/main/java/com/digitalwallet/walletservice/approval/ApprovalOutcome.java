@@ -0,0 +1,58 @@
+package com.digitalwallet.walletservice.approval;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+
+/**
+ * The result of one approval of a coalesced batch: the updated transaction, or the reason it was not applied.
+ */
+public final class ApprovalOutcome {
+
+    private final Long transactionId;
+    private final TransactionResponse transaction;
+    private final String error;
+
+    private ApprovalOutcome(Long transactionId, TransactionResponse transaction, String error) {
+        this.transactionId = transactionId;
+        this.transaction = transaction;
+        this.error = error;
+    }
+
+    /**
+     * @param transaction the approved or denied transaction
+     * @return a successful outcome
+     */
+    public static ApprovalOutcome succeeded(TransactionResponse transaction) {
+        return new ApprovalOutcome(transaction.getId(), transaction, null);
+    }
+
+    /**
+     * @param transactionId the transaction that was not updated
+     * @param error         why it was not updated
+     * @return a failed outcome
+     */
+    public static ApprovalOutcome failed(Long transactionId, String error) {
+        return new ApprovalOutcome(transactionId, null, error);
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * @return the updated transaction, {@code null} if the approval failed
+     */
+    public TransactionResponse getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * @return the failure reason, {@code null} if the approval succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSucceeded() {
+        return error == null;
+    }
+}
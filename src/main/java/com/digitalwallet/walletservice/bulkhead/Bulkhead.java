@@ -0,0 +1,157 @@
+package com.digitalwallet.walletservice.bulkhead;
+
+import com.digitalwallet.walletservice.exception.BulkheadFullException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit with a bounded, timed wait queue for one {@link BulkheadType}.
+ * <p>
+ * At most {@code maxConcurrent} callers hold a permit; up to {@code maxQueue} more wait in arrival order for at
+ * most {@code queueTimeout}. Everyone else is rejected at once, so a saturated class of traffic cannot tie up more
+ * server threads than its concurrency plus queue allowance.
+ */
+public class Bulkhead {
+
+    private final BulkheadType type;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long queueTimeoutNanos;
+
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * @param type          the class of traffic
+     * @param maxConcurrent maximum number of callers holding a permit
+     * @param maxQueue      maximum number of callers waiting for a permit
+     * @param queueTimeout  maximum time a caller waits for a permit
+     */
+    public Bulkhead(BulkheadType type, int maxConcurrent, int maxQueue, Duration queueTimeout) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("wallet.bulkhead." + type.getKey() + ".max-concurrent must be at least 1");
+        }
+        if (maxQueue < 0) {
+            throw new IllegalArgumentException("wallet.bulkhead." + type.getKey() + ".max-queue must not be negative");
+        }
+        this.type = type;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Takes a permit, waiting in the queue if necessary.
+     *
+     * @throws BulkheadFullException if the queue is full or no permit became free within the queue timeout
+     */
+    public void acquire() {
+        try {
+            // A zero timeout respects fairness, unlike tryAcquire(), so callers cannot overtake the queue
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                accepted.increment();
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueue) {
+                queued.decrementAndGet();
+                rejected.increment();
+                throw new BulkheadFullException(type.getKey(), "The " + type.getKey() + " bulkhead is full.");
+            }
+            long start = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+            } finally {
+                queued.decrementAndGet();
+                waits.increment();
+                waitNanos.add(System.nanoTime() - start);
+            }
+            if (!acquired) {
+                timedOut.increment();
+                throw new BulkheadFullException(type.getKey(),
+                        "Timed out waiting for the " + type.getKey() + " bulkhead.");
+            }
+            accepted.increment();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new BulkheadFullException(type.getKey(), "Interrupted waiting for the " + type.getKey() + " bulkhead.");
+        }
+    }
+
+    /**
+     * Returns a permit taken by {@link #acquire()}.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    public BulkheadType getType() {
+        return type;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    /**
+     * @return the number of callers currently holding a permit
+     */
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * @return the number of callers currently waiting for a permit
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * @return the number of callers turned away because the queue was full
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of callers that gave up after the queue timeout
+     */
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    /**
+     * @return the number of callers that had to wait in the queue
+     */
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    /**
+     * @return the total time callers spent waiting in the queue, in nanoseconds
+     */
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+}
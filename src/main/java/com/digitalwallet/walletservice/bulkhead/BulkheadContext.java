@@ -0,0 +1,33 @@
+package com.digitalwallet.walletservice.bulkhead;
+
+/**
+ * The {@link BulkheadType} the current thread is working for.
+ * <p>
+ * Set by {@link BulkheadInterceptor} for the duration of a request and by long-lived worker threads such as the
+ * group-commit flusher; read by {@link BulkheadRoutingDataSource} to pick the connection pool.
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<BulkheadType> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    /**
+     * @return the current thread's bulkhead, or {@code null} outside any bulkhead
+     */
+    public static BulkheadType current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param type the bulkhead the current thread works for, or {@code null} to clear it
+     */
+    public static void set(BulkheadType type) {
+        if (type == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(type);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.digitalwallet.walletservice.bulkhead;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One Hikari connection pool per {@link BulkheadType}, so a class of traffic can exhaust its own pool but never
+ * another's.
+ * <p>
+ * Every pool copies the shared pool's settings (URL, credentials, driver and {@code spring.datasource.hikari.*})
+ * and overrides the size and connection timeout with {@code wallet.bulkhead.<name>.pool-size} and
+ * {@code wallet.bulkhead.<name>.connection-timeout}. Pools are named {@code bulkhead-<name>}, which is the
+ * {@code pool} tag of their {@code hikaricp.*} metrics. Pools open their connections on first use.
+ */
+public class BulkheadDataSources implements AutoCloseable {
+
+    private final Map<BulkheadType, HikariDataSource> pools = new EnumMap<>(BulkheadType.class);
+
+    /**
+     * @param shared        the shared pool whose settings are copied
+     * @param environment   source of the per-bulkhead pool settings
+     * @param meterRegistry registry for the pool metrics, may be {@code null}
+     */
+    public BulkheadDataSources(HikariDataSource shared, Environment environment, MeterRegistry meterRegistry) {
+        for (BulkheadType type : BulkheadType.values()) {
+            String prefix = "wallet.bulkhead." + type.getKey() + ".";
+            HikariConfig config = new HikariConfig();
+            shared.copyStateTo(config);
+            config.setPoolName("bulkhead-" + type.getKey());
+            int poolSize = environment.getProperty(prefix + "pool-size", Integer.class, type.getDefaultPoolSize());
+            config.setMaximumPoolSize(poolSize);
+            if (config.getMinimumIdle() > poolSize) {
+                config.setMinimumIdle(poolSize);
+            }
+            config.setConnectionTimeout(environment.getProperty(prefix + "connection-timeout", Duration.class,
+                    type.getDefaultConnectionTimeout()).toMillis());
+            config.setMetricRegistry(null);
+            config.setMetricsTrackerFactory(meterRegistry == null ? null
+                    : new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            HikariDataSource pool = new HikariDataSource();
+            config.copyStateTo(pool);
+            pools.put(type, pool);
+        }
+    }
+
+    /**
+     * @param type the class of traffic
+     * @return its pool
+     */
+    public HikariDataSource get(BulkheadType type) {
+        return pools.get(type);
+    }
+
+    /**
+     * @return the pools by bulkhead
+     */
+    public Map<BulkheadType, HikariDataSource> getAll() {
+        return Collections.unmodifiableMap(pools);
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,64 @@
+package com.digitalwallet.walletservice.bulkhead;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Makes every API request enter its {@link Bulkhead} before the handler runs and leave it once the response
+ * is complete.
+ * <p>
+ * A request that cannot enter fails with {@link com.digitalwallet.walletservice.exception.BulkheadFullException},
+ * answered with 503 by the global exception handler. For asynchronous requests the permit is held until the
+ * async dispatch completes, but the servlet thread is released in between.
+ */
+@Component
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String BULKHEAD_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".bulkhead";
+
+    private final BulkheadRegistry registry;
+
+    /**
+     * @param registry the bulkheads and the rules assigning requests to them
+     */
+    public BulkheadInterceptor(BulkheadRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Bulkhead held = (Bulkhead) request.getAttribute(BULKHEAD_ATTRIBUTE);
+        if (held != null) {
+            // Async dispatch of a request that already holds its permit
+            BulkheadContext.set(held.getType());
+            return true;
+        }
+        Bulkhead bulkhead = registry.forRequest(request);
+        if (bulkhead == null) {
+            return true;
+        }
+        bulkhead.acquire();
+        request.setAttribute(BULKHEAD_ATTRIBUTE, bulkhead);
+        BulkheadContext.set(bulkhead.getType());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        BulkheadContext.set(null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        BulkheadContext.set(null);
+        Bulkhead bulkhead = (Bulkhead) request.getAttribute(BULKHEAD_ATTRIBUTE);
+        if (bulkhead != null) {
+            request.removeAttribute(BULKHEAD_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.digitalwallet.walletservice.bulkhead;
+
+import com.digitalwallet.walletservice.model.Employee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The configured {@link Bulkhead}s and the rules assigning requests to them.
+ * <p>
+ * Each bulkhead reads {@code wallet.bulkhead.<name>.max-concurrent}, {@code max-queue} and {@code queue-timeout},
+ * falling back to the defaults of its {@link BulkheadType}. Saturation is published as Micrometer metrics tagged
+ * with {@code bulkhead=<name>}:
+ * <ul>
+ *   <li>{@code wallet.bulkhead.active} / {@code wallet.bulkhead.queued}: permits held and callers waiting now</li>
+ *   <li>{@code wallet.bulkhead.max.concurrent} / {@code wallet.bulkhead.max.queue}: the configured limits</li>
+ *   <li>{@code wallet.bulkhead.calls}: callers by {@code outcome} ({@code accepted}, {@code rejected},
+ *       {@code timeout})</li>
+ *   <li>{@code wallet.bulkhead.wait}: time spent in the queue by callers that had to wait</li>
+ * </ul>
+ */
+@Component
+public class BulkheadRegistry implements MeterBinder {
+
+    private final boolean enabled;
+    private final Map<BulkheadType, Bulkhead> bulkheads = new EnumMap<>(BulkheadType.class);
+
+    /**
+     * @param enabled     whether requests are limited at all ({@code wallet.bulkhead.enabled})
+     * @param environment source of the per-bulkhead settings
+     */
+    public BulkheadRegistry(@Value("${wallet.bulkhead.enabled:true}") boolean enabled, Environment environment) {
+        this.enabled = enabled;
+        for (BulkheadType type : BulkheadType.values()) {
+            String prefix = "wallet.bulkhead." + type.getKey() + ".";
+            bulkheads.put(type, new Bulkhead(type,
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, type.getDefaultMaxConcurrent()),
+                    environment.getProperty(prefix + "max-queue", Integer.class, type.getDefaultMaxQueue()),
+                    environment.getProperty(prefix + "queue-timeout", Duration.class, type.getDefaultQueueTimeout())));
+        }
+    }
+
+    /**
+     * @param type the class of traffic
+     * @return its bulkhead
+     */
+    public Bulkhead get(BulkheadType type) {
+        return bulkheads.get(type);
+    }
+
+    /**
+     * @return all bulkheads
+     */
+    public Collection<Bulkhead> getAll() {
+        return Collections.unmodifiableCollection(bulkheads.values());
+    }
+
+    /**
+     * Picks the bulkhead of a request. Must run after authentication, since employee reads are told apart from
+     * customer reads by the principal.
+     *
+     * @param request the request
+     * @return its bulkhead, or {@code null} for unlimited traffic (documentation, actuator) or if disabled
+     */
+    public Bulkhead forRequest(HttpServletRequest request) {
+        BulkheadType type = enabled ? classify(request) : null;
+        return type == null ? null : bulkheads.get(type);
+    }
+
+    private static BulkheadType classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+
+        if (path.equals("/api/auth/login") || path.equals("/api/auth/register")) {
+            return BulkheadType.AUTH;
+        }
+        if ((path.startsWith("/api/transactions/") && !read) || path.equals("/api/auth/wallets/approve")) {
+            return BulkheadType.MONEY_MOVEMENT;
+        }
+        if (path.startsWith("/api/statements") || path.startsWith("/api/reconciliation")
+                || path.equals("/api/auth/wallets/all")) {
+            return BulkheadType.REPORTING;
+        }
+        if (path.startsWith("/api/")) {
+            return isEmployee() ? BulkheadType.REPORTING : BulkheadType.CUSTOMER_READS;
+        }
+        return null;
+    }
+
+    private static boolean isEmployee() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof Employee;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            String name = bulkhead.getType().getKey();
+            Gauge.builder("wallet.bulkhead.active", bulkhead, Bulkhead::getActive)
+                    .tag("bulkhead", name).description("Permits currently held").register(registry);
+            Gauge.builder("wallet.bulkhead.queued", bulkhead, Bulkhead::getQueued)
+                    .tag("bulkhead", name).description("Callers currently waiting for a permit").register(registry);
+            Gauge.builder("wallet.bulkhead.max.concurrent", bulkhead, Bulkhead::getMaxConcurrent)
+                    .tag("bulkhead", name).register(registry);
+            Gauge.builder("wallet.bulkhead.max.queue", bulkhead, Bulkhead::getMaxQueue)
+                    .tag("bulkhead", name).register(registry);
+            FunctionCounter.builder("wallet.bulkhead.calls", bulkhead, Bulkhead::getAccepted)
+                    .tag("bulkhead", name).tag("outcome", "accepted").register(registry);
+            FunctionCounter.builder("wallet.bulkhead.calls", bulkhead, Bulkhead::getRejected)
+                    .tag("bulkhead", name).tag("outcome", "rejected").register(registry);
+            FunctionCounter.builder("wallet.bulkhead.calls", bulkhead, Bulkhead::getTimedOut)
+                    .tag("bulkhead", name).tag("outcome", "timeout").register(registry);
+            FunctionTimer.builder("wallet.bulkhead.wait", bulkhead, Bulkhead::getWaits, Bulkhead::getWaitNanos,
+                            TimeUnit.NANOSECONDS)
+                    .tag("bulkhead", name).description("Time spent waiting for a permit").register(registry);
+        }
+    }
+}
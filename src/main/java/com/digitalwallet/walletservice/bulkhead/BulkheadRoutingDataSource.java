@@ -0,0 +1,31 @@
+package com.digitalwallet.walletservice.bulkhead;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections from the pool of the current thread's {@link BulkheadContext}, or from the shared pool
+ * for work outside any bulkhead (authentication filter, scheduled and background jobs).
+ */
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * @param shared the pool used outside any bulkhead
+     * @param pools  the per-bulkhead pools
+     */
+    public BulkheadRoutingDataSource(DataSource shared, BulkheadDataSources pools) {
+        Map<Object, Object> targets = new HashMap<>();
+        pools.getAll().forEach(targets::put);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shared);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return BulkheadContext.current();
+    }
+}
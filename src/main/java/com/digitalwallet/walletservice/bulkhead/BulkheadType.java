@@ -0,0 +1,77 @@
+package com.digitalwallet.walletservice.bulkhead;
+
+import java.time.Duration;
+
+/**
+ * The classes of traffic that are isolated from each other.
+ * <p>
+ * Each constant carries the defaults of its {@code wallet.bulkhead.<name>.*} settings. The defaults leave the sum
+ * of concurrent and queued requests of all classes except money movement well below Tomcat's 200 worker threads,
+ * so deposits and withdrawals always find a thread.
+ */
+public enum BulkheadType {
+
+    /**
+     * Deposits, withdrawals, transfers and approvals.
+     */
+    MONEY_MOVEMENT("money-movement", 64, 64, Duration.ofSeconds(2), 10, Duration.ofSeconds(2)),
+
+    /**
+     * Customers reading their wallets, histories, portfolio and FX quotes, and creating wallets.
+     */
+    CUSTOMER_READS("customer-reads", 48, 48, Duration.ofSeconds(1), 6, Duration.ofSeconds(1)),
+
+    /**
+     * Employee reads and reporting: all-customer listings, histories read by employees, statements, reconciliation.
+     */
+    REPORTING("reporting", 4, 8, Duration.ofSeconds(5), 2, Duration.ofSeconds(10)),
+
+    /**
+     * Registration and login; bounded mainly because password hashing is CPU-heavy.
+     */
+    AUTH("auth", 16, 32, Duration.ofSeconds(2), 2, Duration.ofSeconds(2));
+
+    private final String key;
+    private final int defaultMaxConcurrent;
+    private final int defaultMaxQueue;
+    private final Duration defaultQueueTimeout;
+    private final int defaultPoolSize;
+    private final Duration defaultConnectionTimeout;
+
+    BulkheadType(String key, int defaultMaxConcurrent, int defaultMaxQueue, Duration defaultQueueTimeout,
+                 int defaultPoolSize, Duration defaultConnectionTimeout) {
+        this.key = key;
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultMaxQueue = defaultMaxQueue;
+        this.defaultQueueTimeout = defaultQueueTimeout;
+        this.defaultPoolSize = defaultPoolSize;
+        this.defaultConnectionTimeout = defaultConnectionTimeout;
+    }
+
+    /**
+     * @return the name used in configuration keys, metric tags and the connection pool name
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public int getDefaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    public int getDefaultMaxQueue() {
+        return defaultMaxQueue;
+    }
+
+    public Duration getDefaultQueueTimeout() {
+        return defaultQueueTimeout;
+    }
+
+    public int getDefaultPoolSize() {
+        return defaultPoolSize;
+    }
+
+    public Duration getDefaultConnectionTimeout() {
+        return defaultConnectionTimeout;
+    }
+}
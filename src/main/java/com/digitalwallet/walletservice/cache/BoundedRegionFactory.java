@@ -0,0 +1,79 @@
+package com.digitalwallet.walletservice.cache;
+
+import com.digitalwallet.walletservice.config.SecondLevelCacheConfig;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate second-level cache provider keeping every region in a {@link BoundedStorageAccess} on the heap.
+ * <p>
+ * Handed to Hibernate as an instance by {@link SecondLevelCacheConfig}, so its limits come from the application
+ * properties and its regions can be inspected for metrics. It only caches within this instance; changes made on
+ * other instances are applied through the {@link CacheInvalidationChannel}.
+ */
+public class BoundedRegionFactory extends RegionFactoryTemplate {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, BoundedStorageAccess> regions = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxEntries the most entries kept per region
+     * @param ttl        how long an entry is served
+     */
+    public BoundedRegionFactory(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(StorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return storage(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return storage(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        // Update timestamps must never be evicted, or cached query results could outlive the rows they came from
+        return new BoundedStorageAccess(regionName, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    private BoundedStorageAccess storage(String regionName) {
+        return regions.computeIfAbsent(regionName, name -> new BoundedStorageAccess(name, maxEntries, ttlNanos));
+    }
+
+    /**
+     * @return the entity and natural-id regions created so far
+     */
+    public Collection<BoundedStorageAccess> getRegions() {
+        return Collections.unmodifiableCollection(regions.values());
+    }
+}
@@ -0,0 +1,127 @@
+package com.digitalwallet.walletservice.cache;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Storage of one second-level cache region: a bounded map of cache keys to the entries Hibernate puts there.
+ * <p>
+ * When full, the least recently used entry is evicted. Entries expire {@code ttl} after they were stored, which
+ * bounds how stale an entry can get if an invalidation from another instance is lost.
+ */
+public final class BoundedStorageAccess implements DomainDataStorageAccess {
+
+    private final String regionName;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<Object, Entry> entries;
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param regionName the name of the region
+     * @param maxEntries the most entries kept
+     * @param ttlNanos   how long an entry is served, in nanoseconds
+     */
+    public BoundedStorageAccess(String regionName, int maxEntries, long ttlNanos) {
+        this.regionName = regionName;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() <= BoundedStorageAccess.this.maxEntries) {
+                    return false;
+                }
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.storedNanos > ttlNanos) {
+            entries.remove(key);
+            evictions.increment();
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public synchronized void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        if (maxEntries > 0) {
+            entries.put(key, new Entry(value, System.nanoTime()));
+        }
+    }
+
+    @Override
+    public synchronized void removeFromCache(Object key, SharedSessionContractImplementor session) {
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void clearCache(SharedSessionContractImplementor session) {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized boolean contains(Object key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public synchronized void evictData() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized void evictData(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void release() {
+        entries.clear();
+    }
+
+    /**
+     * @return the name of the region
+     */
+    public String getRegionName() {
+        return regionName;
+    }
+
+    /**
+     * @return the number of entries, including expired ones not yet dropped
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of entries dropped because the region was full or they had expired
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long storedNanos;
+
+        Entry(Object value, long storedNanos) {
+            this.value = value;
+            this.storedNanos = storedNanos;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.digitalwallet.walletservice.cache;
+
+import java.io.Serializable;
+
+/**
+ * Message telling the other instances that a cached entity changed, so they evict their copy.
+ */
+public final class CacheInvalidation implements Serializable {
+
+    private final String nodeId;
+    private final String entityName;
+    private final Serializable id;
+    private final boolean removed;
+
+    /**
+     * @param nodeId     the instance that changed the entity
+     * @param entityName the entity name, e.g. {@code com.digitalwallet.walletservice.model.Customer}
+     * @param id         the entity ID
+     * @param removed    whether the entity was deleted, which also invalidates its natural ID
+     */
+    public CacheInvalidation(String nodeId, String entityName, Serializable id, boolean removed) {
+        this.nodeId = nodeId;
+        this.entityName = entityName;
+        this.id = id;
+        this.removed = removed;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public Serializable getId() {
+        return id;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+}
@@ -0,0 +1,23 @@
+package com.digitalwallet.walletservice.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts {@link CacheInvalidation}s between the instances of the application.
+ * <p>
+ * Every instance receives every message, its own included; {@link SecondLevelCache} ignores its own.
+ * Delivery is best effort: the time to live of the cache regions bounds how long a lost message leaves an
+ * instance serving a stale entry.
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * @param invalidation the message to send to all instances
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * @param listener called with every message received
+     */
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
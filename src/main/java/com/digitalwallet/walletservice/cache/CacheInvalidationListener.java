@@ -0,0 +1,39 @@
+package com.digitalwallet.walletservice.cache;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener reporting updates and deletions of second-level cached entities to {@link SecondLevelCache},
+ * which broadcasts them to the other instances after commit.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private final ObjectProvider<SecondLevelCache> secondLevelCache;
+
+    /**
+     * @param secondLevelCache the cache coordinator, resolved lazily since it depends on the entity manager factory
+     */
+    public CacheInvalidationListener(ObjectProvider<SecondLevelCache> secondLevelCache) {
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    /**
+     * @param entity the entity just updated
+     */
+    @PostUpdate
+    public void updated(Object entity) {
+        secondLevelCache.ifAvailable(cache -> cache.entityChanged(entity, false));
+    }
+
+    /**
+     * @param entity the entity just deleted
+     */
+    @PostRemove
+    public void removed(Object entity) {
+        secondLevelCache.ifAvailable(cache -> cache.entityChanged(entity, true));
+    }
+}
@@ -0,0 +1,39 @@
+package com.digitalwallet.walletservice.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link CacheInvalidationChannel} delivering messages to the subscribers within this JVM, synchronously.
+ * <p>
+ * Stands in for a broker-backed channel in tests and single-instance deployments. It is the default
+ * {@link CacheInvalidationChannel} bean; a deployment with several instances declares its own, over its message
+ * broker, instead.
+ */
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalCacheInvalidationChannel.class);
+
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException ex) {
+                log.warn("Cache invalidation listener failed for {}#{}", invalidation.getEntityName(),
+                        invalidation.getId(), ex);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
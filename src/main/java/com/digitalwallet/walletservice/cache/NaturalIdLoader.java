@@ -0,0 +1,40 @@
+package com.digitalwallet.walletservice.cache;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Loads entities by their natural ID through the second-level cache.
+ * <p>
+ * Unlike a query method such as {@code findByTckn}, a natural-id load resolves the ID from the natural-id region
+ * and the entity from the entity region, so a cached principal is returned without a connection or a query.
+ * Each load uses its own short-lived entity manager outside any transaction; the entity returned is detached.
+ */
+@Component
+public class NaturalIdLoader {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * @param entityManagerFactory the factory the entity managers are created from
+     */
+    public NaturalIdLoader(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @param type      the entity type, which must have a simple natural ID
+     * @param naturalId the natural ID
+     * @param <T>       the entity type
+     * @return the entity, or empty if there is none
+     */
+    public <T> Optional<T> load(Class<T> type, Object naturalId) {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return entityManager.unwrap(Session.class).bySimpleNaturalId(type).loadOptional(naturalId);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.digitalwallet.walletservice.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keeps the Hibernate second-level cache of {@code Customer} and {@code Employee} consistent across instances.
+ * <p>
+ * Both entities are cached in the {@value #CUSTOMER_REGION} and {@value #EMPLOYEE_REGION} regions, and their
+ * natural IDs (TCKN, email) in {@value #CUSTOMER_TCKN_REGION} and {@value #EMPLOYEE_EMAIL_REGION}. Within an
+ * instance, Hibernate's read-write access keeps the regions in step with updates. Once a transaction that updated
+ * or deleted a cached entity commits, a {@link CacheInvalidation} is broadcast on the
+ * {@link CacheInvalidationChannel}, and the other instances evict their copy.
+ * <p>
+ * Metrics, tagged with {@code region}: {@code wallet.cache.hits}, {@code wallet.cache.misses},
+ * {@code wallet.cache.puts}, {@code wallet.cache.size} and {@code wallet.cache.evictions}; and
+ * {@code wallet.cache.invalidations.sent} and {@code wallet.cache.invalidations.received}.
+ */
+@Component
+public class SecondLevelCache implements MeterBinder {
+
+    /**
+     * Region of cached customers.
+     */
+    public static final String CUSTOMER_REGION = "customer";
+
+    /**
+     * Region of cached TCKN to customer ID resolutions.
+     */
+    public static final String CUSTOMER_TCKN_REGION = "customer-tckn";
+
+    /**
+     * Region of cached employees.
+     */
+    public static final String EMPLOYEE_REGION = "employee";
+
+    /**
+     * Region of cached email to employee ID resolutions.
+     */
+    public static final String EMPLOYEE_EMAIL_REGION = "employee-email";
+
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCache.class);
+    private static final List<String> REGIONS =
+            List.of(CUSTOMER_REGION, CUSTOMER_TCKN_REGION, EMPLOYEE_REGION, EMPLOYEE_EMAIL_REGION);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationChannel channel;
+    private final BoundedRegionFactory regionFactory;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder received = new LongAdder();
+
+    /**
+     * @param entityManagerFactory the factory whose second-level cache is kept consistent
+     * @param channel              the channel invalidations are exchanged on
+     * @param regionFactory        the cache provider, for region sizes
+     */
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory, CacheInvalidationChannel channel,
+                            BoundedRegionFactory regionFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.channel = channel;
+        this.regionFactory = regionFactory;
+        channel.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Broadcasts the change of a cached entity once the surrounding transaction has committed, or immediately if
+     * there is none, so other instances never evict before the change is visible to them.
+     *
+     * @param entity  the updated or deleted entity
+     * @param removed whether it was deleted
+     */
+    public void entityChanged(Object entity, boolean removed) {
+        Object id = sessionFactory.getPersistenceUnitUtil().getIdentifier(entity);
+        CacheInvalidation invalidation = new CacheInvalidation(nodeId,
+                sessionFactory.getMappingMetamodel().getEntityDescriptor(entity.getClass()).getEntityName(),
+                (Serializable) id, removed);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(invalidation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(invalidation);
+            }
+        });
+    }
+
+    private void publish(CacheInvalidation invalidation) {
+        try {
+            channel.publish(invalidation);
+            sent.increment();
+        } catch (RuntimeException ex) {
+            log.warn("Could not broadcast the change of {}#{}, other instances keep it until it expires",
+                    invalidation.getEntityName(), invalidation.getId(), ex);
+        }
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.getNodeId())) {
+            return;
+        }
+        received.increment();
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(invalidation.getEntityName(), invalidation.getId());
+        if (invalidation.isRemoved()) {
+            // Natural IDs are immutable, so only a deletion makes a cached resolution wrong
+            cache.evictNaturalIdData(invalidation.getEntityName());
+        }
+    }
+
+    /**
+     * @return the ID of this instance in {@link CacheInvalidation}s
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : REGIONS) {
+            FunctionCounter.builder("wallet.cache.hits", this, cache -> cache.statistic(region,
+                            CacheRegionStatistics::getHitCount))
+                    .tag("region", region).description("Lookups answered by the second-level cache")
+                    .register(registry);
+            FunctionCounter.builder("wallet.cache.misses", this, cache -> cache.statistic(region,
+                            CacheRegionStatistics::getMissCount))
+                    .tag("region", region).description("Lookups the second-level cache could not answer")
+                    .register(registry);
+            FunctionCounter.builder("wallet.cache.puts", this, cache -> cache.statistic(region,
+                            CacheRegionStatistics::getPutCount))
+                    .tag("region", region).description("Entries stored in the second-level cache")
+                    .register(registry);
+            Gauge.builder("wallet.cache.size", regionFactory, factory -> factory.getRegions().stream()
+                            .filter(storage -> storage.getRegionName().equals(region))
+                            .mapToInt(BoundedStorageAccess::size).sum())
+                    .tag("region", region).description("Entries in the second-level cache region")
+                    .register(registry);
+            FunctionCounter.builder("wallet.cache.evictions", regionFactory, factory -> factory.getRegions().stream()
+                            .filter(storage -> storage.getRegionName().equals(region))
+                            .mapToLong(BoundedStorageAccess::getEvictions).sum())
+                    .tag("region", region).description("Entries dropped because the region was full or they expired")
+                    .register(registry);
+        }
+        FunctionCounter.builder("wallet.cache.invalidations.sent", sent, LongAdder::sum)
+                .description("Changes of cached entities broadcast to other instances").register(registry);
+        FunctionCounter.builder("wallet.cache.invalidations.received", received, LongAdder::sum)
+                .description("Changes of cached entities received from other instances").register(registry);
+    }
+
+    private long statistic(String region, ToLongFunction<CacheRegionStatistics> value) {
+        Statistics statistics = sessionFactory.getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return 0;
+        }
+        try {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            return regionStatistics == null ? 0 : value.applyAsLong(regionStatistics);
+        } catch (IllegalArgumentException ex) {
+            // The region does not exist while the second-level cache is disabled
+            return 0;
+        }
+    }
+}
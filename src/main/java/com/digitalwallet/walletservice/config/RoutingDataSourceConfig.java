@@ -0,0 +1,107 @@
+package com.digitalwallet.walletservice.config;
+
+import com.digitalwallet.walletservice.bulkhead.BulkheadDataSources;
+import com.digitalwallet.walletservice.bulkhead.BulkheadRoutingDataSource;
+import com.digitalwallet.walletservice.routing.ReadYourWritesGuard;
+import com.digitalwallet.walletservice.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routed data sources, active when a read replica ({@code wallet.datasource.replica.url}) or per-bulkhead
+ * connection pools ({@code wallet.bulkhead.connection-pools.enabled}) are configured.
+ * <p>
+ * The primary pool is configured by {@code spring.datasource.*} as before; the replica pool by
+ * {@code wallet.datasource.replica.url/username/password} and {@code wallet.datasource.replica.hikari.*}.
+ * The application uses a {@link LazyConnectionDataSourceProxy} over
+ * <ul>
+ *   <li>a {@link ReplicaRoutingDataSource}, if there is a replica: {@code @Transactional(readOnly = true)} work
+ *       reads the replica, everything else uses the primary side;</li>
+ *   <li>a {@link BulkheadRoutingDataSource} on the primary side, if pools are partitioned: requests use the pool
+ *       of their bulkhead, other work the shared primary pool.</li>
+ * </ul>
+ * <p>
+ * The replica is never written to, so the schema is managed on the primary only ({@code ddl-auto} and
+ * {@code schema.sql} apply to the primary, and replication carries it over).
+ */
+@Configuration
+@Conditional(RoutingDataSourceConfig.RoutingEnabledCondition.class)
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "wallet.datasource.replica", name = "url")
+    @ConfigurationProperties("wallet.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${wallet.datasource.replica.url}") String url,
+                                              @Value("${wallet.datasource.replica.username:}") String username,
+                                              @Value("${wallet.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "wallet.bulkhead.connection-pools.enabled", havingValue = "true")
+    public BulkheadDataSources bulkheadDataSources(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                   Environment environment,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BulkheadDataSources(primary, environment, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+                                 ObjectProvider<BulkheadDataSources> bulkheadPools,
+                                 ReadYourWritesGuard guard) {
+        BulkheadDataSources pools = bulkheadPools.getIfAvailable();
+        DataSource writable = pools == null ? primary : new BulkheadRoutingDataSource(primary, pools);
+        DataSource replicaDataSource = replica.getIfAvailable();
+        DataSource routed = replicaDataSource == null ? writable
+                : new ReplicaRoutingDataSource(writable, replicaDataSource, guard);
+        return new LazyConnectionDataSourceProxy(routed);
+    }
+
+    /**
+     * Matches when a replica or partitioned connection pools are configured.
+     */
+    static class RoutingEnabledCondition extends AnyNestedCondition {
+
+        RoutingEnabledCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "wallet.datasource.replica", name = "url")
+        static class ReplicaConfigured {
+        }
+
+        @ConditionalOnProperty(name = "wallet.bulkhead.connection-pools.enabled", havingValue = "true")
+        static class ConnectionPoolsPartitioned {
+        }
+    }
+}
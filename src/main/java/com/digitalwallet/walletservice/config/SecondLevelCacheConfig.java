@@ -0,0 +1,58 @@
+package com.digitalwallet.walletservice.config;
+
+import com.digitalwallet.walletservice.cache.BoundedRegionFactory;
+import com.digitalwallet.walletservice.cache.CacheInvalidationChannel;
+import com.digitalwallet.walletservice.cache.LocalCacheInvalidationChannel;
+import com.digitalwallet.walletservice.cache.SecondLevelCache;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Hibernate second-level cache for the entities read on every authenticated request ({@code Customer},
+ * {@code Employee}) and their natural IDs.
+ * <p>
+ * Regions are kept by a {@link BoundedRegionFactory} holding at most {@code wallet.cache.max-entries} entries
+ * each, for at most {@code wallet.cache.ttl}. {@code wallet.cache.enabled=false} turns the cache off, and
+ * {@code wallet.cache.statistics} the Hibernate statistics behind the {@code wallet.cache.*} metrics, which are
+ * collected without logging per-session metrics. Changes are
+ * broadcast to other instances by {@link SecondLevelCache} over the {@link CacheInvalidationChannel} bean, which
+ * defaults to the in-process {@link LocalCacheInvalidationChannel}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public BoundedRegionFactory boundedRegionFactory(@Value("${wallet.cache.max-entries:10000}") int maxEntries,
+                                                     @Value("${wallet.cache.ttl:10m}") Duration ttl) {
+        return new BoundedRegionFactory(maxEntries, ttl);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Value("${wallet.cache.enabled:true}") boolean enabled,
+            @Value("${wallet.cache.statistics:true}") boolean statistics,
+            BoundedRegionFactory regionFactory) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+            // With statistics on, Hibernate would otherwise log the metrics of every session as it closes
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CacheInvalidationChannel.class)
+    public CacheInvalidationChannel cacheInvalidationChannel() {
+        return new LocalCacheInvalidationChannel();
+    }
+}
@@ -0,0 +1,94 @@
+package com.digitalwallet.walletservice.config;
+
+import com.digitalwallet.walletservice.controller.ReconciliationController;
+import com.digitalwallet.walletservice.controller.StatementController;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+/**
+ * Startup tuning for the {@code faststart} profile.
+ * <p>
+ * That profile turns on {@code spring.main.lazy-initialization}, which defers every bean to its first use.
+ * Deferring the request hot path would only move its cost into the first requests after a scale-out, and beans
+ * with {@code @Scheduled} methods or {@code @PostConstruct} preloading would not run at all until touched, so
+ * this filter keeps them eager:
+ * <ul>
+ *   <li>all application beans (services, repositories, security, hot controllers), except the types in
+ *       {@link #LAZY_APPLICATION_TYPES}</li>
+ *   <li>the {@link DataSource} and the JPA {@link EntityManagerFactory}</li>
+ * </ul>
+ * Everything else — springdoc, batch-only controllers and unused auto-configuration — is created on first use.
+ * springdoc declares its API resource {@code @Lazy(false)}, which would build most of its model at startup, so
+ * {@link #deferSpringDoc()} overrides that. {@code @ControllerAdvice} beans such as the exception handler are
+ * always created during startup, because Spring MVC instantiates them to determine their order.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String APPLICATION_PACKAGE = "com.digitalwallet.walletservice.";
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    /**
+     * Application beans that are not on the request hot path and may be created on first use.
+     */
+    private static final Set<Class<?>> LAZY_APPLICATION_TYPES = Set.of(
+            StatementController.class,
+            ReconciliationController.class
+    );
+
+    /**
+     * Keeps hot-path beans eager when lazy initialization is enabled; has no effect otherwise.
+     *
+     * @return the exclude filter
+     */
+    @Bean
+    static LazyInitializationExcludeFilter hotPathLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && isHotPath(beanType);
+    }
+
+    /**
+     * Marks springdoc beans lazy when lazy initialization is enabled, overriding springdoc's own
+     * {@code @Lazy(false)}; the OpenAPI document is then built on the first {@code /v3/api-docs} request.
+     *
+     * @return the bean factory post-processor
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.main.lazy-initialization", havingValue = "true")
+    static BeanFactoryPostProcessor deferSpringDoc() {
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                if (declaringClassName(definition).startsWith(SPRINGDOC_PACKAGE)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the class that declares the bean: the configuration class of a {@code @Bean} method,
+     * otherwise the bean class.
+     */
+    private static String declaringClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        return definition.getBeanClassName() == null ? "" : definition.getBeanClassName();
+    }
+
+    private static boolean isHotPath(Class<?> beanType) {
+        if (DataSource.class.isAssignableFrom(beanType) || EntityManagerFactory.class.isAssignableFrom(beanType)) {
+            return true;
+        }
+        return beanType.getName().startsWith(APPLICATION_PACKAGE) && !LAZY_APPLICATION_TYPES.contains(beanType);
+    }
+}
@@ -0,0 +1,40 @@
+package com.digitalwallet.walletservice.config;
+
+import com.digitalwallet.walletservice.bulkhead.BulkheadInterceptor;
+import com.digitalwallet.walletservice.json.TransactionListHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC customizations.
+ * <p>
+ * Puts the streaming {@link TransactionListHttpMessageConverter} in front of the default converters, so transaction
+ * histories are written element by element instead of through the generic Jackson converter, and makes every
+ * handler call pass through its bulkhead ({@link BulkheadInterceptor}).
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final BulkheadInterceptor bulkheadInterceptor;
+
+    public WebConfig(ObjectMapper objectMapper, BulkheadInterceptor bulkheadInterceptor) {
+        this.objectMapper = objectMapper;
+        this.bulkheadInterceptor = bulkheadInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(bulkheadInterceptor);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new TransactionListHttpMessageConverter(objectMapper));
+    }
+}
@@ -0,0 +1,51 @@
+package com.digitalwallet.walletservice.controller;
+
+import com.digitalwallet.walletservice.dto.ApprovalRulesResponse;
+import com.digitalwallet.walletservice.mapper.ApprovalRuleMapper;
+import com.digitalwallet.walletservice.service.ApprovalRuleService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller exposing the auto-approval rules in effect, with their hit counts. Employee only.
+ * <p>
+ * Base path: /api/approval-rules
+ */
+@RestController
+@RequestMapping("/api/approval-rules")
+public class ApprovalRuleController {
+
+    private final ApprovalRuleService approvalRuleService;
+
+    /**
+     * Constructor for injecting {@link ApprovalRuleService}.
+     *
+     * @param approvalRuleService the service evaluating the rules
+     */
+    public ApprovalRuleController(ApprovalRuleService approvalRuleService) {
+        this.approvalRuleService = approvalRuleService;
+    }
+
+    /**
+     * Endpoint to read the rules currently in effect.
+     *
+     * @return the rules in evaluation order, with how often each approved or held back a transaction
+     */
+    @GetMapping
+    public ResponseEntity<ApprovalRulesResponse> getRules() {
+        return ResponseEntity.ok(ApprovalRuleMapper.toResponse(approvalRuleService.getRuleSet()));
+    }
+
+    /**
+     * Endpoint to reload the rule file now instead of at the next refresh.
+     *
+     * @return the rules in effect after the reload
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<ApprovalRulesResponse> reload() {
+        return ResponseEntity.ok(ApprovalRuleMapper.toResponse(approvalRuleService.reload()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.digitalwallet.walletservice.controller;
+
+import com.digitalwallet.walletservice.dto.FxQuoteRequest;
+import com.digitalwallet.walletservice.dto.FxQuoteResponse;
+import com.digitalwallet.walletservice.dto.FxRatesResponse;
+import com.digitalwallet.walletservice.fx.FxQuote;
+import com.digitalwallet.walletservice.fx.FxRateSnapshot;
+import com.digitalwallet.walletservice.service.FxService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller exposing the current exchange rates and issuing rate quotes
+ * for cross-currency transfers.
+ * <p>
+ * Base path: /api/fx
+ */
+@RestController
+@RequestMapping("/api/fx")
+public class FxController {
+
+    private final FxService fxService;
+
+    /**
+     * Constructor for injecting {@link FxService}.
+     *
+     * @param fxService the service providing rates and quotes
+     */
+    public FxController(FxService fxService) {
+        this.fxService = fxService;
+    }
+
+    /**
+     * Endpoint to read the exchange rate snapshot currently in effect.
+     *
+     * @return the current rates expressed in the base currency
+     */
+    @GetMapping("/rates")
+    public ResponseEntity<FxRatesResponse> getRates() {
+        FxRateSnapshot snapshot = fxService.getSnapshot();
+        return ResponseEntity.ok(new FxRatesResponse(FxRateSnapshot.BASE_CURRENCY, snapshot.getBaseRates(),
+                snapshot.getVersion(), snapshot.getLoadedAt()));
+    }
+
+    /**
+     * Endpoint to lock the current rate between two currencies for a short time.
+     *
+     * @param request the currencies to quote
+     * @return the quote, to be passed as {@code quoteId} to a transfer
+     */
+    @PostMapping("/quotes")
+    public ResponseEntity<FxQuoteResponse> quote(@Valid @RequestBody FxQuoteRequest request) {
+        FxQuote quote = fxService.quote(request.getFrom(), request.getTo());
+        return ResponseEntity.ok(new FxQuoteResponse(quote.getId(), quote.getFrom(), quote.getTo(),
+                quote.getRate(), quote.getExpiresAt()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.digitalwallet.walletservice.controller;
+
+import com.digitalwallet.walletservice.dto.PortfolioResponse;
+import com.digitalwallet.walletservice.exception.AccessDeniedCustomException;
+import com.digitalwallet.walletservice.service.PortfolioService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller exposing the total value of a customer's wallets in the base currency.
+ * <p>
+ * Base path: /api/portfolio
+ */
+@RestController
+@RequestMapping("/api/portfolio")
+public class PortfolioController {
+
+    private final PortfolioService portfolioService;
+
+    /**
+     * Constructor for injecting {@link PortfolioService}.
+     *
+     * @param portfolioService the portfolio service dependency
+     */
+    public PortfolioController(PortfolioService portfolioService) {
+        this.portfolioService = portfolioService;
+    }
+
+    /**
+     * Returns a portfolio based on the role of the authenticated user.
+     * <ul>
+     *   <li>If the user is a CUSTOMER, their own portfolio is returned.</li>
+     *   <li>If the user is an EMPLOYEE, they must provide a {@code customerId}.</li>
+     * </ul>
+     *
+     * @param customerId (optional) ID of the customer to fetch the portfolio for (EMPLOYEE only)
+     * @return the {@link PortfolioResponse}
+     * @throws AccessDeniedCustomException if a CUSTOMER attempts to access another user's portfolio
+     * @throws IllegalArgumentException    if EMPLOYEE does not provide customerId
+     */
+    @GetMapping
+    public ResponseEntity<PortfolioResponse> getPortfolio(@RequestParam(required = false) Long customerId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String role = authentication.getAuthorities().iterator().next().getAuthority();
+
+        if (role.equals("ROLE_CUSTOMER")) {
+            if (customerId != null) {
+                throw new AccessDeniedCustomException("Unauthorized operation: " +
+                        "Users with the CUSTOMER role cannot view someone else's portfolio.");
+            }
+            return ResponseEntity.ok(portfolioService.getPortfolioByToken());
+        }
+        if (customerId == null) {
+            throw new IllegalArgumentException("The 'customerId' parameter is required for the EMPLOYEE role. " +
+                    "Example: /api/portfolio?customerId=3");
+        }
+        return ResponseEntity.ok(portfolioService.getPortfolio(customerId));
+    }
+}
@@ -0,0 +1,51 @@
+package com.digitalwallet.walletservice.controller;
+
+import com.digitalwallet.walletservice.dto.ReconciliationReportResponse;
+import com.digitalwallet.walletservice.enums.ReconciliationMode;
+import com.digitalwallet.walletservice.service.ReconciliationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for running balance reconciliation and reading its reports (EMPLOYEE only).
+ * <p>
+ * Base path: /api/reconciliation
+ */
+@RestController
+@RequestMapping("/api/reconciliation")
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    /**
+     * Constructor for injecting {@link ReconciliationService}.
+     *
+     * @param reconciliationService the reconciliation service dependency
+     */
+    public ReconciliationController(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    /**
+     * Endpoint to run a reconciliation.
+     *
+     * @param mode {@code INCREMENTAL} (default) to check only wallets changed since the last run, or {@code FULL}
+     * @return the run's {@link ReconciliationReportResponse}
+     */
+    @PostMapping("/runs")
+    public ResponseEntity<ReconciliationReportResponse> reconcile(
+            @RequestParam(defaultValue = "INCREMENTAL") ReconciliationMode mode) {
+        return ResponseEntity.ok(reconciliationService.reconcile(mode));
+    }
+
+    /**
+     * Endpoint to read the report of an earlier run.
+     *
+     * @param runId the ID of the run
+     * @return the {@link ReconciliationReportResponse}
+     */
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<ReconciliationReportResponse> getReport(@PathVariable Long runId) {
+        return ResponseEntity.ok(reconciliationService.getReport(runId));
+    }
+}
@@ -0,0 +1,50 @@
+package com.digitalwallet.walletservice.controller;
+
+import com.digitalwallet.walletservice.dto.StatementJobResponse;
+import com.digitalwallet.walletservice.service.StatementService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Controller for running the monthly statement job.
+ * <p>
+ * Base path: /api/statements
+ */
+@RestController
+@RequestMapping("/api/statements")
+public class StatementController {
+
+    private final StatementService statementService;
+
+    /**
+     * Constructor for injecting {@link StatementService}.
+     *
+     * @param statementService the statement service dependency
+     */
+    public StatementController(StatementService statementService) {
+        this.statementService = statementService;
+    }
+
+    /**
+     * Endpoint to generate the statements of all wallets for one month (EMPLOYEE only).
+     *
+     * @param month   the statement month, formatted as {@code yyyy-MM}
+     * @param restart whether to discard the progress of an earlier run for the same month
+     * @return the run's {@link StatementJobResponse}
+     * @throws IllegalArgumentException if the month cannot be parsed
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<StatementJobResponse> generateStatements(@RequestParam String month,
+                                                                   @RequestParam(defaultValue = "false") boolean restart) {
+        YearMonth statementMonth;
+        try {
+            statementMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("The 'month' parameter must be formatted as yyyy-MM. Example: 2025-07");
+        }
+        return ResponseEntity.ok(statementService.generateStatements(statementMonth, restart));
+    }
+}
@@ -1,19 +1,39 @@
 package com.digitalwallet.walletservice.controller;
 
+import com.digitalwallet.walletservice.approval.ApprovalJob;
+import com.digitalwallet.walletservice.dto.ApprovalBatchRequest;
+import com.digitalwallet.walletservice.dto.ApprovalJobResponse;
 import com.digitalwallet.walletservice.dto.DepositRequest;
 import com.digitalwallet.walletservice.dto.TransactionApprovalRequest;
 import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.TransactionSearchResponse;
+import com.digitalwallet.walletservice.dto.TransferRequest;
+import com.digitalwallet.walletservice.dto.TransferResponse;
 import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.etag.ConditionalResponses;
+import com.digitalwallet.walletservice.etag.ResourceVersions;
+import com.digitalwallet.walletservice.etag.VersionStamp;
+import com.digitalwallet.walletservice.mapper.ApprovalJobMapper;
+import com.digitalwallet.walletservice.service.AsyncApprovalExecutor;
+import com.digitalwallet.walletservice.service.GroupCommitExecutor;
 import com.digitalwallet.walletservice.service.TransactionService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
- * Controller for handling transaction operations such as deposit, withdraw,
- * approval and listing transactions for a wallet.
+ * Controller for handling transaction operations such as deposit, withdraw, transfer,
+ * synchronous and asynchronous approval, listing transactions for a wallet and searching them by counterparty.
  * <p>
  * Base path: /api/transactions
  */
@@ -22,20 +42,32 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final GroupCommitExecutor groupCommitExecutor;
+    private final AsyncApprovalExecutor asyncApprovalExecutor;
+    private final ResourceVersions resourceVersions;
 
     /**
-     * Constructor for injecting {@link TransactionService}.
+     * Constructor for injecting {@link TransactionService}, {@link GroupCommitExecutor},
+     * {@link AsyncApprovalExecutor} and {@link ResourceVersions}.
      *
-     * @param transactionService the service handling transaction operations
+     * @param transactionService    the service handling transaction operations
+     * @param groupCommitExecutor   the executor grouping deposit and withdraw commits
+     * @param asyncApprovalExecutor the executor processing asynchronous approvals
+     * @param resourceVersions      the version counters the history ETag is derived from
      */
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, GroupCommitExecutor groupCommitExecutor,
+                                 AsyncApprovalExecutor asyncApprovalExecutor, ResourceVersions resourceVersions) {
         this.transactionService = transactionService;
+        this.groupCommitExecutor = groupCommitExecutor;
+        this.asyncApprovalExecutor = asyncApprovalExecutor;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
      * Endpoint to create a deposit transaction.
      * <p>
-     * Deposits greater than 1000 will be marked as PENDING, otherwise APPROVED.
+     * Whether the deposit is APPROVED or left PENDING is decided by the approval rules ({@code ApprovalRuleService}).
+     * The commit may be grouped with other concurrent deposits and withdrawals.
      *
      * @param request the deposit request containing wallet ID, amount, and source
      * @return the created transaction response
@@ -43,7 +75,7 @@ public class TransactionController {
     @PostMapping("/deposit")
     public ResponseEntity<TransactionResponse> deposit(
             @Valid @RequestBody DepositRequest request) {
-        TransactionResponse response = transactionService.deposit(request);
+        TransactionResponse response = groupCommitExecutor.submit(() -> transactionService.deposit(request));
         return ResponseEntity.ok(response);
     }
 
@@ -60,28 +92,135 @@ public class TransactionController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Endpoint to approve or deny pending transactions asynchronously.
+     * <p>
+     * The approvals are queued and 202 Accepted is returned right away, with one job per approval whose
+     * {@code statusUrl} can be polled for the result. For a single approval, the {@code Location} header
+     * points to it as well. Approvals of the same wallet are applied together in one transaction.
+     *
+     * @param request the approvals, each with a transaction ID and the new status
+     * @return the queued jobs, in request order
+     */
+    @PostMapping("/approvals")
+    public ResponseEntity<List<ApprovalJobResponse>> submitApprovals(@Valid @RequestBody ApprovalBatchRequest request) {
+        List<ApprovalJobResponse> jobs = asyncApprovalExecutor.submit(request.getApprovals()).stream()
+                .map(job -> ApprovalJobMapper.toResponse(job, statusUrl(job)))
+                .collect(Collectors.toList());
+        ResponseEntity.BodyBuilder response = ResponseEntity.accepted();
+        if (jobs.size() == 1) {
+            response.location(URI.create(jobs.get(0).getStatusUrl()));
+        }
+        return response.body(jobs);
+    }
+
+    /**
+     * Endpoint to poll the state of an asynchronous approval.
+     *
+     * @param jobId the ID of the approval job
+     * @return the job, including the updated transaction or the failure reason once it has completed
+     */
+    @GetMapping("/approvals/{jobId}")
+    public ResponseEntity<ApprovalJobResponse> getApproval(@PathVariable String jobId) {
+        ApprovalJob job = asyncApprovalExecutor.getJob(jobId);
+        return ResponseEntity.ok(ApprovalJobMapper.toResponse(job, statusUrl(job)));
+    }
+
     /**
      * Endpoint to create a withdraw transaction.
      * <p>
      * Checks whether wallet is active for withdraw.
+     * The commit may be grouped with other concurrent deposits and withdrawals.
      *
      * @param request the withdraw request including wallet ID, amount, and destination
      * @return the created transaction response
      */
     @PostMapping("/withdraw")
     public ResponseEntity<TransactionResponse> withdraw(@Valid @RequestBody WithDrawRequest request) {
-        TransactionResponse response = transactionService.withdraw(request);
+        TransactionResponse response = groupCommitExecutor.submit(() -> transactionService.withdraw(request));
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Endpoint to transfer money between two wallets of the same customer.
+     * <p>
+     * Both legs are recorded in one transaction, so the money is never missing from both wallets.
+     *
+     * @param request the transfer request including source wallet ID, target wallet ID and amount
+     * @return the withdrawal and deposit legs of the transfer
+     */
+    @PostMapping("/transfer")
+    public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
+        return ResponseEntity.ok(transactionService.transfer(request));
+    }
+
     /**
      * Endpoint to list all transactions for a given wallet ID.
+     * <p>
+     * The response carries an ETag derived from the wallet's version. If {@code If-None-Match} still matches it,
+     * only access to the wallet is checked and 304 is returned without loading the history.
      *
-     * @param walletId the ID of the wallet
-     * @return list of transactions associated with the wallet
+     * @param walletId    the ID of the wallet
+     * @param ifNoneMatch the ETags of the client's cached copy, if any
+     * @return list of transactions associated with the wallet, or 304 if the client's copy is current
      */
     @GetMapping("/wallet/{walletId}")
-    public ResponseEntity<List<TransactionResponse>> getTransactions(@PathVariable Long walletId) {
-        return ResponseEntity.ok(transactionService.getTransactionsForWallet(walletId));
+    public ResponseEntity<List<TransactionResponse>> getTransactions(
+            @PathVariable Long walletId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        VersionStamp stamp = resourceVersions.walletStamp(walletId);
+        if (stamp.matches(ifNoneMatch)) {
+            transactionService.checkWalletAccess(walletId);
+            return ConditionalResponses.notModified(stamp);
+        }
+        return ConditionalResponses.ok(stamp, transactionService.getTransactionsForWallet(walletId));
+    }
+
+    /**
+     * Endpoint to list the most recent transactions of a wallet, newest first. Served from memory without a
+     * database query once the wallet has been read.
+     *
+     * @param walletId the ID of the wallet
+     * @return up to {@code wallet.activity.size} transactions of the wallet
+     */
+    @GetMapping("/wallet/{walletId}/recent")
+    public ResponseEntity<List<TransactionResponse>> getRecentTransactions(@PathVariable Long walletId) {
+        return ResponseEntity.ok(transactionService.getRecentTransactions(walletId));
+    }
+
+    /**
+     * Endpoint for employees to find transactions of all wallets by IBAN or payment reference.
+     * <p>
+     * The counterparty is normalized (spaces and punctuation dropped, upper-cased) and matched as a prefix.
+     * Results are ordered by normalized counterparty and then by ID; pass {@code nextCursor} as {@code after}
+     * to get the next page.
+     *
+     * @param counterparty the IBAN or payment reference, or a prefix of at least 4 letters or digits
+     * @param from         the earliest creation time (inclusive), optional
+     * @param to           the latest creation time (exclusive), optional
+     * @param status       the status to match, optional
+     * @param type         the type to match, optional
+     * @param after        the cursor of the previous page, optional
+     * @param limit        the page size, 1 to 200
+     * @return a page of matching transactions
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TransactionSearchResponse> search(
+            @RequestParam String counterparty,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(transactionService.searchByCounterparty(counterparty, from, to, status, type,
+                after, limit));
+    }
+
+    private static String statusUrl(ApprovalJob job) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/transactions/approvals/{jobId}")
+                .buildAndExpand(job.getId())
+                .toUriString();
     }
-}
\ No newline at end of file
+}
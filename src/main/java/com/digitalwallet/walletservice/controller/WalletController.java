@@ -1,12 +1,18 @@
 package com.digitalwallet.walletservice.controller;
 
+import com.digitalwallet.walletservice.dto.BulkCreateWalletRequest;
+import com.digitalwallet.walletservice.dto.BulkCreateWalletResponse;
 import com.digitalwallet.walletservice.dto.CreateWalletRequest;
 import com.digitalwallet.walletservice.dto.CustomerWithWalletsResponse;
 import com.digitalwallet.walletservice.dto.WalletResponse;
+import com.digitalwallet.walletservice.etag.ConditionalResponses;
+import com.digitalwallet.walletservice.etag.ResourceVersions;
+import com.digitalwallet.walletservice.etag.VersionStamp;
 import com.digitalwallet.walletservice.exception.AccessDeniedCustomException;
 import com.digitalwallet.walletservice.model.Customer;
 import com.digitalwallet.walletservice.service.WalletService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,14 +34,17 @@ import org.springframework.security.access.prepost.PreAuthorize;
 public class WalletController {
 
     private final WalletService walletService;
+    private final ResourceVersions resourceVersions;
 
     /**
-     * Constructor for injecting WalletService.
+     * Constructor for injecting WalletService and ResourceVersions.
      *
-     * @param walletService the wallet service dependency
+     * @param walletService    the wallet service dependency
+     * @param resourceVersions the version counters the wallet list ETag is derived from
      */
-    public WalletController(WalletService walletService) {
+    public WalletController(WalletService walletService, ResourceVersions resourceVersions) {
         this.walletService = walletService;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
@@ -68,20 +77,41 @@ public class WalletController {
         return walletService.createWallet(request, customerId);
     }
 
+    /**
+     * Opens the same wallet for many customers at once (EMPLOYEE only).
+     * <p>
+     * Customers that already have a wallet in the currency keep it and are listed in {@code existingCustomerIds};
+     * unknown customers are listed in {@code missingCustomerIds}. Repeating the request opens nothing new.
+     *
+     * @param request the wallet to open and the IDs of up to {@value BulkCreateWalletRequest#MAX_CUSTOMERS}
+     *                customers
+     * @return the wallets opened, keyed by customer ID, and the customers skipped
+     */
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @PostMapping("/bulk")
+    public BulkCreateWalletResponse createWallets(@RequestBody @Valid BulkCreateWalletRequest request) {
+        return walletService.createWallets(request);
+    }
+
     /**
      * Lists wallets based on the role of the authenticated user.
      * <ul>
      *   <li>If the user is a CUSTOMER, only their own wallets are returned.</li>
      *   <li>If the user is an EMPLOYEE, they must provide a {@code customerId} to query that customer's wallets.</li>
      * </ul>
+     * The response carries an ETag derived from the customer's version; if {@code If-None-Match} still matches it,
+     * 304 is returned without querying the wallets.
      *
-     * @param customerId (optional) ID of the customer to fetch wallets for (EMPLOYEE only)
-     * @return list of {@link WalletResponse} objects
+     * @param customerId  (optional) ID of the customer to fetch wallets for (EMPLOYEE only)
+     * @param ifNoneMatch the ETags of the client's cached copy, if any
+     * @return list of {@link WalletResponse} objects, or 304 if the client's copy is current
      * @throws AccessDeniedCustomException if a CUSTOMER attempts to access another user's wallets
      * @throws IllegalArgumentException    if EMPLOYEE does not provide customerId
      */
     @GetMapping
-    public ResponseEntity<List<WalletResponse>> listWallets(@RequestParam(required = false) Long customerId) {
+    public ResponseEntity<List<WalletResponse>> listWallets(
+            @RequestParam(required = false) Long customerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String role = authentication.getAuthorities().iterator().next().getAuthority();
 
@@ -91,13 +121,21 @@ public class WalletController {
                         "Users with the CUSTOMER role cannot view someone else's wallet.");
             }
 
-            return ResponseEntity.ok(walletService.listWalletsCustomerByToken());
+            VersionStamp stamp = resourceVersions.customerStamp(((Customer) authentication.getPrincipal()).getId());
+            if (stamp.matches(ifNoneMatch)) {
+                return ConditionalResponses.notModified(stamp);
+            }
+            return ConditionalResponses.ok(stamp, walletService.listWalletsCustomerByToken());
         } else {
             if (customerId == null) {
                 throw new IllegalArgumentException("The 'customerId' parameter is required for the EMPLOYEE role. " +
                         "Example: /wallets?customerId=3");
             }
-            return ResponseEntity.ok(walletService.listWalletsCustomer(customerId));
+            VersionStamp stamp = resourceVersions.customerStamp(customerId);
+            if (stamp.matches(ifNoneMatch)) {
+                return ConditionalResponses.notModified(stamp);
+            }
+            return ConditionalResponses.ok(stamp, walletService.listWalletsCustomer(customerId));
         }
     }
 
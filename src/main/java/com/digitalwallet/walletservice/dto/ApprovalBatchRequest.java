@@ -0,0 +1,42 @@
+package com.digitalwallet.walletservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * DTO class for submitting approvals to be processed asynchronously.
+ * This is used by EMPLOYEE roles, typically from bulk tooling.
+ */
+public class ApprovalBatchRequest {
+
+    /**
+     * The approvals to process, each with a transaction ID and the new status.
+     */
+    @NotEmpty
+    private List<@Valid TransactionApprovalRequest> approvals;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param approvals the approvals to process
+     */
+    public ApprovalBatchRequest(List<TransactionApprovalRequest> approvals) {
+        this.approvals = approvals;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public ApprovalBatchRequest() {
+    }
+
+    public List<TransactionApprovalRequest> getApprovals() {
+        return approvals;
+    }
+
+    public void setApprovals(List<TransactionApprovalRequest> approvals) {
+        this.approvals = approvals;
+    }
+}
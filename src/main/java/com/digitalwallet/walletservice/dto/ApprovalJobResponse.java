@@ -0,0 +1,148 @@
+package com.digitalwallet.walletservice.dto;
+
+import com.digitalwallet.walletservice.enums.ApprovalJobStatus;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO class that represents the state of an asynchronous approval.
+ */
+public class ApprovalJobResponse {
+
+    /**
+     * ID of the approval job.
+     */
+    private String jobId;
+
+    /**
+     * URL the state of the job can be polled at.
+     */
+    private String statusUrl;
+
+    /**
+     * ID of the transaction to approve or deny.
+     */
+    private Long transactionId;
+
+    /**
+     * The status requested for the transaction.
+     */
+    private TransactionStatus requestedStatus;
+
+    /**
+     * The state of the job.
+     */
+    private ApprovalJobStatus status;
+
+    /**
+     * The updated transaction, once the job has succeeded.
+     */
+    private TransactionResponse transaction;
+
+    /**
+     * Why the approval was not applied, if the job failed.
+     */
+    private String error;
+
+    /**
+     * When the approval was submitted.
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * When the job succeeded or failed.
+     */
+    private LocalDateTime completedAt;
+
+    /**
+     * Milliseconds from submission until completion, or until now for open jobs.
+     */
+    private long lagMillis;
+
+    /**
+     * Default constructor.
+     */
+    public ApprovalJobResponse() {
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getStatusUrl() {
+        return statusUrl;
+    }
+
+    public void setStatusUrl(String statusUrl) {
+        this.statusUrl = statusUrl;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public TransactionStatus getRequestedStatus() {
+        return requestedStatus;
+    }
+
+    public void setRequestedStatus(TransactionStatus requestedStatus) {
+        this.requestedStatus = requestedStatus;
+    }
+
+    public ApprovalJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ApprovalJobStatus status) {
+        this.status = status;
+    }
+
+    public TransactionResponse getTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(TransactionResponse transaction) {
+        this.transaction = transaction;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public void setLagMillis(long lagMillis) {
+        this.lagMillis = lagMillis;
+    }
+}
@@ -0,0 +1,165 @@
+package com.digitalwallet.walletservice.dto;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.CustomerTier;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO class that represents one auto-approval rule and how often it decided a transaction.
+ * Conditions that are not set are {@code null}.
+ */
+public class ApprovalRuleResponse {
+
+    /**
+     * Name of the rule.
+     */
+    private String name;
+
+    /**
+     * Transaction types the rule applies to.
+     */
+    private List<TransactionType> types;
+
+    /**
+     * Wallet currencies the rule applies to.
+     */
+    private List<Currency> currencies;
+
+    /**
+     * Customer tiers the rule applies to.
+     */
+    private List<CustomerTier> tiers;
+
+    /**
+     * Opposite party types the rule applies to.
+     */
+    private List<OppositePartyType> oppositePartyTypes;
+
+    /**
+     * Time of day window the rule applies in, as {@code HH:mm-HH:mm}.
+     */
+    private String hours;
+
+    /**
+     * Minimum number of recent transactions of the same type.
+     */
+    private Integer minRecentCount;
+
+    /**
+     * Minimum total amount of recent transactions of the same type.
+     */
+    private BigDecimal minRecentAmount;
+
+    /**
+     * Largest amount approved automatically.
+     */
+    private BigDecimal maxAmount;
+
+    /**
+     * Transactions the rule approved.
+     */
+    private long approvedHits;
+
+    /**
+     * Transactions the rule left pending.
+     */
+    private long pendingHits;
+
+    /**
+     * Default constructor.
+     */
+    public ApprovalRuleResponse() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<TransactionType> getTypes() {
+        return types;
+    }
+
+    public void setTypes(List<TransactionType> types) {
+        this.types = types;
+    }
+
+    public List<Currency> getCurrencies() {
+        return currencies;
+    }
+
+    public void setCurrencies(List<Currency> currencies) {
+        this.currencies = currencies;
+    }
+
+    public List<CustomerTier> getTiers() {
+        return tiers;
+    }
+
+    public void setTiers(List<CustomerTier> tiers) {
+        this.tiers = tiers;
+    }
+
+    public List<OppositePartyType> getOppositePartyTypes() {
+        return oppositePartyTypes;
+    }
+
+    public void setOppositePartyTypes(List<OppositePartyType> oppositePartyTypes) {
+        this.oppositePartyTypes = oppositePartyTypes;
+    }
+
+    public String getHours() {
+        return hours;
+    }
+
+    public void setHours(String hours) {
+        this.hours = hours;
+    }
+
+    public Integer getMinRecentCount() {
+        return minRecentCount;
+    }
+
+    public void setMinRecentCount(Integer minRecentCount) {
+        this.minRecentCount = minRecentCount;
+    }
+
+    public BigDecimal getMinRecentAmount() {
+        return minRecentAmount;
+    }
+
+    public void setMinRecentAmount(BigDecimal minRecentAmount) {
+        this.minRecentAmount = minRecentAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public long getApprovedHits() {
+        return approvedHits;
+    }
+
+    public void setApprovedHits(long approvedHits) {
+        this.approvedHits = approvedHits;
+    }
+
+    public long getPendingHits() {
+        return pendingHits;
+    }
+
+    public void setPendingHits(long pendingHits) {
+        this.pendingHits = pendingHits;
+    }
+}
@@ -0,0 +1,81 @@
+package com.digitalwallet.walletservice.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO class that represents the auto-approval rules currently in effect.
+ */
+public class ApprovalRulesResponse {
+
+    /**
+     * Version of the rule set, incremented whenever the rules change.
+     */
+    private long version;
+
+    /**
+     * The instant the rules were loaded.
+     */
+    private Instant loadedAt;
+
+    /**
+     * Where the rules were loaded from.
+     */
+    private String source;
+
+    /**
+     * The rules in evaluation order.
+     */
+    private List<ApprovalRuleResponse> rules;
+
+    /**
+     * The rule applying when no other rule matches.
+     */
+    private ApprovalRuleResponse defaultRule;
+
+    /**
+     * Default constructor.
+     */
+    public ApprovalRulesResponse() {
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public void setLoadedAt(Instant loadedAt) {
+        this.loadedAt = loadedAt;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public List<ApprovalRuleResponse> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<ApprovalRuleResponse> rules) {
+        this.rules = rules;
+    }
+
+    public ApprovalRuleResponse getDefaultRule() {
+        return defaultRule;
+    }
+
+    public void setDefaultRule(ApprovalRuleResponse defaultRule) {
+        this.defaultRule = defaultRule;
+    }
+}
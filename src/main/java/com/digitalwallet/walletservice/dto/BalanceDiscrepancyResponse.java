@@ -0,0 +1,92 @@
+package com.digitalwallet.walletservice.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO class that represents a wallet whose stored balances do not match its transactions.
+ */
+public class BalanceDiscrepancyResponse {
+
+    /**
+     * ID of the affected wallet.
+     */
+    private Long walletId;
+
+    /**
+     * Balance stored on the wallet.
+     */
+    private BigDecimal balance;
+
+    /**
+     * Balance derived from the wallet's transactions.
+     */
+    private BigDecimal expectedBalance;
+
+    /**
+     * Usable balance stored on the wallet.
+     */
+    private BigDecimal usableBalance;
+
+    /**
+     * Usable balance derived from the wallet's transactions.
+     */
+    private BigDecimal expectedUsableBalance;
+
+    /**
+     * Constructor to initialize all fields of the discrepancy response.
+     */
+    public BalanceDiscrepancyResponse(Long walletId, BigDecimal balance, BigDecimal expectedBalance,
+                                      BigDecimal usableBalance, BigDecimal expectedUsableBalance) {
+        this.walletId = walletId;
+        this.balance = balance;
+        this.expectedBalance = expectedBalance;
+        this.usableBalance = usableBalance;
+        this.expectedUsableBalance = expectedUsableBalance;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public BalanceDiscrepancyResponse() {
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public void setWalletId(Long walletId) {
+        this.walletId = walletId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public BigDecimal getExpectedBalance() {
+        return expectedBalance;
+    }
+
+    public void setExpectedBalance(BigDecimal expectedBalance) {
+        this.expectedBalance = expectedBalance;
+    }
+
+    public BigDecimal getUsableBalance() {
+        return usableBalance;
+    }
+
+    public void setUsableBalance(BigDecimal usableBalance) {
+        this.usableBalance = usableBalance;
+    }
+
+    public BigDecimal getExpectedUsableBalance() {
+        return expectedUsableBalance;
+    }
+
+    public void setExpectedUsableBalance(BigDecimal expectedUsableBalance) {
+        this.expectedUsableBalance = expectedUsableBalance;
+    }
+}
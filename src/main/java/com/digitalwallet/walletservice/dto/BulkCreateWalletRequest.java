@@ -0,0 +1,67 @@
+package com.digitalwallet.walletservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO class for opening the same kind of wallet for many customers at once.
+ * This is used by EMPLOYEE roles, typically from onboarding tooling.
+ */
+public class BulkCreateWalletRequest {
+
+    /**
+     * The most customers one request may name.
+     */
+    public static final int MAX_CUSTOMERS = 1000;
+
+    /**
+     * The wallet to open for every customer.
+     */
+    @NotNull
+    @Valid
+    private CreateWalletRequest wallet;
+
+    /**
+     * IDs of the customers to open the wallet for.
+     */
+    @NotEmpty
+    @Size(max = MAX_CUSTOMERS)
+    private List<@NotNull Long> customerIds;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param wallet      the wallet to open for every customer
+     * @param customerIds the IDs of the customers
+     */
+    public BulkCreateWalletRequest(CreateWalletRequest wallet, List<Long> customerIds) {
+        this.wallet = wallet;
+        this.customerIds = customerIds;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public BulkCreateWalletRequest() {
+    }
+
+    public CreateWalletRequest getWallet() {
+        return wallet;
+    }
+
+    public void setWallet(CreateWalletRequest wallet) {
+        this.wallet = wallet;
+    }
+
+    public List<Long> getCustomerIds() {
+        return customerIds;
+    }
+
+    public void setCustomerIds(List<Long> customerIds) {
+        this.customerIds = customerIds;
+    }
+}
@@ -0,0 +1,69 @@
+package com.digitalwallet.walletservice.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO class that represents the outcome of opening a wallet for many customers.
+ */
+public class BulkCreateWalletResponse {
+
+    /**
+     * The wallets opened by the request, keyed by customer ID.
+     */
+    private Map<Long, WalletResponse> created;
+
+    /**
+     * Customers that already had a wallet in the requested currency.
+     */
+    private List<Long> existingCustomerIds;
+
+    /**
+     * Customers that do not exist.
+     */
+    private List<Long> missingCustomerIds;
+
+    /**
+     * Default constructor.
+     */
+    public BulkCreateWalletResponse() {
+    }
+
+    /**
+     * Constructs the outcome of a bulk creation.
+     *
+     * @param created             the wallets opened, keyed by customer ID
+     * @param existingCustomerIds the customers that already had a wallet in the currency
+     * @param missingCustomerIds  the customers that do not exist
+     */
+    public BulkCreateWalletResponse(Map<Long, WalletResponse> created, List<Long> existingCustomerIds,
+                                    List<Long> missingCustomerIds) {
+        this.created = created;
+        this.existingCustomerIds = existingCustomerIds;
+        this.missingCustomerIds = missingCustomerIds;
+    }
+
+    public Map<Long, WalletResponse> getCreated() {
+        return created;
+    }
+
+    public void setCreated(Map<Long, WalletResponse> created) {
+        this.created = created;
+    }
+
+    public List<Long> getExistingCustomerIds() {
+        return existingCustomerIds;
+    }
+
+    public void setExistingCustomerIds(List<Long> existingCustomerIds) {
+        this.existingCustomerIds = existingCustomerIds;
+    }
+
+    public List<Long> getMissingCustomerIds() {
+        return missingCustomerIds;
+    }
+
+    public void setMissingCustomerIds(List<Long> missingCustomerIds) {
+        this.missingCustomerIds = missingCustomerIds;
+    }
+}
@@ -0,0 +1,40 @@
+package com.digitalwallet.walletservice.dto;
+
+import com.digitalwallet.walletservice.enums.Currency;
+
+import java.math.BigDecimal;
+
+/**
+ * A wallet read by a listing query together with the ID of its owner, for listings spanning several customers.
+ * Created by JPQL constructor expressions, so no {@code Wallet} entity is loaded.
+ */
+public final class CustomerWalletRow {
+
+    private final Long customerId;
+    private final WalletResponse wallet;
+
+    /**
+     * @param customerId        ID of the owner
+     * @param id                wallet ID
+     * @param walletName        wallet name
+     * @param currency          wallet currency
+     * @param activeForShopping whether the wallet is active for shopping
+     * @param activeForWithdraw whether the wallet is active for withdrawals
+     * @param balance           total balance
+     * @param usableBalance     usable balance
+     */
+    public CustomerWalletRow(Long customerId, Long id, String walletName, Currency currency, boolean activeForShopping,
+                             boolean activeForWithdraw, BigDecimal balance, BigDecimal usableBalance) {
+        this.customerId = customerId;
+        this.wallet = new WalletResponse(id, walletName, currency, activeForShopping, activeForWithdraw, balance,
+                usableBalance);
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public WalletResponse getWallet() {
+        return wallet;
+    }
+}
@@ -1,5 +1,6 @@
 package com.digitalwallet.walletservice.dto;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -53,6 +54,18 @@ public class CustomerWithWalletsResponse {
         this.wallets = wallets;
     }
 
+    /**
+     * Constructor used by JPQL constructor expressions; wallets are added afterwards.
+     *
+     * @param customerId the ID of the customer
+     * @param name       the customer's first name
+     * @param surname    the customer's last name
+     * @param tckn       the customer's Turkish National ID
+     */
+    public CustomerWithWalletsResponse(Long customerId, String name, String surname, String tckn) {
+        this(customerId, name, surname, tckn, new ArrayList<>());
+    }
+
     public CustomerWithWalletsResponse() {
     }
 
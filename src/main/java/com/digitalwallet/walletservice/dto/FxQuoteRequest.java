@@ -0,0 +1,49 @@
+package com.digitalwallet.walletservice.dto;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO used to request a locked exchange rate quote between two currencies.
+ */
+public class FxQuoteRequest {
+
+    /**
+     * Currency being sold (the source wallet's currency).
+     */
+    @NotNull(message = "Source currency is required.")
+    private Currency from;
+
+    /**
+     * Currency being bought (the target wallet's currency).
+     */
+    @NotNull(message = "Target currency is required.")
+    private Currency to;
+
+    /**
+     * Constructor to initialize all fields.
+     *
+     * @param from the currency being sold.
+     * @param to   the currency being bought.
+     */
+    public FxQuoteRequest(Currency from, Currency to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public Currency getFrom() {
+        return from;
+    }
+
+    public void setFrom(Currency from) {
+        this.from = from;
+    }
+
+    public Currency getTo() {
+        return to;
+    }
+
+    public void setTo(Currency to) {
+        this.to = to;
+    }
+}
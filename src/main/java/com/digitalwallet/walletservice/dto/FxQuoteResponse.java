@@ -0,0 +1,95 @@
+package com.digitalwallet.walletservice.dto;
+
+import com.digitalwallet.walletservice.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO class that represents a locked exchange rate quote.
+ * The {@code quoteId} can be passed to a cross-currency transfer until {@code expiresAt}.
+ */
+public class FxQuoteResponse {
+
+    /**
+     * Identifier of the quote, used once in a transfer request.
+     */
+    private String quoteId;
+
+    /**
+     * The currency being sold.
+     */
+    private Currency from;
+
+    /**
+     * The currency being bought.
+     */
+    private Currency to;
+
+    /**
+     * Units of {@code to} received per unit of {@code from}.
+     */
+    private BigDecimal rate;
+
+    /**
+     * The instant after which the quote can no longer be used.
+     */
+    private Instant expiresAt;
+
+    /**
+     * Constructor to initialize all fields of the quote response.
+     */
+    public FxQuoteResponse(String quoteId, Currency from, Currency to, BigDecimal rate, Instant expiresAt) {
+        this.quoteId = quoteId;
+        this.from = from;
+        this.to = to;
+        this.rate = rate;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public FxQuoteResponse() {
+    }
+
+    public String getQuoteId() {
+        return quoteId;
+    }
+
+    public void setQuoteId(String quoteId) {
+        this.quoteId = quoteId;
+    }
+
+    public Currency getFrom() {
+        return from;
+    }
+
+    public void setFrom(Currency from) {
+        this.from = from;
+    }
+
+    public Currency getTo() {
+        return to;
+    }
+
+    public void setTo(Currency to) {
+        this.to = to;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
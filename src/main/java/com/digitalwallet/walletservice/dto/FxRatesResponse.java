@@ -0,0 +1,81 @@
+package com.digitalwallet.walletservice.dto;
+
+import com.digitalwallet.walletservice.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * DTO class that represents the exchange rate snapshot currently in effect.
+ */
+public class FxRatesResponse {
+
+    /**
+     * Currency the rates are expressed in.
+     */
+    private Currency baseCurrency;
+
+    /**
+     * Amount of the base currency per one unit of each currency.
+     */
+    private Map<Currency, BigDecimal> rates;
+
+    /**
+     * Version of the snapshot, incremented whenever the rates change.
+     */
+    private long version;
+
+    /**
+     * The instant the rates were loaded.
+     */
+    private Instant loadedAt;
+
+    /**
+     * Constructor to initialize all fields of the rates response.
+     */
+    public FxRatesResponse(Currency baseCurrency, Map<Currency, BigDecimal> rates, long version, Instant loadedAt) {
+        this.baseCurrency = baseCurrency;
+        this.rates = rates;
+        this.version = version;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public FxRatesResponse() {
+    }
+
+    public Currency getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public void setBaseCurrency(Currency baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
+
+    public Map<Currency, BigDecimal> getRates() {
+        return rates;
+    }
+
+    public void setRates(Map<Currency, BigDecimal> rates) {
+        this.rates = rates;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public void setLoadedAt(Instant loadedAt) {
+        this.loadedAt = loadedAt;
+    }
+}
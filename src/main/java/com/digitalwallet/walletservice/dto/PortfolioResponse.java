@@ -0,0 +1,96 @@
+package com.digitalwallet.walletservice.dto;
+
+import com.digitalwallet.walletservice.enums.Currency;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * DTO class that represents the total value of a customer's wallets in the base currency.
+ */
+public class PortfolioResponse {
+
+    /**
+     * ID of the customer owning the wallets.
+     */
+    private Long customerId;
+
+    /**
+     * Currency the values are expressed in.
+     */
+    private Currency baseCurrency;
+
+    /**
+     * Sum of all wallet balances converted to the base currency.
+     */
+    private BigDecimal totalValue;
+
+    /**
+     * Sum of all usable wallet balances converted to the base currency.
+     */
+    private BigDecimal usableValue;
+
+    /**
+     * Total balance held in each currency.
+     */
+    private Map<Currency, BigDecimal> balances;
+
+    /**
+     * Version of the FX snapshot the values were converted with.
+     */
+    private long fxVersion;
+
+    /**
+     * Default constructor.
+     */
+    public PortfolioResponse() {
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Currency getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public void setBaseCurrency(Currency baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
+
+    public BigDecimal getTotalValue() {
+        return totalValue;
+    }
+
+    public void setTotalValue(BigDecimal totalValue) {
+        this.totalValue = totalValue;
+    }
+
+    public BigDecimal getUsableValue() {
+        return usableValue;
+    }
+
+    public void setUsableValue(BigDecimal usableValue) {
+        this.usableValue = usableValue;
+    }
+
+    public Map<Currency, BigDecimal> getBalances() {
+        return balances;
+    }
+
+    public void setBalances(Map<Currency, BigDecimal> balances) {
+        this.balances = balances;
+    }
+
+    public long getFxVersion() {
+        return fxVersion;
+    }
+
+    public void setFxVersion(long fxVersion) {
+        this.fxVersion = fxVersion;
+    }
+}
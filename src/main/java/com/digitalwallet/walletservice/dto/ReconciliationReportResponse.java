@@ -0,0 +1,123 @@
+package com.digitalwallet.walletservice.dto;
+
+import com.digitalwallet.walletservice.enums.ReconciliationMode;
+import com.digitalwallet.walletservice.enums.ReconciliationStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO class that represents the outcome of a reconciliation run and the discrepancies it found.
+ */
+public class ReconciliationReportResponse {
+
+    /**
+     * ID of the run.
+     */
+    private Long runId;
+
+    /**
+     * Whether all wallets or only recently changed ones were checked.
+     */
+    private ReconciliationMode mode;
+
+    /**
+     * State of the run.
+     */
+    private ReconciliationStatus status;
+
+    /**
+     * Lower bound of the wallet modification time checked by an incremental run.
+     */
+    private LocalDateTime checkedSince;
+
+    /**
+     * Time the run started.
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * Time the run finished.
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * Number of wallets checked.
+     */
+    private long walletsChecked;
+
+    /**
+     * Wallets whose stored balances did not match their transactions.
+     */
+    private List<BalanceDiscrepancyResponse> discrepancies;
+
+    /**
+     * Default constructor.
+     */
+    public ReconciliationReportResponse() {
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public void setRunId(Long runId) {
+        this.runId = runId;
+    }
+
+    public ReconciliationMode getMode() {
+        return mode;
+    }
+
+    public void setMode(ReconciliationMode mode) {
+        this.mode = mode;
+    }
+
+    public ReconciliationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReconciliationStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCheckedSince() {
+        return checkedSince;
+    }
+
+    public void setCheckedSince(LocalDateTime checkedSince) {
+        this.checkedSince = checkedSince;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getWalletsChecked() {
+        return walletsChecked;
+    }
+
+    public void setWalletsChecked(long walletsChecked) {
+        this.walletsChecked = walletsChecked;
+    }
+
+    public List<BalanceDiscrepancyResponse> getDiscrepancies() {
+        return discrepancies;
+    }
+
+    public void setDiscrepancies(List<BalanceDiscrepancyResponse> discrepancies) {
+        this.discrepancies = discrepancies;
+    }
+}
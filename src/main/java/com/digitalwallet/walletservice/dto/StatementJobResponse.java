@@ -0,0 +1,156 @@
+package com.digitalwallet.walletservice.dto;
+
+/**
+ * DTO class that represents the outcome and throughput of a statement run.
+ */
+public class StatementJobResponse {
+
+    /**
+     * The statement month, formatted as {@code yyyy-MM}.
+     */
+    private String month;
+
+    /**
+     * Number of wallet ID partitions the run was split into.
+     */
+    private int partitions;
+
+    /**
+     * Number of partitions skipped because a previous run had completed them.
+     */
+    private int skippedPartitions;
+
+    /**
+     * Number of partitions that failed and will be retried on resume.
+     */
+    private int failedPartitions;
+
+    /**
+     * Number of wallets a statement was written for.
+     */
+    private long wallets;
+
+    /**
+     * Number of transactions written to statements.
+     */
+    private long transactions;
+
+    /**
+     * Number of statement files written.
+     */
+    private long files;
+
+    /**
+     * Wall-clock duration of the run in milliseconds.
+     */
+    private long elapsedMillis;
+
+    /**
+     * Statements written per second.
+     */
+    private double walletsPerSecond;
+
+    /**
+     * Transactions written per second.
+     */
+    private double transactionsPerSecond;
+
+    /**
+     * Directory the statement files were written to.
+     */
+    private String outputDirectory;
+
+    /**
+     * Default constructor.
+     */
+    public StatementJobResponse() {
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public int getSkippedPartitions() {
+        return skippedPartitions;
+    }
+
+    public void setSkippedPartitions(int skippedPartitions) {
+        this.skippedPartitions = skippedPartitions;
+    }
+
+    public int getFailedPartitions() {
+        return failedPartitions;
+    }
+
+    public void setFailedPartitions(int failedPartitions) {
+        this.failedPartitions = failedPartitions;
+    }
+
+    public long getWallets() {
+        return wallets;
+    }
+
+    public void setWallets(long wallets) {
+        this.wallets = wallets;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(long transactions) {
+        this.transactions = transactions;
+    }
+
+    public long getFiles() {
+        return files;
+    }
+
+    public void setFiles(long files) {
+        this.files = files;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getWalletsPerSecond() {
+        return walletsPerSecond;
+    }
+
+    public void setWalletsPerSecond(double walletsPerSecond) {
+        this.walletsPerSecond = walletsPerSecond;
+    }
+
+    public double getTransactionsPerSecond() {
+        return transactionsPerSecond;
+    }
+
+    public void setTransactionsPerSecond(double transactionsPerSecond) {
+        this.transactionsPerSecond = transactionsPerSecond;
+    }
+
+    public String getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(String outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+}
@@ -0,0 +1,52 @@
+package com.digitalwallet.walletservice.dto;
+
+import java.util.List;
+
+/**
+ * DTO class that represents one page of a counterparty search.
+ */
+public class TransactionSearchResponse {
+
+    /**
+     * The matching transactions, ordered by normalized counterparty and then by ID.
+     */
+    private List<TransactionResponse> transactions;
+
+    /**
+     * Token to pass as {@code after} for the next page, {@code null} on the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Default constructor.
+     */
+    public TransactionSearchResponse() {
+    }
+
+    /**
+     * Constructs a search page.
+     *
+     * @param transactions the matching transactions
+     * @param nextCursor   the token of the next page, {@code null} on the last page
+     */
+    public TransactionSearchResponse(List<TransactionResponse> transactions, String nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TransactionResponse> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionResponse> transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,140 @@
+package com.digitalwallet.walletservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO used to represent a transfer request between two wallets of the same customer.
+ * <p>
+ * Wallets may hold different currencies; the amount is then converted at the rate of the given
+ * {@code quoteId}, or at the current rate if no quote is given.
+ */
+public class TransferRequest {
+
+    /**
+     * ID of the wallet the money is taken from.
+     */
+    @NotNull(message = "Source wallet ID is required.")
+    private Long fromWalletId;
+
+    /**
+     * ID of the wallet the money is moved to.
+     */
+    @NotNull(message = "Target wallet ID is required.")
+    private Long toWalletId;
+
+    /**
+     * Amount to transfer, in the currency of the source wallet. Must be a positive decimal value.
+     */
+    @NotNull(message = "Amount is required.")
+    @DecimalMin(value = "0.01", message = "Amount must be positive. Please write positive amount.")
+    private BigDecimal amount;
+
+    /**
+     * Optional ID of an FX quote locking the rate for a cross-currency transfer.
+     */
+    private String quoteId;
+
+    /**
+     * Constructor to initialize all fields. Request bodies are bound through this constructor; a missing
+     * {@code quoteId} is {@code null}.
+     *
+     * @param fromWalletId ID of the source wallet.
+     * @param toWalletId   ID of the target wallet.
+     * @param amount       Amount to transfer.
+     * @param quoteId      Optional FX quote ID.
+     */
+    @JsonCreator
+    public TransferRequest(Long fromWalletId, Long toWalletId, BigDecimal amount, String quoteId) {
+        this.fromWalletId = fromWalletId;
+        this.toWalletId = toWalletId;
+        this.amount = amount;
+        this.quoteId = quoteId;
+    }
+
+    /**
+     * Constructor for a transfer without an FX quote.
+     *
+     * @param fromWalletId ID of the source wallet.
+     * @param toWalletId   ID of the target wallet.
+     * @param amount       Amount to transfer.
+     */
+    public TransferRequest(Long fromWalletId, Long toWalletId, BigDecimal amount) {
+        this(fromWalletId, toWalletId, amount, null);
+    }
+
+    /**
+     * Returns the source wallet ID.
+     *
+     * @return source wallet ID.
+     */
+    public Long getFromWalletId() {
+        return fromWalletId;
+    }
+
+    /**
+     * Sets the source wallet ID.
+     *
+     * @param fromWalletId the source wallet ID to set.
+     */
+    public void setFromWalletId(Long fromWalletId) {
+        this.fromWalletId = fromWalletId;
+    }
+
+    /**
+     * Returns the target wallet ID.
+     *
+     * @return target wallet ID.
+     */
+    public Long getToWalletId() {
+        return toWalletId;
+    }
+
+    /**
+     * Sets the target wallet ID.
+     *
+     * @param toWalletId the target wallet ID to set.
+     */
+    public void setToWalletId(Long toWalletId) {
+        this.toWalletId = toWalletId;
+    }
+
+    /**
+     * Returns the transfer amount.
+     *
+     * @return transfer amount.
+     */
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * Sets the transfer amount.
+     *
+     * @param amount the amount to transfer.
+     */
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * Returns the FX quote ID.
+     *
+     * @return FX quote ID, or {@code null} to use the current rate.
+     */
+    public String getQuoteId() {
+        return quoteId;
+    }
+
+    /**
+     * Sets the FX quote ID.
+     *
+     * @param quoteId the FX quote ID to set.
+     */
+    public void setQuoteId(String quoteId) {
+        this.quoteId = quoteId;
+    }
+}
@@ -0,0 +1,64 @@
+package com.digitalwallet.walletservice.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO class that represents the result of a wallet-to-wallet transfer.
+ * Contains both legs of the transfer: the withdrawal from the source wallet and the deposit into the target wallet.
+ */
+public class TransferResponse {
+
+    /**
+     * The WITHDRAW transaction recorded on the source wallet.
+     */
+    private TransactionResponse withdrawal;
+
+    /**
+     * The DEPOSIT transaction recorded on the target wallet.
+     */
+    private TransactionResponse deposit;
+
+    /**
+     * Units of the target currency credited per unit of the source currency (1 for same-currency transfers).
+     */
+    private BigDecimal exchangeRate;
+
+    /**
+     * Constructor to initialize both legs of the transfer and the applied exchange rate.
+     */
+    public TransferResponse(TransactionResponse withdrawal, TransactionResponse deposit, BigDecimal exchangeRate) {
+        this.withdrawal = withdrawal;
+        this.deposit = deposit;
+        this.exchangeRate = exchangeRate;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public TransferResponse() {
+    }
+
+    public TransactionResponse getWithdrawal() {
+        return withdrawal;
+    }
+
+    public void setWithdrawal(TransactionResponse withdrawal) {
+        this.withdrawal = withdrawal;
+    }
+
+    public TransactionResponse getDeposit() {
+        return deposit;
+    }
+
+    public void setDeposit(TransactionResponse deposit) {
+        this.deposit = deposit;
+    }
+
+    public BigDecimal getExchangeRate() {
+        return exchangeRate;
+    }
+
+    public void setExchangeRate(BigDecimal exchangeRate) {
+        this.exchangeRate = exchangeRate;
+    }
+}
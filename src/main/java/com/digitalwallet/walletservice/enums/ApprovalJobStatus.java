@@ -0,0 +1,27 @@
+package com.digitalwallet.walletservice.enums;
+
+/**
+ * Enum representing the state of an asynchronous approval.
+ */
+public enum ApprovalJobStatus {
+
+    /**
+     * The approval is waiting for a worker.
+     */
+    QUEUED,
+
+    /**
+     * A worker is applying the approval together with the other queued approvals of the same wallet.
+     */
+    PROCESSING,
+
+    /**
+     * The transaction was approved or denied.
+     */
+    SUCCEEDED,
+
+    /**
+     * The approval was rejected, e.g. because the transaction does not exist or was already processed.
+     */
+    FAILED
+}
@@ -0,0 +1,22 @@
+package com.digitalwallet.walletservice.enums;
+
+/**
+ * Enum representing the service tier of a customer, used by the auto-approval rules.
+ */
+public enum CustomerTier {
+
+    /**
+     * Default tier of every customer.
+     */
+    STANDARD,
+
+    /**
+     * Customers with higher limits.
+     */
+    PREMIUM,
+
+    /**
+     * Business customers.
+     */
+    BUSINESS
+}
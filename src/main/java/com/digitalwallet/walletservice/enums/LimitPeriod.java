@@ -0,0 +1,27 @@
+package com.digitalwallet.walletservice.enums;
+
+import java.time.LocalDate;
+
+/**
+ * Enum representing the period a withdrawal limit applies to.
+ */
+public enum LimitPeriod {
+
+    /**
+     * One calendar day.
+     */
+    DAILY,
+
+    /**
+     * One calendar month.
+     */
+    MONTHLY;
+
+    /**
+     * @param date a day
+     * @return the first day of the period containing it
+     */
+    public LocalDate start(LocalDate date) {
+        return this == DAILY ? date : date.withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,17 @@
+package com.digitalwallet.walletservice.enums;
+
+/**
+ * Enum representing whose withdrawals a withdrawal limit adds up.
+ */
+public enum LimitScope {
+
+    /**
+     * The withdrawals of one wallet.
+     */
+    WALLET,
+
+    /**
+     * The withdrawals of all wallets of one customer in one currency.
+     */
+    CUSTOMER
+}
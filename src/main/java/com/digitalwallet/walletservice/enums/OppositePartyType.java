@@ -15,5 +15,10 @@ public enum OppositePartyType {
     /**
      * Represents a transaction involving an internal payment ID or reference.
      */
-    PAYMENT
+    PAYMENT,
+
+    /**
+     * Represents a transfer to or from another wallet within the system.
+     */
+    WALLET
 }
\ No newline at end of file
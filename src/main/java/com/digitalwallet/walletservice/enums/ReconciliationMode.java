@@ -0,0 +1,17 @@
+package com.digitalwallet.walletservice.enums;
+
+/**
+ * Enum representing which wallets a reconciliation run checks.
+ */
+public enum ReconciliationMode {
+
+    /**
+     * Checks every wallet.
+     */
+    FULL,
+
+    /**
+     * Checks only wallets changed since the previous completed run.
+     */
+    INCREMENTAL
+}
@@ -0,0 +1,22 @@
+package com.digitalwallet.walletservice.enums;
+
+/**
+ * Enum representing the state of a reconciliation run.
+ */
+public enum ReconciliationStatus {
+
+    /**
+     * The run is in progress.
+     */
+    RUNNING,
+
+    /**
+     * Every chunk of the run was checked.
+     */
+    COMPLETED,
+
+    /**
+     * At least one chunk could not be checked; the run does not advance the high-water mark.
+     */
+    FAILED
+}
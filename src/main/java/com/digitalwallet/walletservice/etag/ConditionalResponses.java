@@ -0,0 +1,41 @@
+package com.digitalwallet.walletservice.etag;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Builds responses for conditional GETs from a {@link VersionStamp}.
+ * <p>
+ * Responses are marked {@code Cache-Control: private, no-cache}: clients and private caches may store them but
+ * must revalidate with {@code If-None-Match} before reuse.
+ */
+public final class ConditionalResponses {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * @param stamp the stable stamp that matched the request's {@code If-None-Match}
+     * @return a 304 response carrying the ETag
+     */
+    public static <T> ResponseEntity<T> notModified(VersionStamp stamp) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(stamp.getETag()).cacheControl(REVALIDATE).build();
+    }
+
+    /**
+     * Builds a 200 response, with the stamp's ETag only if nothing changed while the body was read.
+     *
+     * @param stamp the stamp taken before the body was read
+     * @param body  the response body
+     * @return the response
+     */
+    public static <T> ResponseEntity<T> ok(VersionStamp stamp, T body) {
+        if (!stamp.isUnchanged()) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok().eTag(stamp.getETag()).cacheControl(REVALIDATE).body(body);
+    }
+}
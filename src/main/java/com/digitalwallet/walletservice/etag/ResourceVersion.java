@@ -0,0 +1,41 @@
+package com.digitalwallet.walletservice.etag;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counters of one wallet or customer.
+ * <p>
+ * {@code started} is incremented right before a changing transaction commits, {@code completed} once it has
+ * finished. While they differ a change may be becoming visible, so no ETag is issued; when they are equal,
+ * {@code completed} is the version of the committed state.
+ */
+final class ResourceVersion {
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private volatile long completedAt = System.nanoTime();
+
+    long started() {
+        return started.get();
+    }
+
+    long completed() {
+        return completed.get();
+    }
+
+    /**
+     * @return {@link System#nanoTime()} of the last completed change
+     */
+    long completedAt() {
+        return completedAt;
+    }
+
+    void start() {
+        started.incrementAndGet();
+    }
+
+    void complete() {
+        completedAt = System.nanoTime();
+        completed.incrementAndGet();
+    }
+}
@@ -0,0 +1,153 @@
+package com.digitalwallet.walletservice.etag;
+
+import com.digitalwallet.walletservice.event.WalletBalanceChangedEvent;
+import com.digitalwallet.walletservice.event.WalletCreatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory version counters per wallet and per customer, from which ETags are derived without hashing payloads.
+ * <p>
+ * A wallet's version changes with every balance change and every transaction status change of the wallet
+ * ({@link WalletBalanceChangedEvent}); a customer's version changes with every change of one of their wallets and
+ * when a wallet is created ({@link WalletCreatedEvent}). Counters are bumped around the commit of the changing
+ * transaction, so an ETag is never attached to data that was read while a change was becoming visible.
+ * <p>
+ * ETags are weak: the same version is served both gzip-compressed and uncompressed, which strong ETags would have
+ * to tell apart (Tomcat does not compress responses with a strong ETag). Every ETag contains an epoch chosen at
+ * startup, so ETags issued before a restart never match.
+ * <p>
+ * With a read replica ({@code wallet.datasource.replica.url}) a read may return data older than the committed
+ * version, so a changed resource gets no ETag until {@code wallet.datasource.replica.max-lag} has passed.
+ * <p>
+ * The counters only see changes made by this instance. A change made by another instance, or through the reactive
+ * API, leaves them as they were, and a client holding the old ETag would be told its stale balance is current.
+ * ETags are therefore off unless {@code wallet.etag.enabled=true}, which is only safe when this instance is the
+ * only one writing wallets.
+ */
+@Component
+public class ResourceVersions {
+
+    private final boolean enabled;
+    private final long settleNanos;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Long, ResourceVersion> wallets = new ConcurrentHashMap<>();
+    private final Map<Long, ResourceVersion> customers = new ConcurrentHashMap<>();
+
+    /**
+     * @param enabled    whether ETags are issued at all ({@code wallet.etag.enabled})
+     * @param replicaUrl the read replica URL, empty without a replica
+     * @param replicaLag the maximum replication lag to wait out after a change when reads may use the replica
+     */
+    public ResourceVersions(@Value("${wallet.etag.enabled:false}") boolean enabled,
+                            @Value("${wallet.datasource.replica.url:}") String replicaUrl,
+                            @Value("${wallet.datasource.replica.max-lag:1s}") Duration replicaLag) {
+        this.enabled = enabled;
+        this.settleNanos = replicaUrl.isBlank() ? 0 : replicaLag.toNanos();
+    }
+
+    /**
+     * Takes the version of a wallet's transaction history.
+     *
+     * @param walletId the wallet ID
+     * @return the stamp; not stable if ETags are disabled or a change is committing
+     */
+    public VersionStamp walletStamp(Long walletId) {
+        return stamp(wallets, "w", walletId);
+    }
+
+    /**
+     * Takes the version of a customer's wallet list.
+     *
+     * @param customerId the customer ID
+     * @return the stamp; not stable if ETags are disabled or a change is committing
+     */
+    public VersionStamp customerStamp(Long customerId) {
+        return stamp(customers, "c", customerId);
+    }
+
+    /**
+     * Marks the wallet and its customer as changed by the current transaction.
+     *
+     * @param event the balance change
+     */
+    @EventListener
+    public void onBalanceChanged(WalletBalanceChangedEvent event) {
+        changed(version(wallets, event.getWalletId()), version(customers, event.getCustomerId()));
+    }
+
+    /**
+     * Marks the customer's wallet list as changed.
+     *
+     * @param event the wallet creation
+     */
+    @EventListener
+    public void onWalletCreated(WalletCreatedEvent event) {
+        changed(version(customers, event.getCustomerId()));
+    }
+
+    private VersionStamp stamp(Map<Long, ResourceVersion> versions, String kind, Long id) {
+        if (!enabled || id == null) {
+            return VersionStamp.none();
+        }
+        // Readers never create counters: an unknown ID has version 0 until it is first changed
+        ResourceVersion version = versions.get(id);
+        long started = version == null ? 0 : version.started();
+        long completed = version == null ? 0 : version.completed();
+        if (started != completed) {
+            return VersionStamp.none();
+        }
+        if (version != null && settleNanos > 0 && System.nanoTime() - version.completedAt() < settleNanos) {
+            return VersionStamp.none();
+        }
+        String etag = "W/\"" + epoch + "-" + kind + id + "-" + completed + "\"";
+        return VersionStamp.of(etag, started, () -> {
+            ResourceVersion current = versions.get(id);
+            return current == null ? 0 : current.started();
+        });
+    }
+
+    private static ResourceVersion version(Map<Long, ResourceVersion> versions, Long id) {
+        return versions.computeIfAbsent(id, key -> new ResourceVersion());
+    }
+
+    private static void changed(ResourceVersion... versions) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            for (ResourceVersion version : versions) {
+                version.start();
+                version.complete();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private boolean started;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                for (ResourceVersion version : versions) {
+                    version.start();
+                }
+                started = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                // A rollback before commit never started; one after beforeCommit must still be balanced
+                if (started) {
+                    for (ResourceVersion version : versions) {
+                        version.complete();
+                    }
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.digitalwallet.walletservice.etag;
+
+import org.springframework.http.ETag;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Version of a wallet or customer taken before reading it, used as its ETag.
+ * <p>
+ * Take the stamp first, then read the data, then call {@link #isUnchanged()}: only if no change started in
+ * between does the ETag describe what was read. An unstable stamp (a change was committing when it was taken)
+ * has no ETag at all.
+ */
+public final class VersionStamp {
+
+    private static final VersionStamp NONE = new VersionStamp(null, 0, () -> -1);
+
+    private final String etag;
+    private final long started;
+    private final LongSupplier currentStarted;
+
+    private VersionStamp(String etag, long started, LongSupplier currentStarted) {
+        this.etag = etag;
+        this.started = started;
+        this.currentStarted = currentStarted;
+    }
+
+    static VersionStamp of(String etag, long started, LongSupplier currentStarted) {
+        return new VersionStamp(etag, started, currentStarted);
+    }
+
+    static VersionStamp none() {
+        return NONE;
+    }
+
+    /**
+     * @return whether the stamp has an ETag
+     */
+    public boolean isStable() {
+        return etag != null;
+    }
+
+    /**
+     * @return the weak ETag, or {@code null} if the stamp is not stable
+     */
+    public String getETag() {
+        return etag;
+    }
+
+    /**
+     * Checks an {@code If-None-Match} header against this stamp, using weak comparison as RFC 9110 requires.
+     *
+     * @param ifNoneMatch the header value, may be {@code null}
+     * @return {@code true} if the client's copy is current and a 304 may be sent
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (etag == null || ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (candidate.isWildcard() || candidate.compare(current, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether the ETag is stable and no change has started since the stamp was taken
+     */
+    public boolean isUnchanged() {
+        return etag != null && currentStarted.getAsLong() == started;
+    }
+}
@@ -0,0 +1,24 @@
+package com.digitalwallet.walletservice.event;
+
+import com.digitalwallet.walletservice.fx.FxRateSnapshot;
+
+/**
+ * Application event published after a new {@link FxRateSnapshot} has been swapped in.
+ */
+public class FxRatesUpdatedEvent {
+
+    private final FxRateSnapshot snapshot;
+
+    /**
+     * Creates a new rates updated event.
+     *
+     * @param snapshot the snapshot now in effect
+     */
+    public FxRatesUpdatedEvent(FxRateSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public FxRateSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
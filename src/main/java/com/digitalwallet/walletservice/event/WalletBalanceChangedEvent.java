@@ -0,0 +1,58 @@
+package com.digitalwallet.walletservice.event;
+
+import com.digitalwallet.walletservice.enums.Currency;
+
+import java.math.BigDecimal;
+
+/**
+ * Application event published whenever a wallet's balance or usable balance changes.
+ * <p>
+ * Carries the change as deltas, so listeners can apply events in any order.
+ * Listeners should use {@code @TransactionalEventListener} to only see committed changes.
+ */
+public class WalletBalanceChangedEvent {
+
+    private final Long walletId;
+    private final Long customerId;
+    private final Currency currency;
+    private final BigDecimal balanceDelta;
+    private final BigDecimal usableBalanceDelta;
+
+    /**
+     * Creates a new balance change event.
+     *
+     * @param walletId           the ID of the wallet that changed
+     * @param customerId         the ID of the customer owning the wallet
+     * @param currency           the currency of the wallet
+     * @param balanceDelta       the change applied to the total balance
+     * @param usableBalanceDelta the change applied to the usable balance
+     */
+    public WalletBalanceChangedEvent(Long walletId, Long customerId, Currency currency,
+                                     BigDecimal balanceDelta, BigDecimal usableBalanceDelta) {
+        this.walletId = walletId;
+        this.customerId = customerId;
+        this.currency = currency;
+        this.balanceDelta = balanceDelta;
+        this.usableBalanceDelta = usableBalanceDelta;
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getBalanceDelta() {
+        return balanceDelta;
+    }
+
+    public BigDecimal getUsableBalanceDelta() {
+        return usableBalanceDelta;
+    }
+}
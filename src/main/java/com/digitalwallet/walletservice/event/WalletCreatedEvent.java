@@ -0,0 +1,29 @@
+package com.digitalwallet.walletservice.event;
+
+/**
+ * Application event published when a wallet has been created for a customer.
+ */
+public class WalletCreatedEvent {
+
+    private final Long walletId;
+    private final Long customerId;
+
+    /**
+     * Creates a new wallet creation event.
+     *
+     * @param walletId   the ID of the new wallet
+     * @param customerId the ID of the customer owning the wallet
+     */
+    public WalletCreatedEvent(Long walletId, Long customerId) {
+        this.walletId = walletId;
+        this.customerId = customerId;
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.digitalwallet.walletservice.exception;
+
+/**
+ * Exception thrown when an asynchronous approval job is unknown, or its result is no longer retained.
+ * <p>
+ * Mapped to HTTP 404 Not Found.
+ */
+public class ApprovalJobNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new ApprovalJobNotFoundException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ApprovalJobNotFoundException(String message) {
+        super(message);
+    }
+}
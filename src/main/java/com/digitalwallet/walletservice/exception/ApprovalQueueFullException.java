@@ -0,0 +1,18 @@
+package com.digitalwallet.walletservice.exception;
+
+/**
+ * Exception thrown when asynchronous approvals cannot be accepted because the approval queue is full.
+ * <p>
+ * Mapped to HTTP 503 Service Unavailable with a {@code Retry-After} header.
+ */
+public class ApprovalQueueFullException extends RuntimeException {
+
+    /**
+     * Constructs a new ApprovalQueueFullException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ApprovalQueueFullException(String message) {
+        super(message);
+    }
+}
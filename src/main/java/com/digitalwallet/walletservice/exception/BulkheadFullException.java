@@ -0,0 +1,27 @@
+package com.digitalwallet.walletservice.exception;
+
+/**
+ * Exception thrown when a request cannot enter its bulkhead: all permits are taken and the wait queue is full,
+ * or no permit became free within the queue timeout.
+ * <p>
+ * Mapped to HTTP 503 Service Unavailable with a {@code Retry-After} header.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private final String bulkhead;
+
+    /**
+     * Constructs a new BulkheadFullException.
+     *
+     * @param bulkhead the name of the saturated bulkhead
+     * @param message  the detail message
+     */
+    public BulkheadFullException(String bulkhead, String message) {
+        super(message);
+        this.bulkhead = bulkhead;
+    }
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+}
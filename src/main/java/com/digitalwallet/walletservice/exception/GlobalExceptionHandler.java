@@ -1,5 +1,6 @@
 package com.digitalwallet.walletservice.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -61,6 +62,54 @@ public class GlobalExceptionHandler {
         return buildResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles BulkheadFullException and ApprovalQueueFullException with 503 Service Unavailable status
+     * and a {@code Retry-After} hint.
+     *
+     * @param ex the exception
+     * @return structured error response
+     */
+    @ExceptionHandler({BulkheadFullException.class, ApprovalQueueFullException.class})
+    public ResponseEntity<Object> handleSaturation(RuntimeException ex) {
+        ResponseEntity<Object> response = buildResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    /**
+     * Handles ApprovalJobNotFoundException with 404 Not Found status.
+     *
+     * @param ex the exception
+     * @return structured error response
+     */
+    @ExceptionHandler(ApprovalJobNotFoundException.class)
+    public ResponseEntity<Object> handleApprovalJobNotFound(ApprovalJobNotFoundException ex) {
+        return buildResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles VelocityLimitExceededException with 429 Too Many Requests status.
+     *
+     * @param ex the exception
+     * @return structured error response
+     */
+    @ExceptionHandler(VelocityLimitExceededException.class)
+    public ResponseEntity<Object> handleVelocityLimitExceeded(VelocityLimitExceededException ex) {
+        return buildResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * Handles WithdrawalLimitExceededException with 400 Bad Request status.
+     *
+     * @param ex the exception
+     * @return structured error response
+     */
+    @ExceptionHandler(WithdrawalLimitExceededException.class)
+    public ResponseEntity<Object> handleWithdrawalLimitExceeded(WithdrawalLimitExceededException ex) {
+        return buildResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles generic RuntimeException with 500 Internal Server Error status.
      *
@@ -0,0 +1,18 @@
+package com.digitalwallet.walletservice.exception;
+
+/**
+ * Exception thrown when a withdrawal is blocked because the wallet withdrew too often or too much recently.
+ * <p>
+ * Mapped to HTTP 429 Too Many Requests.
+ */
+public class VelocityLimitExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new VelocityLimitExceededException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public VelocityLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.digitalwallet.walletservice.exception;
+
+/**
+ * Exception thrown when a withdrawal would exceed a daily or monthly withdrawal limit.
+ * <p>
+ * Mapped to HTTP 400 Bad Request.
+ */
+public class WithdrawalLimitExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new WithdrawalLimitExceededException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public WithdrawalLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.digitalwallet.walletservice.fx;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * {@link FxRateProvider} reading rates from a properties file such as:
+ * <pre>
+ * USD=41.25
+ * EUR=48.10
+ * </pre>
+ * The file is re-read on every reload, so rates can be updated by replacing it.
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.fx.provider", havingValue = "file", matchIfMissing = true)
+public class FileFxRateProvider implements FxRateProvider {
+
+    private final Resource ratesFile;
+
+    /**
+     * Constructs a {@code FileFxRateProvider}.
+     *
+     * @param ratesFile location of the rates file ({@code file:} or {@code classpath:})
+     */
+    public FileFxRateProvider(@Value("${wallet.fx.rates-file:classpath:fx-rates.properties}") Resource ratesFile) {
+        this.ratesFile = ratesFile;
+    }
+
+    @Override
+    public Map<Currency, BigDecimal> loadRates() {
+        Properties properties = new Properties();
+        try (InputStream in = ratesFile.getInputStream()) {
+            properties.load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read FX rates from " + ratesFile, ex);
+        }
+
+        Map<Currency, BigDecimal> rates = new EnumMap<>(Currency.class);
+        for (String name : properties.stringPropertyNames()) {
+            rates.put(Currency.valueOf(name.trim()), new BigDecimal(properties.getProperty(name).trim()));
+        }
+        return rates;
+    }
+
+    @Override
+    public String getName() {
+        return "file:" + ratesFile.getDescription();
+    }
+}
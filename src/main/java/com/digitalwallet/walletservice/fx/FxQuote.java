@@ -0,0 +1,65 @@
+package com.digitalwallet.walletservice.fx;
+
+import com.digitalwallet.walletservice.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Exchange rate locked for a short time so a customer can transfer at the rate they were shown.
+ */
+public final class FxQuote {
+
+    private final String id;
+    private final Currency from;
+    private final Currency to;
+    private final BigDecimal rate;
+    private final Instant expiresAt;
+
+    /**
+     * Creates a quote.
+     *
+     * @param id        unique quote identifier
+     * @param from      the currency being sold
+     * @param to        the currency being bought
+     * @param rate      units of {@code to} per unit of {@code from}
+     * @param expiresAt the instant after which the quote can no longer be used
+     */
+    public FxQuote(String id, Currency from, Currency to, BigDecimal rate, Instant expiresAt) {
+        this.id = id;
+        this.from = from;
+        this.to = to;
+        this.rate = rate;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Checks whether the quote has expired.
+     *
+     * @param now the current instant
+     * @return {@code true} if the quote can no longer be used
+     */
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Currency getFrom() {
+        return from;
+    }
+
+    public Currency getTo() {
+        return to;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,72 @@
+package com.digitalwallet.walletservice.fx;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, insertion-ordered store of outstanding {@link FxQuote}s.
+ * <p>
+ * When full, the oldest quote is evicted. Expired quotes are dropped when encountered.
+ * Quotes are single-use: {@link #take(String, Instant)} removes the quote it returns.
+ */
+public class FxQuoteCache {
+
+    private final int maxSize;
+    private final LinkedHashMap<String, FxQuote> quotes;
+
+    /**
+     * Creates a cache holding at most {@code maxSize} quotes.
+     *
+     * @param maxSize maximum number of outstanding quotes
+     */
+    public FxQuoteCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.quotes = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FxQuote> eldest) {
+                return size() > FxQuoteCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Stores a quote, evicting expired quotes and, if still full, the oldest one.
+     *
+     * @param quote the quote to store
+     */
+    public synchronized void put(FxQuote quote) {
+        purgeExpired(Instant.now());
+        quotes.put(quote.getId(), quote);
+    }
+
+    /**
+     * Removes and returns a quote if it exists and has not expired.
+     *
+     * @param id  the quote ID
+     * @param now the current instant
+     * @return the quote, or {@code null} if unknown or expired
+     */
+    public synchronized FxQuote take(String id, Instant now) {
+        FxQuote quote = quotes.remove(id);
+        return quote == null || quote.isExpired(now) ? null : quote;
+    }
+
+    /**
+     * Returns the number of outstanding quotes.
+     *
+     * @return quote count
+     */
+    public synchronized int size() {
+        return quotes.size();
+    }
+
+    private void purgeExpired(Instant now) {
+        // Quotes share one TTL, so insertion order is also expiry order
+        Iterator<FxQuote> iterator = quotes.values().iterator();
+        while (iterator.hasNext() && iterator.next().isExpired(now)) {
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.digitalwallet.walletservice.fx;
+
+import com.digitalwallet.walletservice.enums.Currency;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Source of exchange rates used to build {@link FxRateSnapshot} instances.
+ * <p>
+ * Implementations are only called from the reload path, never while serving a request.
+ */
+public interface FxRateProvider {
+
+    /**
+     * Loads the current rates.
+     *
+     * @return amount of TRY per one unit of each currency
+     */
+    Map<Currency, BigDecimal> loadRates();
+
+    /**
+     * Returns a short name identifying this provider.
+     *
+     * @return provider name
+     */
+    String getName();
+}
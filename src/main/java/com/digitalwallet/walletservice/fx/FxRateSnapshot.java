@@ -0,0 +1,113 @@
+package com.digitalwallet.walletservice.fx;
+
+import com.digitalwallet.walletservice.enums.Currency;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable set of exchange rates loaded at one point in time.
+ * <p>
+ * Rates are supplied as the amount of the base currency (TRY) per one unit of each currency.
+ * All cross rates are precomputed on construction, so {@link #rate(Currency, Currency)} is a plain array lookup.
+ * A new snapshot is built on every reload and swapped in atomically by the owner.
+ */
+public final class FxRateSnapshot {
+
+    /**
+     * Currency all rates are expressed in.
+     */
+    public static final Currency BASE_CURRENCY = Currency.TRY;
+
+    private static final MathContext PRECISION = MathContext.DECIMAL64;
+
+    private final long version;
+    private final Instant loadedAt;
+    private final String source;
+    private final Map<Currency, BigDecimal> baseRates;
+    private final BigDecimal[][] crossRates;
+
+    /**
+     * Builds a snapshot from base-currency rates.
+     *
+     * @param version   monotonically increasing snapshot version
+     * @param loadedAt  time the rates were loaded
+     * @param source    name of the provider the rates came from
+     * @param baseRates amount of TRY per one unit of each currency; must contain every {@link Currency}
+     * @throws IllegalArgumentException if a currency is missing or a rate is not positive
+     */
+    public FxRateSnapshot(long version, Instant loadedAt, String source, Map<Currency, BigDecimal> baseRates) {
+        EnumMap<Currency, BigDecimal> rates = new EnumMap<>(Currency.class);
+        for (Currency currency : Currency.values()) {
+            BigDecimal rate = currency == BASE_CURRENCY ? BigDecimal.ONE : baseRates.get(currency);
+            if (rate == null || rate.signum() <= 0) {
+                throw new IllegalArgumentException("Missing or invalid FX rate for " + currency);
+            }
+            rates.put(currency, rate);
+        }
+
+        Currency[] currencies = Currency.values();
+        BigDecimal[][] cross = new BigDecimal[currencies.length][currencies.length];
+        for (Currency from : currencies) {
+            for (Currency to : currencies) {
+                cross[from.ordinal()][to.ordinal()] = from == to
+                        ? BigDecimal.ONE
+                        : rates.get(from).divide(rates.get(to), PRECISION);
+            }
+        }
+
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.source = source;
+        this.baseRates = Collections.unmodifiableMap(rates);
+        this.crossRates = cross;
+    }
+
+    /**
+     * Returns how many units of {@code to} one unit of {@code from} buys.
+     *
+     * @param from the currency being sold
+     * @param to   the currency being bought
+     * @return the exchange rate
+     */
+    public BigDecimal rate(Currency from, Currency to) {
+        return crossRates[from.ordinal()][to.ordinal()];
+    }
+
+    /**
+     * Converts an amount between currencies without rounding.
+     *
+     * @param amount the amount in {@code from}
+     * @param from   the currency of the amount
+     * @param to     the target currency
+     * @return the converted amount
+     */
+    public BigDecimal convert(BigDecimal amount, Currency from, Currency to) {
+        return from == to ? amount : amount.multiply(rate(from, to), PRECISION);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the amount of the base currency per one unit of each currency.
+     *
+     * @return unmodifiable map of base rates
+     */
+    public Map<Currency, BigDecimal> getBaseRates() {
+        return baseRates;
+    }
+}
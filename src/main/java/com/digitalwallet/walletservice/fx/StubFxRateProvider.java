@@ -0,0 +1,48 @@
+package com.digitalwallet.walletservice.fx;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * {@link FxRateProvider} returning fixed rates from configuration,
+ * e.g. {@code wallet.fx.stub-rates=USD:41.25,EUR:48.10}. Intended for local runs and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.fx.provider", havingValue = "stub")
+public class StubFxRateProvider implements FxRateProvider {
+
+    private final Map<Currency, BigDecimal> rates;
+
+    /**
+     * Constructs a {@code StubFxRateProvider}.
+     *
+     * @param stubRates comma-separated {@code CURRENCY:rate} pairs
+     */
+    public StubFxRateProvider(@Value("${wallet.fx.stub-rates:USD:41.25,EUR:48.10}") String stubRates) {
+        Map<Currency, BigDecimal> parsed = new EnumMap<>(Currency.class);
+        for (String pair : stubRates.split(",")) {
+            String[] parts = pair.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid wallet.fx.stub-rates entry: " + pair);
+            }
+            parsed.put(Currency.valueOf(parts[0].trim()), new BigDecimal(parts[1].trim()));
+        }
+        this.rates = parsed;
+    }
+
+    @Override
+    public Map<Currency, BigDecimal> loadRates() {
+        return rates;
+    }
+
+    @Override
+    public String getName() {
+        return "stub";
+    }
+}
@@ -0,0 +1,127 @@
+package com.digitalwallet.walletservice.identity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * <p>
+ * {@link #mightContain(String)} never returns {@code false} for a value that was {@link #put(String) put}, and
+ * returns {@code true} for other values with a probability that grows with the number of values put; see
+ * {@link #expectedFpp()}. Values can be added concurrently with lookups, but never removed.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final AtomicLong inserted = new AtomicLong();
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+        this.bits = words.length() * 64L;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Creates a filter sized so that the false positive probability is {@code fpp} once {@code expectedInsertions}
+     * values have been put.
+     *
+     * @param expectedInsertions the number of values the filter is sized for
+     * @param fpp                the false positive probability at that size, between 0 and 1
+     * @return an empty filter
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        if (expectedInsertions < 1 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive and fpp between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        if (bits > 64L * Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large");
+        }
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+        return new BloomFilter(Math.max(64, bits), hashes);
+    }
+
+    /**
+     * @param value the value to add
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+        inserted.incrementAndGet();
+    }
+
+    /**
+     * @param value the value to look up
+     * @return {@code false} if the value was definitely never put
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the probability that a value never put is reported as contained, given the values put so far
+     */
+    public double expectedFpp() {
+        return Math.pow(1 - Math.exp(-(double) hashes * inserted.get() / bits), hashes);
+    }
+
+    /**
+     * @return the number of values put, counting repeated values each time
+     */
+    public long getInserted() {
+        return inserted.get();
+    }
+
+    /**
+     * @return the size of the bit array in bytes
+     */
+    public long getMemoryBytes() {
+        return bits / 8;
+    }
+
+    /**
+     * @return the number of bits set per value
+     */
+    public int getHashes() {
+        return hashes;
+    }
+
+    private static long hash(String value) {
+        // FNV-1a over the UTF-16 chars, finished with the MurmurHash3 64-bit mix for well spread high bits
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
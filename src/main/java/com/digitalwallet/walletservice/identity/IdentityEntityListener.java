@@ -0,0 +1,40 @@
+package com.digitalwallet.walletservice.identity;
+
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Employee;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener adding every customer and employee inserted by this instance to the
+ * {@link IdentityLookupService} Bloom filters, whichever code path saved it.
+ */
+@Component
+public class IdentityEntityListener {
+
+    private final ObjectProvider<IdentityLookupService> identityLookupService;
+
+    /**
+     * @param identityLookupService the lookup service, resolved lazily since it depends on the repositories
+     */
+    public IdentityEntityListener(ObjectProvider<IdentityLookupService> identityLookupService) {
+        this.identityLookupService = identityLookupService;
+    }
+
+    /**
+     * @param entity the customer or employee just inserted
+     */
+    @PostPersist
+    public void added(Object entity) {
+        IdentityLookupService service = identityLookupService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (entity instanceof Customer customer) {
+            service.customerAdded(customer);
+        } else if (entity instanceof Employee employee) {
+            service.employeeAdded(employee);
+        }
+    }
+}
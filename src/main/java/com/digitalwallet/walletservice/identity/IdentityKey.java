@@ -0,0 +1,27 @@
+package com.digitalwallet.walletservice.identity;
+
+/**
+ * ID and login name (TCKN or email) of a customer or employee, streamed to build the identity Bloom filters.
+ */
+public final class IdentityKey {
+
+    private final Long id;
+    private final String key;
+
+    /**
+     * @param id  the ID of the customer or employee
+     * @param key the TCKN or email
+     */
+    public IdentityKey(Long id, String key) {
+        this.id = id;
+        this.key = key;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
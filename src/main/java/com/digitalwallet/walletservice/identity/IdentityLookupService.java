@@ -0,0 +1,274 @@
+package com.digitalwallet.walletservice.identity;
+
+import com.digitalwallet.walletservice.cache.NaturalIdLoader;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Employee;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.EmployeeRepository;
+import com.digitalwallet.walletservice.routing.ReadYourWritesGuard;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Looks up customers by TCKN and employees by email for login and token authentication, without querying the
+ * database for names that do not exist.
+ * <p>
+ * A {@link BloomFilter} per kind holds every existing TCKN and (lower-cased) email. It is built at startup with a
+ * streaming scan, sized for {@code wallet.identity.expected-customers} / {@code expected-employees} or twice the
+ * current count, whichever is larger, at a false positive probability of {@code wallet.identity.fpp}. Names the
+ * filter has definitely never seen are rejected at once, so credential stuffing with random TCKNs never reaches
+ * the database. Customers and employees saved by this instance are added as they are inserted (see
+ * {@link IdentityEntityListener}); those saved by other instances are picked up every
+ * {@code wallet.identity.refresh-interval}. Until then, they cannot log in on this instance.
+ * <p>
+ * Names that pass the filter are loaded by natural ID through the {@link NaturalIdLoader}, so the principal of an
+ * active user comes from the second-level cache rather than a query on every request.
+ * <p>
+ * Metrics, tagged with {@code kind}: {@code wallet.identity.bloom.rejected}, {@code wallet.identity.bloom.false-positives},
+ * {@code wallet.identity.bloom.expected-fpp}, {@code wallet.identity.bloom.observed-fpp},
+ * {@code wallet.identity.bloom.entries} and {@code wallet.identity.bloom.memory}.
+ */
+@Component
+public class IdentityLookupService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(IdentityLookupService.class);
+    // Rows committed out of ID order by concurrent inserts are caught by re-reading the last IDs of each refresh
+    private static final long REFRESH_OVERLAP = 100;
+
+    private final boolean enabled;
+    private final double fpp;
+    private final NaturalIdLoader naturalIdLoader;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final TransactionTemplate transaction;
+    private final Index customers;
+    private final Index employees;
+
+    /**
+     * @param enabled             whether lookups are filtered at all
+     * @param expectedCustomers   the number of customers the filter is sized for at least
+     * @param expectedEmployees   the number of employees the filter is sized for at least
+     * @param fpp                 the false positive probability at that size
+     * @param customerRepository  repository customers are scanned in
+     * @param employeeRepository  repository employees are scanned in
+     * @param naturalIdLoader     loader principals are looked up with, through the second-level cache
+     * @param readYourWritesGuard guard used to read principals from the primary database
+     * @param transactionManager  transaction manager for the scans
+     */
+    public IdentityLookupService(@Value("${wallet.identity.enabled:true}") boolean enabled,
+                                 @Value("${wallet.identity.expected-customers:1000000}") long expectedCustomers,
+                                 @Value("${wallet.identity.expected-employees:10000}") long expectedEmployees,
+                                 @Value("${wallet.identity.fpp:0.01}") double fpp,
+                                 CustomerRepository customerRepository,
+                                 EmployeeRepository employeeRepository,
+                                 NaturalIdLoader naturalIdLoader,
+                                 ReadYourWritesGuard readYourWritesGuard,
+                                 PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.fpp = fpp;
+        this.naturalIdLoader = naturalIdLoader;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.customers = new Index("customer", expectedCustomers, customerRepository::count,
+                customerRepository::streamIdentityKeys);
+        this.employees = new Index("employee", expectedEmployees, employeeRepository::count,
+                employeeRepository::streamIdentityKeys);
+    }
+
+    /**
+     * Builds both filters from the primary database before the application accepts requests.
+     */
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            customers.rebuild();
+            employees.rebuild();
+        }
+    }
+
+    /**
+     * @param tckn the TCKN
+     * @return the customer, or empty if there is none
+     */
+    public Optional<Customer> findCustomer(String tckn) {
+        return lookup(customers, tckn, () -> naturalIdLoader.load(Customer.class, tckn));
+    }
+
+    /**
+     * @param email the email, in any case
+     * @return the employee, or empty if there is none
+     */
+    public Optional<Employee> findEmployee(String email) {
+        return lookup(employees, email == null ? null : email.toLowerCase(Locale.ROOT),
+                () -> naturalIdLoader.load(Employee.class, email));
+    }
+
+    /**
+     * @param customer a customer just inserted
+     */
+    public void customerAdded(Customer customer) {
+        customers.add(customer.getTckn());
+    }
+
+    /**
+     * @param employee an employee just inserted
+     */
+    public void employeeAdded(Employee employee) {
+        employees.add(employee.getEmail());
+    }
+
+    /**
+     * Adds customers and employees inserted by other instances, and rebuilds a filter that has grown past twice
+     * its target false positive probability.
+     */
+    @Scheduled(fixedDelayString = "${wallet.identity.refresh-interval:5s}",
+            initialDelayString = "${wallet.identity.refresh-interval:5s}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        for (Index index : new Index[]{customers, employees}) {
+            try {
+                if (index.filter.expectedFpp() > 2 * fpp) {
+                    index.rebuild();
+                } else {
+                    index.scan(index.filter, Math.max(0, index.lastId - REFRESH_OVERLAP));
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Could not refresh the {} Bloom filter, retrying on the next run", index.kind, ex);
+            }
+        }
+    }
+
+    private <T> Optional<T> lookup(Index index, String key, Supplier<Optional<T>> query) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        if (enabled && !index.filter.mightContain(key)) {
+            index.rejected.increment();
+            return Optional.empty();
+        }
+        // Principals are read from the primary, so a user registered a moment ago is found at once
+        Optional<T> loaded = readYourWritesGuard.onPrimary(query);
+        if (loaded.isEmpty() && enabled) {
+            index.falsePositives.increment();
+        }
+        return loaded;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Index index : new Index[]{customers, employees}) {
+            FunctionCounter.builder("wallet.identity.bloom.rejected", index.rejected, LongAdder::sum)
+                    .tag("kind", index.kind).description("Lookups rejected by the Bloom filter without a query")
+                    .register(registry);
+            FunctionCounter.builder("wallet.identity.bloom.false-positives", index.falsePositives, LongAdder::sum)
+                    .tag("kind", index.kind).description("Lookups passed by the Bloom filter that found nothing")
+                    .register(registry);
+            Gauge.builder("wallet.identity.bloom.expected-fpp", index, i -> i.filter.expectedFpp())
+                    .tag("kind", index.kind).description("False positive probability at the current fill")
+                    .register(registry);
+            Gauge.builder("wallet.identity.bloom.observed-fpp", index, Index::observedFpp)
+                    .tag("kind", index.kind).description("Share of unknown names the Bloom filter let through")
+                    .register(registry);
+            Gauge.builder("wallet.identity.bloom.entries", index, i -> i.filter.getInserted())
+                    .tag("kind", index.kind).description("Names added to the Bloom filter").register(registry);
+            Gauge.builder("wallet.identity.bloom.memory", index, i -> i.filter.getMemoryBytes())
+                    .tag("kind", index.kind).baseUnit("bytes").description("Size of the Bloom filter")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * The filter of one kind of principal, and its counters.
+     */
+    private final class Index {
+
+        private final String kind;
+        private final long expected;
+        private final Supplier<Long> count;
+        private final LongFunction<Stream<IdentityKey>> keysAfter;
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+
+        private volatile BloomFilter filter;
+        private volatile BloomFilter building;
+        private volatile long lastId;
+
+        Index(String kind, long expected, Supplier<Long> count, LongFunction<Stream<IdentityKey>> keysAfter) {
+            this.kind = kind;
+            this.expected = expected;
+            this.count = count;
+            this.keysAfter = keysAfter;
+            this.filter = BloomFilter.create(expected, fpp);
+        }
+
+        synchronized void rebuild() {
+            long started = System.currentTimeMillis();
+            long size = Math.max(expected, 2 * transaction.execute(status -> count.get()));
+            building = BloomFilter.create(size, fpp);
+            try {
+                lastId = 0;
+                scan(building, 0);
+                filter = building;
+            } finally {
+                building = null;
+            }
+            log.info("Built the {} Bloom filter: {} names, {} KB, expected fpp {} in {} ms", kind,
+                    filter.getInserted(), filter.getMemoryBytes() / 1024, String.format("%.4f", filter.expectedFpp()),
+                    System.currentTimeMillis() - started);
+        }
+
+        synchronized void scan(BloomFilter target, long afterId) {
+            transaction.executeWithoutResult(status -> {
+                try (Stream<IdentityKey> keys = keysAfter.apply(afterId)) {
+                    keys.forEach(key -> {
+                        add(target, key.getKey());
+                        lastId = Math.max(lastId, key.getId());
+                    });
+                }
+            });
+        }
+
+        void add(String key) {
+            add(filter, key);
+            BloomFilter next = building;
+            if (next != null) {
+                add(next, key);
+            }
+        }
+
+        private void add(BloomFilter target, String key) {
+            if (key == null) {
+                return;
+            }
+            String normalized = this == employees ? key.toLowerCase(Locale.ROOT) : key;
+            // Skipping names already present keeps the entry count close to the number of distinct names
+            if (!target.mightContain(normalized)) {
+                target.put(normalized);
+            }
+        }
+
+        double observedFpp() {
+            long passed = falsePositives.sum();
+            long total = passed + rejected.sum();
+            return total == 0 ? 0 : (double) passed / total;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.digitalwallet.walletservice.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+
+/**
+ * Pre-encoded JSON strings of enum constants, indexed by ordinal.
+ */
+final class EnumValues {
+
+    private EnumValues() {
+    }
+
+    static SerializedString[] of(Enum<?>[] constants) {
+        SerializedString[] values = new SerializedString[constants.length];
+        for (Enum<?> constant : constants) {
+            values[constant.ordinal()] = new SerializedString(constant.name());
+        }
+        return values;
+    }
+
+    static void write(JsonGenerator generator, SerializedString[] values, Enum<?> constant) throws IOException {
+        if (constant == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(values[constant.ordinal()]);
+        }
+    }
+}
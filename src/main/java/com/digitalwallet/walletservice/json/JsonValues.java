@@ -0,0 +1,124 @@
+package com.digitalwallet.walletservice.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Allocation-light writers for the value types of the wallet DTOs.
+ * <p>
+ * The output is identical to what Spring Boot's {@code ObjectMapper} produces for amounts with a non-negative scale
+ * and for timestamps: amounts are JSON numbers in plain notation, timestamps are ISO-8601 strings as formatted by
+ * {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}.
+ */
+final class JsonValues {
+
+    /**
+     * Per-thread buffer for timestamp characters; also remembers the last date written, so consecutive timestamps
+     * of the same day (the common case in a history) only rewrite the time part.
+     */
+    private static final ThreadLocal<TimestampBuffer> TIMESTAMP_BUFFER = ThreadLocal.withInitial(TimestampBuffer::new);
+
+    private JsonValues() {
+    }
+
+    /**
+     * Writes an amount as a JSON number in plain notation.
+     * <p>
+     * For the usual money values (non-negative scale, no leading zeros beyond six decimals) the plain form is the
+     * canonical {@link BigDecimal#toString()}, which {@code BigDecimal} caches, so repeated writes of the same
+     * instance do not allocate. Other values fall back to {@link BigDecimal#toPlainString()}.
+     *
+     * @param generator the generator to write to
+     * @param amount    the amount, may be {@code null}
+     * @throws IOException if writing fails
+     */
+    static void writeAmount(JsonGenerator generator, BigDecimal amount) throws IOException {
+        if (amount == null) {
+            generator.writeNull();
+            return;
+        }
+        int scale = amount.scale();
+        boolean canonicalIsPlain = scale >= 0 && amount.precision() - scale >= -5;
+        generator.writeNumber(canonicalIsPlain ? amount.toString() : amount.toPlainString());
+    }
+
+    /**
+     * Writes a timestamp as an ISO-8601 local date-time string without going through a {@link DateTimeFormatter}.
+     *
+     * @param generator the generator to write to
+     * @param timestamp the timestamp, may be {@code null}
+     * @throws IOException if writing fails
+     */
+    static void writeTimestamp(JsonGenerator generator, LocalDateTime timestamp) throws IOException {
+        if (timestamp == null) {
+            generator.writeNull();
+            return;
+        }
+        int year = timestamp.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed and five-digit years are rare enough to leave to the formatter
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp));
+            return;
+        }
+        TimestampBuffer buffer = TIMESTAMP_BUFFER.get();
+        int length = buffer.format(timestamp, year);
+        generator.writeString(buffer.chars, 0, length);
+    }
+
+    /**
+     * Reusable characters of one formatted timestamp: {@code yyyy-MM-ddTHH:mm:ss} plus up to ten fraction characters.
+     */
+    private static final class TimestampBuffer {
+
+        private final char[] chars = new char[29];
+        private int lastDate = -1;
+
+        private TimestampBuffer() {
+            chars[4] = '-';
+            chars[7] = '-';
+            chars[10] = 'T';
+            chars[13] = ':';
+            chars[16] = ':';
+        }
+
+        private int format(LocalDateTime timestamp, int year) {
+            int month = timestamp.getMonthValue();
+            int day = timestamp.getDayOfMonth();
+            int date = year * 10_000 + month * 100 + day;
+            if (date != lastDate) {
+                writeDigits(year, 0, 4);
+                writeDigits(month, 5, 2);
+                writeDigits(day, 8, 2);
+                lastDate = date;
+            }
+            writeDigits(timestamp.getHour(), 11, 2);
+            writeDigits(timestamp.getMinute(), 14, 2);
+            writeDigits(timestamp.getSecond(), 17, 2);
+
+            int nano = timestamp.getNano();
+            if (nano == 0) {
+                return 19;
+            }
+            // Like ISO_LOCAL_TIME: as many fraction digits as needed, trailing zeros removed
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            chars[19] = '.';
+            writeDigits(nano, 20, digits);
+            return 20 + digits;
+        }
+
+        private void writeDigits(int value, int offset, int width) {
+            for (int i = offset + width - 1; i >= offset; i--) {
+                chars[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.digitalwallet.walletservice.json;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@code List<TransactionResponse>} response bodies with the streaming {@link TransactionListJsonWriter}.
+ * <p>
+ * Only applies when the controller's declared return type is a list of {@link TransactionResponse} and the
+ * application {@code ObjectMapper} writes ISO timestamps; every other body is left to the regular Jackson converter.
+ * Reading is not supported.
+ */
+public class TransactionListHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<TransactionResponse>> {
+
+    private static final ResolvableType TRANSACTION_LIST =
+            ResolvableType.forClassWithGenerics(List.class, TransactionResponse.class);
+
+    private final TransactionListJsonWriter writer;
+    private final boolean enabled;
+
+    /**
+     * @param objectMapper the application {@code ObjectMapper}, whose factory and output settings are reused
+     */
+    public TransactionListHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.writer = new TransactionListJsonWriter(objectMapper.getFactory(),
+                objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT));
+        this.enabled = !objectMapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return enabled && type != null && TRANSACTION_LIST.isAssignableFrom(ResolvableType.forType(type))
+                && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(List<TransactionResponse> transactions, @Nullable Type type,
+                                 HttpOutputMessage outputMessage) throws IOException {
+        writer.write(transactions, outputMessage.getBody());
+    }
+
+    @Override
+    public List<TransactionResponse> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading transaction lists is not supported", inputMessage);
+    }
+
+    @Override
+    protected List<TransactionResponse> readInternal(Class<? extends List<TransactionResponse>> clazz,
+                                                     HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading transaction lists is not supported", inputMessage);
+    }
+}
@@ -0,0 +1,73 @@
+package com.digitalwallet.walletservice.json;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Streams a transaction history as a JSON array straight to an output stream.
+ * <p>
+ * Each element is written with {@link TransactionResponseSerializer} directly on the generator, without
+ * per-element serializer lookup, and the generator is flushed every {@value #FLUSH_INTERVAL} elements, so a large
+ * history is never buffered as a whole. The target stream is left open.
+ */
+public class TransactionListJsonWriter {
+
+    /**
+     * Number of elements written between two flushes of the generator.
+     */
+    static final int FLUSH_INTERVAL = 500;
+
+    private final JsonFactory jsonFactory;
+    private final boolean indent;
+
+    /**
+     * @param jsonFactory the factory creating generators, usually the one of the application {@code ObjectMapper}
+     * @param indent      whether the output is pretty-printed
+     */
+    public TransactionListJsonWriter(JsonFactory jsonFactory, boolean indent) {
+        this.jsonFactory = jsonFactory;
+        this.indent = indent;
+    }
+
+    /**
+     * Writes the transactions as a JSON array.
+     *
+     * @param transactions the transactions, consumed once
+     * @param out          the target stream; flushed but not closed
+     * @throws IOException if writing fails
+     */
+    public void write(Iterable<? extends TransactionResponse> transactions, OutputStream out) throws IOException {
+        write(transactions.iterator(), out);
+    }
+
+    /**
+     * Writes the remaining transactions of the iterator as a JSON array.
+     *
+     * @param transactions the transactions, consumed to the end
+     * @param out          the target stream; flushed but not closed
+     * @throws IOException if writing fails
+     */
+    public void write(Iterator<? extends TransactionResponse> transactions, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (indent) {
+                generator.useDefaultPrettyPrinter();
+            }
+            generator.writeStartArray();
+            int written = 0;
+            while (transactions.hasNext()) {
+                TransactionResponseSerializer.write(transactions.next(), generator);
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+}
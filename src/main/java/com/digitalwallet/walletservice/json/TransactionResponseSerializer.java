@@ -0,0 +1,101 @@
+package com.digitalwallet.walletservice.json;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializer for {@link TransactionResponse} with pre-resolved field names and enum values.
+ * <p>
+ * Produces the same JSON as Jackson's reflective bean serializer (same field names, order and null handling),
+ * without per-property reflection, {@code DateTimeFormatter} or serializer lookups.
+ */
+public class TransactionResponseSerializer extends StdSerializer<TransactionResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString WALLET_ID = new SerializedString("walletId");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString OPPOSITE_PARTY_TYPE = new SerializedString("oppositePartyType");
+    private static final SerializedString OPPOSITE_PARTY = new SerializedString("oppositeParty");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+
+    private static final SerializedString[] TYPE_VALUES = EnumValues.of(TransactionType.values());
+    private static final SerializedString[] OPPOSITE_PARTY_TYPE_VALUES = EnumValues.of(OppositePartyType.values());
+    private static final SerializedString[] STATUS_VALUES = EnumValues.of(TransactionStatus.values());
+
+    public TransactionResponseSerializer() {
+        super(TransactionResponse.class);
+    }
+
+    @Override
+    public void serialize(TransactionResponse value, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            // Numeric timestamps are not the configured wire format; keep them correct rather than fast
+            generator.writeStartObject(value);
+            writeFields(value, generator, false);
+            generator.writeFieldName(CREATED_AT);
+            provider.defaultSerializeValue(value.getCreatedAt(), generator);
+            generator.writeEndObject();
+            return;
+        }
+        write(value, generator);
+    }
+
+    /**
+     * Writes one transaction as a JSON object; used by this serializer and by {@link TransactionListJsonWriter}.
+     *
+     * @param value     the transaction, may be {@code null}
+     * @param generator the generator to write to
+     * @throws IOException if writing fails
+     */
+    static void write(TransactionResponse value, JsonGenerator generator) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject(value);
+        writeFields(value, generator, true);
+        generator.writeEndObject();
+    }
+
+    private static void writeFields(TransactionResponse value, JsonGenerator generator, boolean withCreatedAt)
+            throws IOException {
+        generator.writeFieldName(ID);
+        writeLong(generator, value.getId());
+        generator.writeFieldName(WALLET_ID);
+        writeLong(generator, value.getWalletId());
+        generator.writeFieldName(AMOUNT);
+        JsonValues.writeAmount(generator, value.getAmount());
+        generator.writeFieldName(TYPE);
+        EnumValues.write(generator, TYPE_VALUES, value.getType());
+        generator.writeFieldName(OPPOSITE_PARTY_TYPE);
+        EnumValues.write(generator, OPPOSITE_PARTY_TYPE_VALUES, value.getOppositePartyType());
+        generator.writeFieldName(OPPOSITE_PARTY);
+        generator.writeString(value.getOppositeParty());
+        generator.writeFieldName(STATUS);
+        EnumValues.write(generator, STATUS_VALUES, value.getStatus());
+        if (withCreatedAt) {
+            generator.writeFieldName(CREATED_AT);
+            JsonValues.writeTimestamp(generator, value.getCreatedAt());
+        }
+    }
+
+    private static void writeLong(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
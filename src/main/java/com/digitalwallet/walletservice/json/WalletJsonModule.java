@@ -0,0 +1,22 @@
+package com.digitalwallet.walletservice.json;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.WalletResponse;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Jackson module registering the hand-written serializers of the high-volume response DTOs.
+ * <p>
+ * Declared as a bean, so Spring Boot registers it with the application {@code ObjectMapper}; anything serialized
+ * through that mapper (controller responses, statements, warm-up) uses the fast path.
+ */
+@Component
+public class WalletJsonModule extends SimpleModule {
+
+    public WalletJsonModule() {
+        super(WalletJsonModule.class.getSimpleName());
+        addSerializer(TransactionResponse.class, new TransactionResponseSerializer());
+        addSerializer(WalletResponse.class, new WalletResponseSerializer());
+    }
+}
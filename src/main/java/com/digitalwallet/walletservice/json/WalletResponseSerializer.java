@@ -0,0 +1,57 @@
+package com.digitalwallet.walletservice.json;
+
+import com.digitalwallet.walletservice.dto.WalletResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializer for {@link WalletResponse} with pre-resolved field names and currency values.
+ * <p>
+ * Produces the same JSON as Jackson's reflective bean serializer (same field names, order and null handling).
+ */
+public class WalletResponseSerializer extends StdSerializer<WalletResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString WALLET_NAME = new SerializedString("walletName");
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+    private static final SerializedString ACTIVE_FOR_SHOPPING = new SerializedString("activeForShopping");
+    private static final SerializedString ACTIVE_FOR_WITHDRAW = new SerializedString("activeForWithdraw");
+    private static final SerializedString BALANCE = new SerializedString("balance");
+    private static final SerializedString USABLE_BALANCE = new SerializedString("usableBalance");
+
+    private static final SerializedString[] CURRENCY_VALUES = EnumValues.of(Currency.values());
+
+    public WalletResponseSerializer() {
+        super(WalletResponse.class);
+    }
+
+    @Override
+    public void serialize(WalletResponse value, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(value);
+        generator.writeFieldName(ID);
+        if (value.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.getId());
+        }
+        generator.writeFieldName(WALLET_NAME);
+        generator.writeString(value.getWalletName());
+        generator.writeFieldName(CURRENCY);
+        EnumValues.write(generator, CURRENCY_VALUES, value.getCurrency());
+        generator.writeFieldName(ACTIVE_FOR_SHOPPING);
+        generator.writeBoolean(value.isActiveForShopping());
+        generator.writeFieldName(ACTIVE_FOR_WITHDRAW);
+        generator.writeBoolean(value.isActiveForWithdraw());
+        generator.writeFieldName(BALANCE);
+        JsonValues.writeAmount(generator, value.getBalance());
+        generator.writeFieldName(USABLE_BALANCE);
+        JsonValues.writeAmount(generator, value.getUsableBalance());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,72 @@
+package com.digitalwallet.walletservice.limits;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The amount withdrawn in one {@link UsageKey}, in hundredths of the currency.
+ * <p>
+ * Reservations are compare-and-set against the limit, so concurrent withdrawals can never overshoot it together.
+ * The counter also remembers the amount last written to the database, so only changed counters are flushed.
+ */
+public final class UsageCounter {
+
+    private final AtomicLong used;
+    private volatile long flushed;
+
+    /**
+     * @param used    the amount already withdrawn
+     * @param flushed the amount stored in the database
+     */
+    public UsageCounter(long used, long flushed) {
+        this.used = new AtomicLong(used);
+        this.flushed = flushed;
+    }
+
+    /**
+     * Adds an amount unless that would exceed the limit.
+     *
+     * @param hundredths the amount to add
+     * @param limit      the limit
+     * @return whether the amount was added
+     */
+    public boolean tryReserve(long hundredths, long limit) {
+        long current;
+        do {
+            current = used.get();
+            if (current + hundredths > limit) {
+                return false;
+            }
+        } while (!used.compareAndSet(current, current + hundredths));
+        return true;
+    }
+
+    /**
+     * Takes back an amount reserved before, never going below zero.
+     *
+     * @param hundredths the amount to take back
+     */
+    public void release(long hundredths) {
+        used.updateAndGet(current -> Math.max(0, current - hundredths));
+    }
+
+    /**
+     * @return the amount withdrawn
+     */
+    public long get() {
+        return used.get();
+    }
+
+    /**
+     * @return whether the amount differs from the one stored in the database
+     */
+    public boolean isDirty() {
+        return used.get() != flushed;
+    }
+
+    /**
+     * @param amount the amount just written to the database
+     */
+    public void markFlushed(long amount) {
+        flushed = amount;
+    }
+}
@@ -0,0 +1,77 @@
+package com.digitalwallet.walletservice.limits;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.LimitPeriod;
+import com.digitalwallet.walletservice.enums.LimitScope;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Identifies one withdrawal limit counter: the withdrawals of a wallet or customer in one currency and period.
+ */
+public final class UsageKey {
+
+    private final LimitScope scope;
+    private final Long ownerId;
+    private final Currency currency;
+    private final LimitPeriod period;
+    private final LocalDate periodStart;
+
+    /**
+     * @param scope       whether the owner is a wallet or a customer
+     * @param ownerId     the ID of the wallet or customer
+     * @param currency    the currency of the withdrawals
+     * @param period      the length of the period
+     * @param periodStart the first day of the period
+     */
+    public UsageKey(LimitScope scope, Long ownerId, Currency currency, LimitPeriod period, LocalDate periodStart) {
+        this.scope = scope;
+        this.ownerId = ownerId;
+        this.currency = currency;
+        this.period = period;
+        this.periodStart = periodStart;
+    }
+
+    public LimitScope getScope() {
+        return scope;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public LimitPeriod getPeriod() {
+        return period;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UsageKey other)) {
+            return false;
+        }
+        return scope == other.scope && ownerId.equals(other.ownerId) && currency == other.currency
+                && period == other.period && periodStart.equals(other.periodStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scope, ownerId, currency, period, periodStart);
+    }
+
+    @Override
+    public String toString() {
+        return scope + ":" + ownerId + ":" + currency + ":" + period + ":" + periodStart;
+    }
+}
@@ -0,0 +1,45 @@
+package com.digitalwallet.walletservice.limits;
+
+import com.digitalwallet.walletservice.enums.Currency;
+
+import java.math.BigDecimal;
+
+/**
+ * Total of a wallet's withdrawals since some time, used to rebuild the withdrawal limit counters.
+ */
+public final class WithdrawalTotal {
+
+    private final Long walletId;
+    private final Long customerId;
+    private final Currency currency;
+    private final BigDecimal amount;
+
+    /**
+     * @param walletId   the wallet
+     * @param customerId the owner of the wallet
+     * @param currency   the wallet currency
+     * @param amount     the total withdrawn
+     */
+    public WithdrawalTotal(Long walletId, Long customerId, Currency currency, BigDecimal amount) {
+        this.walletId = walletId;
+        this.customerId = customerId;
+        this.currency = currency;
+        this.amount = amount;
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
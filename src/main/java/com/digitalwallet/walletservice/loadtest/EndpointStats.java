@@ -0,0 +1,91 @@
+package com.digitalwallet.walletservice.loadtest;
+
+import java.util.Map;
+
+/**
+ * Latency percentiles and error counts of one endpoint over a load-test run.
+ * <p>
+ * Latencies are measured from the moment a request was scheduled to be sent, not from when a worker picked it up,
+ * so queueing inside the driver caused by a slow server is included (no coordinated omission).
+ */
+public class EndpointStats {
+
+    private final String endpoint;
+    private final long requests;
+    private final long errors;
+    private final long skipped;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final Map<Integer, Long> errorsByStatus;
+
+    public EndpointStats(String endpoint, long requests, long errors, long skipped, double p50Millis,
+                         double p95Millis, double p99Millis, double maxMillis, Map<Integer, Long> errorsByStatus) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.errors = errors;
+        this.skipped = skipped;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+        this.errorsByStatus = Map.copyOf(errorsByStatus);
+    }
+
+    /**
+     * Returns the fraction of requests that failed.
+     *
+     * @return errors divided by requests, {@code 0} if no request was sent
+     */
+    public double getErrorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns how many scheduled operations were not sent because there was nothing to act on
+     * (e.g. an approval while no deposit was pending).
+     *
+     * @return skipped operation count
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * Returns failed requests grouped by HTTP status; status {@code 0} means no response was received.
+     *
+     * @return error counts by status
+     */
+    public Map<Integer, Long> getErrorsByStatus() {
+        return errorsByStatus;
+    }
+}
@@ -0,0 +1,124 @@
+package com.digitalwallet.walletservice.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects per-operation latencies and outcomes from concurrent load-test workers.
+ * <p>
+ * Every latency is kept so percentiles are exact; a run of a few minutes at a few thousand requests per second
+ * needs only a few megabytes.
+ */
+public class LatencyRecorder {
+
+    private final Map<LoadTestOperation, Samples> samples = new EnumMap<>(LoadTestOperation.class);
+
+    public LatencyRecorder() {
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            samples.put(operation, new Samples());
+        }
+    }
+
+    /**
+     * Records one completed request.
+     *
+     * @param operation    the operation that was executed
+     * @param latencyNanos time from the scheduled send time until the response was read
+     * @param status       HTTP status of the response, {@code 0} if the request failed without a response
+     */
+    public void record(LoadTestOperation operation, long latencyNanos, int status) {
+        samples.get(operation).add(latencyNanos, status);
+    }
+
+    /**
+     * Records an operation that was scheduled but had nothing to act on.
+     *
+     * @param operation the skipped operation
+     */
+    public void skip(LoadTestOperation operation) {
+        samples.get(operation).skip();
+    }
+
+    /**
+     * Returns the total number of requests recorded so far.
+     *
+     * @return request count across all operations
+     */
+    public long getRequests() {
+        return samples.values().stream().mapToLong(Samples::size).sum();
+    }
+
+    /**
+     * Summarizes the recorded samples of every operation that was scheduled at least once.
+     *
+     * @return one entry per operation, in {@link LoadTestOperation} order
+     */
+    public List<EndpointStats> summarize() {
+        List<EndpointStats> stats = new ArrayList<>();
+        for (Map.Entry<LoadTestOperation, Samples> entry : samples.entrySet()) {
+            EndpointStats endpointStats = entry.getValue().summarize(entry.getKey().getEndpoint());
+            if (endpointStats.getRequests() > 0 || endpointStats.getSkipped() > 0) {
+                stats.add(endpointStats);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Latencies and outcomes of a single operation.
+     */
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        private long skipped;
+        private final Map<Integer, Long> errorsByStatus = new TreeMap<>();
+
+        private synchronized void add(long latencyNanos, int status) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (status < 200 || status >= 300) {
+                errors++;
+                errorsByStatus.merge(status, 1L, Long::sum);
+            }
+        }
+
+        private synchronized void skip() {
+            skipped++;
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        private synchronized EndpointStats summarize(String endpoint) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, size, errors, skipped,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    size == 0 ? 0 : toMillis(sorted[size - 1]), errorsByStatus);
+        }
+
+        /**
+         * Nearest-rank percentile of an ascending array.
+         */
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return toMillis(sorted[Math.max(rank, 1) - 1]);
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.digitalwallet.walletservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Minimal JSON-over-HTTP client used by the {@link LoadTestDriver}.
+ * <p>
+ * Uses one shared {@link HttpClient} (and therefore one keep-alive connection pool) for all workers.
+ */
+public class LoadTestClient {
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    /**
+     * Constructs a {@code LoadTestClient}.
+     *
+     * @param baseUrl        scheme, host and port of the application, without a trailing slash
+     * @param objectMapper   mapper used for request and response bodies
+     * @param requestTimeout maximum time to wait for a single response
+     */
+    public LoadTestClient(String baseUrl, ObjectMapper objectMapper, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    /**
+     * Sends a JSON {@code POST} request.
+     *
+     * @param path  request path starting with {@code /}
+     * @param token bearer token, or {@code null} for anonymous requests
+     * @param body  request body, serialized as JSON
+     * @return the response status and parsed body
+     * @throws IOException if the request could not be sent or the response could not be read
+     */
+    public Response post(String path, String token, Object body) throws IOException {
+        HttpRequest.Builder request = newRequest(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        return send(request.build());
+    }
+
+    /**
+     * Sends a {@code GET} request.
+     *
+     * @param path  request path starting with {@code /}
+     * @param token bearer token, or {@code null} for anonymous requests
+     * @return the response status and parsed body
+     * @throws IOException if the request could not be sent or the response could not be read
+     */
+    public Response get(String path, String token) throws IOException {
+        return send(newRequest(path, token).GET().build());
+    }
+
+    /**
+     * Returns the base URL requests are sent to.
+     *
+     * @return the base URL
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    private HttpRequest.Builder newRequest(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(HttpRequest request) throws IOException {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            byte[] body = response.body();
+            JsonNode json = body.length == 0 ? null : parse(body);
+            return new Response(response.statusCode(), json);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + request.uri(), ex);
+        }
+    }
+
+    private JsonNode parse(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException ex) {
+            // Error pages are not always JSON; the status code is what the driver needs
+            return null;
+        }
+    }
+
+    /**
+     * Status and body of an HTTP response.
+     */
+    public static final class Response {
+
+        private final int status;
+        private final JsonNode body;
+
+        private Response(int status, JsonNode body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+
+        /**
+         * Returns the parsed JSON body.
+         *
+         * @return the body, or {@code null} if it was empty or not JSON
+         */
+        public JsonNode getBody() {
+            return body;
+        }
+
+        /**
+         * Returns a field of a successful response, failing the setup step otherwise.
+         *
+         * @param field name of a top-level field of the JSON body
+         * @param step  description of the request, used in the error message
+         * @return the field value
+         * @throws IllegalStateException if the request failed or the field is missing
+         */
+        public JsonNode require(String field, String step) {
+            if (!isSuccessful() || body == null || !body.hasNonNull(field)) {
+                throw new IllegalStateException("Load-test setup failed: " + step + " returned HTTP " + status
+                        + (body == null ? "" : " " + body));
+            }
+            return body.get(field);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.digitalwallet.walletservice.loadtest;
+
+import com.digitalwallet.walletservice.dto.AuthRequest;
+import com.digitalwallet.walletservice.dto.CreateWalletRequest;
+import com.digitalwallet.walletservice.dto.DepositRequest;
+import com.digitalwallet.walletservice.dto.RegisterRequest;
+import com.digitalwallet.walletservice.dto.TransactionApprovalRequest;
+import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.Role;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator for the wallet API.
+ * <p>
+ * A run has three phases:
+ * <ol>
+ *   <li><b>setup</b>: registers one employee and {@code customers} customers, creates one TRY wallet per customer
+ *       and funds it with an immediately approved deposit</li>
+ *   <li><b>warm-up</b>: replays the mix for {@code warmup} without recording, so JIT compilation and connection
+ *       pools settle</li>
+ *   <li><b>measurement</b>: replays the mix for {@code duration} at {@code ratePerSecond} and records every request</li>
+ * </ol>
+ * Requests are scheduled at fixed intervals regardless of how fast the server answers, and each latency is measured
+ * from the scheduled send time. A server that stalls therefore shows up in the percentiles instead of silently
+ * lowering the offered load (coordinated omission).
+ * <p>
+ * A fraction of deposits is above the approval threshold and stays {@code PENDING}; those are fed to the
+ * {@link LoadTestOperation#APPROVE} operation, which is skipped when nothing is pending.
+ */
+public class LoadTestDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDriver.class);
+
+    /**
+     * Fraction of deposits large enough to require employee approval.
+     */
+    private static final double PENDING_DEPOSIT_RATIO = 0.1;
+    private static final BigDecimal PENDING_DEPOSIT_AMOUNT = BigDecimal.valueOf(1500);
+    private static final BigDecimal INITIAL_DEPOSIT_AMOUNT = BigDecimal.valueOf(1000);
+    private static final String PASSWORD = "loadtest-password";
+    private static final String IBAN = "TR000000000000000000000000";
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final LoadTestClient client;
+    private final int customerCount;
+    private final double ratePerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int threads;
+    private final OperationMix mix;
+
+    private final List<VirtualCustomer> customers = new ArrayList<>();
+    private final Queue<Long> pendingDeposits = new ConcurrentLinkedQueue<>();
+    private final AtomicLong outstanding = new AtomicLong();
+    private String employeeToken;
+
+    /**
+     * Constructs a {@code LoadTestDriver}.
+     *
+     * @param client        client pointing at the application under test
+     * @param customerCount number of customers (each with one wallet) to create
+     * @param ratePerSecond requests per second to offer
+     * @param warmup        how long to run the mix before measuring
+     * @param duration      how long to measure
+     * @param threads       number of concurrent workers sending requests
+     * @param mix           relative weights of the operations
+     */
+    public LoadTestDriver(LoadTestClient client, int customerCount, double ratePerSecond, Duration warmup,
+                          Duration duration, int threads, OperationMix mix) {
+        if (customerCount < 1 || customerCount > 999_999) {
+            throw new IllegalArgumentException("wallet.loadtest.customers must be between 1 and 999999");
+        }
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("wallet.loadtest.rate must be positive");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("wallet.loadtest.threads must be at least 1");
+        }
+        this.client = client;
+        this.customerCount = customerCount;
+        this.ratePerSecond = ratePerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.threads = threads;
+        this.mix = mix;
+    }
+
+    /**
+     * Executes setup, warm-up and measurement.
+     *
+     * @return latency and error statistics of the measurement phase
+     * @throws IllegalStateException if setting up customers or wallets fails
+     */
+    public LoadTestReport run() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            setUp(workers);
+            if (!warmup.isZero()) {
+                log.info("Warming up for {} s", warmup.toSeconds());
+                drive(warmup, new LatencyRecorder(), workers);
+            }
+            log.info("Measuring for {} s at {} req/s", duration.toSeconds(), ratePerSecond);
+            LatencyRecorder recorder = new LatencyRecorder();
+            long elapsedNanos = drive(duration, recorder, workers);
+            return new LoadTestReport(client.getBaseUrl(), customerCount, ratePerSecond, elapsedNanos / 1e9,
+                    recorder.getRequests(), recorder.summarize());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Registers the employee and all customers, creating and funding one wallet per customer.
+     */
+    private void setUp(ExecutorService workers) {
+        int runTag = ThreadLocalRandom.current().nextInt(10_000);
+        log.info("Creating {} customers with wallets on {}", customerCount, client.getBaseUrl());
+
+        employeeToken = call(() -> client.post("/api/auth/register", null, new RegisterRequest(
+                "Load", "Employee", null, "loadtest-" + runTag + "-" + System.nanoTime() + "@wallet.local",
+                PASSWORD, Role.EMPLOYEE)).require("token", "employee registration").asText());
+
+        List<CompletableFuture<VirtualCustomer>> created = new ArrayList<>();
+        for (int i = 0; i < customerCount; i++) {
+            // 11-digit TCKN unique within the run; the random tag keeps repeated runs against one database apart
+            String tckn = String.format("9%04d%06d", runTag, i);
+            created.add(CompletableFuture.supplyAsync(() -> createCustomer(tckn), workers));
+        }
+        for (CompletableFuture<VirtualCustomer> customer : created) {
+            customers.add(customer.join());
+        }
+    }
+
+    private VirtualCustomer createCustomer(String tckn) {
+        return call(() -> {
+            String token = client.post("/api/auth/register", null,
+                            new RegisterRequest("Load", "Customer", tckn, null, PASSWORD, Role.CUSTOMER))
+                    .require("token", "customer registration").asText();
+            long walletId = client.post("/api/auth/wallets", token,
+                            new CreateWalletRequest("Load Test Wallet", Currency.TRY, true, true))
+                    .require("id", "wallet creation").asLong();
+            client.post("/api/transactions/deposit", token,
+                            new DepositRequest(walletId, INITIAL_DEPOSIT_AMOUNT, IBAN, OppositePartyType.IBAN))
+                    .require("id", "initial deposit");
+            return new VirtualCustomer(tckn, token, walletId);
+        });
+    }
+
+    /**
+     * Offers requests at the configured rate for the given time and waits for the responses.
+     *
+     * @return nanoseconds from the first scheduled request until the last response
+     */
+    private long drive(Duration phase, LatencyRecorder recorder, ExecutorService workers) {
+        SplittableRandom random = new SplittableRandom();
+        long intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        long start = System.nanoTime();
+        long end = start + phase.toNanos();
+
+        for (long i = 0; ; i++) {
+            long scheduledAt = start + i * intervalNanos;
+            if (scheduledAt >= end) {
+                break;
+            }
+            waitUntil(scheduledAt);
+            LoadTestOperation operation = mix.next(random);
+            VirtualCustomer customer = customers.get(random.nextInt(customers.size()));
+            outstanding.incrementAndGet();
+            workers.execute(() -> {
+                try {
+                    execute(operation, customer, scheduledAt, recorder);
+                } finally {
+                    outstanding.decrementAndGet();
+                }
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (outstanding.get() > 0) {
+            log.warn("{} requests still outstanding after {} s; they are not part of the report",
+                    outstanding.get(), DRAIN_TIMEOUT.toSeconds());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void execute(LoadTestOperation operation, VirtualCustomer customer, long scheduledAt,
+                         LatencyRecorder recorder) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long pendingId = null;
+        if (operation == LoadTestOperation.APPROVE) {
+            pendingId = pendingDeposits.poll();
+            if (pendingId == null) {
+                recorder.skip(operation);
+                return;
+            }
+        }
+
+        int status;
+        try {
+            LoadTestClient.Response response = switch (operation) {
+                case LOGIN -> client.post("/api/auth/login", null, customer.loginRequest());
+                case DEPOSIT -> deposit(customer, random.nextDouble() < PENDING_DEPOSIT_RATIO,
+                        BigDecimal.valueOf(random.nextInt(10, 201)));
+                case WITHDRAW -> client.post("/api/transactions/withdraw", customer.token,
+                        new WithDrawRequest(customer.walletId, BigDecimal.valueOf(random.nextInt(1, 21)),
+                                OppositePartyType.IBAN, IBAN));
+                case APPROVE -> client.post("/api/transactions/approve", employeeToken,
+                        new TransactionApprovalRequest(pendingId, TransactionStatus.APPROVED));
+                case LIST -> client.get("/api/transactions/wallet/" + customer.walletId, customer.token);
+            };
+            status = response.getStatus();
+        } catch (IOException | RuntimeException ex) {
+            status = 0;
+        }
+        recorder.record(operation, System.nanoTime() - scheduledAt, status);
+    }
+
+    private LoadTestClient.Response deposit(VirtualCustomer customer, boolean pending, BigDecimal amount)
+            throws IOException {
+        LoadTestClient.Response response = client.post("/api/transactions/deposit", customer.token,
+                new DepositRequest(customer.walletId, pending ? PENDING_DEPOSIT_AMOUNT : amount, IBAN,
+                        OppositePartyType.IBAN));
+        if (pending && response.isSuccessful() && response.getBody() != null && response.getBody().hasNonNull("id")) {
+            pendingDeposits.offer(response.getBody().get("id").asLong());
+        }
+        return response;
+    }
+
+    private static void waitUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static <T> T call(SetupStep<T> step) {
+        try {
+            return step.run();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Load-test setup failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * A setup request that may fail with an I/O error.
+     */
+    @FunctionalInterface
+    private interface SetupStep<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * A registered customer with its token and wallet.
+     */
+    private static final class VirtualCustomer {
+
+        private final String tckn;
+        private final String token;
+        private final long walletId;
+
+        private VirtualCustomer(String tckn, String token, long walletId) {
+            this.tckn = tckn;
+            this.token = token;
+            this.walletId = walletId;
+        }
+
+        private AuthRequest loginRequest() {
+            AuthRequest request = new AuthRequest();
+            request.setRole(Role.CUSTOMER.name());
+            request.setTckn(tckn);
+            request.setPassword(PASSWORD);
+            return request;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.digitalwallet.walletservice.loadtest;
+
+/**
+ * Operations replayed by the {@link LoadTestDriver}, each mapped to the endpoint it calls.
+ */
+public enum LoadTestOperation {
+
+    LOGIN("POST /api/auth/login"),
+    DEPOSIT("POST /api/transactions/deposit"),
+    WITHDRAW("POST /api/transactions/withdraw"),
+    APPROVE("POST /api/transactions/approve"),
+    LIST("GET /api/transactions/wallet/{id}");
+
+    private final String endpoint;
+
+    LoadTestOperation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Returns the HTTP method and path template of the endpoint this operation calls.
+     *
+     * @return endpoint label used in the report
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,90 @@
+package com.digitalwallet.walletservice.loadtest;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Result of a load-test run: the offered and achieved request rate plus latency statistics per endpoint.
+ */
+public class LoadTestReport {
+
+    private final String targetUrl;
+    private final int customers;
+    private final double targetRate;
+    private final double durationSeconds;
+    private final long requests;
+    private final List<EndpointStats> endpoints;
+
+    public LoadTestReport(String targetUrl, int customers, double targetRate, double durationSeconds,
+                          long requests, List<EndpointStats> endpoints) {
+        this.targetUrl = targetUrl;
+        this.customers = customers;
+        this.targetRate = targetRate;
+        this.durationSeconds = durationSeconds;
+        this.requests = requests;
+        this.endpoints = List.copyOf(endpoints);
+    }
+
+    /**
+     * Returns the rate at which requests completed over the measured interval.
+     *
+     * @return completed requests per second
+     */
+    public double getAchievedRate() {
+        return durationSeconds == 0 ? 0 : requests / durationSeconds;
+    }
+
+    /**
+     * Returns the fraction of all requests that failed.
+     *
+     * @return overall error rate
+     */
+    public double getErrorRate() {
+        long errors = endpoints.stream().mapToLong(EndpointStats::getErrors).sum();
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    /**
+     * Formats the report as a fixed-width table for the log.
+     *
+     * @return the human-readable report
+     */
+    public String toTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, "Load test against %s: %d customers, target %.0f req/s, "
+                        + "achieved %.1f req/s over %.0f s, %d requests, error rate %.2f%%%n",
+                targetUrl, customers, targetRate, getAchievedRate(), durationSeconds, requests, getErrorRate() * 100));
+        table.append(String.format(Locale.ROOT, "%-36s %9s %8s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "skipped", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (EndpointStats stats : endpoints) {
+            table.append(String.format(Locale.ROOT, "%-36s %9d %7.2f%% %8d %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.getEndpoint(), stats.getRequests(), stats.getErrorRate() * 100, stats.getSkipped(),
+                    stats.getP50Millis(), stats.getP95Millis(), stats.getP99Millis(), stats.getMaxMillis()));
+        }
+        return table.toString();
+    }
+
+    public String getTargetUrl() {
+        return targetUrl;
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public List<EndpointStats> getEndpoints() {
+        return endpoints;
+    }
+}
@@ -0,0 +1,121 @@
+package com.digitalwallet.walletservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Runs the {@link LoadTestDriver} once the application has started with the {@code loadtest} profile.
+ * <p>
+ * By default the driver targets this very instance (embedded database, see {@code application-loadtest.properties});
+ * set {@code wallet.loadtest.target-url} to drive another deployment instead. The report is logged as a table and
+ * written as JSON to {@code wallet.loadtest.report-file}; with {@code wallet.loadtest.exit-on-finish} the
+ * application shuts down afterwards.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private final ConfigurableApplicationContext context;
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final String targetUrl;
+    private final int customers;
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int threads;
+    private final OperationMix mix;
+    private final Duration requestTimeout;
+    private final Path reportFile;
+    private final boolean exitOnFinish;
+
+    /**
+     * Constructs a {@code LoadTestRunner}.
+     *
+     * @param context        the application context, closed when {@code exitOnFinish} is set
+     * @param environment    used to look up the port the embedded server was started on
+     * @param objectMapper   mapper for request, response and report bodies
+     * @param targetUrl      base URL to drive; empty to drive this instance
+     * @param customers      number of customers (one wallet each) to create
+     * @param rate           requests per second offered during warm-up and measurement
+     * @param warmup         unrecorded warm-up time
+     * @param duration       measured time
+     * @param threads        concurrent request workers
+     * @param mix            operation weights, e.g. {@code login:5,deposit:40,withdraw:25,approve:5,list:25}
+     * @param requestTimeout maximum time to wait for one response
+     * @param reportFile     where the JSON report is written
+     * @param exitOnFinish   whether to shut the application down after the run
+     */
+    public LoadTestRunner(ConfigurableApplicationContext context,
+                          Environment environment,
+                          ObjectMapper objectMapper,
+                          @Value("${wallet.loadtest.target-url:}") String targetUrl,
+                          @Value("${wallet.loadtest.customers:100}") int customers,
+                          @Value("${wallet.loadtest.rate:200}") double rate,
+                          @Value("${wallet.loadtest.warmup:10s}") Duration warmup,
+                          @Value("${wallet.loadtest.duration:60s}") Duration duration,
+                          @Value("${wallet.loadtest.threads:64}") int threads,
+                          @Value("${wallet.loadtest.mix:login:5,deposit:40,withdraw:25,approve:5,list:25}") String mix,
+                          @Value("${wallet.loadtest.request-timeout:10s}") Duration requestTimeout,
+                          @Value("${wallet.loadtest.report-file:target/loadtest-report.json}") Path reportFile,
+                          @Value("${wallet.loadtest.exit-on-finish:true}") boolean exitOnFinish) {
+        this.context = context;
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.targetUrl = targetUrl;
+        this.customers = customers;
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.threads = threads;
+        this.mix = OperationMix.parse(mix);
+        this.requestTimeout = requestTimeout;
+        this.reportFile = reportFile;
+        this.exitOnFinish = exitOnFinish;
+    }
+
+    /**
+     * Executes the load test and publishes its report.
+     *
+     * @param args application arguments (unused)
+     * @throws IOException if the report file cannot be written
+     */
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        String baseUrl = targetUrl.isBlank()
+                ? "http://localhost:" + environment.getRequiredProperty("local.server.port")
+                : targetUrl.replaceAll("/+$", "");
+
+        LoadTestDriver driver = new LoadTestDriver(new LoadTestClient(baseUrl, objectMapper, requestTimeout),
+                customers, rate, warmup, duration, threads, mix);
+        LoadTestReport report = driver.run();
+
+        log.info("{}{}", System.lineSeparator(), report.toTable());
+        Path parent = reportFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+        log.info("Load-test report written to {}", reportFile.toAbsolutePath());
+
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
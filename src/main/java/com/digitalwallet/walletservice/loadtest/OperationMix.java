@@ -0,0 +1,85 @@
+package com.digitalwallet.walletservice.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted mix of {@link LoadTestOperation}s, parsed from a specification such as
+ * {@code login:5,deposit:40,withdraw:25,approve:5,list:25}.
+ * <p>
+ * Weights are relative; operations that are not listed are never picked.
+ */
+public class OperationMix {
+
+    private final LoadTestOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private OperationMix(Map<LoadTestOperation, Integer> weights) {
+        this.operations = new LoadTestOperation[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int index = 0;
+        int total = 0;
+        for (Map.Entry<LoadTestOperation, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            operations[index] = entry.getKey();
+            cumulativeWeights[index] = total;
+            index++;
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Parses a mix specification.
+     *
+     * @param specification comma separated {@code operation:weight} pairs
+     * @return the parsed mix
+     * @throws IllegalArgumentException if an entry is malformed, an operation is unknown or all weights are zero
+     */
+    public static OperationMix parse(String specification) {
+        Map<LoadTestOperation, Integer> weights = new EnumMap<>(LoadTestOperation.class);
+        for (String entry : specification.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load-test mix entry '" + entry.trim()
+                        + "', expected operation:weight");
+            }
+            LoadTestOperation operation;
+            int weight;
+            try {
+                operation = LoadTestOperation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+                weight = Integer.parseInt(parts[1].trim());
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid load-test mix entry '" + entry.trim() + "'", ex);
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("Load-test mix weight must not be negative: " + entry.trim());
+            }
+            if (weight > 0) {
+                weights.merge(operation, weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Load-test mix must contain at least one operation with a positive weight");
+        }
+        return new OperationMix(weights);
+    }
+
+    /**
+     * Picks the next operation according to the weights.
+     *
+     * @param random source of randomness
+     * @return the picked operation
+     */
+    public LoadTestOperation next(RandomGenerator random) {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
@@ -0,0 +1,38 @@
+package com.digitalwallet.walletservice.mapper;
+
+import com.digitalwallet.walletservice.approval.ApprovalJob;
+import com.digitalwallet.walletservice.dto.ApprovalJobResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps {@link ApprovalJob}s to their API representation.
+ */
+public final class ApprovalJobMapper {
+
+    private ApprovalJobMapper() {
+    }
+
+    /**
+     * Maps an {@link ApprovalJob} to its corresponding {@link ApprovalJobResponse} DTO.
+     *
+     * @param job       the approval job
+     * @param statusUrl the URL the job can be polled at
+     * @return the mapped {@link ApprovalJobResponse}
+     */
+    public static ApprovalJobResponse toResponse(ApprovalJob job, String statusUrl) {
+        ApprovalJobResponse response = new ApprovalJobResponse();
+        response.setJobId(job.getId());
+        response.setStatusUrl(statusUrl);
+        response.setTransactionId(job.getTransactionId());
+        response.setRequestedStatus(job.getRequestedStatus());
+        // Read the status first: the result fields are written before it turns final
+        response.setStatus(job.getStatus());
+        response.setTransaction(job.getTransaction());
+        response.setError(job.getError());
+        response.setSubmittedAt(job.getSubmittedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        response.setLagMillis(TimeUnit.NANOSECONDS.toMillis(job.getLagNanos()));
+        return response;
+    }
+}
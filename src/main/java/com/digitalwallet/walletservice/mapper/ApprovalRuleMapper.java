@@ -0,0 +1,85 @@
+package com.digitalwallet.walletservice.mapper;
+
+import com.digitalwallet.walletservice.dto.ApprovalRuleResponse;
+import com.digitalwallet.walletservice.dto.ApprovalRulesResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.CustomerTier;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.rules.ApprovalRule;
+import com.digitalwallet.walletservice.rules.ApprovalRuleSet;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Maps compiled approval rules back to their API representation.
+ */
+public final class ApprovalRuleMapper {
+
+    private ApprovalRuleMapper() {
+    }
+
+    /**
+     * Maps an {@link ApprovalRuleSet} to its corresponding {@link ApprovalRulesResponse} DTO.
+     *
+     * @param ruleSet the rule set
+     * @return the mapped {@link ApprovalRulesResponse}
+     */
+    public static ApprovalRulesResponse toResponse(ApprovalRuleSet ruleSet) {
+        ApprovalRulesResponse response = new ApprovalRulesResponse();
+        response.setVersion(ruleSet.getVersion());
+        response.setLoadedAt(ruleSet.getLoadedAt());
+        response.setSource(ruleSet.getSource());
+        response.setRules(ruleSet.getRules().stream()
+                .map(ApprovalRuleMapper::toResponse)
+                .collect(Collectors.toList()));
+        response.setDefaultRule(toResponse(ruleSet.getDefaultRule()));
+        return response;
+    }
+
+    /**
+     * Maps an {@link ApprovalRule} to its corresponding {@link ApprovalRuleResponse} DTO.
+     *
+     * @param rule the rule
+     * @return the mapped {@link ApprovalRuleResponse}
+     */
+    public static ApprovalRuleResponse toResponse(ApprovalRule rule) {
+        ApprovalRuleResponse response = new ApprovalRuleResponse();
+        response.setName(rule.getName());
+        response.setTypes(values(TransactionType.values(), rule.getTypeMask()));
+        response.setCurrencies(values(Currency.values(), rule.getCurrencyMask()));
+        response.setTiers(values(CustomerTier.values(), rule.getTierMask()));
+        response.setOppositePartyTypes(values(OppositePartyType.values(), rule.getOppositePartyTypeMask()));
+        if (rule.hasWindow()) {
+            response.setHours(time(rule.getFromMinute()) + "-" + time(rule.getToMinute()));
+        }
+        if (rule.getMinRecentCount() > 0) {
+            response.setMinRecentCount(rule.getMinRecentCount());
+        }
+        response.setMinRecentAmount(rule.getMinRecentAmount());
+        response.setMaxAmount(rule.getMaxAmount());
+        response.setApprovedHits(rule.getHits().getApproved());
+        response.setPendingHits(rule.getHits().getPending());
+        return response;
+    }
+
+    private static <E extends Enum<E>> List<E> values(E[] all, int mask) {
+        if (mask == ApprovalRule.ANY) {
+            return null;
+        }
+        List<E> values = new ArrayList<>();
+        for (E value : all) {
+            if ((mask & (1 << value.ordinal())) != 0) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private static String time(int minuteOfDay) {
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60).toString();
+    }
+}
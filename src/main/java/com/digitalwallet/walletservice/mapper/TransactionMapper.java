@@ -0,0 +1,32 @@
+package com.digitalwallet.walletservice.mapper;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.model.Transaction;
+
+/**
+ * Maps {@link Transaction} entities to their API representation.
+ */
+public final class TransactionMapper {
+
+    private TransactionMapper() {
+    }
+
+    /**
+     * Maps a {@link Transaction} entity to its corresponding {@link TransactionResponse} DTO.
+     *
+     * @param transaction the transaction entity
+     * @return the mapped {@link TransactionResponse}
+     */
+    public static TransactionResponse toResponse(Transaction transaction) {
+        TransactionResponse response = new TransactionResponse();
+        response.setId(transaction.getId());
+        response.setWalletId(transaction.getWallet().getId());
+        response.setAmount(transaction.getAmount());
+        response.setType(transaction.getType());
+        response.setOppositePartyType(transaction.getOppositePartyType());
+        response.setOppositeParty(transaction.getOppositeParty());
+        response.setStatus(transaction.getStatus());
+        response.setCreatedAt(transaction.getCreatedAt());
+        return response;
+    }
+}
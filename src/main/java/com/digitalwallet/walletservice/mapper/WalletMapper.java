@@ -0,0 +1,31 @@
+package com.digitalwallet.walletservice.mapper;
+
+import com.digitalwallet.walletservice.dto.WalletResponse;
+import com.digitalwallet.walletservice.model.Wallet;
+
+/**
+ * Maps {@link Wallet} entities to their API representation.
+ */
+public final class WalletMapper {
+
+    private WalletMapper() {
+    }
+
+    /**
+     * Maps a {@link Wallet} entity to a {@link WalletResponse} DTO.
+     *
+     * @param wallet the wallet entity
+     * @return the response DTO
+     */
+    public static WalletResponse toResponse(Wallet wallet) {
+        WalletResponse response = new WalletResponse();
+        response.setId(wallet.getId());
+        response.setWalletName(wallet.getWalletName());
+        response.setCurrency(wallet.getCurrency());
+        response.setActiveForShopping(wallet.isActiveForShopping());
+        response.setActiveForWithdraw(wallet.isActiveForWithdraw());
+        response.setBalance(wallet.getBalance());
+        response.setUsableBalance(wallet.getUsableBalance());
+        return response;
+    }
+}
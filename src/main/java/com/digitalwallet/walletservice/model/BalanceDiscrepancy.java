@@ -0,0 +1,103 @@
+package com.digitalwallet.walletservice.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Entity class recording a wallet whose stored balances did not match its transactions during a reconciliation run.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_discrepancy_run", columnList = "runId"))
+public class BalanceDiscrepancy {
+
+    /**
+     * Primary key of the discrepancy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the reconciliation run that found the discrepancy.
+     */
+    private Long runId;
+
+    /**
+     * ID of the affected wallet.
+     */
+    private Long walletId;
+
+    /**
+     * Balance stored on the wallet.
+     */
+    private BigDecimal balance;
+
+    /**
+     * Balance derived from the wallet's transactions.
+     */
+    private BigDecimal expectedBalance;
+
+    /**
+     * Usable balance stored on the wallet.
+     */
+    private BigDecimal usableBalance;
+
+    /**
+     * Usable balance derived from the wallet's transactions.
+     */
+    private BigDecimal expectedUsableBalance;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public BalanceDiscrepancy() {}
+
+    /**
+     * All-args constructor.
+     *
+     * @param runId                 ID of the reconciliation run
+     * @param walletId              ID of the affected wallet
+     * @param balance               stored balance
+     * @param expectedBalance       balance derived from transactions
+     * @param usableBalance         stored usable balance
+     * @param expectedUsableBalance usable balance derived from transactions
+     */
+    public BalanceDiscrepancy(Long runId, Long walletId, BigDecimal balance, BigDecimal expectedBalance,
+                              BigDecimal usableBalance, BigDecimal expectedUsableBalance) {
+        this.runId = runId;
+        this.walletId = walletId;
+        this.balance = balance;
+        this.expectedBalance = expectedBalance;
+        this.usableBalance = usableBalance;
+        this.expectedUsableBalance = expectedUsableBalance;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public BigDecimal getExpectedBalance() {
+        return expectedBalance;
+    }
+
+    public BigDecimal getUsableBalance() {
+        return usableBalance;
+    }
+
+    public BigDecimal getExpectedUsableBalance() {
+        return expectedUsableBalance;
+    }
+}
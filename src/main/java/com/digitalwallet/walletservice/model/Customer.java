@@ -1,6 +1,15 @@
 package com.digitalwallet.walletservice.model;
 
+import com.digitalwallet.walletservice.cache.CacheInvalidationListener;
+import com.digitalwallet.walletservice.cache.SecondLevelCache;
+import com.digitalwallet.walletservice.enums.CustomerTier;
+import com.digitalwallet.walletservice.identity.IdentityEntityListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,6 +22,10 @@ import java.util.List;
  * Implements {@link UserDetails} for Spring Security authentication.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCache.CUSTOMER_REGION)
+@NaturalIdCache(region = SecondLevelCache.CUSTOMER_TCKN_REGION)
+@EntityListeners({IdentityEntityListener.class, CacheInvalidationListener.class})
 public class Customer implements UserDetails {
 
     /**
@@ -41,9 +54,18 @@ public class Customer implements UserDetails {
     /**
      * Unique identifier (like national ID), limited to 11 characters.
      */
+    @NaturalId
     @Column(unique = true, length = 11)
     private String tckn;
 
+    /**
+     * Service tier of the customer, used by the auto-approval rules.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @ColumnDefault("'STANDARD'")
+    private CustomerTier tier = CustomerTier.STANDARD;
+
     /**
      * Default constructor required by JPA.
      */
@@ -172,6 +194,24 @@ public class Customer implements UserDetails {
         this.tckn = tckn;
     }
 
+    /**
+     * Gets the customer's service tier.
+     *
+     * @return tier
+     */
+    public CustomerTier getTier() {
+        return tier;
+    }
+
+    /**
+     * Sets the customer's service tier.
+     *
+     * @param tier tier
+     */
+    public void setTier(CustomerTier tier) {
+        this.tier = tier;
+    }
+
     /**
      * Returns the authorities granted to the customer.
      *
@@ -1,12 +1,23 @@
 package com.digitalwallet.walletservice.model;
 
+import com.digitalwallet.walletservice.cache.CacheInvalidationListener;
+import com.digitalwallet.walletservice.cache.SecondLevelCache;
+import com.digitalwallet.walletservice.identity.IdentityEntityListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * Entity class representing an Employee in the system.
  * This class is mapped to a database table via JPA.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCache.EMPLOYEE_REGION)
+@NaturalIdCache(region = SecondLevelCache.EMPLOYEE_EMAIL_REGION)
+@EntityListeners({IdentityEntityListener.class, CacheInvalidationListener.class})
 public class Employee {
 
     /**
@@ -35,6 +46,7 @@ public class Employee {
     /**
      * Unique email of the employee, used for login.
      */
+    @NaturalId
     @Column(unique = true)
     private String email;
 
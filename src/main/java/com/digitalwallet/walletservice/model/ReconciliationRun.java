@@ -0,0 +1,129 @@
+package com.digitalwallet.walletservice.model;
+
+import com.digitalwallet.walletservice.enums.ReconciliationMode;
+import com.digitalwallet.walletservice.enums.ReconciliationStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class recording one reconciliation run.
+ * <p>
+ * The start time of the latest completed run is the high-water mark for the next incremental run.
+ */
+@Entity
+public class ReconciliationRun {
+
+    /**
+     * Primary key of the run.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Whether all wallets or only recently changed ones were checked.
+     */
+    @Enumerated(EnumType.STRING)
+    private ReconciliationMode mode;
+
+    /**
+     * Current state of the run.
+     */
+    @Enumerated(EnumType.STRING)
+    private ReconciliationStatus status;
+
+    /**
+     * Lower bound of the wallet modification time checked by an incremental run.
+     */
+    private LocalDateTime checkedSince;
+
+    /**
+     * Time the run started.
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * Time the run finished.
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * Number of wallets checked.
+     */
+    private long walletsChecked;
+
+    /**
+     * Number of wallets whose balances did not match their transactions.
+     */
+    private long discrepancies;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public ReconciliationRun() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ReconciliationMode getMode() {
+        return mode;
+    }
+
+    public void setMode(ReconciliationMode mode) {
+        this.mode = mode;
+    }
+
+    public ReconciliationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReconciliationStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCheckedSince() {
+        return checkedSince;
+    }
+
+    public void setCheckedSince(LocalDateTime checkedSince) {
+        this.checkedSince = checkedSince;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getWalletsChecked() {
+        return walletsChecked;
+    }
+
+    public void setWalletsChecked(long walletsChecked) {
+        this.walletsChecked = walletsChecked;
+    }
+
+    public long getDiscrepancies() {
+        return discrepancies;
+    }
+
+    public void setDiscrepancies(long discrepancies) {
+        this.discrepancies = discrepancies;
+    }
+}
@@ -3,6 +3,7 @@ package com.digitalwallet.walletservice.model;
 import com.digitalwallet.walletservice.enums.OppositePartyType;
 import com.digitalwallet.walletservice.enums.TransactionStatus;
 import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.search.CounterpartyKeys;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
@@ -12,6 +13,11 @@ import java.math.BigDecimal;
  * Entity class representing a financial transaction such as deposit or withdraw.
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_transaction_wallet_created", columnList = "wallet_id, createdAt"),
+        @Index(name = "idx_transaction_created", columnList = "createdAt"),
+        @Index(name = "idx_transaction_counterparty", columnList = "counterpartyKey, id, createdAt, type, status")
+})
 public class Transaction {
 
     /**
@@ -33,7 +39,7 @@ public class Transaction {
     private TransactionType type;
 
     /**
-     * Type of the opposite party: IBAN or PAYMENT.
+     * Type of the opposite party: IBAN, PAYMENT or WALLET.
      */
     @Enumerated(EnumType.STRING)
     @Column(name = "opposite_party_type")
@@ -44,6 +50,19 @@ public class Transaction {
      */
     private String oppositeParty;
 
+    /**
+     * Normalized {@link #oppositeParty} the counterparty search looks up (see {@link CounterpartyKeys}).
+     */
+    @Column(length = CounterpartyKeys.MAX_LENGTH)
+    private String counterpartyKey;
+
+    /**
+     * Whether the transaction is one leg of a wallet-to-wallet transfer. Set by the server only, unlike
+     * {@link #oppositePartyType}, which clients may set to {@code WALLET} on deposits and withdrawals too.
+     */
+    @Column(nullable = false)
+    private boolean transferLeg;
+
     /**
      * Status of the transaction: PENDING, APPROVED, or DENIED.
      */
@@ -63,11 +82,12 @@ public class Transaction {
     private Wallet wallet;
 
     /**
-     * Sets the createdAt timestamp just before persisting to database.
+     * Sets the createdAt timestamp and the counterparty key just before persisting to database.
      */
     @PrePersist
     public void prePersist() {
         this.createdAt = LocalDateTime.now();
+        this.counterpartyKey = CounterpartyKeys.normalize(oppositeParty);
     }
 
     /**
@@ -170,6 +190,27 @@ public class Transaction {
         this.oppositeParty = oppositeParty;
     }
 
+    /**
+     * Gets the normalized opposite party.
+     */
+    public String getCounterpartyKey() {
+        return counterpartyKey;
+    }
+
+    /**
+     * Gets whether the transaction is a leg of a transfer.
+     */
+    public boolean isTransferLeg() {
+        return transferLeg;
+    }
+
+    /**
+     * Sets whether the transaction is a leg of a transfer.
+     */
+    public void setTransferLeg(boolean transferLeg) {
+        this.transferLeg = transferLeg;
+    }
+
     /**
      * Gets the transaction status.
      */
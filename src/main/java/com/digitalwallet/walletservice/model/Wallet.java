@@ -4,12 +4,16 @@ import com.digitalwallet.walletservice.enums.Currency;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Entity class representing a digital wallet.
- * Each wallet belongs to a customer and supports multiple currencies.
+ * Each wallet belongs to a customer, who has at most one wallet per currency.
  */
 @Entity
+@Table(indexes = @Index(name = "idx_wallet_updated", columnList = "updatedAt"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_wallet_customer_currency",
+                columnNames = {"customer_id", "currency"}))
 public class Wallet {
 
     /**
@@ -57,6 +61,20 @@ public class Wallet {
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
+    /**
+     * Timestamp of the last change to the wallet, used to find wallets touched since a reconciliation run.
+     */
+    private LocalDateTime updatedAt;
+
+    /**
+     * Sets the modification timestamp whenever the wallet is inserted or updated.
+     */
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     /**
      * Default constructor required by JPA.
      */
@@ -197,4 +215,18 @@ public class Wallet {
     public void setCustomer(Customer customer) {
         this.customer = customer;
     }
+
+    /**
+     * Gets the time the wallet was last updated.
+     */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Sets the time the wallet was last updated.
+     */
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
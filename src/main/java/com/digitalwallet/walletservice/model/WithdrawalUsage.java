@@ -0,0 +1,128 @@
+package com.digitalwallet.walletservice.model;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.LimitPeriod;
+import com.digitalwallet.walletservice.enums.LimitScope;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class recording how much a wallet or customer has withdrawn in one day or month, as last flushed
+ * from the in-memory withdrawal limit counters.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_withdrawal_usage",
+        columnNames = {"scope", "ownerId", "currency", "period", "periodStart"}))
+public class WithdrawalUsage {
+
+    /**
+     * Primary key of the usage row.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Whether {@link #ownerId} is a wallet or a customer.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LimitScope scope;
+
+    /**
+     * ID of the wallet or customer.
+     */
+    @Column(nullable = false)
+    private Long ownerId;
+
+    /**
+     * Currency of the withdrawals.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Currency currency;
+
+    /**
+     * Length of the period.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LimitPeriod period;
+
+    /**
+     * First day of the period.
+     */
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    /**
+     * Total withdrawn in the period.
+     */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    /**
+     * When the row was last flushed.
+     */
+    private LocalDateTime updatedAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public WithdrawalUsage() {}
+
+    /**
+     * Constructs a usage row.
+     *
+     * @param scope       whether {@code ownerId} is a wallet or a customer
+     * @param ownerId     the ID of the wallet or customer
+     * @param currency    the currency of the withdrawals
+     * @param period      the length of the period
+     * @param periodStart the first day of the period
+     * @param amount      the total withdrawn in the period
+     */
+    public WithdrawalUsage(LimitScope scope, Long ownerId, Currency currency, LimitPeriod period,
+                           LocalDate periodStart, BigDecimal amount) {
+        this.scope = scope;
+        this.ownerId = ownerId;
+        this.currency = currency;
+        this.period = period;
+        this.periodStart = periodStart;
+        this.amount = amount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LimitScope getScope() {
+        return scope;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public LimitPeriod getPeriod() {
+        return period;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,137 @@
+package com.digitalwallet.walletservice.portfolio;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.fx.FxRateSnapshot;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Running per-currency totals of one customer's wallets, with a precomputed valuation in the base currency.
+ * <p>
+ * Writers ({@link #apply}, {@link #replace}, {@link #revalue}) are serialized on the instance; readers only read the
+ * immutable {@link PortfolioValuation} published through a volatile field, so reads are O(1) and lock-free.
+ * <p>
+ * The totals remember when they were last loaded from the database, so that the owner can reload them once they
+ * may have missed changes, and count the deltas applied, so that a reload racing with a delta can be dropped.
+ */
+public class CustomerPortfolio {
+
+    private final Long customerId;
+    private final BigDecimal[] balances = new BigDecimal[Currency.values().length];
+    private final BigDecimal[] usableBalances = new BigDecimal[Currency.values().length];
+
+    private long changes;
+
+    private volatile PortfolioValuation valuation;
+    private volatile long loadedAt;
+
+    /**
+     * Creates an empty portfolio valued against the given snapshot.
+     *
+     * @param customerId the ID of the customer
+     * @param snapshot   the FX snapshot used for the initial valuation
+     * @param loadedAt   the time in epoch milliseconds the empty totals were known to be right, {@code 0} if never
+     */
+    public CustomerPortfolio(Long customerId, FxRateSnapshot snapshot, long loadedAt) {
+        this.customerId = customerId;
+        Arrays.fill(balances, BigDecimal.ZERO);
+        Arrays.fill(usableBalances, BigDecimal.ZERO);
+        this.valuation = value(snapshot);
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Adds balance deltas for one currency and re-values the portfolio.
+     *
+     * @param currency           the currency of the changed wallet
+     * @param balanceDelta       change of the total balance
+     * @param usableBalanceDelta change of the usable balance
+     * @param snapshot           the FX snapshot currently in effect
+     */
+    public synchronized void apply(Currency currency, BigDecimal balanceDelta, BigDecimal usableBalanceDelta,
+                                   FxRateSnapshot snapshot) {
+        balances[currency.ordinal()] = balances[currency.ordinal()].add(balanceDelta);
+        usableBalances[currency.ordinal()] = usableBalances[currency.ordinal()].add(usableBalanceDelta);
+        changes++;
+        valuation = value(snapshot);
+    }
+
+    /**
+     * Replaces the totals with ones read from the database, unless a delta was applied since {@code changesSeen}
+     * was taken: that delta may or may not be part of what was read.
+     *
+     * @param changesSeen    the {@link #getChanges()} taken before the totals were read
+     * @param balances       the balance per currency, indexed by ordinal
+     * @param usableBalances the usable balance per currency, indexed by ordinal
+     * @param snapshot       the FX snapshot currently in effect
+     * @param loadedAt       the time in epoch milliseconds the totals were read
+     * @return whether the totals were replaced
+     */
+    public synchronized boolean replace(long changesSeen, BigDecimal[] balances, BigDecimal[] usableBalances,
+                                        FxRateSnapshot snapshot, long loadedAt) {
+        if (changes != changesSeen) {
+            return false;
+        }
+        System.arraycopy(balances, 0, this.balances, 0, this.balances.length);
+        System.arraycopy(usableBalances, 0, this.usableBalances, 0, this.usableBalances.length);
+        valuation = value(snapshot);
+        this.loadedAt = loadedAt;
+        return true;
+    }
+
+    /**
+     * Returns the number of deltas applied so far.
+     *
+     * @return the number of {@link #apply} calls
+     */
+    public synchronized long getChanges() {
+        return changes;
+    }
+
+    /**
+     * Returns when the totals were last read from the database.
+     *
+     * @return the time in epoch milliseconds, {@code 0} if never
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Re-values the portfolio against a new FX snapshot, unless it is already valued at that or a later version.
+     *
+     * @param snapshot the FX snapshot now in effect
+     */
+    public synchronized void revalue(FxRateSnapshot snapshot) {
+        if (snapshot.getVersion() > valuation.getFxVersion()) {
+            valuation = value(snapshot);
+        }
+    }
+
+    /**
+     * Returns the latest valuation.
+     *
+     * @return the current {@link PortfolioValuation}
+     */
+    public PortfolioValuation getValuation() {
+        return valuation;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    private PortfolioValuation value(FxRateSnapshot snapshot) {
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal usable = BigDecimal.ZERO;
+        for (Currency currency : Currency.values()) {
+            total = total.add(snapshot.convert(balances[currency.ordinal()], currency, FxRateSnapshot.BASE_CURRENCY));
+            usable = usable.add(snapshot.convert(usableBalances[currency.ordinal()], currency, FxRateSnapshot.BASE_CURRENCY));
+        }
+        return new PortfolioValuation(customerId, balances.clone(),
+                total.setScale(2, RoundingMode.HALF_EVEN), usable.setScale(2, RoundingMode.HALF_EVEN),
+                snapshot.getVersion());
+    }
+}
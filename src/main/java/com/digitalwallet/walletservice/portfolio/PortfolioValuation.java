@@ -0,0 +1,68 @@
+package com.digitalwallet.walletservice.portfolio;
+
+import com.digitalwallet.walletservice.enums.Currency;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable valuation of a {@link CustomerPortfolio} at one FX snapshot version.
+ */
+public final class PortfolioValuation {
+
+    private final Long customerId;
+    private final BigDecimal[] balances;
+    private final BigDecimal totalValue;
+    private final BigDecimal usableValue;
+    private final long fxVersion;
+
+    PortfolioValuation(Long customerId, BigDecimal[] balances, BigDecimal totalValue, BigDecimal usableValue,
+                       long fxVersion) {
+        this.customerId = customerId;
+        this.balances = balances;
+        this.totalValue = totalValue;
+        this.usableValue = usableValue;
+        this.fxVersion = fxVersion;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Returns the total balance held in each currency.
+     *
+     * @return unmodifiable map of balances per currency
+     */
+    public Map<Currency, BigDecimal> getBalances() {
+        Map<Currency, BigDecimal> result = new EnumMap<>(Currency.class);
+        for (Currency currency : Currency.values()) {
+            result.put(currency, balances[currency.ordinal()]);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Returns the sum of all total balances converted to the base currency.
+     *
+     * @return total value in the base currency
+     */
+    public BigDecimal getTotalValue() {
+        return totalValue;
+    }
+
+    /**
+     * Returns the sum of all usable balances converted to the base currency.
+     *
+     * @return usable value in the base currency
+     */
+    public BigDecimal getUsableValue() {
+        return usableValue;
+    }
+
+    public long getFxVersion() {
+        return fxVersion;
+    }
+}
@@ -0,0 +1,53 @@
+package com.digitalwallet.walletservice.reconciliation;
+
+import java.math.BigDecimal;
+
+/**
+ * Stored and derived balances of one wallet, computed by a single aggregate query.
+ */
+public class WalletReconciliationRow {
+
+    private final Long walletId;
+    private final BigDecimal balance;
+    private final BigDecimal usableBalance;
+    private final BigDecimal expectedBalance;
+    private final BigDecimal expectedUsableBalance;
+
+    public WalletReconciliationRow(Long walletId, BigDecimal balance, BigDecimal usableBalance,
+                                   BigDecimal expectedBalance, BigDecimal expectedUsableBalance) {
+        this.walletId = walletId;
+        this.balance = balance;
+        this.usableBalance = usableBalance;
+        this.expectedBalance = expectedBalance;
+        this.expectedUsableBalance = expectedUsableBalance;
+    }
+
+    /**
+     * Returns whether the stored balances match the balances derived from transactions.
+     *
+     * @return {@code true} if both balances match
+     */
+    public boolean isConsistent() {
+        return balance.compareTo(expectedBalance) == 0 && usableBalance.compareTo(expectedUsableBalance) == 0;
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public BigDecimal getUsableBalance() {
+        return usableBalance;
+    }
+
+    public BigDecimal getExpectedBalance() {
+        return expectedBalance;
+    }
+
+    public BigDecimal getExpectedUsableBalance() {
+        return expectedUsableBalance;
+    }
+}
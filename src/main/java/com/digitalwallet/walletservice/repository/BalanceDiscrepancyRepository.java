@@ -0,0 +1,20 @@
+package com.digitalwallet.walletservice.repository;
+
+import com.digitalwallet.walletservice.model.BalanceDiscrepancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link BalanceDiscrepancy} entities.
+ */
+public interface BalanceDiscrepancyRepository extends JpaRepository<BalanceDiscrepancy, Long> {
+
+    /**
+     * Finds all discrepancies found by a reconciliation run.
+     *
+     * @param runId the ID of the run
+     * @return the discrepancies ordered by wallet ID
+     */
+    List<BalanceDiscrepancy> findByRunIdOrderByWalletId(Long runId);
+}
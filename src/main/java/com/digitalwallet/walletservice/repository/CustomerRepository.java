@@ -1,9 +1,18 @@
 package com.digitalwallet.walletservice.repository;
 
+import com.digitalwallet.walletservice.dto.CustomerWithWalletsResponse;
+import com.digitalwallet.walletservice.identity.IdentityKey;
 import com.digitalwallet.walletservice.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing and managing {@link Customer} entities.
@@ -18,4 +27,25 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * @return an {@link Optional} containing the customer if found, otherwise empty
      */
     Optional<Customer> findByTckn(String tckn);
-}
\ No newline at end of file
+
+    /**
+     * Streams the ID and TCKN of every customer after the given ID, in ID order, to fill the identity
+     * Bloom filter. Must be consumed within a transaction and closed afterwards.
+     *
+     * @param afterId the ID to start after, 0 for all
+     * @return a stream of identity keys
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.digitalwallet.walletservice.identity.IdentityKey(c.id, c.tckn) from Customer c " +
+            "where c.id > :afterId order by c.id")
+    Stream<IdentityKey> streamIdentityKeys(@Param("afterId") long afterId);
+
+    /**
+     * Reads every customer as a wallet listing entry without wallets, without loading {@link Customer} entities.
+     *
+     * @return the customers ordered by ID
+     */
+    @Query("select new com.digitalwallet.walletservice.dto.CustomerWithWalletsResponse(c.id, c.name, c.surname, " +
+            "c.tckn) from Customer c order by c.id")
+    List<CustomerWithWalletsResponse> findAllListings();
+}
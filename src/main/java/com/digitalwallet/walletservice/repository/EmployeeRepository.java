@@ -1,9 +1,16 @@
 package com.digitalwallet.walletservice.repository;
 
 import com.digitalwallet.walletservice.model.Employee;
+import com.digitalwallet.walletservice.identity.IdentityKey;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link Employee} entities.
@@ -18,4 +25,16 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * @return an {@link Optional} containing the found employee, or empty if not found
      */
     Optional<Employee> findByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Streams the ID and email of every employee after the given ID, in ID order, to fill the identity
+     * Bloom filter. Must be consumed within a transaction and closed afterwards.
+     *
+     * @param afterId the ID to start after, 0 for all
+     * @return a stream of identity keys
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.digitalwallet.walletservice.identity.IdentityKey(e.id, e.email) from Employee e " +
+            "where e.id > :afterId order by e.id")
+    Stream<IdentityKey> streamIdentityKeys(@Param("afterId") long afterId);
+}
@@ -0,0 +1,21 @@
+package com.digitalwallet.walletservice.repository;
+
+import com.digitalwallet.walletservice.enums.ReconciliationStatus;
+import com.digitalwallet.walletservice.model.ReconciliationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for managing {@link ReconciliationRun} entities.
+ */
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    /**
+     * Finds the most recently started run with the given status.
+     *
+     * @param status the run status
+     * @return an {@link Optional} containing the run, or empty if there is none
+     */
+    Optional<ReconciliationRun> findTopByStatusOrderByStartedAtDesc(ReconciliationStatus status);
+}
@@ -1,10 +1,25 @@
 package com.digitalwallet.walletservice.repository;
 
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.limits.WithdrawalTotal;
 import com.digitalwallet.walletservice.model.Transaction;
-import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.statement.StatementEntry;
+import com.digitalwallet.walletservice.velocity.VelocityEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link Transaction} entities.
@@ -13,10 +28,162 @@ import java.util.List;
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
     /**
-     * Finds all transactions associated with a given wallet.
+     * Selects the columns of a {@link TransactionResponse} straight from the transaction row; the wallet ID is the
+     * foreign key column, so the wallet is not joined.
+     */
+    String RESPONSE_SELECT = "select new com.digitalwallet.walletservice.dto.TransactionResponse(t.id, t.wallet.id, " +
+            "t.amount, t.type, t.oppositePartyType, t.oppositeParty, t.status, t.createdAt) from Transaction t ";
+
+    /**
+     * Reads the transactions of a wallet as response DTOs, without loading {@link Transaction} entities into the
+     * persistence context, in the order of the {@code idx_transaction_wallet_created} index.
+     *
+     * @param walletId the ID of the wallet
+     * @return the wallet's transactions, oldest first
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "where t.wallet.id = :walletId order by t.createdAt, t.id")
+    List<TransactionResponse> findResponsesByWalletId(@Param("walletId") Long walletId);
+
+    /**
+     * Reads the most recent transactions of a wallet as response DTOs, walking the
+     * {@code idx_transaction_wallet_created} index backwards.
+     *
+     * @param walletId the ID of the wallet
+     * @param pageable limits the number of transactions returned
+     * @return the wallet's most recent transactions, newest first
+     */
+    @Query(RESPONSE_SELECT + "where t.wallet.id = :walletId order by t.createdAt desc, t.id desc")
+    List<TransactionResponse> findRecentResponsesByWalletId(@Param("walletId") Long walletId, Pageable pageable);
+
+    /**
+     * Finds the wallet of each of the given transactions, without loading the transactions.
+     *
+     * @param ids the transaction IDs
+     * @return pairs of transaction ID and wallet ID; unknown IDs are missing
+     */
+    @Query("select t.id, t.wallet.id from Transaction t where t.id in :ids")
+    List<Object[]> findWalletIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams the transactions of all wallets in an ID range created within a time window,
+     * ordered by wallet and then chronologically.
+     * <p>
+     * Must be called inside a transaction and the stream must be closed after use.
+     *
+     * @param fromId the first wallet ID (inclusive)
+     * @param toId   the last wallet ID (inclusive)
+     * @param start  the start of the window (inclusive)
+     * @param end    the end of the window (exclusive)
+     * @return a stream of statement entries
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.digitalwallet.walletservice.statement.StatementEntry(t.wallet.id, t.id, t.createdAt, " +
+            "t.type, t.status, t.amount, t.oppositePartyType, t.oppositeParty) " +
+            "from Transaction t where t.wallet.id between :fromId and :toId " +
+            "and t.createdAt >= :start and t.createdAt < :end order by t.wallet.id, t.createdAt, t.id")
+    Stream<StatementEntry> streamStatementEntries(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+
+    /**
+     * Streams the deposits and withdrawals created since the given time, oldest first, to rebuild the in-memory
+     * velocity counters. Transfer legs are left out; transactions whose client named a {@code WALLET} opposite party
+     * are counted like any other.
+     * <p>
+     * Must be called inside a transaction and the stream must be closed after use.
+     *
+     * @param since the start of the window (inclusive)
+     * @return a stream of velocity entries
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.digitalwallet.walletservice.velocity.VelocityEntry(t.wallet.id, t.type, t.amount, " +
+            "t.createdAt) from Transaction t where t.createdAt >= :since and t.transferLeg = false " +
+            "order by t.createdAt")
+    Stream<VelocityEntry> streamVelocityEntries(@Param("since") LocalDateTime since);
+
+    /**
+     * Sums the withdrawals of each wallet created since the given time, to rebuild the in-memory withdrawal limit
+     * counters. Denied withdrawals and transfer legs are left out; withdrawals whose client named a {@code WALLET}
+     * opposite party are counted like any other.
+     *
+     * @param since the start of the period (inclusive)
+     * @return one total per wallet with withdrawals
+     */
+    @Query("select new com.digitalwallet.walletservice.limits.WithdrawalTotal(w.id, w.customer.id, w.currency, " +
+            "sum(t.amount)) from Transaction t join t.wallet w " +
+            "where t.type = com.digitalwallet.walletservice.enums.TransactionType.WITHDRAW " +
+            "and t.status <> com.digitalwallet.walletservice.enums.TransactionStatus.DENIED " +
+            "and t.createdAt >= :since and t.transferLeg = false " +
+            "group by w.id, w.customer.id, w.currency")
+    List<WithdrawalTotal> sumWithdrawalsSince(@Param("since") LocalDateTime since);
+
+    /**
+     * The optional date, status and type filters of the counterparty search and its order, the order of the
+     * {@code idx_transaction_counterparty} index: by counterparty key, then by ID. The filtered columns are in that
+     * index, so they are checked before any row is read.
+     */
+    String COUNTERPARTY_FILTERS = "and (:from is null or t.createdAt >= :from) and (:to is null or t.createdAt < :to) " +
+            "and (:status is null or t.status = :status) and (:type is null or t.type = :type) " +
+            "order by t.counterpartyKey, t.id";
+
+    /**
+     * Finds the first page of transactions whose counterparty key starts with the given prefix, across all wallets,
+     * in the order of the {@code idx_transaction_counterparty} index. Later pages are read with
+     * {@link #searchByCounterpartyAfter}.
+     *
+     * @param prefix   the normalized prefix followed by {@code %}
+     * @param from     the earliest creation time (inclusive), {@code null} for no lower bound
+     * @param to       the latest creation time (exclusive), {@code null} for no upper bound
+     * @param status   the status to match, {@code null} for any
+     * @param type     the type to match, {@code null} for any
+     * @param pageable limits the number of transactions returned
+     * @return the matching transactions
+     */
+    @Query(RESPONSE_SELECT + "where t.counterpartyKey like :prefix " + COUNTERPARTY_FILTERS)
+    List<TransactionResponse> searchByCounterparty(@Param("prefix") String prefix, @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   @Param("status") TransactionStatus status,
+                                                   @Param("type") TransactionType type, Pageable pageable);
+
+    /**
+     * Finds the next page of {@link #searchByCounterparty}, continuing after the key and ID of the last match,
+     * which is {@link com.digitalwallet.walletservice.search.CounterpartyKeys} applied to its opposite party.
+     * <p>
+     * The seek is {@code (counterpartyKey, id) > (afterKey, afterId)}, written out so that its leading
+     * {@code counterpartyKey >= afterKey} bounds the index range on every database: a page starts reading the index
+     * at the cursor instead of at the start of the prefix, so deep pages cost the same as the first.
+     *
+     * @param prefix   the normalized prefix followed by {@code %}
+     * @param afterKey the counterparty key of the last transaction of the previous page
+     * @param afterId  the ID of the last transaction of the previous page
+     * @param from     the earliest creation time (inclusive), {@code null} for no lower bound
+     * @param to       the latest creation time (exclusive), {@code null} for no upper bound
+     * @param status   the status to match, {@code null} for any
+     * @param type     the type to match, {@code null} for any
+     * @param pageable limits the number of transactions returned
+     * @return the matching transactions
+     */
+    @Query(RESPONSE_SELECT + "where t.counterpartyKey like :prefix and t.counterpartyKey >= :afterKey " +
+            "and (t.counterpartyKey > :afterKey or t.id > :afterId) " + COUNTERPARTY_FILTERS)
+    List<TransactionResponse> searchByCounterpartyAfter(@Param("prefix") String prefix,
+                                                        @Param("afterKey") String afterKey,
+                                                        @Param("afterId") long afterId,
+                                                        @Param("from") LocalDateTime from,
+                                                        @Param("to") LocalDateTime to,
+                                                        @Param("status") TransactionStatus status,
+                                                        @Param("type") TransactionType type, Pageable pageable);
+
+    /**
+     * Sets the counterparty key of up to {@code batchSize} transactions written before the counterparty index
+     * existed, normalizing like {@link com.digitalwallet.walletservice.search.CounterpartyKeys}.
      *
-     * @param wallet the wallet whose transactions are to be retrieved
-     * @return a list of transactions linked to the specified wallet
+     * @param batchSize the most rows to update
+     * @return the number of rows updated
      */
-    List<Transaction> findByWallet(Wallet wallet);
-}
\ No newline at end of file
+    @Modifying
+    @Query(value = "update transaction set counterparty_key = " +
+            "left(upper(regexp_replace(opposite_party, '[^A-Za-z0-9]', '')), 64) " +
+            "where counterparty_key is null and opposite_party is not null limit :batchSize", nativeQuery = true)
+    int backfillCounterpartyKeys(@Param("batchSize") int batchSize);
+}
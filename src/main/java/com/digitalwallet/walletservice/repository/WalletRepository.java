@@ -1,10 +1,25 @@
 package com.digitalwallet.walletservice.repository;
 
-import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.dto.CustomerWalletRow;
+import com.digitalwallet.walletservice.dto.WalletResponse;
 import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.reconciliation.WalletReconciliationRow;
+import com.digitalwallet.walletservice.statement.StatementWallet;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import com.digitalwallet.walletservice.enums.Currency;
 
@@ -15,19 +30,208 @@ import com.digitalwallet.walletservice.enums.Currency;
 public interface WalletRepository extends JpaRepository<Wallet, Long> {
 
     /**
-     * Finds all wallets associated with a specific customer.
+     * Selects each wallet's stored balances next to the balances derived from its transactions,
+     * mirroring how {@code TransactionServiceImpl} moves money:
+     * <ul>
+     *   <li>balance: every deposit (it is credited on creation) minus approved withdrawals</li>
+     *   <li>usable balance: approved deposits minus every withdrawal (it is reserved on creation)</li>
+     * </ul>
+     * Denying a transaction does not reverse its creation-time effect, so denied rows count like pending ones.
+     */
+    String RECONCILIATION_SELECT = "select new com.digitalwallet.walletservice.reconciliation.WalletReconciliationRow(" +
+            "w.id, w.balance, w.usableBalance, " +
+            "coalesce(sum(case when t.type = com.digitalwallet.walletservice.enums.TransactionType.DEPOSIT then t.amount " +
+            "when t.status = com.digitalwallet.walletservice.enums.TransactionStatus.APPROVED then -t.amount " +
+            "else 0 end), 0), " +
+            "coalesce(sum(case when t.type = com.digitalwallet.walletservice.enums.TransactionType.WITHDRAW then -t.amount " +
+            "when t.status = com.digitalwallet.walletservice.enums.TransactionStatus.APPROVED then t.amount " +
+            "else 0 end), 0)) " +
+            "from Wallet w left join Transaction t on t.wallet = w ";
+
+    /**
+     * Selects the columns of a {@link WalletResponse} straight from the wallet row.
+     */
+    String RESPONSE_COLUMNS = "w.id, w.walletName, w.currency, w.activeForShopping, w.activeForWithdraw, " +
+            "w.balance, w.usableBalance";
+
+    /**
+     * Reads the wallets of a customer as response DTOs, without loading {@link Wallet} entities into the
+     * persistence context.
+     *
+     * @param customerId the ID of the customer
+     * @return the customer's wallets ordered by ID
+     */
+    @Query("select new com.digitalwallet.walletservice.dto.WalletResponse(" + RESPONSE_COLUMNS + ") " +
+            "from Wallet w where w.customer.id = :customerId order by w.id")
+    List<WalletResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Reads every wallet as a response DTO together with the ID of its owner.
+     *
+     * @return the wallets ordered by customer and ID
+     */
+    @Query("select new com.digitalwallet.walletservice.dto.CustomerWalletRow(w.customer.id, " + RESPONSE_COLUMNS +
+            ") from Wallet w order by w.customer.id, w.id")
+    List<CustomerWalletRow> findAllRows();
+
+    /**
+     * Finds the owner of a wallet, for access checks that need nothing else of it.
+     *
+     * @param id the ID of the wallet
+     * @return the ID of the owning customer, or empty if the wallet does not exist
+     */
+    @Query("select w.customer.id from Wallet w where w.id = :id")
+    Optional<Long> findCustomerIdById(@Param("id") Long id);
+
+    /**
+     * Finds which of the given customers already have a wallet in the given currency.
+     *
+     * @param customerIds the IDs of the customers
+     * @param currency    the currency type
+     * @return the IDs of the customers that have such a wallet
+     */
+    @Query("select w.customer.id from Wallet w where w.customer.id in :customerIds and w.currency = :currency")
+    List<Long> findCustomerIdsWithWallet(@Param("customerIds") Collection<Long> customerIds,
+                                         @Param("currency") Currency currency);
+
+    /**
+     * Opens an empty wallet in the given currency for each of the given customers that exists and has none yet,
+     * in one statement. A wallet opened concurrently for one of them still fails the statement on the
+     * {@code uk_wallet_customer_currency} constraint.
+     *
+     * @param customerIds       the IDs of the customers
+     * @param walletName        the name of the new wallets
+     * @param currency          the currency of the new wallets, by name
+     * @param activeForShopping whether the new wallets are active for shopping
+     * @param activeForWithdraw whether the new wallets are active for withdrawals
+     * @param updatedAt         the modification timestamp of the new wallets
+     * @return the number of wallets opened
+     */
+    @Modifying
+    @Query(value = "insert into wallet (customer_id, wallet_name, currency, active_for_shopping, active_for_withdraw, " +
+            "balance, usable_balance, updated_at) " +
+            "select c.id, :walletName, :currency, :activeForShopping, :activeForWithdraw, 0, 0, :updatedAt " +
+            "from customer c where c.id in (:customerIds) " +
+            "and not exists (select 1 from wallet w where w.customer_id = c.id and w.currency = :currency)",
+            nativeQuery = true)
+    int insertMissingWallets(@Param("customerIds") Collection<Long> customerIds,
+                             @Param("walletName") String walletName,
+                             @Param("currency") String currency,
+                             @Param("activeForShopping") boolean activeForShopping,
+                             @Param("activeForWithdraw") boolean activeForWithdraw,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Reads the wallets of the given customers in the given currency as response DTOs.
+     *
+     * @param customerIds the IDs of the customers
+     * @param currency    the currency type
+     * @return the wallets, at most one per customer
+     */
+    @Query("select new com.digitalwallet.walletservice.dto.CustomerWalletRow(w.customer.id, " + RESPONSE_COLUMNS +
+            ") from Wallet w where w.customer.id in :customerIds and w.currency = :currency")
+    List<CustomerWalletRow> findRowsByCustomerIdInAndCurrency(@Param("customerIds") Collection<Long> customerIds,
+                                                              @Param("currency") Currency currency);
+
+    /**
+     * Finds a wallet by ID and locks its row for update until the end of the current transaction.
+     * <p>
+     * Callers locking more than one wallet must lock them in ascending ID order to avoid deadlocks.
      *
-     * @param customer the customer whose wallets are to be retrieved
-     * @return a list of wallets belonging to the specified customer
+     * @param id the ID of the wallet
+     * @return an {@link Optional} containing the locked wallet, or empty if not found
      */
-    List<Wallet> findByCustomer(Customer customer);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from Wallet w where w.id = :id")
+    Optional<Wallet> findByIdForUpdate(@Param("id") Long id);
 
     /**
-     * Checks whether a wallet exists for the given customer and currency.
+     * Sums balances and usable balances of all wallets, grouped by customer and currency.
+     * <p>
+     * Each row contains the customer ID, the {@link Currency}, the balance sum and the usable balance sum.
+     *
+     * @return one row per customer and currency
+     */
+    @Query("select w.customer.id, w.currency, sum(w.balance), sum(w.usableBalance) from Wallet w " +
+            "group by w.customer.id, w.currency")
+    List<Object[]> sumBalancesByCustomerAndCurrency();
+
+    /**
+     * Sums balances and usable balances of one customer's wallets, grouped by currency.
+     * <p>
+     * Each row contains the {@link Currency}, the balance sum and the usable balance sum.
      *
      * @param customerId the ID of the customer
-     * @param currency   the currency type
-     * @return true if a wallet with the specified currency exists for the customer, false otherwise
+     * @return one row per currency the customer has a wallet in
+     */
+    @Query("select w.currency, sum(w.balance), sum(w.usableBalance) from Wallet w " +
+            "where w.customer.id = :customerId group by w.currency")
+    List<Object[]> sumBalancesByCurrency(@Param("customerId") Long customerId);
+
+    /**
+     * Returns the lowest wallet ID.
+     *
+     * @return the lowest wallet ID, or {@code null} if there are no wallets
+     */
+    @Query("select min(w.id) from Wallet w")
+    Long findMinId();
+
+    /**
+     * Returns the highest wallet ID.
+     *
+     * @return the highest wallet ID, or {@code null} if there are no wallets
+     */
+    @Query("select max(w.id) from Wallet w")
+    Long findMaxId();
+
+    /**
+     * Reads the statement header data of all wallets in an ID range.
+     *
+     * @param fromId the first wallet ID (inclusive)
+     * @param toId   the last wallet ID (inclusive)
+     * @return the wallets ordered by ID
+     */
+    @Query("select new com.digitalwallet.walletservice.statement.StatementWallet(w.id, w.customer.id, w.walletName, w.currency) " +
+            "from Wallet w where w.id between :fromId and :toId order by w.id")
+    List<StatementWallet> findStatementWallets(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Reconciles all wallets in an ID range with one aggregate query.
+     *
+     * @param fromId the first wallet ID (inclusive)
+     * @param toId   the last wallet ID (inclusive)
+     * @return one row per wallet
+     */
+    @Query(RECONCILIATION_SELECT + "where w.id between :fromId and :toId group by w.id, w.balance, w.usableBalance")
+    List<WalletReconciliationRow> reconcileRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Reconciles the given wallets with one aggregate query.
+     *
+     * @param ids the wallet IDs
+     * @return one row per existing wallet
+     */
+    @Query(RECONCILIATION_SELECT + "where w.id in :ids group by w.id, w.balance, w.usableBalance")
+    List<WalletReconciliationRow> reconcileWallets(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the IDs of all wallets changed at or after the given time.
+     *
+     * @param since the lower bound of the modification time
+     * @return the wallet IDs in ascending order
+     */
+    @Query("select w.id from Wallet w where w.updatedAt >= :since order by w.id")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Finds the most recently changed wallets together with their owners. The entities are loaded read-only,
+     * so Hibernate keeps no snapshot of them for dirty checking.
+     *
+     * @param since    the lower bound of the modification time
+     * @param pageable limits the number of wallets returned
+     * @return the wallets, most recently changed first
      */
-    boolean existsByCustomerIdAndCurrency(Long customerId, Currency currency);
-}
\ No newline at end of file
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select w from Wallet w join fetch w.customer where w.updatedAt >= :since order by w.updatedAt desc")
+    List<Wallet> findRecentlyUpdated(@Param("since") LocalDateTime since, Pageable pageable);
+}
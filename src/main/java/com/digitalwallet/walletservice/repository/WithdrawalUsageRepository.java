@@ -0,0 +1,47 @@
+package com.digitalwallet.walletservice.repository;
+
+import com.digitalwallet.walletservice.enums.LimitPeriod;
+import com.digitalwallet.walletservice.model.WithdrawalUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link WithdrawalUsage} rows.
+ */
+public interface WithdrawalUsageRepository extends JpaRepository<WithdrawalUsage, Long> {
+
+    /**
+     * Finds the usage of all wallets and customers in one period.
+     *
+     * @param period      the length of the period
+     * @param periodStart the first day of the period
+     * @return the usage rows
+     */
+    List<WithdrawalUsage> findByPeriodAndPeriodStart(LimitPeriod period, LocalDate periodStart);
+
+    /**
+     * Inserts the usage of a wallet or customer in one period, or overwrites the amount if the row exists.
+     *
+     * @param scope       the {@link com.digitalwallet.walletservice.enums.LimitScope} name
+     * @param ownerId     the ID of the wallet or customer
+     * @param currency    the {@link com.digitalwallet.walletservice.enums.Currency} name
+     * @param period      the {@link LimitPeriod} name
+     * @param periodStart the first day of the period
+     * @param amount      the total withdrawn in the period
+     * @param updatedAt   the time of the flush
+     */
+    @Modifying
+    @Query(value = "insert into withdrawal_usage (scope, owner_id, currency, period, period_start, amount, updated_at) " +
+            "values (:scope, :ownerId, :currency, :period, :periodStart, :amount, :updatedAt) " +
+            "on duplicate key update amount = :amount, updated_at = :updatedAt", nativeQuery = true)
+    void upsert(@Param("scope") String scope, @Param("ownerId") Long ownerId, @Param("currency") String currency,
+                @Param("period") String period, @Param("periodStart") LocalDate periodStart,
+                @Param("amount") BigDecimal amount, @Param("updatedAt") LocalDateTime updatedAt);
+}
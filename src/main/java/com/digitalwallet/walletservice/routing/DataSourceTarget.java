@@ -0,0 +1,17 @@
+package com.digitalwallet.walletservice.routing;
+
+/**
+ * The database a connection is routed to.
+ */
+public enum DataSourceTarget {
+
+    /**
+     * The primary database; receives all writes and every read that must see them.
+     */
+    PRIMARY,
+
+    /**
+     * The read replica; receives read-only transactions.
+     */
+    REPLICA
+}
@@ -0,0 +1,139 @@
+package com.digitalwallet.walletservice.routing;
+
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Employee;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Decides when a read-only transaction must still go to the primary database.
+ * <p>
+ * After a principal's read-write transaction commits, the principal is pinned to the primary for
+ * {@code wallet.datasource.replica.read-your-writes-window}, so they see their own change even while the replica
+ * is behind. Registered as a {@link TransactionExecutionListener}, which Spring Boot adds to the transaction manager,
+ * so every write is covered without touching the services. Code can also force the primary for a block with
+ * {@link #onPrimary(Supplier)}, as authentication does for credential lookups.
+ * <p>
+ * Pins are kept in memory: a principal whose requests are spread over several instances is only pinned on the
+ * instance that performed the write.
+ */
+@Component
+public class ReadYourWritesGuard implements TransactionExecutionListener {
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final boolean enabled;
+    private final long windowNanos;
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final ThreadLocal<Integer> primaryScopes = ThreadLocal.withInitial(() -> 0);
+
+    /**
+     * @param replicaUrl the replica URL; the guard is inactive when no replica is configured
+     * @param window     how long a principal reads from the primary after their own write
+     */
+    public ReadYourWritesGuard(@Value("${wallet.datasource.replica.url:}") String replicaUrl,
+                               @Value("${wallet.datasource.replica.read-your-writes-window:5s}") Duration window) {
+        this.enabled = !replicaUrl.isBlank();
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Pins the current principal after a committed read-write transaction.
+     *
+     * @param transaction   the committed transaction
+     * @param commitFailure the commit failure, if any
+     */
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (enabled && commitFailure == null && !transaction.isReadOnly()) {
+            pinCurrentPrincipal();
+        }
+    }
+
+    /**
+     * Pins the current principal to the primary for the configured window.
+     */
+    public void pinCurrentPrincipal() {
+        String principal = currentPrincipal();
+        if (principal == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        pinnedUntil.put(principal, now + windowNanos);
+        if (pinnedUntil.size() > SWEEP_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    /**
+     * Runs an action whose reads must come from the primary.
+     *
+     * @param action the action
+     * @return the action's result
+     */
+    public <T> T onPrimary(Supplier<T> action) {
+        primaryScopes.set(primaryScopes.get() + 1);
+        try {
+            return action.get();
+        } finally {
+            int depth = primaryScopes.get() - 1;
+            if (depth == 0) {
+                primaryScopes.remove();
+            } else {
+                primaryScopes.set(depth);
+            }
+        }
+    }
+
+    /**
+     * @return whether reads on the current thread must go to the primary
+     */
+    public boolean requiresPrimary() {
+        if (primaryScopes.get() > 0) {
+            return true;
+        }
+        String principal = currentPrincipal();
+        if (principal == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(principal);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(principal, until);
+        return false;
+    }
+
+    /**
+     * Identifies the authenticated principal; customers and employees are reloaded on every request, so they are
+     * keyed by ID rather than by instance.
+     */
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof Customer customer) {
+            return "customer:" + customer.getId();
+        }
+        if (principal instanceof Employee employee) {
+            return "employee:" + employee.getId();
+        }
+        return authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.digitalwallet.walletservice.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * The read-only flag of a transaction is only known once it has begun, after the transaction manager asked for a
+ * connection, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that defers the choice to the first
+ * statement. Reads the {@link ReadYourWritesGuard} wants on the primary stay there.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadYourWritesGuard guard;
+
+    /**
+     * @param primary the primary database
+     * @param replica the read replica
+     * @param guard   the guard keeping principals on the primary after their own writes
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesGuard guard) {
+        this.guard = guard;
+        setTargetDataSources(Map.of(DataSourceTarget.PRIMARY, primary, DataSourceTarget.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+
+    /**
+     * @return where a connection requested now would be routed
+     */
+    public DataSourceTarget currentTarget() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !guard.requiresPrimary()) {
+            return DataSourceTarget.REPLICA;
+        }
+        return DataSourceTarget.PRIMARY;
+    }
+}
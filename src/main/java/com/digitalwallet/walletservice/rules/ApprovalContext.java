@@ -0,0 +1,80 @@
+package com.digitalwallet.walletservice.rules;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.CustomerTier;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Everything the auto-approval rules look at for one deposit or withdrawal.
+ * <p>
+ * All values are already in memory when the transaction is created, so evaluating the rules needs no queries.
+ */
+public final class ApprovalContext {
+
+    private final TransactionType type;
+    private final Currency currency;
+    private final CustomerTier tier;
+    private final OppositePartyType oppositePartyType;
+    private final BigDecimal amount;
+    private final int recentCount;
+    private final BigDecimal recentAmount;
+    private final long epochMillis;
+
+    /**
+     * @param type              deposit or withdrawal
+     * @param currency          the wallet currency
+     * @param tier              the tier of the wallet owner
+     * @param oppositePartyType the type of the opposite party, may be {@code null}
+     * @param amount            the amount of the transaction
+     * @param recentCount       transactions of the same type on the wallet within the velocity window
+     * @param recentAmount      their total amount, in the wallet currency
+     * @param epochMillis       the time of the transaction
+     */
+    public ApprovalContext(TransactionType type, Currency currency, CustomerTier tier,
+                           OppositePartyType oppositePartyType, BigDecimal amount, int recentCount,
+                           BigDecimal recentAmount, long epochMillis) {
+        this.type = type;
+        this.currency = currency;
+        this.tier = tier;
+        this.oppositePartyType = oppositePartyType;
+        this.amount = amount;
+        this.recentCount = recentCount;
+        this.recentAmount = recentAmount;
+        this.epochMillis = epochMillis;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public CustomerTier getTier() {
+        return tier;
+    }
+
+    public OppositePartyType getOppositePartyType() {
+        return oppositePartyType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public int getRecentCount() {
+        return recentCount;
+    }
+
+    public BigDecimal getRecentAmount() {
+        return recentAmount;
+    }
+
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+}
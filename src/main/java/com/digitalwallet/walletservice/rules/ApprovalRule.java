@@ -0,0 +1,150 @@
+package com.digitalwallet.walletservice.rules;
+
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * One compiled auto-approval rule.
+ * <p>
+ * Enum conditions are stored as bitmasks over the enum ordinals and the time window as minutes of the day,
+ * so {@link #matches(ApprovalContext, int)} is a handful of integer comparisons. A rule matching a transaction
+ * approves it if its amount is at most {@link #getMaxAmount() max amount}, and leaves it pending otherwise.
+ */
+public final class ApprovalRule {
+
+    /**
+     * Mask matching every value.
+     */
+    public static final int ANY = -1;
+
+    /**
+     * Time window value of rules without one.
+     */
+    public static final int NO_WINDOW = -1;
+
+    private final String name;
+    private final int typeMask;
+    private final int currencyMask;
+    private final int tierMask;
+    private final int oppositePartyTypeMask;
+    private final int fromMinute;
+    private final int toMinute;
+    private final int minRecentCount;
+    private final BigDecimal minRecentAmount;
+    private final BigDecimal maxAmount;
+    private final RuleHits hits;
+
+    /**
+     * @param name                  the rule name
+     * @param typeMask              bits of the matching transaction types, or {@link #ANY}
+     * @param currencyMask          bits of the matching currencies, or {@link #ANY}
+     * @param tierMask              bits of the matching customer tiers, or {@link #ANY}
+     * @param oppositePartyTypeMask bits of the matching opposite party types, or {@link #ANY}
+     * @param fromMinute            start of the time window in minutes of the day (inclusive), or {@link #NO_WINDOW}
+     * @param toMinute              end of the time window (exclusive); before {@code fromMinute} if it wraps midnight
+     * @param minRecentCount        minimum number of recent transactions, 0 for no condition
+     * @param minRecentAmount       minimum recent amount, {@code null} for no condition
+     * @param maxAmount             the largest amount approved automatically
+     * @param hits                  the counters of the rule
+     */
+    public ApprovalRule(String name, int typeMask, int currencyMask, int tierMask, int oppositePartyTypeMask,
+                        int fromMinute, int toMinute, int minRecentCount, BigDecimal minRecentAmount,
+                        BigDecimal maxAmount, RuleHits hits) {
+        this.name = name;
+        this.typeMask = typeMask;
+        this.currencyMask = currencyMask;
+        this.tierMask = tierMask;
+        this.oppositePartyTypeMask = oppositePartyTypeMask;
+        this.fromMinute = fromMinute;
+        this.toMinute = toMinute;
+        this.minRecentCount = minRecentCount;
+        this.minRecentAmount = minRecentAmount;
+        this.maxAmount = maxAmount;
+        this.hits = hits;
+    }
+
+    /**
+     * @param context     the transaction
+     * @param minuteOfDay the local time of the transaction in minutes, only read if the rule has a time window
+     * @return whether all conditions of the rule hold
+     */
+    public boolean matches(ApprovalContext context, int minuteOfDay) {
+        return matches(typeMask, context.getType())
+                && matches(currencyMask, context.getCurrency())
+                && matches(tierMask, context.getTier())
+                && matches(oppositePartyTypeMask, context.getOppositePartyType())
+                && (fromMinute == NO_WINDOW || inWindow(minuteOfDay))
+                && context.getRecentCount() >= minRecentCount
+                && (minRecentAmount == null || context.getRecentAmount().compareTo(minRecentAmount) >= 0);
+    }
+
+    /**
+     * @param amount the amount of a matching transaction
+     * @return {@link TransactionStatus#APPROVED} up to the max amount, {@link TransactionStatus#PENDING} above
+     */
+    public TransactionStatus decide(BigDecimal amount) {
+        return amount.compareTo(maxAmount) > 0 ? TransactionStatus.PENDING : TransactionStatus.APPROVED;
+    }
+
+    private boolean inWindow(int minute) {
+        return fromMinute <= toMinute
+                ? minute >= fromMinute && minute < toMinute
+                : minute >= fromMinute || minute < toMinute;
+    }
+
+    private static boolean matches(int mask, Enum<?> value) {
+        return mask == ANY || (value != null && (mask & (1 << value.ordinal())) != 0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return whether the rule depends on the time of day
+     */
+    public boolean hasWindow() {
+        return fromMinute != NO_WINDOW;
+    }
+
+    public int getTypeMask() {
+        return typeMask;
+    }
+
+    public int getCurrencyMask() {
+        return currencyMask;
+    }
+
+    public int getTierMask() {
+        return tierMask;
+    }
+
+    public int getOppositePartyTypeMask() {
+        return oppositePartyTypeMask;
+    }
+
+    public int getFromMinute() {
+        return fromMinute;
+    }
+
+    public int getToMinute() {
+        return toMinute;
+    }
+
+    public int getMinRecentCount() {
+        return minRecentCount;
+    }
+
+    public BigDecimal getMinRecentAmount() {
+        return minRecentAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public RuleHits getHits() {
+        return hits;
+    }
+}
@@ -0,0 +1,197 @@
+package com.digitalwallet.walletservice.rules;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.CustomerTier;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Compiles an auto-approval rule definition into an {@link ApprovalRuleSet}.
+ * <p>
+ * The definition is a flat key/value map, usually read from a properties file:
+ * <pre>
+ * zone=Europe/Istanbul
+ * default.max-amount=1000
+ * rules=night,premium
+ *
+ * rule.night.hours=00:00-06:00
+ * rule.night.max-amount=250
+ *
+ * rule.premium.tiers=PREMIUM,BUSINESS
+ * rule.premium.currencies=TRY
+ * rule.premium.max-amount=20000
+ * </pre>
+ * {@code rules} lists the rule names in evaluation order. Each rule may restrict {@code types}, {@code currencies},
+ * {@code tiers}, {@code opposite-party-types} (comma separated enum names), {@code hours} ({@code HH:mm-HH:mm},
+ * may wrap midnight), {@code min-recent-count} and {@code min-recent-amount} (velocity within the tracking
+ * window), and must set {@code max-amount}. Unknown keys and values are rejected, so a typo never silently
+ * disables a rule.
+ */
+public final class ApprovalRuleParser {
+
+    private static final String DEFAULT_MAX_AMOUNT = "1000";
+    private static final Set<String> ATTRIBUTES = Set.of("types", "currencies", "tiers", "opposite-party-types",
+            "hours", "min-recent-count", "min-recent-amount", "max-amount");
+
+    private ApprovalRuleParser() {
+    }
+
+    /**
+     * Compiles a rule definition.
+     *
+     * @param definition the keys and values of the definition
+     * @param version    the version of the resulting set
+     * @param source     where the definition was read from
+     * @param hits       returns the counters of a rule by name
+     * @return the compiled rule set
+     * @throws IllegalArgumentException if the definition is invalid
+     */
+    public static ApprovalRuleSet parse(Map<String, String> definition, long version, String source,
+                                        Function<String, RuleHits> hits) {
+        Map<String, String> values = new TreeMap<>();
+        definition.forEach((key, value) -> values.put(key.trim(), value.trim()));
+
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : split(values.getOrDefault("rules", ""))) {
+            if (name.equals(ApprovalRuleSet.DEFAULT_RULE) || !names.add(name)) {
+                throw new IllegalArgumentException("Duplicate or reserved rule name '" + name + "'");
+            }
+        }
+
+        for (String key : values.keySet()) {
+            if (key.equals("rules") || key.equals("zone") || key.equals("default.max-amount")) {
+                continue;
+            }
+            int dot = key.lastIndexOf('.');
+            if (!key.startsWith("rule.") || dot <= 5 || !names.contains(key.substring(5, dot))
+                    || !ATTRIBUTES.contains(key.substring(dot + 1))) {
+                throw new IllegalArgumentException("Unknown approval rule key '" + key + "'");
+            }
+        }
+
+        List<ApprovalRule> rules = new ArrayList<>(names.size());
+        for (String name : names) {
+            rules.add(compile(name, values, hits.apply(name)));
+        }
+        BigDecimal defaultMaxAmount = amount("default.max-amount",
+                values.getOrDefault("default.max-amount", DEFAULT_MAX_AMOUNT));
+        ApprovalRule defaultRule = new ApprovalRule(ApprovalRuleSet.DEFAULT_RULE, ApprovalRule.ANY, ApprovalRule.ANY,
+                ApprovalRule.ANY, ApprovalRule.ANY, ApprovalRule.NO_WINDOW, ApprovalRule.NO_WINDOW, 0, null,
+                defaultMaxAmount, hits.apply(ApprovalRuleSet.DEFAULT_RULE));
+
+        ZoneId zone;
+        try {
+            zone = values.containsKey("zone") ? ZoneId.of(values.get("zone")) : ZoneId.systemDefault();
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid zone '" + values.get("zone") + "'", ex);
+        }
+        return new ApprovalRuleSet(version, Instant.now(), source, values, rules, defaultRule, zone);
+    }
+
+    private static ApprovalRule compile(String name, Map<String, String> values, RuleHits hits) {
+        String prefix = "rule." + name + ".";
+        String maxAmount = values.get(prefix + "max-amount");
+        if (maxAmount == null) {
+            throw new IllegalArgumentException("Approval rule '" + name + "' has no max-amount");
+        }
+
+        int fromMinute = ApprovalRule.NO_WINDOW;
+        int toMinute = ApprovalRule.NO_WINDOW;
+        String hours = values.get(prefix + "hours");
+        if (hours != null) {
+            String[] bounds = hours.split("-");
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException("Invalid hours '" + hours + "' of approval rule '" + name + "'");
+            }
+            fromMinute = minute(prefix + "hours", bounds[0]);
+            toMinute = minute(prefix + "hours", bounds[1]);
+        }
+
+        String minRecentCount = values.get(prefix + "min-recent-count");
+        String minRecentAmount = values.get(prefix + "min-recent-amount");
+        return new ApprovalRule(name,
+                mask(TransactionType.class, prefix + "types", values),
+                mask(Currency.class, prefix + "currencies", values),
+                mask(CustomerTier.class, prefix + "tiers", values),
+                mask(OppositePartyType.class, prefix + "opposite-party-types", values),
+                fromMinute, toMinute,
+                minRecentCount == null ? 0 : count(prefix + "min-recent-count", minRecentCount),
+                minRecentAmount == null ? null : amount(prefix + "min-recent-amount", minRecentAmount),
+                amount(prefix + "max-amount", maxAmount), hits);
+    }
+
+    private static <E extends Enum<E>> int mask(Class<E> type, String key, Map<String, String> values) {
+        String value = values.get(key);
+        if (value == null) {
+            return ApprovalRule.ANY;
+        }
+        int mask = 0;
+        for (String name : split(value)) {
+            try {
+                mask |= 1 << Enum.valueOf(type, name.toUpperCase()).ordinal();
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown value '" + name + "' for " + key, ex);
+            }
+        }
+        if (mask == 0) {
+            throw new IllegalArgumentException("Empty value for " + key);
+        }
+        return mask;
+    }
+
+    private static int minute(String key, String value) {
+        try {
+            LocalTime time = LocalTime.parse(value.trim());
+            return time.getHour() * 60 + time.getMinute();
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid time '" + value + "' for " + key, ex);
+        }
+    }
+
+    private static int count(String key, String value) {
+        try {
+            int count = Integer.parseInt(value);
+            if (count >= 0) {
+                return count;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid count '" + value + "' for " + key);
+    }
+
+    private static BigDecimal amount(String key, String value) {
+        try {
+            BigDecimal amount = new BigDecimal(value);
+            if (amount.signum() >= 0) {
+                return amount;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid amount '" + value + "' for " + key);
+    }
+
+    private static List<String> split(String value) {
+        List<String> parts = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                parts.add(part.trim());
+            }
+        }
+        return parts;
+    }
+}
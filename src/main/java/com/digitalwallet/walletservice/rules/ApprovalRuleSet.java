@@ -0,0 +1,105 @@
+package com.digitalwallet.walletservice.rules;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, ordered set of {@link ApprovalRule}s loaded at one point in time.
+ * <p>
+ * The first matching rule decides; if none matches, the default rule does. A new set is built on every reload
+ * and swapped in atomically by the owner, so evaluation never waits for a reload in progress.
+ */
+public final class ApprovalRuleSet {
+
+    /**
+     * Name of the rule applying when no other rule matches.
+     */
+    public static final String DEFAULT_RULE = "default";
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final long version;
+    private final Instant loadedAt;
+    private final String source;
+    private final Map<String, String> definition;
+    private final ApprovalRule[] rules;
+    private final ApprovalRule defaultRule;
+    private final ZoneRules zoneRules;
+    private final boolean usesTimeOfDay;
+
+    /**
+     * @param version     monotonically increasing version of the set
+     * @param loadedAt    time the rules were loaded
+     * @param source      where the rules were loaded from
+     * @param definition  the raw definition the rules were compiled from, to detect changes on reload
+     * @param rules       the rules in evaluation order
+     * @param defaultRule the rule applying when no other rule matches
+     * @param zone        the zone time windows are interpreted in
+     */
+    public ApprovalRuleSet(long version, Instant loadedAt, String source, Map<String, String> definition,
+                           List<ApprovalRule> rules, ApprovalRule defaultRule, ZoneId zone) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.source = source;
+        this.definition = Collections.unmodifiableMap(definition);
+        this.rules = rules.toArray(new ApprovalRule[0]);
+        this.defaultRule = defaultRule;
+        this.zoneRules = zone.getRules();
+        this.usesTimeOfDay = rules.stream().anyMatch(ApprovalRule::hasWindow);
+    }
+
+    /**
+     * Finds the rule deciding a transaction. Allocation-free unless a rule has a time window.
+     *
+     * @param context the transaction
+     * @return the first matching rule, or the default rule
+     */
+    public ApprovalRule evaluate(ApprovalContext context) {
+        int minuteOfDay = usesTimeOfDay ? minuteOfDay(context.getEpochMillis()) : 0;
+        for (ApprovalRule rule : rules) {
+            if (rule.matches(context, minuteOfDay)) {
+                return rule;
+            }
+        }
+        return defaultRule;
+    }
+
+    private int minuteOfDay(long epochMillis) {
+        long offsetSeconds = zoneRules.isFixedOffset()
+                ? zoneRules.getOffset(Instant.EPOCH).getTotalSeconds()
+                : zoneRules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds();
+        return Math.floorMod(Math.floorDiv(epochMillis, 60_000L) + offsetSeconds / 60, MINUTES_PER_DAY);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Map<String, String> getDefinition() {
+        return definition;
+    }
+
+    /**
+     * @return the rules in evaluation order, without the default rule
+     */
+    public List<ApprovalRule> getRules() {
+        return Collections.unmodifiableList(Arrays.asList(rules));
+    }
+
+    public ApprovalRule getDefaultRule() {
+        return defaultRule;
+    }
+}
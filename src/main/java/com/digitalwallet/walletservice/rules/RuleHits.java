@@ -0,0 +1,33 @@
+package com.digitalwallet.walletservice.rules;
+
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How often a rule decided a transaction, by outcome.
+ * <p>
+ * Kept by rule name outside the {@link ApprovalRuleSet}, so counts survive reloads of an unchanged rule.
+ */
+public final class RuleHits {
+
+    private final LongAdder approved = new LongAdder();
+    private final LongAdder pending = new LongAdder();
+
+    /**
+     * Counts one decision.
+     *
+     * @param status the status the rule chose
+     */
+    public void record(TransactionStatus status) {
+        (status == TransactionStatus.APPROVED ? approved : pending).increment();
+    }
+
+    public long getApproved() {
+        return approved.sum();
+    }
+
+    public long getPending() {
+        return pending.sum();
+    }
+}
@@ -0,0 +1,57 @@
+package com.digitalwallet.walletservice.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last transaction of a counterparty search page. Search results are ordered by counterparty
+ * key and then by transaction ID, the order of the counterparty index, so the next page starts right after this
+ * pair without counting skipped rows.
+ * <p>
+ * Clients receive it as an opaque URL-safe token.
+ */
+public final class CounterpartyCursor {
+
+    private final String key;
+    private final long id;
+
+    /**
+     * @param key the counterparty key of the last transaction returned
+     * @param id  the ID of the last transaction returned
+     */
+    public CounterpartyCursor(String key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    /**
+     * @param token a token from {@link #encode()}
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static CounterpartyCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(':');
+            return new CounterpartyCursor(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+
+    /**
+     * @return the token handed to clients
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
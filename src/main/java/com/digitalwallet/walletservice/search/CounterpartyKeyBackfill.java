@@ -0,0 +1,54 @@
+package com.digitalwallet.walletservice.search;
+
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills in the counterparty key of transactions written before the counterparty index existed, in batches of
+ * {@code wallet.search.backfill-batch-size} rows, one transaction per batch. New transactions get their key when
+ * they are written, so once the backfill has run it finds nothing and costs one indexed query per startup.
+ */
+@Component
+public class CounterpartyKeyBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterpartyKeyBackfill.class);
+
+    private final int batchSize;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transaction;
+
+    /**
+     * @param batchSize             the most rows updated per transaction
+     * @param transactionRepository repository running the updates
+     * @param transactionManager    transaction manager for the batches
+     */
+    public CounterpartyKeyBackfill(@Value("${wallet.search.backfill-batch-size:5000}") int batchSize,
+                                   TransactionRepository transactionRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.batchSize = batchSize;
+        this.transactionRepository = transactionRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.currentTimeMillis();
+        long total = 0;
+        int updated;
+        do {
+            updated = transaction.execute(status -> transactionRepository.backfillCounterpartyKeys(batchSize));
+            total += updated;
+        } while (updated == batchSize);
+        if (total > 0) {
+            log.info("Backfilled counterparty keys of {} transactions in {} ms", total,
+                    System.currentTimeMillis() - started);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.digitalwallet.walletservice.search;
+
+/**
+ * Normalizes opposite parties (IBANs, payment references) into the keys of the counterparty index.
+ * <p>
+ * Everything but ASCII letters and digits is dropped and letters are upper-cased, so {@code tr33 0006-1005} and
+ * {@code TR3300061005} share a key and any prefix of a key can be searched with an index range scan. Keys are cut
+ * to {@link #MAX_LENGTH} characters. The backfill in {@link CounterpartyKeyBackfill} applies the same rule in SQL.
+ */
+public final class CounterpartyKeys {
+
+    /**
+     * The longest key stored.
+     */
+    public static final int MAX_LENGTH = 64;
+
+    private CounterpartyKeys() {
+    }
+
+    /**
+     * @param oppositeParty an IBAN, payment reference or search term
+     * @return its key, or {@code null} for {@code null}
+     */
+    public static String normalize(String oppositeParty) {
+        if (oppositeParty == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(Math.min(oppositeParty.length(), MAX_LENGTH));
+        for (int i = 0; i < oppositeParty.length() && key.length() < MAX_LENGTH; i++) {
+            char c = oppositeParty.charAt(i);
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                key.append(c);
+            } else if (c >= 'a' && c <= 'z') {
+                key.append((char) (c - 'a' + 'A'));
+            }
+        }
+        return key.toString();
+    }
+}
@@ -1,7 +1,7 @@
 package com.digitalwallet.walletservice.security;
 
+import com.digitalwallet.walletservice.identity.IdentityLookupService;
 import com.digitalwallet.walletservice.model.Customer;
-import com.digitalwallet.walletservice.repository.CustomerRepository;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -17,15 +17,15 @@ import java.util.List;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final CustomerRepository customerRepository;
+    private final IdentityLookupService identityLookupService;
 
     /**
-     * Constructor for injecting the CustomerRepository dependency.
+     * Constructor for injecting the IdentityLookupService dependency.
      *
-     * @param customerRepository the repository to access Customer data
+     * @param identityLookupService the lookup of customers by TCKN
      */
-    public CustomUserDetailsService(CustomerRepository customerRepository) {
-        this.customerRepository = customerRepository;
+    public CustomUserDetailsService(IdentityLookupService identityLookupService) {
+        this.identityLookupService = identityLookupService;
     }
 
     /**
@@ -37,7 +37,7 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Customer customer = customerRepository.findByTckn(username)
+        Customer customer = identityLookupService.findCustomer(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Customer not found"));
 
         return new org.springframework.security.core.userdetails.User(
@@ -1,8 +1,7 @@
 package com.digitalwallet.walletservice.security;
 
 import com.digitalwallet.walletservice.enums.Role;
-import com.digitalwallet.walletservice.repository.EmployeeRepository;
-import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.identity.IdentityLookupService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,22 +28,18 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final CustomerRepository customerRepository;
-    private final EmployeeRepository employeeRepository;
+    private final IdentityLookupService identityLookupService;
 
     /**
      * Constructs a {@code JwtAuthenticationFilter} with required dependencies.
      *
-     * @param jwtService         service to parse and validate JWT tokens
-     * @param customerRepository repository to fetch CUSTOMER entities
-     * @param employeeRepository repository to fetch EMPLOYEE entities
+     * @param jwtService            service to parse and validate JWT tokens
+     * @param identityLookupService lookup of CUSTOMER and EMPLOYEE entities by their login name
      */
     public JwtAuthenticationFilter(JwtService jwtService,
-                                   CustomerRepository customerRepository,
-                                   EmployeeRepository employeeRepository) {
+                                   IdentityLookupService identityLookupService) {
         this.jwtService = jwtService;
-        this.customerRepository = customerRepository;
-        this.employeeRepository = employeeRepository;
+        this.identityLookupService = identityLookupService;
     }
 
     /**
@@ -81,7 +76,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             Role role = Role.valueOf(roleStr);
 
             if (role == Role.CUSTOMER) {
-                customerRepository.findByTckn(username).ifPresent(customer -> {
+                // Active principals are cached, and tokens naming unknown users never reach the database
+                identityLookupService.findCustomer(username).ifPresent(customer -> {
                     if (jwtService.isTokenValid(token, customer)) {
                         UsernamePasswordAuthenticationToken authToken =
                                 new UsernamePasswordAuthenticationToken(
@@ -94,7 +90,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     }
                 });
             } else if (role == Role.EMPLOYEE) {
-                employeeRepository.findByEmail(username).ifPresent(employee -> {
+                identityLookupService.findEmployee(username).ifPresent(employee -> {
                     if (!jwtService.isTokenExpired(token)) {
                         UsernamePasswordAuthenticationToken authToken =
                                 new UsernamePasswordAuthenticationToken(
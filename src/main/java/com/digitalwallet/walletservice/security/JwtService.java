@@ -24,8 +24,7 @@ public class JwtService {
     /**
      * Secret key used to sign and validate JWT tokens, injected from application properties.
      */
-    @Value("${jwt.secret}")
-    private String secretKeyString;
+    private final String secretKeyString;
 
     /**
      * The parsed signing key derived from the secret key string.
@@ -37,6 +36,14 @@ public class JwtService {
      */
     private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 24;
 
+    /**
+     * Constructs a {@code JwtService}.
+     *
+     * @param secretKeyString the secret used to sign tokens
+     */
+    public JwtService(@Value("${jwt.secret}") String secretKeyString) {
+        this.secretKeyString = secretKeyString;
+    }
 
     /**
      * Initializes the {@link Key} object using the provided secret key after bean construction.
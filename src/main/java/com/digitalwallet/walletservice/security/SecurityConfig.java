@@ -68,8 +68,27 @@ public class SecurityConfig {
 
                         // Transaction endpoints
                         .requestMatchers("/api/transactions/approve").hasRole("EMPLOYEE")
+                        .requestMatchers("/api/transactions/approvals/**").hasRole("EMPLOYEE")
+                        .requestMatchers("/api/transactions/search").hasRole("EMPLOYEE")
                         .requestMatchers("/api/transactions/**").hasAnyRole("CUSTOMER", "EMPLOYEE")
 
+                        // FX endpoints
+                        .requestMatchers("/api/fx/**").hasAnyRole("CUSTOMER", "EMPLOYEE")
+
+                        // Statement and reconciliation endpoints
+                        .requestMatchers("/api/statements/**").hasRole("EMPLOYEE")
+                        .requestMatchers("/api/reconciliation/**").hasRole("EMPLOYEE")
+
+                        // Auto-approval rules
+                        .requestMatchers("/api/approval-rules/**").hasRole("EMPLOYEE")
+
+                        // Portfolio endpoints
+                        .requestMatchers("/api/portfolio").hasAnyRole("CUSTOMER", "EMPLOYEE")
+
+                        // Actuator endpoints (health for probes, startup timeline for employees)
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("EMPLOYEE")
+
                         .anyRequest().authenticated()
                 )
 
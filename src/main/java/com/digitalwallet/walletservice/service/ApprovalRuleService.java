@@ -0,0 +1,35 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.rules.ApprovalContext;
+import com.digitalwallet.walletservice.rules.ApprovalRuleSet;
+
+/**
+ * Service interface deciding whether deposits and withdrawals are approved immediately or left pending.
+ */
+public interface ApprovalRuleService {
+
+    /**
+     * Decides the initial status of a transaction with the rules currently in effect and counts the hit
+     * of the deciding rule. Never blocks and never queries the database.
+     *
+     * @param context the transaction
+     * @return {@link TransactionStatus#APPROVED} or {@link TransactionStatus#PENDING}
+     */
+    TransactionStatus evaluate(ApprovalContext context);
+
+    /**
+     * Returns the rule set currently in effect.
+     *
+     * @return the current {@link ApprovalRuleSet}
+     */
+    ApprovalRuleSet getRuleSet();
+
+    /**
+     * Reloads the rule file and atomically replaces the current rule set if the rules changed.
+     * If the file cannot be read or is invalid, the previous rules stay in effect.
+     *
+     * @return the rule set in effect after the reload
+     */
+    ApprovalRuleSet reload();
+}
@@ -0,0 +1,134 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.rules.ApprovalContext;
+import com.digitalwallet.walletservice.rules.ApprovalRule;
+import com.digitalwallet.walletservice.rules.ApprovalRuleParser;
+import com.digitalwallet.walletservice.rules.ApprovalRuleSet;
+import com.digitalwallet.walletservice.rules.RuleHits;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of {@link ApprovalRuleService} backed by a compiled, in-memory {@link ApprovalRuleSet}.
+ * <p>
+ * The rule file ({@code wallet.approval.rules-file}) is re-read every {@code wallet.approval.rules.refresh-interval}
+ * and the rule set replaced as a whole (a single volatile write) when its content changed, so rules can be changed
+ * without a restart. Hits are published as {@code wallet.approval.rules.hits}, tagged with {@code rule} and
+ * {@code outcome}.
+ */
+@Service
+public class ApprovalRuleServiceImpl implements ApprovalRuleService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalRuleServiceImpl.class);
+
+    private final Resource rulesFile;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RuleHits> hits = new ConcurrentHashMap<>();
+
+    private volatile ApprovalRuleSet ruleSet;
+
+    /**
+     * Constructs an {@code ApprovalRuleServiceImpl}.
+     *
+     * @param rulesFile     location of the rule file ({@code file:} or {@code classpath:})
+     * @param meterRegistry registry the rule hit counters are published to
+     */
+    public ApprovalRuleServiceImpl(
+            @Value("${wallet.approval.rules-file:classpath:approval-rules.properties}") Resource rulesFile,
+            MeterRegistry meterRegistry) {
+        this.rulesFile = rulesFile;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Loads the initial rules. Startup fails if the rule file cannot be read or is invalid.
+     */
+    @PostConstruct
+    public void init() {
+        ruleSet = ApprovalRuleParser.parse(read(), 1, rulesFile.getDescription(), this::hits);
+    }
+
+    @Override
+    public TransactionStatus evaluate(ApprovalContext context) {
+        ApprovalRule rule = ruleSet.evaluate(context);
+        TransactionStatus status = rule.decide(context.getAmount());
+        rule.getHits().record(status);
+        return status;
+    }
+
+    @Override
+    public ApprovalRuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * Periodically reloads the rule file.
+     */
+    @Scheduled(fixedDelayString = "${wallet.approval.rules.refresh-interval:10s}",
+            initialDelayString = "${wallet.approval.rules.refresh-interval:10s}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    @Override
+    public synchronized ApprovalRuleSet reload() {
+        ApprovalRuleSet current = ruleSet;
+        try {
+            Map<String, String> definition = read();
+            if (!definition.equals(current.getDefinition())) {
+                ApprovalRuleSet loaded = ApprovalRuleParser.parse(definition, current.getVersion() + 1,
+                        rulesFile.getDescription(), this::hits);
+                ruleSet = loaded;
+                log.info("Approval rules updated to version {} from {}", loaded.getVersion(), loaded.getSource());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not reload approval rules from {}, keeping version {}", rulesFile.getDescription(),
+                    current.getVersion(), ex);
+        }
+        return ruleSet;
+    }
+
+    private RuleHits hits(String rule) {
+        return hits.computeIfAbsent(rule, name -> {
+            RuleHits ruleHits = new RuleHits();
+            FunctionCounter.builder("wallet.approval.rules.hits", ruleHits, RuleHits::getApproved)
+                    .tag("rule", name).tag("outcome", "approved")
+                    .description("Transactions decided by the approval rule").register(meterRegistry);
+            FunctionCounter.builder("wallet.approval.rules.hits", ruleHits, RuleHits::getPending)
+                    .tag("rule", name).tag("outcome", "pending")
+                    .description("Transactions decided by the approval rule").register(meterRegistry);
+            return ruleHits;
+        });
+    }
+
+    private Map<String, String> read() {
+        Properties properties = new Properties();
+        try (InputStream in = rulesFile.getInputStream()) {
+            properties.load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read approval rules from " + rulesFile, ex);
+        }
+
+        Map<String, String> definition = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            definition.put(name.trim(), properties.getProperty(name).trim());
+        }
+        return definition;
+    }
+}
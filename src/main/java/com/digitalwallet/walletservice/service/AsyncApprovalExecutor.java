@@ -0,0 +1,392 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.approval.ApprovalJob;
+import com.digitalwallet.walletservice.approval.ApprovalOutcome;
+import com.digitalwallet.walletservice.bulkhead.BulkheadContext;
+import com.digitalwallet.walletservice.bulkhead.BulkheadType;
+import com.digitalwallet.walletservice.dto.TransactionApprovalRequest;
+import com.digitalwallet.walletservice.exception.ApprovalJobNotFoundException;
+import com.digitalwallet.walletservice.exception.ApprovalQueueFullException;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Processes approvals asynchronously on a pool of worker threads, coalescing the approvals of the same wallet.
+ * <p>
+ * Submitted approvals are queued per wallet. A wallet with queued approvals is handed to one worker at a time,
+ * which takes up to {@code wallet.approval.async.max-batch-size} of them and applies them with
+ * {@link TransactionService#approveTransactions} in one transaction: the wallet row is locked and updated once per
+ * batch instead of once per approval, and no two workers ever wait for the same wallet lock. Approvals arriving
+ * while a wallet's batch is running are picked up by the next batch.
+ * <p>
+ * Results are kept for {@code wallet.approval.async.retention} after completion so they can be polled. Queued
+ * approvals are not persisted: after a restart their transactions are still PENDING and can be submitted again.
+ * <p>
+ * The queue is published as Micrometer metrics:
+ * <ul>
+ *   <li>{@code wallet.approval.queue.depth} / {@code wallet.approval.queue.wallets}: approvals and wallets
+ *       waiting now</li>
+ *   <li>{@code wallet.approval.queue.oldest}: age of the oldest waiting approval</li>
+ *   <li>{@code wallet.approval.lag}: time from submission to completion</li>
+ *   <li>{@code wallet.approval.items}: completed approvals by {@code outcome} ({@code succeeded}, {@code failed})</li>
+ *   <li>{@code wallet.approval.batches}: committed batches; with {@code wallet.approval.items} the coalescing
+ *       rate</li>
+ * </ul>
+ */
+@Component
+public class AsyncApprovalExecutor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncApprovalExecutor.class);
+
+    private final TransactionService transactionService;
+    private final TransactionRepository transactionRepository;
+    private final boolean enabled;
+    private final int workerCount;
+    private final int maxBatchSize;
+    private final int queueCapacity;
+    private final int maxRequestSize;
+    private final long retentionNanos;
+
+    private final Map<String, ApprovalJob> jobs = new ConcurrentHashMap<>();
+    // Wallets with queued approvals; a wallet stays in here while a worker processes it. Guarded by itself.
+    private final Map<Long, ArrayDeque<ApprovalJob>> queuedByWallet = new HashMap<>();
+    private final BlockingQueue<Long> readyWallets = new LinkedBlockingQueue<>();
+    private int queued;
+
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong completedLagNanos = new AtomicLong();
+
+    private volatile boolean running;
+    private final List<Thread> workers = new ArrayList<>();
+
+    /**
+     * Constructs an {@code AsyncApprovalExecutor}.
+     *
+     * @param transactionService    the service applying the coalesced approvals
+     * @param transactionRepository repository used to find the wallet of each submitted transaction
+     * @param enabled               whether asynchronous approvals are accepted at all
+     * @param workerCount           number of worker threads
+     * @param maxBatchSize          maximum number of approvals of one wallet applied in one transaction
+     * @param queueCapacity         maximum number of approvals waiting for a worker
+     * @param maxRequestSize        maximum number of approvals per submission
+     * @param retention             how long the results of completed approvals can be polled
+     */
+    public AsyncApprovalExecutor(TransactionService transactionService, TransactionRepository transactionRepository,
+                                 @Value("${wallet.approval.async.enabled:true}") boolean enabled,
+                                 @Value("${wallet.approval.async.workers:2}") int workerCount,
+                                 @Value("${wallet.approval.async.max-batch-size:100}") int maxBatchSize,
+                                 @Value("${wallet.approval.async.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${wallet.approval.async.max-request-size:1000}") int maxRequestSize,
+                                 @Value("${wallet.approval.async.retention:15m}") Duration retention) {
+        if (workerCount < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException(
+                    "wallet.approval.async.workers and max-batch-size must be at least 1");
+        }
+        this.transactionService = transactionService;
+        this.transactionRepository = transactionRepository;
+        this.enabled = enabled;
+        this.workerCount = workerCount;
+        this.maxBatchSize = maxBatchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxRequestSize = maxRequestSize;
+        this.retentionNanos = retention.toNanos();
+    }
+
+    /**
+     * Starts the worker threads when asynchronous approvals are enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "approval-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Asynchronous approvals enabled (workers={}, maxBatchSize={})", workerCount, maxBatchSize);
+    }
+
+    /**
+     * Stops the worker threads after their current batch. Approvals still queued are dropped.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Queues approvals for asynchronous processing.
+     * <p>
+     * Approvals of unknown transactions complete immediately as failed. Either all approvals are queued or,
+     * if they do not fit into the queue, none.
+     *
+     * @param requests the approvals
+     * @return one job per approval, in request order
+     * @throws IllegalStateException       if asynchronous approvals are disabled
+     * @throws IllegalArgumentException    if more than {@code wallet.approval.async.max-request-size} approvals
+     *                                     are submitted at once
+     * @throws ApprovalQueueFullException  if the approvals do not fit into the queue
+     */
+    public List<ApprovalJob> submit(List<TransactionApprovalRequest> requests) {
+        if (!running) {
+            throw new IllegalStateException("Asynchronous approvals are disabled.");
+        }
+        if (requests.size() > maxRequestSize) {
+            throw new IllegalArgumentException("At most " + maxRequestSize + " approvals can be submitted at once.");
+        }
+
+        Map<Long, Long> walletIds = new HashMap<>();
+        for (Object[] row : transactionRepository.findWalletIds(requests.stream()
+                .map(TransactionApprovalRequest::getTransactionId)
+                .collect(Collectors.toSet()))) {
+            walletIds.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<ApprovalJob> submitted = new ArrayList<>(requests.size());
+        for (TransactionApprovalRequest request : requests) {
+            submitted.add(new ApprovalJob(request.getTransactionId(), request.getStatus(),
+                    walletIds.get(request.getTransactionId())));
+        }
+
+        synchronized (queuedByWallet) {
+            long toQueue = submitted.stream().filter(job -> job.getWalletId() != null).count();
+            if (queued + toQueue > queueCapacity) {
+                throw new ApprovalQueueFullException("The approval queue is full. Please retry later.");
+            }
+            for (ApprovalJob job : submitted) {
+                jobs.put(job.getId(), job);
+                if (job.getWalletId() == null) {
+                    complete(job, ApprovalOutcome.failed(job.getTransactionId(), "Transaction not found"));
+                    continue;
+                }
+                ArrayDeque<ApprovalJob> walletQueue = queuedByWallet.get(job.getWalletId());
+                if (walletQueue == null) {
+                    walletQueue = new ArrayDeque<>();
+                    queuedByWallet.put(job.getWalletId(), walletQueue);
+                    readyWallets.add(job.getWalletId());
+                }
+                walletQueue.add(job);
+                queued++;
+            }
+        }
+        return submitted;
+    }
+
+    /**
+     * Returns an approval job.
+     *
+     * @param jobId the job ID
+     * @return the job
+     * @throws ApprovalJobNotFoundException if the job is unknown or its result is no longer retained
+     */
+    public ApprovalJob getJob(String jobId) {
+        ApprovalJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ApprovalJobNotFoundException("Approval job not found: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Forgets completed jobs older than the retention, every {@code wallet.approval.async.purge-interval}.
+     */
+    @Scheduled(fixedDelayString = "${wallet.approval.async.purge-interval:60s}")
+    public void purgeCompletedJobs() {
+        long now = System.nanoTime();
+        jobs.values().removeIf(job -> job.isDone() && now - job.getCompletedNanos() > retentionNanos);
+    }
+
+    /**
+     * @return number of approvals waiting for a worker
+     */
+    public int getQueueDepth() {
+        synchronized (queuedByWallet) {
+            return queued;
+        }
+    }
+
+    /**
+     * @return number of wallets with approvals waiting or being processed
+     */
+    public int getQueuedWallets() {
+        synchronized (queuedByWallet) {
+            return queuedByWallet.size();
+        }
+    }
+
+    /**
+     * @return age of the oldest approval waiting for a worker in nanoseconds, 0 if none is waiting
+     */
+    public long getOldestQueuedNanos() {
+        long now = System.nanoTime();
+        long oldest = 0;
+        synchronized (queuedByWallet) {
+            for (ArrayDeque<ApprovalJob> walletQueue : queuedByWallet.values()) {
+                ApprovalJob head = walletQueue.peekFirst();
+                if (head != null) {
+                    oldest = Math.max(oldest, now - head.getSubmittedNanos());
+                }
+            }
+        }
+        return oldest;
+    }
+
+    public long getSucceeded() {
+        return succeeded.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * Main loop of a worker: takes a wallet with queued approvals and applies a batch of them.
+     */
+    private void runWorker() {
+        // Approvals are money movement, so they use that bulkhead's connection pool when pools are partitioned
+        BulkheadContext.set(BulkheadType.MONEY_MOVEMENT);
+        while (running) {
+            Long walletId;
+            try {
+                walletId = readyWallets.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                continue;
+            }
+            if (walletId == null) {
+                continue;
+            }
+
+            List<ApprovalJob> batch = new ArrayList<>();
+            synchronized (queuedByWallet) {
+                ArrayDeque<ApprovalJob> walletQueue = queuedByWallet.get(walletId);
+                while (batch.size() < maxBatchSize && !walletQueue.isEmpty()) {
+                    ApprovalJob job = walletQueue.pollFirst();
+                    job.markProcessing();
+                    batch.add(job);
+                }
+                queued -= batch.size();
+            }
+
+            try {
+                process(walletId, batch);
+            } catch (RuntimeException ex) {
+                log.error("Approval worker failed to process a batch of wallet {}", walletId, ex);
+            } finally {
+                synchronized (queuedByWallet) {
+                    if (queuedByWallet.get(walletId).isEmpty()) {
+                        queuedByWallet.remove(walletId);
+                    } else {
+                        // More approvals arrived while this batch ran
+                        readyWallets.add(walletId);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies a batch of one wallet's approvals in one transaction. If the transaction itself fails, each
+     * approval is retried alone so that one bad approval cannot fail the others.
+     *
+     * @param walletId the wallet
+     * @param batch    its approvals
+     */
+    private void process(Long walletId, List<ApprovalJob> batch) {
+        List<TransactionApprovalRequest> requests = batch.stream()
+                .map(job -> new TransactionApprovalRequest(job.getTransactionId(), job.getRequestedStatus()))
+                .collect(Collectors.toList());
+        List<ApprovalOutcome> outcomes;
+        try {
+            outcomes = transactionService.approveTransactions(walletId, requests);
+        } catch (RuntimeException ex) {
+            if (batch.size() > 1) {
+                for (ApprovalJob job : batch) {
+                    process(walletId, List.of(job));
+                }
+                return;
+            }
+            complete(batch.get(0), ApprovalOutcome.failed(batch.get(0).getTransactionId(), ex.getMessage()));
+            return;
+        }
+
+        batches.incrementAndGet();
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), outcomes.get(i));
+        }
+    }
+
+    private void complete(ApprovalJob job, ApprovalOutcome outcome) {
+        job.complete(outcome);
+        completedLagNanos.addAndGet(job.getLagNanos());
+        (outcome.isSucceeded() ? succeeded : failed).incrementAndGet();
+    }
+
+    private long getCompleted() {
+        return succeeded.get() + failed.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("wallet.approval.queue.depth", this, AsyncApprovalExecutor::getQueueDepth)
+                .description("Approvals waiting for a worker").register(registry);
+        Gauge.builder("wallet.approval.queue.wallets", this, AsyncApprovalExecutor::getQueuedWallets)
+                .description("Wallets with approvals waiting or being processed").register(registry);
+        TimeGauge.builder("wallet.approval.queue.oldest", this, TimeUnit.NANOSECONDS,
+                        AsyncApprovalExecutor::getOldestQueuedNanos)
+                .description("Age of the oldest approval waiting for a worker").register(registry);
+        FunctionTimer.builder("wallet.approval.lag", this, AsyncApprovalExecutor::getCompleted,
+                        executor -> executor.completedLagNanos.get(), TimeUnit.NANOSECONDS)
+                .description("Time from submission to completion of approvals").register(registry);
+        FunctionCounter.builder("wallet.approval.items", this, AsyncApprovalExecutor::getSucceeded)
+                .tag("outcome", "succeeded").register(registry);
+        FunctionCounter.builder("wallet.approval.items", this, AsyncApprovalExecutor::getFailed)
+                .tag("outcome", "failed").register(registry);
+        FunctionCounter.builder("wallet.approval.batches", this, AsyncApprovalExecutor::getBatches)
+                .description("Coalesced approval transactions committed").register(registry);
+    }
+}
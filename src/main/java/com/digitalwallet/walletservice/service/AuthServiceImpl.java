@@ -5,6 +5,7 @@ import com.digitalwallet.walletservice.dto.AuthRequest;
 import com.digitalwallet.walletservice.dto.AuthResponse;
 import com.digitalwallet.walletservice.dto.RegisterRequest;
 import com.digitalwallet.walletservice.enums.Role;
+import com.digitalwallet.walletservice.identity.IdentityLookupService;
 import com.digitalwallet.walletservice.model.Customer;
 import com.digitalwallet.walletservice.model.Employee;
 import com.digitalwallet.walletservice.repository.CustomerRepository;
@@ -24,23 +25,27 @@ public class AuthServiceImpl implements AuthService {
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final IdentityLookupService identityLookupService;
 
     /**
      * Constructs an instance of {@code AuthServiceImpl} with required dependencies.
      *
-     * @param customerRepository repository for customer persistence operations
-     * @param employeeRepository repository for employee persistence operations
-     * @param passwordEncoder    utility for password hashing and verification
-     * @param jwtService         service for JWT token generation and validation
+     * @param customerRepository    repository for customer persistence operations
+     * @param employeeRepository    repository for employee persistence operations
+     * @param passwordEncoder       utility for password hashing and verification
+     * @param jwtService            service for JWT token generation and validation
+     * @param identityLookupService lookup of customers and employees by their login name
      */
     public AuthServiceImpl(CustomerRepository customerRepository,
                            EmployeeRepository employeeRepository,
                            PasswordEncoder passwordEncoder,
-                           JwtService jwtService) {
+                           JwtService jwtService,
+                           IdentityLookupService identityLookupService) {
         this.customerRepository = customerRepository;
         this.employeeRepository = employeeRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
+        this.identityLookupService = identityLookupService;
     }
 
 
@@ -107,13 +112,14 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public AuthResponse login(AuthRequest request) {
         if ("CUSTOMER".equalsIgnoreCase(request.getRole())) {
-            return customerRepository.findByTckn(request.getTckn())
+            // Unknown TCKNs are rejected by the identity Bloom filter without a query
+            return identityLookupService.findCustomer(request.getTckn())
                     .filter(c -> passwordEncoder.matches(request.getPassword(), c.getPassword()))
                     .map(c -> new AuthResponse(jwtService.generateToken(c)))
                     .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
 
         } else if ("EMPLOYEE".equalsIgnoreCase(request.getRole())) {
-            return employeeRepository.findByEmail(request.getEmail())
+            return identityLookupService.findEmployee(request.getEmail())
                     .filter(e -> passwordEncoder.matches(request.getPassword(), e.getPassword()))
                     .map(e -> new AuthResponse(jwtService.generateToken(e)))
                     .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
@@ -0,0 +1,51 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.fx.FxQuote;
+import com.digitalwallet.walletservice.fx.FxRateSnapshot;
+
+import java.math.BigDecimal;
+
+/**
+ * Service interface for exchange rates and rate quotes between wallet currencies.
+ */
+public interface FxService {
+
+    /**
+     * Returns the rate snapshot currently in effect. Never blocks.
+     *
+     * @return the current {@link FxRateSnapshot}
+     */
+    FxRateSnapshot getSnapshot();
+
+    /**
+     * Reloads rates from the configured provider and atomically replaces the current snapshot.
+     * If loading fails, the previous snapshot stays in effect.
+     *
+     * @return the snapshot in effect after the reload
+     */
+    FxRateSnapshot reload();
+
+    /**
+     * Creates a quote locking the current rate between two currencies for a short time.
+     *
+     * @param from the currency being sold
+     * @param to   the currency being bought
+     * @return the created {@link FxQuote}
+     */
+    FxQuote quote(Currency from, Currency to);
+
+    /**
+     * Resolves the rate to use for a conversion.
+     * <p>
+     * If {@code quoteId} is given, the quote is consumed and must match the currencies and not be expired;
+     * otherwise the current snapshot rate is used.
+     *
+     * @param quoteId optional ID of a previously issued quote
+     * @param from    the currency being sold
+     * @param to      the currency being bought
+     * @return units of {@code to} per unit of {@code from}
+     * @throws IllegalArgumentException if the quote is unknown, expired or for other currencies
+     */
+    BigDecimal resolveRate(String quoteId, Currency from, Currency to);
+}
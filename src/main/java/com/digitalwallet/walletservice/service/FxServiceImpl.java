@@ -0,0 +1,124 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.event.FxRatesUpdatedEvent;
+import com.digitalwallet.walletservice.fx.FxQuote;
+import com.digitalwallet.walletservice.fx.FxQuoteCache;
+import com.digitalwallet.walletservice.fx.FxRateProvider;
+import com.digitalwallet.walletservice.fx.FxRateSnapshot;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link FxService} backed by an in-memory rate snapshot.
+ * <p>
+ * The snapshot is replaced as a whole on reload (a single volatile write), so request threads
+ * reading rates never wait for a reload in progress. Quotes are kept in a bounded {@link FxQuoteCache}.
+ * Every swap is announced with an {@link FxRatesUpdatedEvent}.
+ */
+@Service
+public class FxServiceImpl implements FxService {
+
+    private static final Logger log = LoggerFactory.getLogger(FxServiceImpl.class);
+
+    private final FxRateProvider rateProvider;
+    private final Duration quoteTtl;
+    private final FxQuoteCache quoteCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile FxRateSnapshot snapshot;
+
+    /**
+     * Constructs an {@code FxServiceImpl}.
+     *
+     * @param rateProvider  the source of exchange rates
+     * @param quoteTtl      how long a quoted rate stays valid
+     * @param quoteCacheSize maximum number of outstanding quotes
+     * @param eventPublisher publisher for {@link FxRatesUpdatedEvent}s
+     */
+    public FxServiceImpl(FxRateProvider rateProvider,
+                         @Value("${wallet.fx.quote-ttl:30s}") Duration quoteTtl,
+                         @Value("${wallet.fx.quote-cache-size:10000}") int quoteCacheSize,
+                         ApplicationEventPublisher eventPublisher) {
+        this.rateProvider = rateProvider;
+        this.quoteTtl = quoteTtl;
+        this.quoteCache = new FxQuoteCache(quoteCacheSize);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Loads the initial snapshot. Startup fails if no rates can be loaded.
+     */
+    @PostConstruct
+    public void init() {
+        snapshot = load(1);
+    }
+
+    @Override
+    public FxRateSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Periodically reloads rates from the provider.
+     */
+    @Scheduled(fixedDelayString = "${wallet.fx.refresh-interval:60s}", initialDelayString = "${wallet.fx.refresh-interval:60s}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    @Override
+    public synchronized FxRateSnapshot reload() {
+        FxRateSnapshot current = snapshot;
+        try {
+            FxRateSnapshot loaded = load(current.getVersion() + 1);
+            if (!loaded.getBaseRates().equals(current.getBaseRates())) {
+                snapshot = loaded;
+                log.info("FX rates updated to version {} from {}", loaded.getVersion(), loaded.getSource());
+                eventPublisher.publishEvent(new FxRatesUpdatedEvent(loaded));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not reload FX rates from {}, keeping version {}", rateProvider.getName(),
+                    current.getVersion(), ex);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public FxQuote quote(Currency from, Currency to) {
+        FxQuote quote = new FxQuote(UUID.randomUUID().toString(), from, to,
+                snapshot.rate(from, to), Instant.now().plus(quoteTtl));
+        quoteCache.put(quote);
+        return quote;
+    }
+
+    @Override
+    public BigDecimal resolveRate(String quoteId, Currency from, Currency to) {
+        if (quoteId == null) {
+            return snapshot.rate(from, to);
+        }
+
+        FxQuote quote = quoteCache.take(quoteId, Instant.now());
+        if (quote == null) {
+            throw new IllegalArgumentException("FX quote not found or expired");
+        }
+        if (quote.getFrom() != from || quote.getTo() != to) {
+            throw new IllegalArgumentException("FX quote does not match the wallet currencies");
+        }
+        return quote.getRate();
+    }
+
+    private FxRateSnapshot load(long version) {
+        return new FxRateSnapshot(version, Instant.now(), rateProvider.getName(), rateProvider.loadRates());
+    }
+}
@@ -0,0 +1,406 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.bulkhead.BulkheadContext;
+import com.digitalwallet.walletservice.bulkhead.BulkheadType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Executes money-moving operations (deposit, withdraw) with group commit.
+ * <p>
+ * Operations submitted within a short window are collected by a single flusher thread and executed
+ * in one JDBC transaction, so a burst of requests pays for one commit (and one fsync) instead of one per request.
+ * The window closes when either {@code wallet.group-commit.window} elapses or
+ * {@code wallet.group-commit.max-batch-size} operations have been collected:
+ * <ul>
+ *   <li>a longer window / larger batch gives higher commits-per-second savings but adds up to one window of latency</li>
+ *   <li>a shorter window / smaller batch keeps latency low but amortizes fewer commits</li>
+ * </ul>
+ * If an operation fails, the whole batch is rolled back, the failing operation receives its exception and the
+ * remaining operations are retried without it. Callers only get their result after the batch has committed.
+ * <p>
+ * Group commit is disabled by default; when disabled, or when the caller already runs inside a transaction,
+ * {@link #submit(Supplier)} simply runs the operation on the calling thread. The same happens to an operation
+ * submitted while the executor stops, or one still queued after {@code wallet.group-commit.await-timeout}. Should the
+ * flusher hit an {@link Error}, the operations of its batch fail with it and the flusher carries on, so no caller is
+ * left waiting.
+ */
+@Component
+public class GroupCommitExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitExecutor.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long awaitTimeoutNanos;
+    private final BlockingQueue<PendingOperation<?>> queue;
+
+    private final AtomicLong committedBatches = new AtomicLong();
+    private final AtomicLong committedOperations = new AtomicLong();
+    private final AtomicLong failedOperations = new AtomicLong();
+    private final AtomicLong retriedBatches = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    /**
+     * Constructs a {@code GroupCommitExecutor}.
+     *
+     * @param transactionManager the transaction manager used to open the shared batch transaction
+     * @param enabled            whether operations are grouped at all
+     * @param window             how long the flusher waits for more operations after the first one arrives
+     * @param maxBatchSize       maximum number of operations committed together
+     * @param queueCapacity      maximum number of operations waiting for the flusher
+     * @param awaitTimeout       how long a caller waits for its batch before giving up
+     */
+    public GroupCommitExecutor(PlatformTransactionManager transactionManager,
+                               @Value("${wallet.group-commit.enabled:false}") boolean enabled,
+                               @Value("${wallet.group-commit.window:2ms}") Duration window,
+                               @Value("${wallet.group-commit.max-batch-size:256}") int maxBatchSize,
+                               @Value("${wallet.group-commit.queue-capacity:4096}") int queueCapacity,
+                               @Value("${wallet.group-commit.await-timeout:30s}") Duration awaitTimeout) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("wallet.group-commit.max-batch-size must be at least 1");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.awaitTimeoutNanos = awaitTimeout.toNanos();
+    }
+
+    /**
+     * Starts the flusher thread when group commit is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "group-commit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Group commit enabled (window={}us, maxBatchSize={})", windowNanos / 1000, maxBatchSize);
+    }
+
+    /**
+     * Stops the flusher thread after the queued operations have been committed.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Executes the given operation, grouping its commit with other concurrently submitted operations.
+     * <p>
+     * Blocks until the batch containing the operation has committed (or the operation has failed).
+     * Runtime exceptions and errors thrown by the operation are rethrown unchanged to the caller.
+     *
+     * @param operation the operation to execute; it must only touch the database through transactional code
+     * @param <T>       the operation result type
+     * @return the result of the operation
+     * @throws IllegalStateException if the operation's batch was still running after the await timeout, in which
+     *                               case the operation may or may not have committed
+     */
+    public <T> T submit(Supplier<T> operation) {
+        if (!running || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return operation.get();
+        }
+
+        PendingOperation<T> pending = new PendingOperation<>(operation, SecurityContextHolder.getContext());
+        if (!queue.offer(pending)) {
+            // Saturated: fall back to a dedicated transaction instead of rejecting the request
+            return operation.get();
+        }
+        // Stopped after the check above: the flusher may have drained the queue and exited without seeing it
+        if (!running && queue.remove(pending)) {
+            return operation.get();
+        }
+        if (!pending.await(awaitTimeoutNanos)) {
+            if (queue.remove(pending)) {
+                return operation.get();
+            }
+            throw new IllegalStateException("The batch of this operation did not complete in time; "
+                    + "it may still commit.");
+        }
+        return pending.result();
+    }
+
+    /**
+     * Returns whether group commit is active.
+     *
+     * @return {@code true} if operations are being grouped
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Returns the number of batch transactions committed so far.
+     *
+     * @return committed batch count
+     */
+    public long getCommittedBatches() {
+        return committedBatches.get();
+    }
+
+    /**
+     * Returns the number of operations committed so far.
+     *
+     * @return committed operation count
+     */
+    public long getCommittedOperations() {
+        return committedOperations.get();
+    }
+
+    /**
+     * Returns the number of operations that failed and were isolated from their batch.
+     *
+     * @return failed operation count
+     */
+    public long getFailedOperations() {
+        return failedOperations.get();
+    }
+
+    /**
+     * Returns the number of times a batch was re-executed after one of its operations failed.
+     *
+     * @return retried batch count
+     */
+    public long getRetriedBatches() {
+        return retriedBatches.get();
+    }
+
+    /**
+     * Main loop of the flusher thread: collects a batch and commits it, until stopped and drained.
+     */
+    private void runFlusher() {
+        // Batched commits are money movement, so they use that bulkhead's connection pool when pools are partitioned
+        BulkheadContext.set(BulkheadType.MONEY_MOVEMENT);
+        while (running || !queue.isEmpty()) {
+            List<PendingOperation<?>> batch = new ArrayList<>();
+            try {
+                collectBatch(batch);
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                }
+            } catch (InterruptedException ex) {
+                if (!running) {
+                    // Shutting down: commit whatever is still queued without waiting for a window
+                    queue.drainTo(batch);
+                }
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                }
+            } catch (Throwable ex) {
+                // Whatever went wrong, nobody may be left waiting for this batch
+                log.error("Group commit flusher failed to process a batch", ex);
+                batch.forEach(operation -> operation.fail(ex));
+            }
+        }
+    }
+
+    /**
+     * Waits for the first operation and then keeps collecting until the window closes or the batch is full.
+     *
+     * @param batch the list to collect into; stays empty if nothing arrived
+     * @throws InterruptedException if the flusher is interrupted while waiting
+     */
+    private void collectBatch(List<PendingOperation<?>> batch) throws InterruptedException {
+        PendingOperation<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                break;
+            }
+            PendingOperation<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Executes the batch in one transaction, isolating failing operations and retrying the rest.
+     *
+     * @param batch the operations to commit together
+     */
+    private void commit(List<PendingOperation<?>> batch) {
+        List<PendingOperation<?>> remaining = new ArrayList<>(batch);
+
+        while (!remaining.isEmpty()) {
+            List<PendingOperation<?>> attempt = remaining;
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (PendingOperation<?> operation : attempt) {
+                        operation.execute();
+                    }
+                });
+            } catch (OperationFailedException ex) {
+                ex.getOperation().fail(ex.getCause());
+                failedOperations.incrementAndGet();
+                remaining = new ArrayList<>(attempt);
+                remaining.remove(ex.getOperation());
+                if (!remaining.isEmpty()) {
+                    retriedBatches.incrementAndGet();
+                }
+                continue;
+            } catch (RuntimeException | Error ex) {
+                // The commit itself failed and cannot be attributed to one operation: commit each one alone
+                if (attempt.size() == 1) {
+                    attempt.get(0).fail(ex);
+                    failedOperations.incrementAndGet();
+                } else {
+                    retriedBatches.incrementAndGet();
+                    for (PendingOperation<?> operation : attempt) {
+                        commit(List.of(operation));
+                    }
+                }
+                return;
+            }
+
+            committedBatches.incrementAndGet();
+            committedOperations.addAndGet(attempt.size());
+            attempt.forEach(PendingOperation::complete);
+            return;
+        }
+    }
+
+    /**
+     * An operation waiting to be executed by the flusher, together with the caller's security context.
+     *
+     * @param <T> the operation result type
+     */
+    private static final class PendingOperation<T> {
+
+        private final Supplier<T> operation;
+        private final SecurityContext securityContext;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+
+        private PendingOperation(Supplier<T> operation, SecurityContext securityContext) {
+            this.operation = operation;
+            this.securityContext = securityContext;
+        }
+
+        /**
+         * Runs the operation inside the current batch transaction under the caller's security context.
+         * The result is only kept tentatively until the batch commits.
+         */
+        private void execute() {
+            SecurityContext previous = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                result = operation.get();
+            } catch (RuntimeException | Error ex) {
+                throw new OperationFailedException(this, ex);
+            } finally {
+                SecurityContextHolder.setContext(previous);
+            }
+        }
+
+        private void complete() {
+            future.complete(result);
+        }
+
+        private void fail(Throwable cause) {
+            future.completeExceptionally(cause);
+        }
+
+        /**
+         * @param timeoutNanos the longest time to wait
+         * @return {@code true} once the operation has committed or failed, {@code false} if it has not in time
+         */
+        private boolean await(long timeoutNanos) {
+            try {
+                future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+                return true;
+            } catch (TimeoutException ex) {
+                return false;
+            } catch (ExecutionException ex) {
+                return true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /**
+         * @return the committed result
+         * @throws RuntimeException or {@link Error} as thrown by the operation or its commit
+         */
+        private T result() {
+            try {
+                return future.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (ex.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Signals that one operation of a batch failed, so the batch must be rolled back and retried without it.
+     */
+    private static final class OperationFailedException extends RuntimeException {
+
+        private final transient PendingOperation<?> operation;
+
+        private OperationFailedException(PendingOperation<?> operation, Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+            this.operation = operation;
+        }
+
+        private PendingOperation<?> getOperation() {
+            return operation;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.PortfolioResponse;
+
+/**
+ * Service interface for reading the total value of a customer's wallets in the base currency.
+ */
+public interface PortfolioService {
+
+    /**
+     * Returns the portfolio of the given customer.
+     * This method is typically restricted to ROLE_EMPLOYEE.
+     *
+     * @param customerId the ID of the customer
+     * @return the customer's {@link PortfolioResponse}
+     */
+    PortfolioResponse getPortfolio(Long customerId);
+
+    /**
+     * Returns the portfolio of the currently authenticated customer.
+     *
+     * @return the customer's {@link PortfolioResponse}
+     */
+    PortfolioResponse getPortfolioByToken();
+}
@@ -0,0 +1,172 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.PortfolioResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.event.FxRatesUpdatedEvent;
+import com.digitalwallet.walletservice.event.WalletBalanceChangedEvent;
+import com.digitalwallet.walletservice.fx.FxRateSnapshot;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.portfolio.CustomerPortfolio;
+import com.digitalwallet.walletservice.portfolio.PortfolioValuation;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of {@link PortfolioService} backed by an incrementally maintained in-memory aggregate.
+ * <p>
+ * The per-customer totals are loaded once at startup with a single grouped query, before the application
+ * accepts requests. From then on every committed {@link WalletBalanceChangedEvent} is applied as a delta and
+ * every {@link FxRatesUpdatedEvent} re-values all portfolios.
+ * <p>
+ * The deltas only cover balance changes committed by this instance, not those of other instances or of the reactive
+ * API. A portfolio is therefore read from memory only while its totals are younger than
+ * {@code wallet.portfolio.max-age}; the first read after that reloads the customer's totals with one grouped query
+ * over their wallets. A portfolio is thus never more than {@code max-age} behind the database while it is read. A
+ * reload that overlaps a delta of the same customer is dropped, and the next read tries again.
+ */
+@Service
+public class PortfolioServiceImpl implements PortfolioService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioServiceImpl.class);
+
+    private final WalletRepository walletRepository;
+    private final CustomerRepository customerRepository;
+    private final FxService fxService;
+    private final long maxAgeMillis;
+
+    private final Map<Long, CustomerPortfolio> portfolios = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a {@code PortfolioServiceImpl}.
+     *
+     * @param walletRepository   repository used to load the initial totals
+     * @param customerRepository repository used to validate customer IDs
+     * @param fxService          service providing the snapshot portfolios are valued with
+     * @param maxAge             how long a portfolio is served before its totals are reloaded from the database
+     */
+    public PortfolioServiceImpl(WalletRepository walletRepository, CustomerRepository customerRepository,
+                                FxService fxService, @Value("${wallet.portfolio.max-age:60s}") Duration maxAge) {
+        this.walletRepository = walletRepository;
+        this.customerRepository = customerRepository;
+        this.fxService = fxService;
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    /**
+     * Loads the current totals of all customers.
+     */
+    @PostConstruct
+    public void init() {
+        FxRateSnapshot snapshot = fxService.getSnapshot();
+        long loadedAt = System.currentTimeMillis();
+        for (Object[] row : walletRepository.sumBalancesByCustomerAndCurrency()) {
+            Long customerId = (Long) row[0];
+            portfolios.computeIfAbsent(customerId, id -> new CustomerPortfolio(id, snapshot, loadedAt))
+                    .apply((Currency) row[1], (BigDecimal) row[2], (BigDecimal) row[3], snapshot);
+        }
+        log.info("Loaded portfolios of {} customers", portfolios.size());
+    }
+
+    @Override
+    public PortfolioResponse getPortfolio(Long customerId) {
+        if (!portfolios.containsKey(customerId) && !customerRepository.existsById(customerId)) {
+            throw new IllegalArgumentException("Customer not found.");
+        }
+        return mapToResponse(current(customerId).getValuation());
+    }
+
+    @Override
+    public PortfolioResponse getPortfolioByToken() {
+        Customer customer = (Customer) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return mapToResponse(current(customer.getId()).getValuation());
+    }
+
+    /**
+     * Returns the portfolio of an existing customer, reloading its totals first if they are older than
+     * {@code wallet.portfolio.max-age}.
+     *
+     * @param customerId the ID of the customer
+     * @return the portfolio
+     */
+    private CustomerPortfolio current(Long customerId) {
+        FxRateSnapshot snapshot = fxService.getSnapshot();
+        CustomerPortfolio portfolio = portfolio(customerId, snapshot);
+        long now = System.currentTimeMillis();
+        if (now - portfolio.getLoadedAt() < maxAgeMillis) {
+            return portfolio;
+        }
+        long changes = portfolio.getChanges();
+        BigDecimal[] balances = new BigDecimal[Currency.values().length];
+        BigDecimal[] usableBalances = new BigDecimal[Currency.values().length];
+        Arrays.fill(balances, BigDecimal.ZERO);
+        Arrays.fill(usableBalances, BigDecimal.ZERO);
+        for (Object[] row : walletRepository.sumBalancesByCurrency(customerId)) {
+            int currency = ((Currency) row[0]).ordinal();
+            balances[currency] = (BigDecimal) row[1];
+            usableBalances[currency] = (BigDecimal) row[2];
+        }
+        portfolio.replace(changes, balances, usableBalances, snapshot, now);
+        return portfolio;
+    }
+
+    /**
+     * Applies a committed balance change to the owning customer's portfolio.
+     *
+     * @param event the balance change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBalanceChanged(WalletBalanceChangedEvent event) {
+        FxRateSnapshot snapshot = fxService.getSnapshot();
+        portfolio(event.getCustomerId(), snapshot)
+                .apply(event.getCurrency(), event.getBalanceDelta(), event.getUsableBalanceDelta(), snapshot);
+    }
+
+    /**
+     * Re-values all portfolios against the new FX snapshot.
+     *
+     * @param event the rates update
+     */
+    @EventListener
+    public void onRatesUpdated(FxRatesUpdatedEvent event) {
+        portfolios.values().forEach(portfolio -> portfolio.revalue(event.getSnapshot()));
+    }
+
+    /**
+     * Returns the portfolio of a customer, creating one that was never loaded if there is none.
+     */
+    private CustomerPortfolio portfolio(Long customerId, FxRateSnapshot snapshot) {
+        return portfolios.computeIfAbsent(customerId, id -> new CustomerPortfolio(id, snapshot, 0));
+    }
+
+    /**
+     * Maps a {@link PortfolioValuation} to a {@link PortfolioResponse} DTO.
+     *
+     * @param valuation the valuation
+     * @return the response DTO
+     */
+    private PortfolioResponse mapToResponse(PortfolioValuation valuation) {
+        PortfolioResponse response = new PortfolioResponse();
+        response.setCustomerId(valuation.getCustomerId());
+        response.setBaseCurrency(FxRateSnapshot.BASE_CURRENCY);
+        response.setTotalValue(valuation.getTotalValue());
+        response.setUsableValue(valuation.getUsableValue());
+        response.setBalances(valuation.getBalances());
+        response.setFxVersion(valuation.getFxVersion());
+        return response;
+    }
+}
@@ -0,0 +1,29 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.ReconciliationReportResponse;
+import com.digitalwallet.walletservice.enums.ReconciliationMode;
+
+/**
+ * Service interface for checking wallet balances against the transactions that produced them.
+ */
+public interface ReconciliationService {
+
+    /**
+     * Runs a reconciliation.
+     * <p>
+     * An incremental run only checks wallets changed since the previous completed run and falls back
+     * to a full run if there is none.
+     *
+     * @param mode which wallets to check
+     * @return the {@link ReconciliationReportResponse} with the discrepancies found
+     */
+    ReconciliationReportResponse reconcile(ReconciliationMode mode);
+
+    /**
+     * Returns the report of an earlier run.
+     *
+     * @param runId the ID of the run
+     * @return the {@link ReconciliationReportResponse}
+     */
+    ReconciliationReportResponse getReport(Long runId);
+}
@@ -0,0 +1,261 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.BalanceDiscrepancyResponse;
+import com.digitalwallet.walletservice.dto.ReconciliationReportResponse;
+import com.digitalwallet.walletservice.enums.ReconciliationMode;
+import com.digitalwallet.walletservice.enums.ReconciliationStatus;
+import com.digitalwallet.walletservice.model.BalanceDiscrepancy;
+import com.digitalwallet.walletservice.model.ReconciliationRun;
+import com.digitalwallet.walletservice.reconciliation.WalletReconciliationRow;
+import com.digitalwallet.walletservice.repository.BalanceDiscrepancyRepository;
+import com.digitalwallet.walletservice.repository.ReconciliationRunRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link ReconciliationService} that checks wallets in parallel chunks.
+ * <p>
+ * Every chunk is one aggregate query ({@link WalletRepository#RECONCILIATION_SELECT}) over an ID range or an ID list,
+ * run in its own short read-only transaction. The query only reads, so it takes no row locks and sees the wallet
+ * and its transactions as of one statement; wallets that still look wrong are read once more before being
+ * reported, so a change committing between the two tables cannot produce a false discrepancy.
+ * <p>
+ * The start time of the latest completed run, minus {@code wallet.reconciliation.overlap} to cover clock skew
+ * and in-flight transactions, is the high-water mark: an incremental run only checks wallets changed since then.
+ */
+@Service
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationServiceImpl.class);
+
+    private final WalletRepository walletRepository;
+    private final ReconciliationRunRepository runRepository;
+    private final BalanceDiscrepancyRepository discrepancyRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration overlap;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructs a {@code ReconciliationServiceImpl}.
+     *
+     * @param walletRepository      repository running the aggregate queries
+     * @param runRepository         repository for run records
+     * @param discrepancyRepository repository for the discrepancies found
+     * @param transactionManager    transaction manager for the read-only chunk transactions
+     * @param chunkSize             number of wallet IDs checked per query
+     * @param parallelism           number of chunks checked concurrently
+     * @param overlap               how far before the previous run's start an incremental run looks back
+     */
+    public ReconciliationServiceImpl(WalletRepository walletRepository, ReconciliationRunRepository runRepository,
+                                     BalanceDiscrepancyRepository discrepancyRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${wallet.reconciliation.chunk-size:1000}") int chunkSize,
+                                     @Value("${wallet.reconciliation.parallelism:4}") int parallelism,
+                                     @Value("${wallet.reconciliation.overlap:5m}") Duration overlap) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("wallet.reconciliation.chunk-size must be at least 1");
+        }
+        this.walletRepository = walletRepository;
+        this.runRepository = runRepository;
+        this.discrepancyRepository = discrepancyRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.overlap = overlap;
+    }
+
+    /**
+     * Runs an incremental reconciliation on the {@code wallet.reconciliation.cron} schedule (disabled by default).
+     */
+    @Scheduled(cron = "${wallet.reconciliation.cron:-}")
+    public void scheduledRun() {
+        reconcile(ReconciliationMode.INCREMENTAL);
+    }
+
+    @Override
+    public ReconciliationReportResponse reconcile(ReconciliationMode mode) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A reconciliation run is already in progress.");
+        }
+        try {
+            return run(mode);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public ReconciliationReportResponse getReport(Long runId) {
+        ReconciliationRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Reconciliation run not found"));
+        return mapToResponse(run, discrepancyRepository.findByRunIdOrderByWalletId(runId));
+    }
+
+    private ReconciliationReportResponse run(ReconciliationMode requestedMode) {
+        ReconciliationRun run = new ReconciliationRun();
+        run.setStartedAt(LocalDateTime.now());
+        run.setStatus(ReconciliationStatus.RUNNING);
+        run.setMode(ReconciliationMode.FULL);
+        if (requestedMode == ReconciliationMode.INCREMENTAL) {
+            Optional<ReconciliationRun> previous =
+                    runRepository.findTopByStatusOrderByStartedAtDesc(ReconciliationStatus.COMPLETED);
+            if (previous.isPresent()) {
+                run.setMode(ReconciliationMode.INCREMENTAL);
+                run.setCheckedSince(previous.get().getStartedAt().minus(overlap));
+            }
+        }
+        run = runRepository.save(run);
+
+        List<Supplier<List<WalletReconciliationRow>>> chunks = run.getMode() == ReconciliationMode.FULL
+                ? rangeChunks() : changedWalletChunks(run.getCheckedSince());
+
+        long checked = 0;
+        boolean failed = false;
+        List<Long> suspects = new ArrayList<>();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<List<WalletReconciliationRow>>> tasks = new ArrayList<>();
+            for (Supplier<List<WalletReconciliationRow>> chunk : chunks) {
+                tasks.add(pool.submit(() -> readOnlyTransaction.execute(status -> chunk.get())));
+            }
+            for (ForkJoinTask<List<WalletReconciliationRow>> task : tasks) {
+                try {
+                    for (WalletReconciliationRow row : task.join()) {
+                        checked++;
+                        if (!row.isConsistent()) {
+                            suspects.add(row.getWalletId());
+                        }
+                    }
+                } catch (RuntimeException ex) {
+                    failed = true;
+                    log.error("Reconciliation chunk of run {} failed", run.getId(), ex);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<BalanceDiscrepancy> discrepancies = new ArrayList<>();
+        for (WalletReconciliationRow row : recheck(suspects)) {
+            discrepancies.add(new BalanceDiscrepancy(run.getId(), row.getWalletId(), row.getBalance(),
+                    row.getExpectedBalance(), row.getUsableBalance(), row.getExpectedUsableBalance()));
+        }
+        discrepancyRepository.saveAll(discrepancies);
+
+        run.setWalletsChecked(checked);
+        run.setDiscrepancies(discrepancies.size());
+        run.setFinishedAt(LocalDateTime.now());
+        run.setStatus(failed ? ReconciliationStatus.FAILED : ReconciliationStatus.COMPLETED);
+        run = runRepository.save(run);
+
+        if (discrepancies.isEmpty()) {
+            log.info("Reconciliation run {} ({}) checked {} wallets, no discrepancies", run.getId(), run.getMode(), checked);
+        } else {
+            log.warn("Reconciliation run {} ({}) checked {} wallets, {} discrepancies: wallets {}", run.getId(),
+                    run.getMode(), checked, discrepancies.size(),
+                    discrepancies.stream().map(BalanceDiscrepancy::getWalletId).collect(Collectors.toList()));
+        }
+        return mapToResponse(run, discrepancies);
+    }
+
+    /**
+     * Splits all wallets into ID ranges of {@code chunkSize}.
+     *
+     * @return one query per range
+     */
+    private List<Supplier<List<WalletReconciliationRow>>> rangeChunks() {
+        List<Supplier<List<WalletReconciliationRow>>> chunks = new ArrayList<>();
+        Long minId = walletRepository.findMinId();
+        Long maxId = walletRepository.findMaxId();
+        if (minId == null) {
+            return chunks;
+        }
+        for (long start = minId; start <= maxId; start += chunkSize) {
+            long from = start;
+            long to = start + chunkSize - 1;
+            chunks.add(() -> walletRepository.reconcileRange(from, to));
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits the wallets changed since the given time into ID lists of {@code chunkSize}.
+     *
+     * @param since the high-water mark
+     * @return one query per list
+     */
+    private List<Supplier<List<WalletReconciliationRow>>> changedWalletChunks(LocalDateTime since) {
+        List<Supplier<List<WalletReconciliationRow>>> chunks = new ArrayList<>();
+        List<Long> ids = walletRepository.findIdsUpdatedSince(since);
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            List<Long> chunk = ids.subList(i, Math.min(i + chunkSize, ids.size()));
+            chunks.add(() -> walletRepository.reconcileWallets(chunk));
+        }
+        return chunks;
+    }
+
+    /**
+     * Reads suspicious wallets again and keeps only those that are still inconsistent.
+     *
+     * @param walletIds the wallets that looked inconsistent
+     * @return the confirmed rows
+     */
+    private List<WalletReconciliationRow> recheck(List<Long> walletIds) {
+        List<WalletReconciliationRow> confirmed = new ArrayList<>();
+        for (int i = 0; i < walletIds.size(); i += chunkSize) {
+            List<Long> chunk = walletIds.subList(i, Math.min(i + chunkSize, walletIds.size()));
+            List<WalletReconciliationRow> rows = readOnlyTransaction.execute(status -> walletRepository.reconcileWallets(chunk));
+            for (WalletReconciliationRow row : rows) {
+                if (!row.isConsistent()) {
+                    confirmed.add(row);
+                }
+            }
+        }
+        return confirmed;
+    }
+
+    /**
+     * Maps a run and its discrepancies to a {@link ReconciliationReportResponse} DTO.
+     *
+     * @param run           the run
+     * @param discrepancies the discrepancies found by the run
+     * @return the response DTO
+     */
+    private ReconciliationReportResponse mapToResponse(ReconciliationRun run, List<BalanceDiscrepancy> discrepancies) {
+        ReconciliationReportResponse response = new ReconciliationReportResponse();
+        response.setRunId(run.getId());
+        response.setMode(run.getMode());
+        response.setStatus(run.getStatus());
+        response.setCheckedSince(run.getCheckedSince());
+        response.setStartedAt(run.getStartedAt());
+        response.setFinishedAt(run.getFinishedAt());
+        response.setWalletsChecked(run.getWalletsChecked());
+        response.setDiscrepancies(discrepancies.stream()
+                .map(d -> new BalanceDiscrepancyResponse(d.getWalletId(), d.getBalance(), d.getExpectedBalance(),
+                        d.getUsableBalance(), d.getExpectedUsableBalance()))
+                .collect(Collectors.toList()));
+        return response;
+    }
+}
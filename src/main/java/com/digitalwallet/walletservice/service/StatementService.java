@@ -0,0 +1,22 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.StatementJobResponse;
+
+import java.time.YearMonth;
+
+/**
+ * Service interface for generating monthly wallet statements.
+ */
+public interface StatementService {
+
+    /**
+     * Writes the statements of all wallets for the given month.
+     * <p>
+     * Unless {@code restart} is set, partitions completed by an earlier run for the same month are skipped.
+     *
+     * @param month   the statement month
+     * @param restart whether to discard the progress of earlier runs
+     * @return the {@link StatementJobResponse} with the run's throughput
+     */
+    StatementJobResponse generateStatements(YearMonth month, boolean restart);
+}
@@ -0,0 +1,261 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.StatementJobResponse;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.digitalwallet.walletservice.statement.StatementCheckpoint;
+import com.digitalwallet.walletservice.statement.StatementEntry;
+import com.digitalwallet.walletservice.statement.StatementFileWriter;
+import com.digitalwallet.walletservice.statement.StatementFormat;
+import com.digitalwallet.walletservice.statement.StatementWallet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link StatementService} that generates statements in parallel partitions.
+ * <p>
+ * Wallets are split into ID ranges of {@code wallet.statement.partition-size}. Each partition is processed
+ * by one task on a {@link ForkJoinPool} of {@code wallet.statement.parallelism} workers and reads its wallets
+ * and that month's transactions with one range query each, streaming the transactions instead of loading the
+ * history wallet by wallet. Completed partitions are recorded in a {@link StatementCheckpoint} next to the files.
+ */
+@Service
+public class StatementServiceImpl implements StatementService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementServiceImpl.class);
+
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final StatementFileWriter fileWriter;
+    private final Path outputDirectory;
+    private final long partitionSize;
+    private final int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructs a {@code StatementServiceImpl}.
+     *
+     * @param walletRepository      repository used to read wallet ID ranges
+     * @param transactionRepository repository used to stream transactions
+     * @param transactionManager    transaction manager for the read-only partition transactions
+     * @param objectMapper          mapper used for JSON statements and the run report
+     * @param outputDirectory       directory the statements are written to, one sub-directory per month
+     * @param partitionSize         number of wallet IDs per partition
+     * @param parallelism           number of partitions processed concurrently
+     * @param formats               comma-separated statement formats ({@code csv}, {@code json})
+     */
+    public StatementServiceImpl(WalletRepository walletRepository, TransactionRepository transactionRepository,
+                                PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                @Value("${wallet.statement.output-dir:statements}") String outputDirectory,
+                                @Value("${wallet.statement.partition-size:1000}") long partitionSize,
+                                @Value("${wallet.statement.parallelism:4}") int parallelism,
+                                @Value("${wallet.statement.formats:csv,json}") String formats) {
+        if (partitionSize < 1) {
+            throw new IllegalArgumentException("wallet.statement.partition-size must be at least 1");
+        }
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fileWriter = new StatementFileWriter(objectMapper.getFactory(), parseFormats(formats));
+        this.outputDirectory = Paths.get(outputDirectory);
+        this.partitionSize = partitionSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Generates last month's statements on the {@code wallet.statement.cron} schedule (disabled by default),
+     * resuming an interrupted run.
+     */
+    @Scheduled(cron = "${wallet.statement.cron:-}")
+    public void scheduledRun() {
+        generateStatements(YearMonth.now().minusMonths(1), false);
+    }
+
+    @Override
+    public StatementJobResponse generateStatements(YearMonth month, boolean restart) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A statement run is already in progress.");
+        }
+        try {
+            return run(month, restart);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private StatementJobResponse run(YearMonth month, boolean restart) {
+        long started = System.nanoTime();
+        Path directory = outputDirectory.resolve(month.toString());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create statement directory " + directory, ex);
+        }
+        StatementCheckpoint checkpoint = new StatementCheckpoint(directory.resolve("_checkpoint"), restart);
+
+        List<Long> partitions = new ArrayList<>();
+        Long minId = walletRepository.findMinId();
+        Long maxId = walletRepository.findMaxId();
+        if (minId != null) {
+            // Align to multiples of the partition size so that a resumed run sees the same partitions
+            for (long start = (minId / partitionSize) * partitionSize; start <= maxId; start += partitionSize) {
+                partitions.add(start);
+            }
+        }
+
+        int skipped = 0;
+        int failed = 0;
+        long wallets = 0;
+        long transactions = 0;
+        long files = 0;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<PartitionResult>> tasks = new ArrayList<>();
+            for (Long start : partitions) {
+                if (checkpoint.isCompleted(start)) {
+                    skipped++;
+                    continue;
+                }
+                tasks.add(pool.submit(() -> processPartition(month, directory, checkpoint, start)));
+            }
+            for (ForkJoinTask<PartitionResult> task : tasks) {
+                try {
+                    PartitionResult result = task.join();
+                    wallets += result.wallets;
+                    transactions += result.transactions;
+                    files += result.files;
+                } catch (RuntimeException ex) {
+                    failed++;
+                    log.error("Statement partition of {} failed", month, ex);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        double seconds = Math.max(elapsedNanos / 1e9, 1e-9);
+
+        StatementJobResponse response = new StatementJobResponse();
+        response.setMonth(month.toString());
+        response.setPartitions(partitions.size());
+        response.setSkippedPartitions(skipped);
+        response.setFailedPartitions(failed);
+        response.setWallets(wallets);
+        response.setTransactions(transactions);
+        response.setFiles(files);
+        response.setElapsedMillis(elapsedNanos / 1_000_000);
+        response.setWalletsPerSecond(wallets / seconds);
+        response.setTransactionsPerSecond(transactions / seconds);
+        response.setOutputDirectory(directory.toAbsolutePath().toString());
+
+        writeReport(directory, response);
+        log.info("Statements for {}: {} wallets, {} transactions in {} ms ({} partitions, {} skipped, {} failed)",
+                month, wallets, transactions, response.getElapsedMillis(), partitions.size(), skipped, failed);
+        return response;
+    }
+
+    /**
+     * Writes the statements of all wallets in one partition and records it in the checkpoint.
+     *
+     * @param month      the statement month
+     * @param directory  the month's output directory
+     * @param checkpoint the run's checkpoint
+     * @param start      the first wallet ID of the partition
+     * @return the partition's counts
+     */
+    private PartitionResult processPartition(YearMonth month, Path directory, StatementCheckpoint checkpoint,
+                                             long start) {
+        long end = start + partitionSize - 1;
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        PartitionResult result = readOnlyTransaction.execute(status -> {
+            PartitionResult counts = new PartitionResult();
+            List<StatementWallet> wallets = walletRepository.findStatementWallets(start, end);
+
+            try (Stream<StatementEntry> stream = transactionRepository.streamStatementEntries(start, end, from, to)) {
+                Iterator<StatementEntry> iterator = stream.iterator();
+                StatementEntry next = iterator.hasNext() ? iterator.next() : null;
+
+                // Both sides are ordered by wallet ID, so the entries can be merged into the wallets in one pass
+                for (StatementWallet wallet : wallets) {
+                    List<StatementEntry> entries = new ArrayList<>();
+                    while (next != null && next.getWalletId() <= wallet.getWalletId()) {
+                        if (next.getWalletId().equals(wallet.getWalletId())) {
+                            entries.add(next);
+                        }
+                        next = iterator.hasNext() ? iterator.next() : null;
+                    }
+                    counts.files += fileWriter.write(directory, month, wallet, entries);
+                    counts.wallets++;
+                    counts.transactions += entries.size();
+                }
+            }
+            return counts;
+        });
+
+        checkpoint.markCompleted(start);
+        return result;
+    }
+
+    private void writeReport(Path directory, StatementJobResponse response) {
+        try {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(directory.resolve("_report.json").toFile(), response);
+        } catch (IOException ex) {
+            log.warn("Could not write statement report to {}", directory, ex);
+        }
+    }
+
+    private static Set<StatementFormat> parseFormats(String formats) {
+        Set<StatementFormat> result = EnumSet.noneOf(StatementFormat.class);
+        for (String format : formats.split(",")) {
+            if (!format.isBlank()) {
+                result.add(StatementFormat.valueOf(format.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("wallet.statement.formats must name at least one format");
+        }
+        return result;
+    }
+
+    /**
+     * Counts collected while processing one partition.
+     */
+    private static final class PartitionResult {
+        private long wallets;
+        private long transactions;
+        private long files;
+    }
+}
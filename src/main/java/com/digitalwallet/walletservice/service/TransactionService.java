@@ -1,15 +1,23 @@
 package com.digitalwallet.walletservice.service;
 
+import com.digitalwallet.walletservice.approval.ApprovalOutcome;
 import com.digitalwallet.walletservice.dto.DepositRequest;
 import com.digitalwallet.walletservice.dto.TransactionApprovalRequest;
 import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.TransactionSearchResponse;
+import com.digitalwallet.walletservice.dto.TransferRequest;
+import com.digitalwallet.walletservice.dto.TransferResponse;
 import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Service interface that defines operations related to wallet transactions.
- * Includes deposit, withdrawal, transaction approval, and listing transactions for a wallet.
+ * Includes deposit, withdrawal, transfer, transaction approval, listing transactions for a wallet and searching
+ * transactions by counterparty.
  */
 public interface TransactionService {
 
@@ -29,6 +37,26 @@ public interface TransactionService {
      */
     List<TransactionResponse> getTransactionsForWallet(Long walletId);
 
+    /**
+     * Retrieves the most recent transactions of a wallet, served from memory when possible.
+     *
+     * @param walletId the ID of the wallet
+     * @return up to {@code wallet.activity.size} transactions, newest first
+     * @throws IllegalArgumentException if the wallet does not exist
+     * @throws org.springframework.security.access.AccessDeniedException if a customer accesses another customer's wallet
+     */
+    List<TransactionResponse> getRecentTransactions(Long walletId);
+
+    /**
+     * Checks that a wallet exists and that the authenticated user may read its transactions,
+     * without loading them.
+     *
+     * @param walletId the ID of the wallet
+     * @throws IllegalArgumentException if the wallet does not exist
+     * @throws org.springframework.security.access.AccessDeniedException if a customer accesses another customer's wallet
+     */
+    void checkWalletAccess(Long walletId);
+
     /**
      * Approves or rejects a pending transaction based on the provided status.
      *
@@ -37,6 +65,20 @@ public interface TransactionService {
      */
     TransactionResponse approveTransaction(TransactionApprovalRequest request);
 
+    /**
+     * Approves or rejects several pending transactions of the same wallet in one database transaction,
+     * locking and updating the wallet once.
+     * <p>
+     * Approvals that cannot be applied (unknown transaction, another wallet's transaction, already processed)
+     * are reported as failed outcomes without affecting the others.
+     *
+     * @param walletId the wallet all transactions belong to
+     * @param requests the approvals, applied in order
+     * @return one {@link ApprovalOutcome} per request, in request order
+     * @throws IllegalArgumentException if the wallet does not exist
+     */
+    List<ApprovalOutcome> approveTransactions(Long walletId, List<TransactionApprovalRequest> requests);
+
     /**
      * Performs a withdrawal transaction for a given wallet.
      *
@@ -44,4 +86,33 @@ public interface TransactionService {
      * @return {@link TransactionResponse} representing the created withdrawal transaction
      */
     TransactionResponse withdraw(WithDrawRequest request);
-}
\ No newline at end of file
+
+    /**
+     * Moves money between two wallets of the same customer in a single transaction.
+     *
+     * @param request the transfer request containing source and target wallet IDs and the amount
+     * @return {@link TransferResponse} containing the withdrawal and deposit legs of the transfer
+     */
+    TransferResponse transfer(TransferRequest request);
+
+    /**
+     * Searches the transactions of all wallets by opposite party, using the counterparty index.
+     * <p>
+     * The opposite party is normalized like stored IBANs and payment references and matched as a prefix. Pages are
+     * keyset-paginated: pass the {@code nextCursor} of a page as {@code after} to get the next one.
+     *
+     * @param counterparty the IBAN or payment reference, or a prefix of at least 4 letters or digits
+     * @param from         the earliest creation time (inclusive), {@code null} for no lower bound
+     * @param to           the latest creation time (exclusive), {@code null} for no upper bound
+     * @param status       the status to match, {@code null} for any
+     * @param type         the type to match, {@code null} for any
+     * @param after        the cursor of the previous page, {@code null} for the first page
+     * @param limit        the page size, between 1 and 200
+     * @return the page of matching transactions
+     * @throws IllegalArgumentException if the counterparty is too short, the limit is out of range or the cursor
+     *                                  is malformed
+     */
+    TransactionSearchResponse searchByCounterparty(String counterparty, LocalDateTime from, LocalDateTime to,
+                                                   TransactionStatus status, TransactionType type, String after,
+                                                   int limit);
+}
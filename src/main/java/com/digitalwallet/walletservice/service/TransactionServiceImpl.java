@@ -1,45 +1,103 @@
 package com.digitalwallet.walletservice.service;
 
+import com.digitalwallet.walletservice.activity.RecentActivity;
+import com.digitalwallet.walletservice.activity.RecentActivityStore;
+import com.digitalwallet.walletservice.approval.ApprovalOutcome;
 import com.digitalwallet.walletservice.dto.DepositRequest;
 import com.digitalwallet.walletservice.dto.TransactionApprovalRequest;
 import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.TransactionSearchResponse;
+import com.digitalwallet.walletservice.dto.TransferRequest;
+import com.digitalwallet.walletservice.dto.TransferResponse;
 import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
 import com.digitalwallet.walletservice.enums.TransactionStatus;
 import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.event.WalletBalanceChangedEvent;
+import com.digitalwallet.walletservice.exception.VelocityLimitExceededException;
+import com.digitalwallet.walletservice.mapper.TransactionMapper;
 import com.digitalwallet.walletservice.model.Customer;
 import com.digitalwallet.walletservice.model.Transaction;
 import com.digitalwallet.walletservice.model.Wallet;
 import com.digitalwallet.walletservice.repository.TransactionRepository;
 import com.digitalwallet.walletservice.repository.WalletRepository;
-import jakarta.transaction.Transactional;
+import com.digitalwallet.walletservice.rules.ApprovalContext;
+import com.digitalwallet.walletservice.search.CounterpartyCursor;
+import com.digitalwallet.walletservice.search.CounterpartyKeys;
+import com.digitalwallet.walletservice.velocity.VelocityAction;
+import com.digitalwallet.walletservice.velocity.VelocityLimits;
+import com.digitalwallet.walletservice.velocity.VelocityReservation;
+import com.digitalwallet.walletservice.velocity.VelocityTracker;
+import com.digitalwallet.walletservice.velocity.VelocityWindow;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing transactions including deposit, withdraw,
- * approve, and listing operations.
+ * transfer, approve, listing and search operations.
+ * <p>
+ * Every operation that writes a wallet balance first locks the wallet row with
+ * {@link WalletRepository#findByIdForUpdate}, so concurrent deposits, withdrawals, approvals and transfers on the
+ * same wallet are applied one after the other instead of overwriting each other's balances. The owner, read by the
+ * approval rules, comes from the second-level cache.
  */
 @Service
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final int MIN_SEARCH_PREFIX = 4;
+    private static final int MAX_SEARCH_LIMIT = 200;
+
     private final TransactionRepository transactionRepository;
     private final WalletRepository walletRepository;
+    private final FxService fxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApprovalRuleService approvalRuleService;
+    private final VelocityTracker velocityTracker;
+    private final VelocityLimits velocityLimits;
+    private final WithdrawalLimitService withdrawalLimitService;
+    private final RecentActivityStore recentActivityStore;
 
     /**
      * Constructs a new {@code TransactionServiceImpl} with the required repositories.
      *
-     * @param transactionRepository repository for transaction persistence
-     * @param walletRepository      repository for wallet persistence
+     * @param transactionRepository  repository for transaction persistence
+     * @param walletRepository       repository for wallet persistence
+     * @param fxService              service providing exchange rates for cross-currency transfers
+     * @param eventPublisher         publisher for {@link WalletBalanceChangedEvent}s
+     * @param approvalRuleService    rules deciding whether deposits and withdrawals need an approval
+     * @param velocityTracker        recent deposits and withdrawals per wallet, read by the approval rules
+     * @param velocityLimits         limits on how often and how much a wallet may withdraw
+     * @param withdrawalLimitService daily and monthly withdrawal limits of wallets and customers
+     * @param recentActivityStore    most recent transactions per wallet, written on commit
      */
-    public TransactionServiceImpl(TransactionRepository transactionRepository, WalletRepository walletRepository) {
+    public TransactionServiceImpl(TransactionRepository transactionRepository, WalletRepository walletRepository,
+                                  FxService fxService, ApplicationEventPublisher eventPublisher,
+                                  ApprovalRuleService approvalRuleService, VelocityTracker velocityTracker,
+                                  VelocityLimits velocityLimits, WithdrawalLimitService withdrawalLimitService,
+                                  RecentActivityStore recentActivityStore) {
         this.transactionRepository = transactionRepository;
         this.walletRepository = walletRepository;
+        this.fxService = fxService;
+        this.eventPublisher = eventPublisher;
+        this.approvalRuleService = approvalRuleService;
+        this.velocityTracker = velocityTracker;
+        this.velocityLimits = velocityLimits;
+        this.withdrawalLimitService = withdrawalLimitService;
+        this.recentActivityStore = recentActivityStore;
     }
 
     /**
@@ -51,41 +109,116 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     @Transactional
     public TransactionResponse deposit(DepositRequest request) {
-        Wallet wallet = walletRepository.findById(request.getWalletId())
+        Wallet wallet = walletRepository.findByIdForUpdate(request.getWalletId())
                 .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
 
         authorizeWalletAccess(wallet);
 
-        TransactionStatus status = determineStatus(request.getAmount());
+        long now = System.currentTimeMillis();
+        TransactionStatus status = determineStatus(wallet, TransactionType.DEPOSIT, request.getAmount(),
+                request.getOppositePartyType(), velocityTracker.current(wallet.getId(), TransactionType.DEPOSIT, now),
+                now);
+        velocityTracker.recordAfterCommit(wallet.getId(), TransactionType.DEPOSIT, request.getAmount());
 
         wallet.setBalance(wallet.getBalance().add(request.getAmount()));
         if (status == TransactionStatus.APPROVED) {
             wallet.setUsableBalance(wallet.getUsableBalance().add(request.getAmount()));
         }
+        publishBalanceChange(wallet, request.getAmount(),
+                status == TransactionStatus.APPROVED ? request.getAmount() : BigDecimal.ZERO);
 
         Transaction transaction = createTransaction(wallet, request.getAmount(), TransactionType.DEPOSIT,
                 status, request.getOppositeParty(), request.getOppositePartyType());
 
         Transaction saved = transactionRepository.save(transaction);
-        return mapToResponse(saved);
+        return toRecordedResponse(saved);
+    }
+
+    /**
+     * Checks that the wallet exists and the authenticated user may read it. Only the owner's ID is read.
+     *
+     * @param walletId the wallet ID
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void checkWalletAccess(Long walletId) {
+        authorizeWalletAccess(findOwnerId(walletId));
     }
 
     /**
-     * Returns all transactions for the given wallet ID.
+     * Returns all transactions for the given wallet ID, read straight into DTOs without loading the wallet or its
+     * transactions as entities.
      *
      * @param walletId the wallet ID to retrieve transactions for
      * @return list of {@link TransactionResponse}
      */
     @Override
+    @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactionsForWallet(Long walletId) {
-        Wallet wallet = walletRepository.findById(walletId)
+        authorizeWalletAccess(findOwnerId(walletId));
+
+        return transactionRepository.findResponsesByWalletId(walletId);
+    }
+
+    /**
+     * Returns the most recent transactions of a wallet from the {@link RecentActivityStore}, without a query when
+     * the wallet is in it. Access is checked against the owner kept with the transactions.
+     *
+     * @param walletId the wallet ID
+     * @return the most recent transactions, newest first
+     */
+    @Override
+    public List<TransactionResponse> getRecentTransactions(Long walletId) {
+        RecentActivity activity = recentActivityStore.get(walletId)
                 .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
 
-        authorizeWalletAccess(wallet);
+        authorizeWalletAccess(activity.getOwnerId());
+
+        return activity.getTransactions();
+    }
 
-        return transactionRepository.findByWallet(wallet).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    /**
+     * Searches all wallets' transactions by normalized opposite party prefix, one keyset page at a time.
+     * Fetches one transaction more than the page size to tell whether there is a next page.
+     *
+     * @param counterparty the IBAN or payment reference, or a prefix of it
+     * @param from         the earliest creation time (inclusive), or {@code null}
+     * @param to           the latest creation time (exclusive), or {@code null}
+     * @param status       the status to match, or {@code null}
+     * @param type         the type to match, or {@code null}
+     * @param after        the cursor of the previous page, or {@code null}
+     * @param limit        the page size
+     * @return the page of matching transactions
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionSearchResponse searchByCounterparty(String counterparty, LocalDateTime from, LocalDateTime to,
+                                                          TransactionStatus status, TransactionType type,
+                                                          String after, int limit) {
+        String prefix = CounterpartyKeys.normalize(counterparty);
+        if (prefix == null || prefix.length() < MIN_SEARCH_PREFIX) {
+            throw new IllegalArgumentException("Counterparty must contain at least " + MIN_SEARCH_PREFIX
+                    + " letters or digits");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        CounterpartyCursor cursor = after == null ? null : CounterpartyCursor.decode(after);
+
+        Pageable page = Pageable.ofSize(limit + 1);
+        List<TransactionResponse> matches = cursor == null
+                ? transactionRepository.searchByCounterparty(prefix + "%", from, to, status, type, page)
+                : transactionRepository.searchByCounterpartyAfter(prefix + "%", cursor.getKey(), cursor.getId(), from,
+                        to, status, type, page);
+        String nextCursor = null;
+        if (matches.size() > limit) {
+            matches = matches.subList(0, limit);
+            TransactionResponse last = matches.get(limit - 1);
+            // The key is derived from the opposite party on insert and never changes
+            nextCursor = new CounterpartyCursor(CounterpartyKeys.normalize(last.getOppositeParty()), last.getId())
+                    .encode();
+        }
+        return new TransactionSearchResponse(matches, nextCursor);
     }
 
     /**
@@ -104,31 +237,86 @@ public class TransactionServiceImpl implements TransactionService {
             throw new IllegalStateException("Transaction is already processed.");
         }
 
-        // Update transaction status
-        transaction.setStatus(request.getStatus());
+        // Locked like every other balance write, so a concurrent transfer's debit is not overwritten
+        Wallet wallet = walletRepository.findByIdForUpdate(transaction.getWallet().getId())
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
+        BigDecimal balanceBefore = wallet.getBalance();
+        BigDecimal usableBalanceBefore = wallet.getUsableBalance();
+
+        applyApproval(transaction, request.getStatus());
 
         if (TransactionStatus.APPROVED.equals(request.getStatus())) {
-            Wallet wallet = transaction.getWallet();
+            walletRepository.save(wallet);
+        }
+        // A denial moves no money, but the wallet's history changed
+        publishBalanceChange(wallet, wallet.getBalance().subtract(balanceBefore),
+                wallet.getUsableBalance().subtract(usableBalanceBefore));
 
-            // For DEPOSIT: add to usable balance
-            if (TransactionType.DEPOSIT.equals(transaction.getType())) {
-                wallet.setUsableBalance(wallet.getUsableBalance().add(transaction.getAmount()));
-            }
+        Transaction updated = transactionRepository.save(transaction);
+        return toRecordedResponse(updated);
+    }
 
-            // For WITHDRAW: already subtracted from usable_balance during creation, now subtract from balance
-            if (TransactionType.WITHDRAW.equals(transaction.getType())) {
-                wallet.setBalance(wallet.getBalance().subtract(transaction.getAmount()));
+    /**
+     * Approves or denies several pending transactions of one wallet in one transaction.
+     * <p>
+     * The wallet row is locked once and the balance changes of all approvals are written with one update and
+     * published as one {@link WalletBalanceChangedEvent}, instead of one lock, update and event per approval.
+     *
+     * @param walletId the wallet all transactions belong to
+     * @param requests the approvals, applied in order
+     * @return one {@link ApprovalOutcome} per request, in request order
+     */
+    @Override
+    @Transactional
+    public List<ApprovalOutcome> approveTransactions(Long walletId, List<TransactionApprovalRequest> requests) {
+        Wallet wallet = walletRepository.findByIdForUpdate(walletId)
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
+        BigDecimal balanceBefore = wallet.getBalance();
+        BigDecimal usableBalanceBefore = wallet.getUsableBalance();
+
+        Map<Long, Transaction> transactions = transactionRepository.findAllById(requests.stream()
+                        .map(TransactionApprovalRequest::getTransactionId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+
+        List<ApprovalOutcome> outcomes = new ArrayList<>(requests.size());
+        List<Transaction> updated = new ArrayList<>();
+        for (TransactionApprovalRequest request : requests) {
+            Transaction transaction = transactions.get(request.getTransactionId());
+            if (transaction == null || !walletId.equals(transaction.getWallet().getId())) {
+                outcomes.add(ApprovalOutcome.failed(request.getTransactionId(), "Transaction not found"));
+            } else if (transaction.getStatus() != TransactionStatus.PENDING) {
+                outcomes.add(ApprovalOutcome.failed(request.getTransactionId(), "Transaction is already processed."));
+            } else {
+                applyApproval(transaction, request.getStatus());
+                updated.add(transaction);
+                outcomes.add(null);
             }
-
-            walletRepository.save(wallet);
+        }
+        if (updated.isEmpty()) {
+            return outcomes;
         }
 
-        Transaction updated = transactionRepository.save(transaction);
-        return mapToResponse(updated);
+        walletRepository.save(wallet);
+        publishBalanceChange(wallet, wallet.getBalance().subtract(balanceBefore),
+                wallet.getUsableBalance().subtract(usableBalanceBefore));
+        Map<Long, Transaction> saved = transactionRepository.saveAll(updated).stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i) == null) {
+                Transaction transaction = saved.get(requests.get(i).getTransactionId());
+                outcomes.set(i, ApprovalOutcome.succeeded(toRecordedResponse(transaction)));
+            }
+        }
+        return outcomes;
     }
 
     /**
      * Processes a withdrawal from a wallet.
+     * <p>
+     * Withdrawals exceeding the {@link VelocityLimits} are left pending or rejected, depending on the configured
+     * {@link VelocityAction}. Withdrawals exceeding a daily or monthly limit of the wallet or its customer are
+     * rejected; pending withdrawals count against the limits until they are denied.
      *
      * @param request withdrawal request containing wallet ID and amount
      * @return the created {@link TransactionResponse}
@@ -136,7 +324,7 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     @Transactional
     public TransactionResponse withdraw(WithDrawRequest request) {
-        Wallet wallet = walletRepository.findById(request.getWalletId())
+        Wallet wallet = walletRepository.findByIdForUpdate(request.getWalletId())
                 .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
 
         authorizeWalletAccess(wallet);
@@ -145,7 +333,19 @@ public class TransactionServiceImpl implements TransactionService {
             throw new IllegalStateException("This wallet is not active for withdraw.");
         }
 
-        TransactionStatus status = determineStatus(request.getAmount());
+        long now = System.currentTimeMillis();
+        // Counted at once, so concurrent withdrawals from this wallet see it; taken back on rollback
+        VelocityReservation velocity = velocityTracker.reserve(wallet.getId(), TransactionType.WITHDRAW,
+                request.getAmount(), now,
+                recent -> velocityLimits.check(wallet.getCurrency(), recent, request.getAmount()));
+        if (velocity.getAction() == VelocityAction.BLOCK) {
+            throw new VelocityLimitExceededException("Too many withdrawals from this wallet recently, try again later.");
+        }
+        // Flagged withdrawals wait for an employee whatever the approval rules say
+        TransactionStatus status = velocity.getAction() == VelocityAction.FLAG
+                ? TransactionStatus.PENDING
+                : determineStatus(wallet, TransactionType.WITHDRAW, request.getAmount(),
+                        request.getOppositePartyType(), velocity.getRecent(), now);
 
         if (status == TransactionStatus.APPROVED) {
             if (wallet.getUsableBalance().compareTo(request.getAmount()) < 0) {
@@ -153,12 +353,15 @@ public class TransactionServiceImpl implements TransactionService {
             }
             wallet.setBalance(wallet.getBalance().subtract(request.getAmount()));
             wallet.setUsableBalance(wallet.getUsableBalance().subtract(request.getAmount()));
+            publishBalanceChange(wallet, request.getAmount().negate(), request.getAmount().negate());
         } else {
             if (wallet.getUsableBalance().compareTo(request.getAmount()) < 0) {
                 throw new IllegalArgumentException("Insufficient usable balance for pending transaction");
             }
             wallet.setUsableBalance(wallet.getUsableBalance().subtract(request.getAmount()));
+            publishBalanceChange(wallet, BigDecimal.ZERO, request.getAmount().negate());
         }
+        withdrawalLimitService.reserve(wallet, request.getAmount());
 
         walletRepository.save(wallet);
 
@@ -166,7 +369,94 @@ public class TransactionServiceImpl implements TransactionService {
                 status, request.getOppositeParty(), request.getOppositePartyType());
 
         Transaction saved = transactionRepository.save(transaction);
-        return mapToResponse(saved);
+        return toRecordedResponse(saved);
+    }
+
+    /**
+     * Transfers money between two wallets of the same customer.
+     * <p>
+     * Both wallet rows are locked in ascending ID order, so opposing transfers between the same
+     * pair of wallets cannot deadlock. Both legs are settled immediately as APPROVED, because the
+     * money never leaves the customer, and are written together in one batch.
+     * <p>
+     * If the wallets hold different currencies, the credited amount is converted at the quoted rate
+     * (or the current rate when no quote is given) and rounded to two decimals.
+     * <p>
+     * Transfers do not count against the daily and monthly withdrawal limits or the velocity limits, since the
+     * money stays with the customer. Both legs are marked as transfer legs, so the startup rebuilds skip them too.
+     *
+     * @param request transfer request containing source and target wallet IDs and amount
+     * @return the {@link TransferResponse} with the withdrawal and deposit legs
+     */
+    @Override
+    @Transactional
+    public TransferResponse transfer(TransferRequest request) {
+        if (request.getFromWalletId().equals(request.getToWalletId())) {
+            throw new IllegalArgumentException("Source and target wallets must be different");
+        }
+
+        Long firstId = Math.min(request.getFromWalletId(), request.getToWalletId());
+        Long secondId = Math.max(request.getFromWalletId(), request.getToWalletId());
+        Wallet first = walletRepository.findByIdForUpdate(firstId)
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
+        Wallet second = walletRepository.findByIdForUpdate(secondId)
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
+
+        Wallet source = first.getId().equals(request.getFromWalletId()) ? first : second;
+        Wallet target = source == first ? second : first;
+
+        authorizeWalletAccess(source);
+        authorizeWalletAccess(target);
+
+        if (!source.getCustomer().getId().equals(target.getCustomer().getId())) {
+            throw new IllegalArgumentException("Transfers are only allowed between wallets of the same customer");
+        }
+        if (!source.isActiveForWithdraw()) {
+            throw new IllegalStateException("This wallet is not active for withdraw.");
+        }
+        if (source.getUsableBalance().compareTo(request.getAmount()) < 0) {
+            throw new IllegalArgumentException("Insufficient usable balance");
+        }
+
+        BigDecimal rate = BigDecimal.ONE;
+        BigDecimal credited = request.getAmount();
+        if (source.getCurrency() != target.getCurrency()) {
+            rate = fxService.resolveRate(request.getQuoteId(), source.getCurrency(), target.getCurrency());
+            credited = request.getAmount().multiply(rate).setScale(2, RoundingMode.HALF_EVEN);
+            if (credited.signum() <= 0) {
+                throw new IllegalArgumentException("Converted amount is too small");
+            }
+        }
+
+        source.setBalance(source.getBalance().subtract(request.getAmount()));
+        source.setUsableBalance(source.getUsableBalance().subtract(request.getAmount()));
+        target.setBalance(target.getBalance().add(credited));
+        target.setUsableBalance(target.getUsableBalance().add(credited));
+        publishBalanceChange(source, request.getAmount().negate(), request.getAmount().negate());
+        publishBalanceChange(target, credited, credited);
+
+        Transaction withdrawal = createTransaction(source, request.getAmount(), TransactionType.WITHDRAW,
+                TransactionStatus.APPROVED, String.valueOf(target.getId()), OppositePartyType.WALLET);
+        Transaction deposit = createTransaction(target, credited, TransactionType.DEPOSIT,
+                TransactionStatus.APPROVED, String.valueOf(source.getId()), OppositePartyType.WALLET);
+        withdrawal.setTransferLeg(true);
+        deposit.setTransferLeg(true);
+
+        List<Transaction> saved = transactionRepository.saveAll(List.of(withdrawal, deposit));
+        return new TransferResponse(toRecordedResponse(saved.get(0)), toRecordedResponse(saved.get(1)), rate);
+    }
+
+    /**
+     * Maps a saved transaction to its response and hands it to the {@link RecentActivityStore}, which records it
+     * once the surrounding transaction has committed.
+     *
+     * @param saved the transaction as just saved
+     * @return the mapped {@link TransactionResponse}
+     */
+    private TransactionResponse toRecordedResponse(Transaction saved) {
+        TransactionResponse response = TransactionMapper.toResponse(saved);
+        recentActivityStore.recordAfterCommit(response);
+        return response;
     }
 
     /**
@@ -175,17 +465,78 @@ public class TransactionServiceImpl implements TransactionService {
      * @param wallet the wallet to check access for
      */
     private void authorizeWalletAccess(Wallet wallet) {
+        authorizeWalletAccess(wallet.getCustomer().getId());
+    }
+
+    /**
+     * @param walletId the wallet ID
+     * @return the ID of the customer owning the wallet
+     * @throws IllegalArgumentException if the wallet does not exist
+     */
+    private Long findOwnerId(Long walletId) {
+        return walletRepository.findCustomerIdById(walletId)
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
+    }
+
+    /**
+     * Checks that the authenticated user may access a wallet of the given customer: employees may access any
+     * wallet, customers only their own.
+     *
+     * @param ownerId the ID of the customer owning the wallet
+     * @throws AccessDeniedException if a customer accesses another customer's wallet
+     */
+    private void authorizeWalletAccess(Long ownerId) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String role = auth.getAuthorities().iterator().next().getAuthority();
 
         if ("ROLE_CUSTOMER".equals(role)) {
             Customer currentCustomer = (Customer) auth.getPrincipal();
-            if (!wallet.getCustomer().getId().equals(currentCustomer.getId())) {
+            if (!ownerId.equals(currentCustomer.getId())) {
                 throw new AccessDeniedException("You are not allowed to access this wallet.");
             }
         }
     }
 
+    /**
+     * Sets the new status of a pending transaction and moves the wallet's balances accordingly.
+     *
+     * @param transaction the pending transaction
+     * @param status      the new status
+     */
+    private void applyApproval(Transaction transaction, TransactionStatus status) {
+        transaction.setStatus(status);
+        Wallet wallet = transaction.getWallet();
+        if (!TransactionStatus.APPROVED.equals(status)) {
+            if (TransactionType.WITHDRAW.equals(transaction.getType())) {
+                withdrawalLimitService.release(wallet, transaction.getAmount(), transaction.getCreatedAt());
+            }
+            return;
+        }
+
+        // For DEPOSIT: add to usable balance
+        if (TransactionType.DEPOSIT.equals(transaction.getType())) {
+            wallet.setUsableBalance(wallet.getUsableBalance().add(transaction.getAmount()));
+        }
+
+        // For WITHDRAW: already subtracted from usable_balance during creation, now subtract from balance
+        if (TransactionType.WITHDRAW.equals(transaction.getType())) {
+            wallet.setBalance(wallet.getBalance().subtract(transaction.getAmount()));
+        }
+    }
+
+    /**
+     * Publishes a {@link WalletBalanceChangedEvent} for the given wallet.
+     * Listeners bound to the transaction only see it once the change has been committed.
+     *
+     * @param wallet             the wallet whose balances changed
+     * @param balanceDelta       change applied to the total balance
+     * @param usableBalanceDelta change applied to the usable balance
+     */
+    private void publishBalanceChange(Wallet wallet, BigDecimal balanceDelta, BigDecimal usableBalanceDelta) {
+        eventPublisher.publishEvent(new WalletBalanceChangedEvent(wallet.getId(), wallet.getCustomer().getId(),
+                wallet.getCurrency(), balanceDelta, usableBalanceDelta));
+    }
+
     /**
      * Creates a {@link Transaction} entity.
      *
@@ -199,7 +550,7 @@ public class TransactionServiceImpl implements TransactionService {
      */
     private Transaction createTransaction(Wallet wallet, BigDecimal amount, TransactionType type,
                                           TransactionStatus status, String oppositeParty,
-                                          com.digitalwallet.walletservice.enums.OppositePartyType oppositePartyType) {
+                                          OppositePartyType oppositePartyType) {
         Transaction transaction = new Transaction();
         transaction.setWallet(wallet);
         transaction.setAmount(amount);
@@ -211,32 +562,21 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     /**
-     * Determines whether a transaction should be approved immediately or marked as pending.
+     * Determines whether a transaction should be approved immediately or marked as pending,
+     * using the auto-approval rules.
      *
-     * @param amount the amount of the transaction
+     * @param wallet            the wallet, with its customer loaded
+     * @param type              the type of transaction
+     * @param amount            the amount of the transaction
+     * @param oppositePartyType the type of opposite party
+     * @param recent            the wallet's recent transactions of the same type
+     * @param now               the current time in epoch milliseconds
      * @return {@link TransactionStatus#APPROVED} or {@link TransactionStatus#PENDING}
      */
-    private TransactionStatus determineStatus(BigDecimal amount) {
-        return amount.compareTo(BigDecimal.valueOf(1000)) > 0 ?
-                TransactionStatus.PENDING : TransactionStatus.APPROVED;
-    }
-
-    /**
-     * Maps a {@link Transaction} entity to its corresponding {@link TransactionResponse} DTO.
-     *
-     * @param transaction the transaction entity
-     * @return the mapped {@link TransactionResponse}
-     */
-    private TransactionResponse mapToResponse(Transaction transaction) {
-        TransactionResponse response = new TransactionResponse();
-        response.setId(transaction.getId());
-        response.setWalletId(transaction.getWallet().getId());
-        response.setAmount(transaction.getAmount());
-        response.setType(transaction.getType());
-        response.setOppositePartyType(transaction.getOppositePartyType());
-        response.setOppositeParty(transaction.getOppositeParty());
-        response.setStatus(transaction.getStatus());
-        response.setCreatedAt(transaction.getCreatedAt());
-        return response;
+    private TransactionStatus determineStatus(Wallet wallet, TransactionType type, BigDecimal amount,
+                                              OppositePartyType oppositePartyType, VelocityWindow recent, long now) {
+        return approvalRuleService.evaluate(new ApprovalContext(type, wallet.getCurrency(),
+                wallet.getCustomer().getTier(), oppositePartyType, amount, recent.getCount(), recent.getAmount(),
+                now));
     }
-}
\ No newline at end of file
+}
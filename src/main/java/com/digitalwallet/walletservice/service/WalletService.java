@@ -1,5 +1,7 @@
 package com.digitalwallet.walletservice.service;
 
+import com.digitalwallet.walletservice.dto.BulkCreateWalletRequest;
+import com.digitalwallet.walletservice.dto.BulkCreateWalletResponse;
 import com.digitalwallet.walletservice.dto.CreateWalletRequest;
 import com.digitalwallet.walletservice.dto.CustomerWithWalletsResponse;
 import com.digitalwallet.walletservice.dto.WalletResponse;
@@ -20,6 +22,15 @@ public interface WalletService {
      */
     WalletResponse createWallet(CreateWalletRequest request, Long customerId);
 
+    /**
+     * Opens the same wallet for many customers at once.
+     * Customers that already have a wallet in the currency, or do not exist, are skipped and reported.
+     *
+     * @param request the wallet to open and the IDs of the customers
+     * @return the wallets opened, keyed by customer ID, and the customers skipped
+     */
+    BulkCreateWalletResponse createWallets(BulkCreateWalletRequest request);
+
     /**
      * Retrieves all wallets belonging to the specified customer.
      * Typically used by EMPLOYEE users to view other users' wallets.
@@ -1,21 +1,37 @@
 package com.digitalwallet.walletservice.service;
 
 
+import com.digitalwallet.walletservice.dto.BulkCreateWalletRequest;
+import com.digitalwallet.walletservice.dto.BulkCreateWalletResponse;
 import com.digitalwallet.walletservice.dto.CreateWalletRequest;
+import com.digitalwallet.walletservice.dto.CustomerWalletRow;
 import com.digitalwallet.walletservice.dto.CustomerWithWalletsResponse;
 import com.digitalwallet.walletservice.dto.WalletResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.event.WalletCreatedEvent;
 import com.digitalwallet.walletservice.exception.WalletAlreadyExistsException;
 import com.digitalwallet.walletservice.exception.WalletNotFoundException;
+import com.digitalwallet.walletservice.mapper.WalletMapper;
 import com.digitalwallet.walletservice.model.Customer;
 import com.digitalwallet.walletservice.model.Wallet;
 import com.digitalwallet.walletservice.repository.CustomerRepository;
 import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -28,20 +44,29 @@ public class WalletServiceImpl implements WalletService {
 
     private final WalletRepository walletRepository;
     private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a {@code WalletServiceImpl} with required repositories.
      *
      * @param walletRepository   the repository for managing wallets
      * @param customerRepository the repository for accessing customer data
+     * @param eventPublisher     publisher for {@link WalletCreatedEvent}s
      */
-    public WalletServiceImpl(WalletRepository walletRepository, CustomerRepository customerRepository) {
+    public WalletServiceImpl(WalletRepository walletRepository, CustomerRepository customerRepository,
+                             ApplicationEventPublisher eventPublisher) {
         this.walletRepository = walletRepository;
         this.customerRepository = customerRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Creates a new wallet for a specified customer.
+     * <p>
+     * The wallet is inserted straight away, with a reference to the customer that is not loaded. A missing
+     * customer is reported by the foreign key and a second wallet in the same currency by the
+     * {@code uk_wallet_customer_currency} constraint, so two concurrent creations cannot both succeed. The
+     * {@link WalletCreatedEvent} is published in the same transaction, so its listeners see the commit.
      *
      * @param request    the request containing wallet details
      * @param customerId the ID of the customer to associate the wallet with
@@ -50,14 +75,8 @@ public class WalletServiceImpl implements WalletService {
      * @throws IllegalArgumentException     if the customer is not found
      */
     @Override
+    @Transactional
     public WalletResponse createWallet(CreateWalletRequest request, Long customerId) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new IllegalArgumentException("Customer not found"));
-
-        if (walletRepository.existsByCustomerIdAndCurrency(customerId, request.getCurrency())) {
-            throw new WalletAlreadyExistsException("This customer already has a wallet with currency: " + request.getCurrency());
-        }
-
         Wallet wallet = new Wallet();
         wallet.setWalletName(request.getWalletName());
         wallet.setCurrency(request.getCurrency());
@@ -65,15 +84,114 @@ public class WalletServiceImpl implements WalletService {
         wallet.setActiveForWithdraw(request.isActiveForWithdraw());
         wallet.setBalance(request.getCurrency() != null ? BigDecimal.ZERO : null);
         wallet.setUsableBalance(request.getCurrency() != null ? BigDecimal.ZERO : null);
-        wallet.setCustomer(customer);
+        wallet.setCustomer(customerRepository.getReferenceById(customerId));
 
-        Wallet savedWallet = walletRepository.save(wallet);
-        return mapToResponse(savedWallet);
+        Wallet savedWallet;
+        try {
+            savedWallet = walletRepository.save(wallet);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateViolation(ex, request.getCurrency());
+        }
+        eventPublisher.publishEvent(new WalletCreatedEvent(savedWallet.getId(), customerId));
+        return WalletMapper.toResponse(savedWallet);
+    }
+
+    /**
+     * Opens the same wallet for many customers in at most three statements, however many customers there are:
+     * one finding the customers that already have a wallet in the currency, one inserting the wallets of all
+     * others that exist, and one reading the new wallets back. Customers that already have a wallet in the
+     * currency keep it unchanged.
+     *
+     * @param request the wallet to open and the IDs of the customers
+     * @return the wallets opened, and the customers skipped
+     * @throws WalletAlreadyExistsException if a wallet of one of the customers was opened concurrently
+     */
+    @Override
+    @Transactional
+    public BulkCreateWalletResponse createWallets(BulkCreateWalletRequest request) {
+        CreateWalletRequest template = request.getWallet();
+        Set<Long> customerIds = new LinkedHashSet<>(request.getCustomerIds());
+        Set<Long> existing = new HashSet<>(walletRepository.findCustomerIdsWithWallet(customerIds,
+                template.getCurrency()));
+
+        int inserted;
+        try {
+            inserted = walletRepository.insertMissingWallets(customerIds, template.getWalletName(),
+                    template.getCurrency().name(), template.isActiveForShopping(), template.isActiveForWithdraw(),
+                    LocalDateTime.now());
+        } catch (DataIntegrityViolationException ex) {
+            throw translateViolation(ex, template.getCurrency());
+        }
+
+        Map<Long, WalletResponse> wallets = new HashMap<>();
+        if (inserted > 0) {
+            for (CustomerWalletRow row : walletRepository.findRowsByCustomerIdInAndCurrency(customerIds,
+                    template.getCurrency())) {
+                wallets.put(row.getCustomerId(), row.getWallet());
+            }
+        }
+
+        Map<Long, WalletResponse> created = new LinkedHashMap<>();
+        List<Long> existingCustomerIds = new ArrayList<>();
+        List<Long> missingCustomerIds = new ArrayList<>();
+        for (Long customerId : customerIds) {
+            WalletResponse wallet = wallets.get(customerId);
+            if (existing.contains(customerId)) {
+                existingCustomerIds.add(customerId);
+            } else if (wallet == null) {
+                missingCustomerIds.add(customerId);
+            } else {
+                created.put(customerId, wallet);
+                eventPublisher.publishEvent(new WalletCreatedEvent(wallet.getId(), customerId));
+            }
+        }
+        return new BulkCreateWalletResponse(created, existingCustomerIds, missingCustomerIds);
+    }
+
+    /**
+     * Translates a failed wallet insert into the error of the violated constraint: the unique constraint into
+     * {@link WalletAlreadyExistsException}, the customer foreign key into "Customer not found". Any other failure,
+     * such as a {@code NOT NULL} column, is returned unchanged.
+     *
+     * @param ex       the failure
+     * @param currency the currency of the wallet
+     * @return the exception to throw
+     */
+    private static RuntimeException translateViolation(DataIntegrityViolationException ex, Currency currency) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                if (violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                    return new WalletAlreadyExistsException("This customer already has a wallet with currency: " + currency);
+                }
+                if (isMissingParent(violation)) {
+                    // The only foreign key of a wallet is its customer
+                    return new IllegalArgumentException("Customer not found");
+                }
+                return ex;
+            }
+        }
+        return ex;
+    }
+
+    /**
+     * Tells whether a constraint violation is a foreign key pointing at a missing row. Hibernate does not classify
+     * foreign keys, so this goes by the SQL state: {@code 23503} on PostgreSQL and H2, {@code 23506} for H2's missing
+     * parent, and MySQL's error codes 1452 and 1216, which share the generic {@code 23000}.
+     *
+     * @param violation the violation
+     * @return whether a referenced row is missing
+     */
+    private static boolean isMissingParent(ConstraintViolationException violation) {
+        String sqlState = violation.getSQLState();
+        return "23503".equals(sqlState) || "23506".equals(sqlState)
+                || violation.getErrorCode() == 1452 || violation.getErrorCode() == 1216;
     }
 
     /**
      * Lists all wallets associated with a specific customer.
      * This method is typically restricted to ROLE_EMPLOYEE.
+     * <p>
+     * The customer comes from the second-level cache when cached; the wallets are read straight into DTOs.
      *
      * @param customerId the ID of the customer
      * @return list of {@link WalletResponse} objects
@@ -81,19 +199,19 @@ public class WalletServiceImpl implements WalletService {
      * @throws WalletNotFoundException  if the customer has no wallets
      */
     @Override
+    @Transactional(readOnly = true)
     public List<WalletResponse> listWalletsCustomer(Long customerId) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new IllegalArgumentException("Customer not found."));
+        if (customerRepository.findById(customerId).isEmpty()) {
+            throw new IllegalArgumentException("Customer not found.");
+        }
 
-        List<Wallet> wallets = walletRepository.findByCustomer(customer);
+        List<WalletResponse> wallets = walletRepository.findResponsesByCustomerId(customerId);
 
         if (wallets.isEmpty()) {
             throw new WalletNotFoundException("This customer has no wallets.");
         }
 
-        return wallets.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return wallets;
     }
 
     /**
@@ -104,58 +222,36 @@ public class WalletServiceImpl implements WalletService {
      * @return list of {@link WalletResponse} representing the user's wallets
      */
     @Override
+    @Transactional(readOnly = true)
     public List<WalletResponse> listWalletsCustomerByToken() {
         Customer customer = (Customer) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        return walletRepository.findByCustomer(customer).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Maps a {@link Wallet} entity to a {@link WalletResponse} DTO.
-     *
-     * @param wallet the wallet entity
-     * @return the response DTO
-     */
-    private WalletResponse mapToResponse(Wallet wallet) {
-        WalletResponse response = new WalletResponse();
-        response.setId(wallet.getId());
-        response.setWalletName(wallet.getWalletName());
-        response.setCurrency(wallet.getCurrency());
-        response.setActiveForShopping(wallet.isActiveForShopping());
-        response.setActiveForWithdraw(wallet.isActiveForWithdraw());
-        response.setBalance(wallet.getBalance());
-        response.setUsableBalance(wallet.getUsableBalance());
-        return response;
+        return walletRepository.findResponsesByCustomerId(customer.getId());
     }
 
     /**
      * Retrieves all wallets in the system grouped by customer.
      * <p>
-     * Typically used by EMPLOYEE users to view all customers and their associated wallets.
+     * Typically used by EMPLOYEE users to view all customers and their associated wallets. Reads all customers and
+     * all wallets with one query each, straight into DTOs, and groups the wallets by their owner.
      *
      * @return list of {@link CustomerWithWalletsResponse} where each entry contains customer info and their wallets
      */
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerWithWalletsResponse> listAllWalletsGroupedByCustomer() {
-        List<Customer> customers = customerRepository.findAll();
-        List<CustomerWithWalletsResponse> result = new ArrayList<>();
-
-        for (Customer customer : customers) {
-            List<Wallet> wallets = walletRepository.findByCustomer(customer);
-            List<WalletResponse> walletResponses = wallets.stream()
-                    .map(this::mapToResponse)
-                    .collect(Collectors.toList());
-
-            CustomerWithWalletsResponse dto = new CustomerWithWalletsResponse();
-            dto.setCustomerId(customer.getId());
-            dto.setName(customer.getName());
-            dto.setSurname(customer.getSurname());
-            dto.setTckn(customer.getTckn());
-            dto.setWallets(walletResponses);
-
-            result.add(dto);
+        List<CustomerWithWalletsResponse> result = customerRepository.findAllListings();
+        Map<Long, CustomerWithWalletsResponse> byCustomer = new HashMap<>();
+        for (CustomerWithWalletsResponse customer : result) {
+            byCustomer.put(customer.getCustomerId(), customer);
+        }
+
+        for (CustomerWalletRow row : walletRepository.findAllRows()) {
+            CustomerWithWalletsResponse customer = byCustomer.get(row.getCustomerId());
+            // A customer registered between the two queries is listed on the next call
+            if (customer != null) {
+                customer.getWallets().add(row.getWallet());
+            }
         }
 
         return result;
@@ -0,0 +1,52 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.LimitPeriod;
+import com.digitalwallet.walletservice.enums.LimitScope;
+import com.digitalwallet.walletservice.model.Wallet;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Service interface enforcing the daily and monthly withdrawal limits of wallets and customers.
+ */
+public interface WithdrawalLimitService {
+
+    /**
+     * Counts a withdrawal against every limit of the wallet and its customer, or rejects it if any limit would be
+     * exceeded. Never queries the database. If the surrounding transaction rolls back, the withdrawal is taken back.
+     *
+     * @param wallet the wallet, with its customer loaded
+     * @param amount the amount withdrawn, in the wallet currency
+     * @throws com.digitalwallet.walletservice.exception.WithdrawalLimitExceededException if a limit would be exceeded
+     */
+    void reserve(Wallet wallet, BigDecimal amount);
+
+    /**
+     * Takes back a withdrawal that was denied, once the surrounding transaction has committed.
+     *
+     * @param wallet    the wallet, with its customer loaded
+     * @param amount    the amount of the withdrawal
+     * @param createdAt when the withdrawal was made, deciding which periods it counted against
+     */
+    void release(Wallet wallet, BigDecimal amount, LocalDateTime createdAt);
+
+    /**
+     * Returns how much a wallet or customer may still withdraw in the current period.
+     *
+     * @param scope    whether {@code ownerId} is a wallet or a customer
+     * @param ownerId  the ID of the wallet or customer
+     * @param currency the currency
+     * @param period   the period
+     * @return the remaining allowance, or {@code null} if no limit is configured
+     */
+    BigDecimal getRemaining(LimitScope scope, Long ownerId, Currency currency, LimitPeriod period);
+
+    /**
+     * Writes all counters changed since the last flush to the database.
+     *
+     * @return the number of counters written
+     */
+    int flush();
+}
@@ -0,0 +1,309 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.LimitPeriod;
+import com.digitalwallet.walletservice.enums.LimitScope;
+import com.digitalwallet.walletservice.exception.WithdrawalLimitExceededException;
+import com.digitalwallet.walletservice.limits.UsageCounter;
+import com.digitalwallet.walletservice.limits.UsageKey;
+import com.digitalwallet.walletservice.limits.WithdrawalTotal;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.model.WithdrawalUsage;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WithdrawalUsageRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of {@link WithdrawalLimitService} backed by in-memory counters.
+ * <p>
+ * The limits are read from {@code wallet.limits.withdraw.<wallet|customer>.<daily|monthly>.<CURRENCY>}; a missing
+ * key means no limit. Every limited wallet, customer, currency and period has a {@link UsageCounter} in a
+ * concurrent map. A withdrawal reserves its amount on each counter with compare-and-set, so checking the limits
+ * costs no database query, and only withdrawals of the same wallet or customer contend with each other.
+ * <p>
+ * The counters are written to the {@code withdrawal_usage} table every {@code wallet.limits.flush-interval} and
+ * on shutdown, all in one transaction. On startup they are rebuilt from the transaction table, not from the
+ * flushed rows: today's usage from today's withdrawals and the month's from the withdrawals since the first of the
+ * month, both through {@code idx_transaction_created}. A crash therefore loses nothing, even one after midnight
+ * before the previous day was flushed; the flushed rows only tell which counters have changed since. Denied
+ * withdrawals and transfer legs are not counted.
+ * <p>
+ * The counters only see withdrawals made by this instance. When several instances share one database, each one
+ * enforces the limits on its own share until it is restarted.
+ * <p>
+ * Transfers are not limited: they only move money between wallets of the same customer, and the target wallet's
+ * withdrawals are limited in turn. Withdrawals through the reactive API are not checked either, as that
+ * application does not share these counters; they count against the limits from the next restart on.
+ */
+@Service
+public class WithdrawalLimitServiceImpl implements WithdrawalLimitService {
+
+    private static final Logger log = LoggerFactory.getLogger(WithdrawalLimitServiceImpl.class);
+    private static final long UNLIMITED = -1;
+
+    private final long[][][] limits = new long[LimitScope.values().length][LimitPeriod.values().length]
+            [Currency.values().length];
+    private final WithdrawalUsageRepository usageRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transaction;
+    private final Map<UsageKey, UsageCounter> counters = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructs a {@code WithdrawalLimitServiceImpl}.
+     *
+     * @param environment           source of the configured limits
+     * @param usageRepository       repository the counters are flushed to
+     * @param transactionRepository repository today's withdrawals are rebuilt from
+     * @param transactionManager    transaction manager for the rebuild and the flushes
+     * @param meterRegistry         registry the counter metrics are published to
+     */
+    public WithdrawalLimitServiceImpl(Environment environment, WithdrawalUsageRepository usageRepository,
+                                      TransactionRepository transactionRepository,
+                                      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        for (LimitScope scope : LimitScope.values()) {
+            for (LimitPeriod period : LimitPeriod.values()) {
+                for (Currency currency : Currency.values()) {
+                    String key = "wallet.limits.withdraw." + scope.name().toLowerCase(Locale.ROOT) + "."
+                            + period.name().toLowerCase(Locale.ROOT) + "." + currency.name();
+                    BigDecimal limit = environment.getProperty(key, BigDecimal.class);
+                    if (limit != null && limit.signum() < 0) {
+                        throw new IllegalArgumentException(key + " must not be negative");
+                    }
+                    limits[scope.ordinal()][period.ordinal()][currency.ordinal()] =
+                            limit == null ? UNLIMITED : hundredths(limit);
+                }
+            }
+        }
+        this.usageRepository = usageRepository;
+        this.transactionRepository = transactionRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        Gauge.builder("wallet.limits.counters", counters, Map::size)
+                .description("Withdrawal limit counters in memory").register(meterRegistry);
+        FunctionCounter.builder("wallet.limits.withdraw.rejected", rejected, LongAdder::sum)
+                .description("Withdrawals rejected by a daily or monthly limit").register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the counters of the current day and month before the application accepts requests. Reads the
+     * primary database, since a lagging read replica would miss the latest withdrawals.
+     */
+    @PostConstruct
+    public void init() {
+        rebuild(LocalDate.now());
+    }
+
+    void rebuild(LocalDate today) {
+        LocalDate monthStart = LimitPeriod.MONTHLY.start(today);
+        transaction.executeWithoutResult(status -> {
+            List<WithdrawalTotal> todays = transactionRepository.sumWithdrawalsSince(today.atStartOfDay());
+            Map<UsageKey, Long> daily = totals(todays, LimitPeriod.DAILY, today);
+            Map<UsageKey, Long> monthly = totals(monthStart.equals(today) ? todays
+                    : transactionRepository.sumWithdrawalsSince(monthStart.atStartOfDay()),
+                    LimitPeriod.MONTHLY, monthStart);
+
+            Map<UsageKey, Long> flushedDaily = load(LimitPeriod.DAILY, today);
+            Map<UsageKey, Long> flushedMonthly = load(LimitPeriod.MONTHLY, monthStart);
+            // A flushed row without withdrawals left (all denied since) must be written back as zero
+            flushedDaily.keySet().forEach(key -> daily.putIfAbsent(key, 0L));
+            flushedMonthly.keySet().forEach(key -> monthly.putIfAbsent(key, 0L));
+
+            restore(daily, flushedDaily);
+            restore(monthly, flushedMonthly);
+        });
+        log.info("Rebuilt {} withdrawal limit counters", counters.size());
+    }
+
+    private static Map<UsageKey, Long> totals(List<WithdrawalTotal> totals, LimitPeriod period,
+                                              LocalDate periodStart) {
+        Map<UsageKey, Long> usage = new HashMap<>();
+        for (WithdrawalTotal total : totals) {
+            long amount = hundredths(total.getAmount());
+            usage.merge(new UsageKey(LimitScope.WALLET, total.getWalletId(), total.getCurrency(), period,
+                    periodStart), amount, Long::sum);
+            usage.merge(new UsageKey(LimitScope.CUSTOMER, total.getCustomerId(), total.getCurrency(), period,
+                    periodStart), amount, Long::sum);
+        }
+        return usage;
+    }
+
+    private Map<UsageKey, Long> load(LimitPeriod period, LocalDate periodStart) {
+        Map<UsageKey, Long> usage = new HashMap<>();
+        for (WithdrawalUsage row : usageRepository.findByPeriodAndPeriodStart(period, periodStart)) {
+            usage.put(new UsageKey(row.getScope(), row.getOwnerId(), row.getCurrency(), period, periodStart),
+                    hundredths(row.getAmount()));
+        }
+        return usage;
+    }
+
+    private void restore(Map<UsageKey, Long> usage, Map<UsageKey, Long> flushed) {
+        usage.forEach((key, amount) -> {
+            if (limit(key.getScope(), key.getPeriod(), key.getCurrency()) != UNLIMITED) {
+                counters.put(key, new UsageCounter(Math.max(0, amount), flushed.getOrDefault(key, 0L)));
+            }
+        });
+    }
+
+    @Override
+    public void reserve(Wallet wallet, BigDecimal amount) {
+        long hundredths = hundredths(amount);
+        LocalDate today = LocalDate.now();
+        List<UsageCounter> reserved = new ArrayList<>(4);
+        for (LimitScope scope : LimitScope.values()) {
+            for (LimitPeriod period : LimitPeriod.values()) {
+                long limit = limit(scope, period, wallet.getCurrency());
+                if (limit == UNLIMITED) {
+                    continue;
+                }
+                UsageCounter counter = counters.computeIfAbsent(key(wallet, scope, period, today),
+                        key -> new UsageCounter(0, 0));
+                if (!counter.tryReserve(hundredths, limit)) {
+                    reserved.forEach(taken -> taken.release(hundredths));
+                    rejected.increment();
+                    throw new WithdrawalLimitExceededException("This withdrawal exceeds the "
+                            + period.name().toLowerCase(Locale.ROOT) + " withdrawal limit of the "
+                            + scope.name().toLowerCase(Locale.ROOT) + ".");
+                }
+                reserved.add(counter);
+            }
+        }
+        if (!reserved.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        reserved.forEach(taken -> taken.release(hundredths));
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void release(Wallet wallet, BigDecimal amount, LocalDateTime createdAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseNow(wallet, amount, createdAt.toLocalDate());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseNow(wallet, amount, createdAt.toLocalDate());
+            }
+        });
+    }
+
+    private void releaseNow(Wallet wallet, BigDecimal amount, LocalDate day) {
+        long hundredths = hundredths(amount);
+        for (LimitScope scope : LimitScope.values()) {
+            for (LimitPeriod period : LimitPeriod.values()) {
+                // Counters of periods already over are gone, and nothing is limited by them anymore
+                UsageCounter counter = counters.get(key(wallet, scope, period, day));
+                if (counter != null) {
+                    counter.release(hundredths);
+                }
+            }
+        }
+    }
+
+    @Override
+    public BigDecimal getRemaining(LimitScope scope, Long ownerId, Currency currency, LimitPeriod period) {
+        long limit = limit(scope, period, currency);
+        if (limit == UNLIMITED) {
+            return null;
+        }
+        UsageCounter counter = counters.get(new UsageKey(scope, ownerId, currency, period,
+                period.start(LocalDate.now())));
+        return BigDecimal.valueOf(Math.max(0, limit - (counter == null ? 0 : counter.get())), 2);
+    }
+
+    /**
+     * Writes the changed counters every {@code wallet.limits.flush-interval} and drops the counters of periods
+     * that are over once they are written.
+     */
+    @Scheduled(fixedDelayString = "${wallet.limits.flush-interval:10s}",
+            initialDelayString = "${wallet.limits.flush-interval:10s}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Could not flush withdrawal limit counters, retrying on the next run", ex);
+        }
+    }
+
+    @Override
+    public synchronized int flush() {
+        Map<UsageKey, UsageCounter> dirty = new HashMap<>();
+        counters.forEach((key, counter) -> {
+            if (counter.isDirty()) {
+                dirty.put(key, counter);
+            }
+        });
+        Map<UsageCounter, Long> written = new HashMap<>();
+        if (!dirty.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            transaction.executeWithoutResult(status -> dirty.forEach((key, counter) -> {
+                long amount = counter.get();
+                usageRepository.upsert(key.getScope().name(), key.getOwnerId(), key.getCurrency().name(),
+                        key.getPeriod().name(), key.getPeriodStart(), BigDecimal.valueOf(amount, 2), now);
+                written.put(counter, amount);
+            }));
+            written.forEach(UsageCounter::markFlushed);
+        }
+
+        LocalDate today = LocalDate.now();
+        counters.entrySet().removeIf(entry -> !entry.getValue().isDirty()
+                && entry.getKey().getPeriodStart().isBefore(entry.getKey().getPeriod().start(today)));
+        return written.size();
+    }
+
+    /**
+     * Writes the counters one last time on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        try {
+            log.info("Flushed {} withdrawal limit counters on shutdown", flush());
+        } catch (RuntimeException ex) {
+            log.warn("Could not flush withdrawal limit counters on shutdown, they are rebuilt on startup", ex);
+        }
+    }
+
+    private long limit(LimitScope scope, LimitPeriod period, Currency currency) {
+        return limits[scope.ordinal()][period.ordinal()][currency.ordinal()];
+    }
+
+    private static UsageKey key(Wallet wallet, LimitScope scope, LimitPeriod period, LocalDate day) {
+        Long ownerId = scope == LimitScope.WALLET ? wallet.getId() : wallet.getCustomer().getId();
+        return new UsageKey(scope, ownerId, wallet.getCurrency(), period, period.start(day));
+    }
+
+    private static long hundredths(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
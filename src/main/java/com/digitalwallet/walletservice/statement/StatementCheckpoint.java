@@ -0,0 +1,72 @@
+package com.digitalwallet.walletservice.statement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only record of the wallet ID partitions a statement run has finished.
+ * <p>
+ * Each completed partition is written as one line holding its first wallet ID and synced to disk
+ * before the partition counts as done, so a crashed or stopped run can be resumed without
+ * rewriting finished partitions. Partition boundaries are aligned to multiples of the partition size,
+ * which keeps them stable between runs as long as the partition size is unchanged.
+ */
+public class StatementCheckpoint {
+
+    private final Path file;
+    private final Set<Long> completed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Opens the checkpoint file, loading the partitions recorded by previous runs.
+     *
+     * @param file    the checkpoint file
+     * @param restart whether to discard previous progress
+     */
+    public StatementCheckpoint(Path file, boolean restart) {
+        this.file = file;
+        try {
+            if (restart) {
+                Files.deleteIfExists(file);
+            } else if (Files.exists(file)) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) {
+                        completed.add(Long.parseLong(line.trim()));
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read statement checkpoint " + file, ex);
+        }
+    }
+
+    /**
+     * Returns whether the partition starting at the given wallet ID was already completed.
+     *
+     * @param partitionStart the first wallet ID of the partition
+     * @return {@code true} if the partition can be skipped
+     */
+    public boolean isCompleted(long partitionStart) {
+        return completed.contains(partitionStart);
+    }
+
+    /**
+     * Durably records the partition starting at the given wallet ID as completed.
+     *
+     * @param partitionStart the first wallet ID of the partition
+     */
+    public synchronized void markCompleted(long partitionStart) {
+        try {
+            Files.writeString(file, partitionStart + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write statement checkpoint " + file, ex);
+        }
+        completed.add(partitionStart);
+    }
+}
@@ -0,0 +1,69 @@
+package com.digitalwallet.walletservice.statement;
+
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One statement line, read straight from the transaction table with a constructor expression
+ * so that no {@code Transaction} entities are loaded into the persistence context.
+ */
+public class StatementEntry {
+
+    private final Long walletId;
+    private final Long transactionId;
+    private final LocalDateTime createdAt;
+    private final TransactionType type;
+    private final TransactionStatus status;
+    private final BigDecimal amount;
+    private final OppositePartyType oppositePartyType;
+    private final String oppositeParty;
+
+    public StatementEntry(Long walletId, Long transactionId, LocalDateTime createdAt, TransactionType type,
+                          TransactionStatus status, BigDecimal amount, OppositePartyType oppositePartyType,
+                          String oppositeParty) {
+        this.walletId = walletId;
+        this.transactionId = transactionId;
+        this.createdAt = createdAt;
+        this.type = type;
+        this.status = status;
+        this.amount = amount;
+        this.oppositePartyType = oppositePartyType;
+        this.oppositeParty = oppositeParty;
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public OppositePartyType getOppositePartyType() {
+        return oppositePartyType;
+    }
+
+    public String getOppositeParty() {
+        return oppositeParty;
+    }
+}
@@ -0,0 +1,154 @@
+package com.digitalwallet.walletservice.statement;
+
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the statement of one wallet for one month in the configured formats.
+ * <p>
+ * Every file is first written under a temporary name and then moved into place, so a statement
+ * file on disk is always complete, even if the run is interrupted.
+ */
+public class StatementFileWriter {
+
+    private static final String CSV_HEADER =
+            "transaction_id,created_at,type,status,amount,opposite_party_type,opposite_party";
+
+    private final JsonFactory jsonFactory;
+    private final Set<StatementFormat> formats;
+
+    /**
+     * Creates a writer for the given formats.
+     *
+     * @param jsonFactory factory used to create streaming JSON generators
+     * @param formats     the formats every statement is written in
+     */
+    public StatementFileWriter(JsonFactory jsonFactory, Set<StatementFormat> formats) {
+        this.jsonFactory = jsonFactory;
+        this.formats = formats;
+    }
+
+    /**
+     * Writes the statement files of a wallet into the given directory.
+     *
+     * @param directory the month's output directory
+     * @param month     the statement month
+     * @param wallet    the wallet header data
+     * @param entries   the wallet's transactions of the month, in chronological order
+     * @return the number of files written
+     */
+    public int write(Path directory, YearMonth month, StatementWallet wallet, List<StatementEntry> entries) {
+        for (StatementFormat format : formats) {
+            Path target = directory.resolve("wallet-" + wallet.getWalletId() + "." + format.getExtension());
+            Path temp = directory.resolve(target.getFileName() + ".tmp");
+            try {
+                if (format == StatementFormat.CSV) {
+                    writeCsv(temp, entries);
+                } else {
+                    writeJson(temp, month, wallet, entries);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not write statement " + target, ex);
+            }
+        }
+        return formats.size();
+    }
+
+    private void writeCsv(Path file, List<StatementEntry> entries) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            for (StatementEntry entry : entries) {
+                writer.write(String.valueOf(entry.getTransactionId()));
+                writer.write(',');
+                writer.write(String.valueOf(entry.getCreatedAt()));
+                writer.write(',');
+                writer.write(String.valueOf(entry.getType()));
+                writer.write(',');
+                writer.write(String.valueOf(entry.getStatus()));
+                writer.write(',');
+                writer.write(entry.getAmount().toPlainString());
+                writer.write(',');
+                writer.write(String.valueOf(entry.getOppositePartyType()));
+                writer.write(',');
+                writer.write(escapeCsv(entry.getOppositeParty()));
+                writer.newLine();
+            }
+        }
+    }
+
+    private void writeJson(Path file, YearMonth month, StatementWallet wallet, List<StatementEntry> entries)
+            throws IOException {
+        BigDecimal deposits = BigDecimal.ZERO;
+        BigDecimal withdrawals = BigDecimal.ZERO;
+        int pending = 0;
+
+        try (OutputStream out = Files.newOutputStream(file);
+             JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("month", month.toString());
+            json.writeNumberField("walletId", wallet.getWalletId());
+            json.writeNumberField("customerId", wallet.getCustomerId());
+            json.writeStringField("walletName", wallet.getWalletName());
+            json.writeStringField("currency", String.valueOf(wallet.getCurrency()));
+
+            json.writeArrayFieldStart("transactions");
+            for (StatementEntry entry : entries) {
+                json.writeStartObject();
+                json.writeNumberField("id", entry.getTransactionId());
+                json.writeStringField("createdAt", String.valueOf(entry.getCreatedAt()));
+                json.writeStringField("type", String.valueOf(entry.getType()));
+                json.writeStringField("status", String.valueOf(entry.getStatus()));
+                json.writeNumberField("amount", entry.getAmount());
+                json.writeStringField("oppositePartyType", String.valueOf(entry.getOppositePartyType()));
+                json.writeStringField("oppositeParty", entry.getOppositeParty());
+                json.writeEndObject();
+
+                if (entry.getStatus() == TransactionStatus.PENDING) {
+                    pending++;
+                } else if (entry.getStatus() == TransactionStatus.APPROVED) {
+                    if (entry.getType() == TransactionType.DEPOSIT) {
+                        deposits = deposits.add(entry.getAmount());
+                    } else {
+                        withdrawals = withdrawals.add(entry.getAmount());
+                    }
+                }
+            }
+            json.writeEndArray();
+
+            json.writeObjectFieldStart("totals");
+            json.writeNumberField("approvedDeposits", deposits);
+            json.writeNumberField("approvedWithdrawals", withdrawals);
+            json.writeNumberField("pendingTransactions", pending);
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,27 @@
+package com.digitalwallet.walletservice.statement;
+
+/**
+ * File formats a statement can be written in.
+ */
+public enum StatementFormat {
+
+    /**
+     * One row per transaction, for spreadsheets and bulk imports.
+     */
+    CSV("csv"),
+
+    /**
+     * Wallet header, transactions and totals in one document, ready to be rendered to PDF.
+     */
+    JSON("json");
+
+    private final String extension;
+
+    StatementFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,37 @@
+package com.digitalwallet.walletservice.statement;
+
+import com.digitalwallet.walletservice.enums.Currency;
+
+/**
+ * Header data of a wallet statement, read with a constructor expression.
+ */
+public class StatementWallet {
+
+    private final Long walletId;
+    private final Long customerId;
+    private final String walletName;
+    private final Currency currency;
+
+    public StatementWallet(Long walletId, Long customerId, String walletName, Currency currency) {
+        this.walletId = walletId;
+        this.customerId = customerId;
+        this.walletName = walletName;
+        this.currency = currency;
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getWalletName() {
+        return walletName;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+}
@@ -0,0 +1,17 @@
+package com.digitalwallet.walletservice.velocity;
+
+/**
+ * What happens to a withdrawal exceeding the velocity limits.
+ */
+public enum VelocityAction {
+
+    /**
+     * The withdrawal is created as PENDING and waits for an employee, whatever the approval rules say.
+     */
+    FLAG,
+
+    /**
+     * The withdrawal is rejected with {@code 429 Too Many Requests}.
+     */
+    BLOCK
+}
@@ -0,0 +1,41 @@
+package com.digitalwallet.walletservice.velocity;
+
+import com.digitalwallet.walletservice.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One recent transaction, read straight from the transaction table with a constructor expression
+ * to rebuild the {@link VelocityTracker} on startup.
+ */
+public class VelocityEntry {
+
+    private final Long walletId;
+    private final TransactionType type;
+    private final BigDecimal amount;
+    private final LocalDateTime createdAt;
+
+    public VelocityEntry(Long walletId, TransactionType type, BigDecimal amount, LocalDateTime createdAt) {
+        this.walletId = walletId;
+        this.type = type;
+        this.amount = amount;
+        this.createdAt = createdAt;
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,86 @@
+package com.digitalwallet.walletservice.velocity;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.fx.FxRateSnapshot;
+import com.digitalwallet.walletservice.service.FxService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits on how often and how much a wallet may withdraw within the {@link VelocityTracker} window.
+ * <p>
+ * A withdrawal exceeds the limits if, counting itself, the wallet would have made more than
+ * {@code wallet.velocity.withdraw.max-count} withdrawals or withdrawn more than
+ * {@code wallet.velocity.withdraw.max-amount} (in TRY, converted at the current FX snapshot) within the window.
+ * Such a withdrawal is then handled according to {@code wallet.velocity.withdraw.action}. A limit of 0 is disabled.
+ * Exceeded checks are counted as {@code wallet.velocity.withdraw.limited}.
+ */
+@Component
+public class VelocityLimits implements MeterBinder {
+
+    private final int maxCount;
+    private final BigDecimal maxAmount;
+    private final VelocityAction action;
+    private final FxService fxService;
+    private final LongAdder limited = new LongAdder();
+
+    /**
+     * @param maxCount  the most withdrawals within the window, 0 for no limit
+     * @param maxAmount the largest total withdrawn within the window in TRY, 0 for no limit
+     * @param action    what happens to withdrawals exceeding a limit
+     * @param fxService source of the rates converting wallet amounts to TRY
+     */
+    public VelocityLimits(@Value("${wallet.velocity.withdraw.max-count:5}") int maxCount,
+                          @Value("${wallet.velocity.withdraw.max-amount:10000}") BigDecimal maxAmount,
+                          @Value("${wallet.velocity.withdraw.action:FLAG}") VelocityAction action,
+                          FxService fxService) {
+        this.maxCount = maxCount;
+        this.maxAmount = maxAmount;
+        this.action = action;
+        this.fxService = fxService;
+    }
+
+    /**
+     * Checks a withdrawal against the limits.
+     *
+     * @param currency the wallet currency
+     * @param recent   the wallet's withdrawals within the window
+     * @param amount   the amount of the withdrawal
+     * @return the action to take, or {@code null} if the withdrawal is within the limits
+     */
+    public VelocityAction check(Currency currency, VelocityWindow recent, BigDecimal amount) {
+        boolean exceeded = (maxCount > 0 && recent.getCount() + 1 > maxCount)
+                || (maxAmount.signum() > 0 && toBase(currency, recent.getAmount().add(amount)).compareTo(maxAmount) > 0);
+        if (!exceeded) {
+            return null;
+        }
+        limited.increment();
+        return action;
+    }
+
+    private BigDecimal toBase(Currency currency, BigDecimal amount) {
+        return currency == FxRateSnapshot.BASE_CURRENCY
+                ? amount
+                : amount.multiply(fxService.getSnapshot().rate(currency, FxRateSnapshot.BASE_CURRENCY));
+    }
+
+    /**
+     * @return the number of withdrawals that exceeded a limit
+     */
+    public long getLimited() {
+        return limited.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("wallet.velocity.withdraw.limited", this, VelocityLimits::getLimited)
+                .tag("action", action.name().toLowerCase())
+                .description("Withdrawals exceeding the velocity limits").register(registry);
+    }
+}
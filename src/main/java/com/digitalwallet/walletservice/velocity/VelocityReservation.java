@@ -0,0 +1,27 @@
+package com.digitalwallet.walletservice.velocity;
+
+/**
+ * Outcome of {@link VelocityTracker#reserve}: what the check saw, and what it decided.
+ */
+public final class VelocityReservation {
+
+    private final VelocityWindow recent;
+    private final VelocityAction action;
+
+    /**
+     * @param recent the wallet's transactions of the same type within the window, before this one
+     * @param action the action the check returned, {@code null} if the transaction is within the limits
+     */
+    public VelocityReservation(VelocityWindow recent, VelocityAction action) {
+        this.recent = recent;
+        this.action = action;
+    }
+
+    public VelocityWindow getRecent() {
+        return recent;
+    }
+
+    public VelocityAction getAction() {
+        return action;
+    }
+}
@@ -0,0 +1,377 @@
+package com.digitalwallet.walletservice.velocity;
+
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * In-memory sliding-window counters of each wallet's recent deposits and withdrawals, read by the auto-approval
+ * rules and the withdrawal velocity limits without querying the transaction table.
+ * <p>
+ * Every wallet has a ring buffer of {@code wallet.velocity.window / wallet.velocity.bucket} time buckets holding the
+ * number and total amount (in hundredths of the wallet currency) of its transactions per type. A bucket is reused
+ * once it falls out of the window, so a wallet takes a fixed few hundred bytes however busy it is, and the window
+ * slides in steps of one bucket. Wallets without transactions within the window are evicted every
+ * {@code wallet.velocity.eviction-interval}, and at most {@code wallet.velocity.max-wallets} are kept; beyond that
+ * the least recently active wallets are dropped. That trim runs once the limit is reached, by one thread at a
+ * time, and frees a tenth of the limit at once, so recording a new wallet does not scan all wallets every time;
+ * other threads keep recording meanwhile and may overshoot the limit by a few wallets.
+ * <p>
+ * Withdrawals are checked and counted in one step by {@link #reserve}, under the wallet's lock, so concurrent
+ * withdrawals from one wallet cannot all pass a limit that only one of them fits under.
+ * <p>
+ * On startup, before the instance reports ready, the counters are rebuilt from the transactions created within the
+ * window. Transfer legs (marked by the server, see {@code Transaction.transferLeg}) are not counted, as they are
+ * never recorded either. Transfers and withdrawals through the reactive API are not checked against the limits.
+ * Metrics: {@code wallet.velocity.wallets} and {@code wallet.velocity.evictions}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class VelocityTracker implements ApplicationRunner, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(VelocityTracker.class);
+    private static final int TYPES = TransactionType.values().length;
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final int maxWallets;
+    private final boolean rebuildOnStartup;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transaction;
+    private final int trimmedSize;
+    private final Map<Long, Activity> wallets = new ConcurrentHashMap<>();
+    private final ReentrantLock trimming = new ReentrantLock();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param window                how far back transactions are counted
+     * @param bucket                the resolution of the window
+     * @param maxWallets            the most wallets tracked at once
+     * @param rebuildOnStartup      whether to load the window from the database on startup
+     * @param transactionRepository source of the transactions to rebuild from
+     * @param transactionManager    transaction manager for the rebuild query
+     */
+    public VelocityTracker(@Value("${wallet.velocity.window:10m}") Duration window,
+                           @Value("${wallet.velocity.bucket:30s}") Duration bucket,
+                           @Value("${wallet.velocity.max-wallets:100000}") int maxWallets,
+                           @Value("${wallet.velocity.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                           TransactionRepository transactionRepository,
+                           PlatformTransactionManager transactionManager) {
+        if (bucket.isZero() || bucket.isNegative() || window.compareTo(bucket) < 0) {
+            throw new IllegalArgumentException("wallet.velocity.bucket must be positive and not exceed the window");
+        }
+        this.bucketMillis = bucket.toMillis();
+        this.buckets = (int) ((window.toMillis() + bucketMillis - 1) / bucketMillis);
+        this.maxWallets = maxWallets;
+        this.trimmedSize = maxWallets - Math.max(1, maxWallets / 10);
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.transactionRepository = transactionRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Rebuilds the counters from the transactions created within the window. Reads the primary database, since a
+     * lagging read replica would miss the latest withdrawals.
+     *
+     * @param args the application arguments (unused)
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime since = LocalDateTime.now(zone).minus(Duration.ofMillis(buckets * bucketMillis));
+        try {
+            long loaded = transaction.execute(status -> {
+                long count = 0;
+                try (Stream<VelocityEntry> entries = transactionRepository.streamVelocityEntries(since)) {
+                    for (VelocityEntry entry : (Iterable<VelocityEntry>) entries::iterator) {
+                        record(entry.getWalletId(), entry.getType(), entry.getAmount(),
+                                entry.getCreatedAt().atZone(zone).toInstant().toEpochMilli());
+                        count++;
+                    }
+                }
+                return count;
+            });
+            log.info("Velocity counters rebuilt from {} transactions of {} wallets in {} ms", loaded, wallets.size(),
+                    System.currentTimeMillis() - started);
+        } catch (RuntimeException ex) {
+            log.warn("Could not rebuild velocity counters, starting empty", ex);
+        }
+    }
+
+    /**
+     * @param walletId  the wallet
+     * @param type      the transaction type
+     * @param nowMillis the current time
+     * @return the wallet's transactions of that type within the window
+     */
+    public VelocityWindow current(Long walletId, TransactionType type, long nowMillis) {
+        Activity activity = wallets.get(walletId);
+        return activity == null ? VelocityWindow.EMPTY : activity.sum(type.ordinal(), nowMillis / bucketMillis);
+    }
+
+    /**
+     * Records a transaction once the surrounding database transaction has committed, or immediately if there is
+     * none, so rolled back transactions are never counted.
+     *
+     * @param walletId the wallet
+     * @param type     the transaction type
+     * @param amount   the amount, in the wallet currency
+     */
+    public void recordAfterCommit(Long walletId, TransactionType type, BigDecimal amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(walletId, type, amount, System.currentTimeMillis());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(walletId, type, amount, System.currentTimeMillis());
+            }
+        });
+    }
+
+    /**
+     * Checks a transaction against the wallet's window and counts it at once unless the check returns
+     * {@link VelocityAction#BLOCK}. Checking and counting happen under the wallet's lock, so each of several
+     * concurrent transactions of one wallet is checked with the ones before it counted. The count is taken back if
+     * the surrounding database transaction does not commit.
+     *
+     * @param walletId  the wallet
+     * @param type      the transaction type
+     * @param amount    the amount, in the wallet currency
+     * @param nowMillis the current time
+     * @param check     decides from the wallet's window before this transaction; runs under the wallet's lock
+     * @return what the check saw and returned
+     */
+    public VelocityReservation reserve(Long walletId, TransactionType type, BigDecimal amount, long nowMillis,
+                                       Function<VelocityWindow, VelocityAction> check) {
+        long bucket = nowMillis / bucketMillis;
+        long hundredths = hundredths(amount);
+        Activity activity = activity(walletId);
+        VelocityReservation reservation = activity.reserve(type.ordinal(), hundredths, bucket, check);
+        if (reservation.getAction() != VelocityAction.BLOCK
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        activity.remove(type.ordinal(), hundredths, bucket);
+                    }
+                }
+            });
+        }
+        return reservation;
+    }
+
+    /**
+     * Records a transaction. Transactions older than the window are ignored.
+     *
+     * @param walletId   the wallet
+     * @param type       the transaction type
+     * @param amount     the amount, in the wallet currency
+     * @param timeMillis the time of the transaction
+     */
+    public void record(Long walletId, TransactionType type, BigDecimal amount, long timeMillis) {
+        activity(walletId).add(type.ordinal(), hundredths(amount), timeMillis / bucketMillis);
+    }
+
+    private Activity activity(Long walletId) {
+        Activity activity = wallets.get(walletId);
+        if (activity != null) {
+            return activity;
+        }
+        if (wallets.size() >= maxWallets) {
+            makeRoom(System.currentTimeMillis() / bucketMillis);
+        }
+        return wallets.computeIfAbsent(walletId, id -> new Activity(buckets));
+    }
+
+    private static long hundredths(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /**
+     * Drops the counters of wallets without transactions within the window.
+     */
+    @Scheduled(fixedDelayString = "${wallet.velocity.eviction-interval:60s}",
+            initialDelayString = "${wallet.velocity.eviction-interval:60s}")
+    public void evictIdle() {
+        evictIdle(System.currentTimeMillis() / bucketMillis);
+    }
+
+    private void evictIdle(long currentBucket) {
+        for (Long walletId : wallets.keySet()) {
+            wallets.computeIfPresent(walletId, (id, activity) -> {
+                if (activity.getLastBucket() > currentBucket - buckets) {
+                    return activity;
+                }
+                evictions.increment();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Drops idle wallets and then the least recently active ones until the tracker is a tenth below its limit.
+     * If another thread is already trimming, returns at once.
+     */
+    private void makeRoom(long currentBucket) {
+        if (!trimming.tryLock()) {
+            return;
+        }
+        try {
+            if (wallets.size() < maxWallets) {
+                return;
+            }
+            evictIdle(currentBucket);
+            // Sorts a snapshot, as the last buckets keep moving while wallets are recorded
+            long[] lastBuckets = wallets.values().stream().mapToLong(Activity::getLastBucket).sorted().toArray();
+            int excess = lastBuckets.length - trimmedSize;
+            if (excess <= 0) {
+                return;
+            }
+            long threshold = lastBuckets[excess - 1];
+            for (Map.Entry<Long, Activity> entry : wallets.entrySet()) {
+                if (excess == 0) {
+                    return;
+                }
+                if (entry.getValue().getLastBucket() <= threshold && wallets.remove(entry.getKey(), entry.getValue())) {
+                    evictions.increment();
+                    excess--;
+                }
+            }
+        } finally {
+            trimming.unlock();
+        }
+    }
+
+    /**
+     * @return the number of wallets currently tracked
+     */
+    public int getTrackedWallets() {
+        return wallets.size();
+    }
+
+    /**
+     * @return the number of wallets dropped because they were idle or to stay within the limit
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("wallet.velocity.wallets", this, VelocityTracker::getTrackedWallets)
+                .description("Wallets with velocity counters in memory").register(registry);
+        FunctionCounter.builder("wallet.velocity.evictions", this, VelocityTracker::getEvictions)
+                .description("Wallets whose velocity counters were dropped").register(registry);
+    }
+
+    /**
+     * The ring buffer of one wallet. Slot {@code bucket % buckets} holds the counts of that bucket, as long as
+     * {@code slotBuckets} says it still belongs to it.
+     */
+    private static final class Activity {
+
+        private final long[] slotBuckets;
+        private final int[][] counts;
+        private final long[][] amounts;
+        private volatile long lastBucket = Long.MIN_VALUE;
+
+        Activity(int buckets) {
+            slotBuckets = new long[buckets];
+            Arrays.fill(slotBuckets, Long.MIN_VALUE);
+            counts = new int[TYPES][buckets];
+            amounts = new long[TYPES][buckets];
+        }
+
+        synchronized void add(int type, long hundredths, long bucket) {
+            int slot = (int) Math.floorMod(bucket, (long) slotBuckets.length);
+            if (bucket < slotBuckets[slot]) {
+                // Older than the window of the bucket now in the slot
+                return;
+            }
+            if (bucket > slotBuckets[slot]) {
+                slotBuckets[slot] = bucket;
+                for (int t = 0; t < TYPES; t++) {
+                    counts[t][slot] = 0;
+                    amounts[t][slot] = 0;
+                }
+            }
+            counts[type][slot]++;
+            amounts[type][slot] += hundredths;
+            if (bucket > lastBucket) {
+                lastBucket = bucket;
+            }
+        }
+
+        synchronized VelocityReservation reserve(int type, long hundredths, long bucket,
+                                                 Function<VelocityWindow, VelocityAction> check) {
+            VelocityWindow recent = sum(type, bucket);
+            VelocityAction action = check.apply(recent);
+            if (action != VelocityAction.BLOCK) {
+                add(type, hundredths, bucket);
+            }
+            return new VelocityReservation(recent, action);
+        }
+
+        synchronized void remove(int type, long hundredths, long bucket) {
+            int slot = (int) Math.floorMod(bucket, (long) slotBuckets.length);
+            // Nothing to take back once the bucket has left the window
+            if (slotBuckets[slot] == bucket) {
+                counts[type][slot]--;
+                amounts[type][slot] -= hundredths;
+            }
+        }
+
+        synchronized VelocityWindow sum(int type, long currentBucket) {
+            long oldest = currentBucket - slotBuckets.length;
+            int count = 0;
+            long hundredths = 0;
+            for (int slot = 0; slot < slotBuckets.length; slot++) {
+                if (slotBuckets[slot] > oldest && slotBuckets[slot] <= currentBucket) {
+                    count += counts[type][slot];
+                    hundredths += amounts[type][slot];
+                }
+            }
+            return count == 0 ? VelocityWindow.EMPTY : new VelocityWindow(count, BigDecimal.valueOf(hundredths, 2));
+        }
+
+        long getLastBucket() {
+            return lastBucket;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.digitalwallet.walletservice.velocity;
+
+import java.math.BigDecimal;
+
+/**
+ * Number and total amount of a wallet's recent transactions of one type.
+ */
+public final class VelocityWindow {
+
+    /**
+     * A window without transactions.
+     */
+    public static final VelocityWindow EMPTY = new VelocityWindow(0, BigDecimal.ZERO);
+
+    private final int count;
+    private final BigDecimal amount;
+
+    /**
+     * @param count  number of transactions
+     * @param amount their total amount, in the wallet currency
+     */
+    public VelocityWindow(int count, BigDecimal amount) {
+        this.count = count;
+        this.amount = amount;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
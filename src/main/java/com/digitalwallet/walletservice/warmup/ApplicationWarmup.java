@@ -0,0 +1,364 @@
+package com.digitalwallet.walletservice.warmup;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.WalletResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.identity.IdentityLookupService;
+import com.digitalwallet.walletservice.mapper.TransactionMapper;
+import com.digitalwallet.walletservice.mapper.WalletMapper;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Transaction;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.digitalwallet.walletservice.security.JwtService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Warms up the hot paths after startup and before the instance reports ready.
+ * <p>
+ * Runs as the first {@link ApplicationRunner}; Spring Boot only switches readiness to {@code ACCEPTING_TRAFFIC}
+ * after all runners have finished, and {@link WarmupHealthIndicator} additionally keeps the {@code readiness}
+ * health group {@code OUT_OF_SERVICE} until warm-up is complete. All steps are read-only:
+ * <ol>
+ *   <li>opens every connection of the Hikari pool, so the first requests do not pay for connection setup</li>
+ *   <li>loads the most recently changed wallets and their owners with the same queries the request path uses
+ *       ({@code findById}, the natural-id lookup of {@link IdentityLookupService}), warming the database buffer pool,
+ *       Hibernate's query plan cache and the second-level cache of principals</li>
+ *   <li>runs rounds of token generation and parsing, wallet lookup, entity → DTO mapping and JSON serialization,
+ *       so the JIT compiles them before real traffic arrives</li>
+ *   <li>sends loopback {@code GET /api/transactions/wallet/{id}/recent} requests for hot wallets through Tomcat,
+ *       the JWT filter, the controller and Jackson; the recent-activity view is bounded by
+ *       {@code wallet.activity.size}, so warm-up never reads a wallet's full history</li>
+ * </ol>
+ * Every step stops at {@code wallet.warmup.max-duration}. Failures are logged and never block readiness.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ApplicationWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationWarmup.class);
+
+    private final DataSource dataSource;
+    private final TransactionTemplate readOnlyTransaction;
+    private final WalletRepository walletRepository;
+    private final IdentityLookupService identityLookupService;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final boolean enabled;
+    private final Duration maxDuration;
+    private final int rounds;
+    private final int httpRequests;
+    private final int hotWallets;
+    private final Duration hotWalletWindow;
+
+    private volatile boolean complete;
+    private volatile WarmupReport report;
+    // Consumes serialized output so the JIT cannot eliminate the warm-up work as dead code
+    private long sink;
+
+    /**
+     * Constructs an {@code ApplicationWarmup}.
+     *
+     * @param dataSource            the data source whose pool is pre-filled
+     * @param transactionManager    used for the read-only hot wallet query
+     * @param walletRepository      repository for wallet lookups
+     * @param identityLookupService lookup of principals, as done by the JWT filter
+     * @param jwtService            service whose token handling is warmed up
+     * @param objectMapper          mapper whose serializers are warmed up
+     * @param environment           used to look up the port of the embedded server
+     * @param enabled               whether to warm up at all
+     * @param maxDuration           upper bound for the whole warm-up
+     * @param rounds                number of in-process rounds
+     * @param httpRequests          number of loopback HTTP requests
+     * @param hotWallets            maximum number of recently changed wallets to preload
+     * @param hotWalletWindow       how far back a wallet change makes it hot
+     */
+    public ApplicationWarmup(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             WalletRepository walletRepository,
+                             IdentityLookupService identityLookupService,
+                             JwtService jwtService,
+                             ObjectMapper objectMapper,
+                             Environment environment,
+                             @Value("${wallet.warmup.enabled:true}") boolean enabled,
+                             @Value("${wallet.warmup.max-duration:30s}") Duration maxDuration,
+                             @Value("${wallet.warmup.rounds:2000}") int rounds,
+                             @Value("${wallet.warmup.http-requests:200}") int httpRequests,
+                             @Value("${wallet.warmup.hot-wallets:200}") int hotWallets,
+                             @Value("${wallet.warmup.hot-wallet-window:24h}") Duration hotWalletWindow) {
+        this.dataSource = dataSource;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.walletRepository = walletRepository;
+        this.identityLookupService = identityLookupService;
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.enabled = enabled;
+        this.maxDuration = maxDuration;
+        this.rounds = rounds;
+        this.httpRequests = httpRequests;
+        this.hotWallets = hotWallets;
+        this.hotWalletWindow = hotWalletWindow;
+    }
+
+    /**
+     * Warms up the application when enabled, then marks warm-up complete.
+     *
+     * @param args application arguments (unused)
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            complete = true;
+            return;
+        }
+        try {
+            warmUp();
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up failed, continuing without it", ex);
+        } finally {
+            complete = true;
+        }
+    }
+
+    /**
+     * Executes all warm-up steps.
+     *
+     * @return what was preloaded and how the latencies developed
+     */
+    public WarmupReport warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+
+        int connections = prefillConnectionPool();
+        List<Wallet> wallets = loadHotWallets();
+        List<Customer> principals = loadPrincipals(wallets, deadline);
+        long[] roundTimes = runRounds(wallets, principals, deadline);
+        HttpResult http = sendHttpRequests(wallets, deadline);
+
+        WarmupReport result = new WarmupReport(Duration.ofNanos(System.nanoTime() - start), connections,
+                wallets.size(), principals.size(), roundTimes.length, first(roundTimes), lastTenth(roundTimes),
+                http.times.length, http.failures, first(http.times), lastTenth(http.times));
+        report = result;
+        log.info("Warm-up finished in {}", result);
+        return result;
+    }
+
+    /**
+     * Returns whether warm-up has finished (or was skipped).
+     *
+     * @return {@code true} once the instance may report ready
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns the result of the last warm-up.
+     *
+     * @return the report, or {@code null} if warm-up did not run or failed
+     */
+    public WarmupReport getReport() {
+        return report;
+    }
+
+    /**
+     * Opens as many connections as the pool may hold and returns them, so all of them stay idle in the pool.
+     *
+     * @return number of connections opened
+     */
+    private int prefillConnectionPool() {
+        List<Connection> opened = new ArrayList<>();
+        try {
+            int poolSize = dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize() : 1;
+            for (int i = 0; i < poolSize; i++) {
+                opened.add(dataSource.getConnection());
+            }
+            return opened.size();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not pre-fill the connection pool: " + ex.getMessage(), ex);
+        } finally {
+            for (Connection connection : opened) {
+                try {
+                    connection.close();
+                } catch (SQLException ex) {
+                    log.debug("Could not return warm-up connection", ex);
+                }
+            }
+        }
+    }
+
+    private List<Wallet> loadHotWallets() {
+        if (hotWallets <= 0) {
+            return List.of();
+        }
+        LocalDateTime since = LocalDateTime.now().minus(hotWalletWindow);
+        return readOnlyTransaction.execute(status ->
+                walletRepository.findRecentlyUpdated(since, PageRequest.of(0, hotWallets)));
+    }
+
+    /**
+     * Looks up the owners of the hot wallets exactly like the JWT filter does.
+     */
+    private List<Customer> loadPrincipals(List<Wallet> wallets, long deadline) {
+        Map<String, Customer> principals = new LinkedHashMap<>();
+        for (Wallet wallet : wallets) {
+            String tckn = wallet.getCustomer().getTckn();
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+            if (tckn != null && !principals.containsKey(tckn)) {
+                identityLookupService.findCustomer(tckn).ifPresent(customer -> principals.put(tckn, customer));
+            }
+        }
+        return new ArrayList<>(principals.values());
+    }
+
+    /**
+     * Runs token handling, wallet lookup, mapping and serialization in rounds.
+     *
+     * @return the duration of each completed round in nanoseconds
+     */
+    private long[] runRounds(List<Wallet> wallets, List<Customer> principals, long deadline) {
+        Customer syntheticCustomer = new Customer(0L, "Warm", "Up", "00000000000");
+        Wallet syntheticWallet = new Wallet(0L, "Warm-up", Currency.TRY, true, true,
+                BigDecimal.ZERO, BigDecimal.ZERO, syntheticCustomer);
+
+        long[] times = new long[Math.max(rounds, 0)];
+        int completed = 0;
+        try {
+            while (completed < times.length && System.nanoTime() < deadline) {
+                long roundStart = System.nanoTime();
+                Customer principal = principals.isEmpty()
+                        ? syntheticCustomer : principals.get(completed % principals.size());
+                String token = jwtService.generateToken(principal);
+                if (!jwtService.isTokenValid(token, principal) || jwtService.extractRole(token) == null) {
+                    throw new IllegalStateException("Warm-up token did not validate");
+                }
+
+                Wallet wallet = wallets.isEmpty() ? syntheticWallet
+                        : walletRepository.findById(wallets.get(completed % wallets.size()).getId())
+                        .orElse(syntheticWallet);
+                WalletResponse walletResponse = WalletMapper.toResponse(wallet);
+                TransactionResponse transactionResponse = TransactionMapper.toResponse(new Transaction(
+                        (long) completed, BigDecimal.TEN, TransactionType.DEPOSIT, OppositePartyType.IBAN,
+                        "TR000000000000000000000000", TransactionStatus.APPROVED, LocalDateTime.now(), wallet));
+                sink += objectMapper.writeValueAsBytes(walletResponse).length;
+                sink += objectMapper.writeValueAsBytes(List.of(transactionResponse, transactionResponse)).length;
+
+                times[completed++] = System.nanoTime() - roundStart;
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Warm-up serialization failed: " + ex.getMessage(), ex);
+        }
+        return Arrays.copyOf(times, completed);
+    }
+
+    /**
+     * Sends read-only requests for the recent activity of hot wallets through the embedded server, as their owners.
+     */
+    private HttpResult sendHttpRequests(List<Wallet> wallets, long deadline) {
+        String port = environment.getProperty("local.server.port");
+        if (wallets.isEmpty() || port == null || httpRequests <= 0) {
+            return new HttpResult(new long[0], 0);
+        }
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long[] times = new long[httpRequests];
+        int completed = 0;
+        int failures = 0;
+        while (completed < httpRequests && System.nanoTime() < deadline) {
+            Wallet wallet = wallets.get(completed % wallets.size());
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/transactions/wallet/" + wallet.getId()
+                                    + "/recent"))
+                    .header("Authorization", "Bearer " + jwtService.generateToken(wallet.getCustomer()))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            long requestStart = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    failures++;
+                }
+            } catch (IOException ex) {
+                failures++;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            times[completed++] = System.nanoTime() - requestStart;
+        }
+        return new HttpResult(Arrays.copyOf(times, completed), failures);
+    }
+
+    private static long first(long[] nanos) {
+        return nanos.length == 0 ? 0 : nanos[0] / 1000;
+    }
+
+    /**
+     * Average of the last tenth of the samples, in microseconds.
+     */
+    private static long lastTenth(long[] nanos) {
+        if (nanos.length == 0) {
+            return 0;
+        }
+        int count = Math.max(1, nanos.length / 10);
+        long total = 0;
+        for (int i = nanos.length - count; i < nanos.length; i++) {
+            total += nanos[i];
+        }
+        return total / count / 1000;
+    }
+
+    /**
+     * Durations and failure count of the loopback requests.
+     */
+    private static final class HttpResult {
+
+        private final long[] times;
+        private final int failures;
+
+        private HttpResult(long[] times, int failures) {
+            this.times = times;
+            this.failures = failures;
+        }
+    }
+}
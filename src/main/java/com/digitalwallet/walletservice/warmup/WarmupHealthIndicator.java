@@ -0,0 +1,35 @@
+package com.digitalwallet.walletservice.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health contributor {@code warmup}: {@code OUT_OF_SERVICE} while {@link ApplicationWarmup} is running,
+ * {@code UP} with the warm-up measurements afterwards.
+ * <p>
+ * It is part of the {@code readiness} health group, so load balancers only route traffic to a warmed-up instance.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final ApplicationWarmup warmup;
+
+    /**
+     * Constructs a {@code WarmupHealthIndicator}.
+     *
+     * @param warmup the warm-up whose progress is reported
+     */
+    public WarmupHealthIndicator(ApplicationWarmup warmup) {
+        this.warmup = warmup;
+    }
+
+    @Override
+    public Health health() {
+        if (!warmup.isComplete()) {
+            return Health.outOfService().withDetail("warmup", "running").build();
+        }
+        WarmupReport report = warmup.getReport();
+        return report == null ? Health.up().build() : Health.up().withDetails(report.toDetails()).build();
+    }
+}
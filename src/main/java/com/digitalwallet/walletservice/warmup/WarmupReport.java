@@ -0,0 +1,115 @@
+package com.digitalwallet.walletservice.warmup;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of the startup warm-up: what was preloaded and how much faster the hot paths became.
+ * <p>
+ * The effect is measured as the latency of the first round compared with the average of the last tenth of the
+ * rounds, both for the in-process calls and for the loopback HTTP requests.
+ */
+public class WarmupReport {
+
+    private final Duration duration;
+    private final int connections;
+    private final int hotWallets;
+    private final int principals;
+    private final int rounds;
+    private final long firstRoundMicros;
+    private final long lastRoundsMicros;
+    private final int httpRequests;
+    private final int httpFailures;
+    private final long firstHttpRequestMicros;
+    private final long lastHttpRequestsMicros;
+
+    public WarmupReport(Duration duration, int connections, int hotWallets, int principals,
+                        int rounds, long firstRoundMicros, long lastRoundsMicros,
+                        int httpRequests, int httpFailures, long firstHttpRequestMicros, long lastHttpRequestsMicros) {
+        this.duration = duration;
+        this.connections = connections;
+        this.hotWallets = hotWallets;
+        this.principals = principals;
+        this.rounds = rounds;
+        this.firstRoundMicros = firstRoundMicros;
+        this.lastRoundsMicros = lastRoundsMicros;
+        this.httpRequests = httpRequests;
+        this.httpFailures = httpFailures;
+        this.firstHttpRequestMicros = firstHttpRequestMicros;
+        this.lastHttpRequestsMicros = lastHttpRequestsMicros;
+    }
+
+    /**
+     * Returns the report as health details.
+     *
+     * @return ordered map of the measured values
+     */
+    public Map<String, Object> toDetails() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("durationMs", duration.toMillis());
+        details.put("connections", connections);
+        details.put("hotWallets", hotWallets);
+        details.put("principals", principals);
+        details.put("rounds", rounds);
+        details.put("firstRoundMicros", firstRoundMicros);
+        details.put("lastRoundsMicros", lastRoundsMicros);
+        details.put("httpRequests", httpRequests);
+        details.put("httpFailures", httpFailures);
+        details.put("firstHttpRequestMicros", firstHttpRequestMicros);
+        details.put("lastHttpRequestsMicros", lastHttpRequestsMicros);
+        return details;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d ms: %d connections opened, %d hot wallets and %d principals preloaded, "
+                        + "%d rounds (first %d us, last %d us), %d HTTP requests (%d failed, first %d us, last %d us)",
+                duration.toMillis(), connections, hotWallets, principals, rounds, firstRoundMicros, lastRoundsMicros,
+                httpRequests, httpFailures, firstHttpRequestMicros, lastHttpRequestsMicros);
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public int getConnections() {
+        return connections;
+    }
+
+    public int getHotWallets() {
+        return hotWallets;
+    }
+
+    public int getPrincipals() {
+        return principals;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public long getFirstRoundMicros() {
+        return firstRoundMicros;
+    }
+
+    public long getLastRoundsMicros() {
+        return lastRoundsMicros;
+    }
+
+    public int getHttpRequests() {
+        return httpRequests;
+    }
+
+    public int getHttpFailures() {
+        return httpFailures;
+    }
+
+    public long getFirstHttpRequestMicros() {
+        return firstHttpRequestMicros;
+    }
+
+    public long getLastHttpRequestsMicros() {
+        return lastHttpRequestsMicros;
+    }
+}
@@ -0,0 +1,123 @@
+-- Schema of the digital_wallet database, applied after init.sql.
+-- Required by the 'prod' profile, where Hibernate does not create or update tables (ddl-auto=none).
+-- Generated from the JPA entities with the MySQL dialect; update it together with any entity change.
+
+USE digital_wallet;
+
+create table balance_discrepancy (
+    balance decimal(38,2),
+    expected_balance decimal(38,2),
+    expected_usable_balance decimal(38,2),
+    usable_balance decimal(38,2),
+    id bigint not null auto_increment,
+    run_id bigint,
+    wallet_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table customer (
+    id bigint not null auto_increment,
+    tckn varchar(11),
+    name varchar(255),
+    password varchar(255) not null,
+    surname varchar(255),
+    tier enum ('BUSINESS','PREMIUM','STANDARD') default 'STANDARD' not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table employee (
+    id bigint not null auto_increment,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255) not null,
+    surname varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table reconciliation_run (
+    checked_since datetime(6),
+    discrepancies bigint not null,
+    finished_at datetime(6),
+    id bigint not null auto_increment,
+    started_at datetime(6),
+    wallets_checked bigint not null,
+    mode enum ('FULL','INCREMENTAL'),
+    status enum ('COMPLETED','FAILED','RUNNING'),
+    primary key (id)
+) engine=InnoDB;
+
+create table transaction (
+    transfer_leg bit not null,
+    amount decimal(38,2),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    wallet_id bigint,
+    counterparty_key varchar(64),
+    opposite_party varchar(255),
+    opposite_party_type enum ('IBAN','PAYMENT','WALLET'),
+    status enum ('APPROVED','DENIED','PENDING'),
+    type enum ('DEPOSIT','WITHDRAW'),
+    primary key (id)
+) engine=InnoDB;
+
+create table wallet (
+    active_for_shopping bit not null,
+    active_for_withdraw bit not null,
+    balance decimal(38,2),
+    usable_balance decimal(38,2),
+    customer_id bigint,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    wallet_name varchar(255),
+    currency enum ('EUR','TRY','USD'),
+    primary key (id)
+) engine=InnoDB;
+
+create table withdrawal_usage (
+    amount decimal(19,2) not null,
+    period_start date not null,
+    id bigint not null auto_increment,
+    owner_id bigint not null,
+    updated_at datetime(6),
+    currency enum ('EUR','TRY','USD') not null,
+    period enum ('DAILY','MONTHLY') not null,
+    scope enum ('CUSTOMER','WALLET') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_discrepancy_run
+    on balance_discrepancy (run_id);
+
+alter table customer
+    add constraint UKbt1q18hlwvqpjt2nwaeovhhe0 unique (tckn);
+
+alter table employee
+    add constraint UKfopic1oh5oln2khj8eat6ino0 unique (email);
+
+alter table wallet
+    add constraint uk_wallet_customer_currency unique (customer_id, currency);
+
+alter table withdrawal_usage
+    add constraint uk_withdrawal_usage unique (scope, owner_id, currency, period, period_start);
+
+create index idx_transaction_wallet_created
+    on transaction (wallet_id, created_at);
+
+create index idx_transaction_created
+    on transaction (created_at);
+
+create index idx_transaction_counterparty
+    on transaction (counterparty_key, id, created_at, type, status);
+
+create index idx_wallet_updated
+    on wallet (updated_at);
+
+alter table transaction
+    add constraint FKtfwlfspv2h4wcgc9rjd1658a6
+    foreign key (wallet_id)
+    references wallet (id);
+
+alter table wallet
+    add constraint FKpb5ltxtks766lq2b9hgvnr2bq
+    foreign key (customer_id)
+    references customer (id);
@@ -0,0 +1,102 @@
+package com.digitalwallet.walletservice;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Startup-time regression test for the {@code faststart} profile.
+ * <p>
+ * Boots the application the way {@link WalletServiceApplication#main(String[])} does, logs the slowest bean
+ * instantiations from the buffered startup timeline and fails if startup takes more than {@code -Dstartup.tolerance}
+ * (default 25%) longer than the recorded {@code -Dstartup.baseline}. The default baseline was measured on the
+ * reference build machine; record your own with {@code -Dstartup.baseline} on machines of a different speed, and
+ * re-record it when startup changes on purpose. It also checks that lazy initialization defers the beans it is meant
+ * to defer while the request hot path stays eager.
+ */
+class StartupTimeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeTest.class);
+
+    private static final Duration BASELINE = Duration.parse("PT" + System.getProperty("startup.baseline", "28s"));
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("startup.tolerance", "0.25"));
+    private static final int SLOWEST_BEANS = 15;
+
+    @Test
+    void fastStartProfileStartsNearTheBaseline() throws Exception {
+        SpringApplication application = new SpringApplication(WalletServiceApplication.class);
+        BufferingApplicationStartup startup =
+                new BufferingApplicationStartup(WalletServiceApplication.STARTUP_STEP_CAPACITY);
+        application.setApplicationStartup(startup);
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = application.run(
+                "--spring.profiles.active=faststart",
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")) {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            StartupTimeline timeline = startup.getBufferedTimeline();
+
+            log.info("Startup with faststart profile: {} ms (baseline {} ms), {} steps recorded",
+                    elapsed.toMillis(), BASELINE.toMillis(), timeline.getEvents().size());
+            slowestBeans(timeline).forEach(event -> log.info("  {} ms  {}",
+                    event.getDuration().toMillis(), beanName(event)));
+
+            long limit = Math.round(BASELINE.toMillis() * (1 + TOLERANCE));
+            assertTrue(elapsed.toMillis() <= limit, "Startup took " + elapsed.toMillis() + " ms, more than "
+                    + Math.round(TOLERANCE * 100) + "% above the baseline of " + BASELINE.toMillis() + " ms");
+
+            // Hot path is created during startup
+            assertTrue(context.getBeanFactory().containsSingleton("transactionServiceImpl"));
+            assertTrue(context.getBeanFactory().containsSingleton("portfolioServiceImpl"));
+            assertTrue(context.getBeanFactory().containsSingleton("transactionController"));
+
+            // Non-hot beans are deferred until first use
+            assertFalse(context.getBeanFactory().containsSingleton("statementController"));
+            for (String name : context.getBeanNamesForType(OpenApiWebMvcResource.class, true, false)) {
+                assertFalse(context.getBeanFactory().containsSingleton(name), name + " should be lazy");
+            }
+
+            // ... and still work once used
+            assertEquals(200, get(context, "/v3/api-docs"));
+        }
+    }
+
+    private static int get(ConfigurableApplicationContext context, String path) throws Exception {
+        String port = context.getEnvironment().getRequiredProperty("local.server.port");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static List<StartupTimeline.TimelineEvent> slowestBeans(StartupTimeline timeline) {
+        return timeline.getEvents().stream()
+                .filter(event -> "spring.beans.instantiate".equals(event.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_BEANS)
+                .toList();
+    }
+
+    private static String beanName(StartupTimeline.TimelineEvent event) {
+        for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return event.getStartupStep().getName();
+    }
+}
@@ -0,0 +1,151 @@
+package com.digitalwallet.walletservice.activity;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RecentActivityStoreTest {
+
+    private static final int SIZE = 3;
+    // Room for exactly two wallets
+    private static final DataSize TWO_BLOCKS = DataSize.ofBytes(2 * (32 + SIZE * 98L));
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final WalletRepository walletRepository = mock(WalletRepository.class);
+
+    private RecentActivityStore store;
+
+    @BeforeEach
+    void setUp() {
+        for (long walletId = 1; walletId <= 3; walletId++) {
+            when(walletRepository.findCustomerIdById(walletId)).thenReturn(Optional.of(walletId * 10));
+            when(transactionRepository.findRecentResponsesByWalletId(eq(walletId), any(Pageable.class)))
+                    .thenReturn(List.of(transaction(walletId * 100 + 2, walletId, "TR02"),
+                            transaction(walletId * 100 + 1, walletId, "TR01")));
+        }
+        store = new RecentActivityStore(true, SIZE, TWO_BLOCKS, Duration.ofMinutes(1), transactionRepository,
+                walletRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void servesFilledWalletsFromMemoryAndRecordsCommittedTransactions() {
+        RecentActivity filled = store.get(1L).orElseThrow();
+        assertEquals(10L, filled.getOwnerId());
+        assertEquals(List.of(102L, 101L), ids(filled));
+
+        store.record(transaction(103, 1, "TR03"));
+        store.record(transaction(104, 1, null));
+        TransactionResponse approved = transaction(103, 1, "TR03");
+        approved.setStatus(TransactionStatus.APPROVED);
+        store.record(approved);
+
+        RecentActivity recent = store.get(1L).orElseThrow();
+        assertEquals(List.of(104L, 103L, 102L), ids(recent));
+        TransactionResponse copy = recent.getTransactions().get(1);
+        assertEquals(TransactionStatus.APPROVED, copy.getStatus());
+        assertEquals(new BigDecimal("12.34"), copy.getAmount());
+        assertEquals(OppositePartyType.IBAN, copy.getOppositePartyType());
+        assertEquals("TR03", copy.getOppositeParty());
+        assertEquals(LocalDateTime.of(2026, 10, 18, 12, 0, 3, 500), copy.getCreatedAt());
+        assertNull(recent.getTransactions().get(0).getOppositeParty());
+        verify(transactionRepository, times(1)).findRecentResponsesByWalletId(eq(1L), any(Pageable.class));
+
+        assertTrue(store.get(99L).isEmpty());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyReadWallet() {
+        store.get(1L);
+        store.get(2L);
+        store.get(1L);
+        store.get(3L);
+        assertEquals(2, store.getWallets());
+
+        store.get(1L);
+        store.get(2L);
+        verify(transactionRepository, times(1)).findRecentResponsesByWalletId(eq(1L), any(Pageable.class));
+        verify(transactionRepository, times(2)).findRecentResponsesByWalletId(eq(2L), any(Pageable.class));
+    }
+
+    @Test
+    void keepsWalletsThatDoNotFitARecordInTheDatabase() {
+        store.get(1L);
+        store.record(transaction(103, 1, "X".repeat(RecentActivityStore.MAX_PARTY_BYTES + 1)));
+        assertEquals(0, store.getWallets());
+
+        assertEquals(List.of(102L, 101L), ids(store.get(1L).orElseThrow()));
+        verify(transactionRepository, times(2)).findRecentResponsesByWalletId(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void readersSeeWholeRecordsWhileTransactionsAreRecorded() throws Exception {
+        store.get(1L);
+        store.get(2L);
+        AtomicBoolean recording = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> reads = new ArrayList<>();
+            for (int reader = 0; reader < 4; reader++) {
+                long walletId = reader % 2 + 1;
+                reads.add(readers.submit(() -> {
+                    while (recording.get()) {
+                        List<TransactionResponse> transactions = store.get(walletId).orElseThrow().getTransactions();
+                        for (int i = 0; i < transactions.size(); i++) {
+                            TransactionResponse transaction = transactions.get(i);
+                            assertTrue(transaction.getId() < 1_000
+                                    || transaction.getOppositeParty().equals("TR" + transaction.getId()));
+                            assertTrue(i == 0 || transaction.getId() < transactions.get(i - 1).getId());
+                        }
+                    }
+                }));
+            }
+            for (long id = 1_000; id < 21_000; id++) {
+                store.record(transaction(id, 1, "TR" + id));
+            }
+            recording.set(false);
+            for (Future<?> read : reads) {
+                read.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+
+        assertEquals(List.of(20_999L, 20_998L, 20_997L), ids(store.get(1L).orElseThrow()));
+        verify(transactionRepository, times(1)).findRecentResponsesByWalletId(eq(1L), any(Pageable.class));
+    }
+
+    private static List<Long> ids(RecentActivity activity) {
+        return activity.getTransactions().stream().map(TransactionResponse::getId).toList();
+    }
+
+    private static TransactionResponse transaction(long id, long walletId, String oppositeParty) {
+        return new TransactionResponse(id, walletId, new BigDecimal("12.34"), TransactionType.DEPOSIT,
+                OppositePartyType.IBAN, oppositeParty, TransactionStatus.PENDING,
+                LocalDateTime.of(2026, 10, 18, 12, 0, 0, 500).plusSeconds(id % 100));
+    }
+}
@@ -0,0 +1,111 @@
+package com.digitalwallet.walletservice.bulkhead;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Employee;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.EmployeeRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.digitalwallet.walletservice.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A saturated reporting bulkhead against the embedded server, with partitioned connection pools.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkhead;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "wallet.bulkhead.connection-pools.enabled=true",
+        "wallet.bulkhead.reporting.max-concurrent=1",
+        "wallet.bulkhead.reporting.max-queue=0"
+})
+class BulkheadIsolationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BulkheadRegistry registry;
+
+    @Autowired
+    private BulkheadDataSources pools;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void saturatedReportingDoesNotBlockMoneyMovement() throws Exception {
+        Employee employee = employeeRepository.save(new Employee(null, "Deniz", "Aydin", "secret",
+                "reporting-" + System.nanoTime() + "@wallet.test"));
+        Customer customer = customerRepository.save(new Customer(null, "Can", "Demir", "secret",
+                String.valueOf(System.nanoTime()).substring(0, 11)));
+        Wallet wallet = walletRepository.save(new Wallet(null, "Bulkhead Wallet", Currency.TRY, true, true,
+                BigDecimal.ZERO, BigDecimal.ZERO, customer));
+        String employeeToken = jwtService.generateToken(employee);
+
+        Bulkhead reporting = registry.get(BulkheadType.REPORTING);
+        reporting.acquire();
+        try {
+            HttpResponse<String> rejected = client.send(HttpRequest.newBuilder(uri("/api/auth/wallets/all"))
+                    .header("Authorization", "Bearer " + employeeToken).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(503, rejected.statusCode());
+            assertEquals("1", rejected.headers().firstValue("Retry-After").orElse(null));
+
+            String body = "{\"walletId\":" + wallet.getId() + ",\"amount\":15.00"
+                    + ",\"oppositeParty\":\"TR330006100519786457841326\",\"oppositePartyType\":\"IBAN\"}";
+            HttpResponse<String> deposit = client.send(HttpRequest.newBuilder(uri("/api/transactions/deposit"))
+                    .header("Authorization", "Bearer " + jwtService.generateToken(customer))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, deposit.statusCode());
+        } finally {
+            reporting.release();
+        }
+
+        assertEquals(1, reporting.getRejected());
+        assertEquals(1.0, meterRegistry.get("wallet.bulkhead.calls")
+                .tags("bulkhead", "reporting", "outcome", "rejected").functionCounter().count());
+        assertTrue(registry.get(BulkheadType.MONEY_MOVEMENT).getAccepted() >= 1);
+        assertEquals(0, registry.get(BulkheadType.MONEY_MOVEMENT).getActive());
+
+        assertNotNull(pools.get(BulkheadType.MONEY_MOVEMENT).getHikariPoolMXBean(),
+                "the deposit should have started the money-movement pool");
+        assertNull(pools.get(BulkheadType.REPORTING).getHikariPoolMXBean(),
+                "the rejected report should never have touched the reporting pool");
+
+        HttpResponse<String> report = client.send(HttpRequest.newBuilder(uri("/api/auth/wallets/all"))
+                .header("Authorization", "Bearer " + employeeToken).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, report.statusCode());
+        assertNotNull(pools.get(BulkheadType.REPORTING).getHikariPoolMXBean());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,84 @@
+package com.digitalwallet.walletservice.bulkhead;
+
+import com.digitalwallet.walletservice.exception.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Admission, queueing and rejection of a single {@link Bulkhead}.
+ */
+class BulkheadTest {
+
+    @Test
+    void rejectsCallersBeyondConcurrencyAndQueue() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(BulkheadType.REPORTING, 1, 1, Duration.ofSeconds(5));
+        bulkhead.acquire();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> waiter = executor.submit(() -> {
+                bulkhead.acquire();
+                bulkhead.release();
+            });
+            awaitQueued(bulkhead, 1);
+
+            BulkheadFullException ex = assertThrows(BulkheadFullException.class, bulkhead::acquire);
+            assertEquals("reporting", ex.getBulkhead());
+            assertEquals(1, bulkhead.getRejected());
+
+            bulkhead.release();
+            waiter.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, bulkhead.getActive());
+        assertEquals(0, bulkhead.getQueued());
+        assertEquals(2, bulkhead.getAccepted());
+        assertEquals(1, bulkhead.getWaits());
+        assertTrue(bulkhead.getWaitNanos() > 0);
+    }
+
+    @Test
+    void queuedCallerTimesOut() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(BulkheadType.AUTH, 1, 4, Duration.ofMillis(50));
+        bulkhead.acquire();
+
+        CountDownLatch done = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            assertThrows(BulkheadFullException.class, bulkhead::acquire);
+            done.countDown();
+        });
+        waiter.start();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, bulkhead.getTimedOut());
+        assertEquals(0, bulkhead.getRejected());
+        assertEquals(0, bulkhead.getQueued());
+        assertEquals(1, bulkhead.getActive());
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Bulkhead(BulkheadType.AUTH, 0, 1, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Bulkhead(BulkheadType.AUTH, 1, -1, Duration.ofSeconds(1)));
+    }
+
+    private static void awaitQueued(Bulkhead bulkhead, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.getQueued() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, bulkhead.getQueued());
+    }
+}
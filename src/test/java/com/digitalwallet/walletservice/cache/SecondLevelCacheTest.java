@@ -0,0 +1,121 @@
+package com.digitalwallet.walletservice.cache;
+
+import com.digitalwallet.walletservice.enums.CustomerTier;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads customers through the second-level cache of the embedded database and exchanges invalidations on the
+ * in-process channel.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private NaturalIdLoader naturalIdLoader;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CacheInvalidationChannel channel;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void answersNaturalIdLookupsFromTheCache() {
+        Customer customer = customerRepository.save(newCustomer());
+        double hits = registry.get("wallet.cache.hits").tag("region", SecondLevelCache.CUSTOMER_TCKN_REGION)
+                .functionCounter().count();
+
+        assertEquals(customer.getId(), naturalIdLoader.load(Customer.class, customer.getTckn()).orElseThrow().getId());
+        assertEquals(customer.getId(), naturalIdLoader.load(Customer.class, customer.getTckn()).orElseThrow().getId());
+
+        assertTrue(registry.get("wallet.cache.hits").tag("region", SecondLevelCache.CUSTOMER_TCKN_REGION)
+                .functionCounter().count() > hits);
+        assertTrue(naturalIdLoader.load(Customer.class, "00000000000").isEmpty());
+    }
+
+    @Test
+    void collectsStatisticsWithoutLoggingEverySession() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        assertTrue(sessionFactory.getStatistics().isStatisticsEnabled());
+        assertEquals(false, sessionFactory.getProperties().get(AvailableSettings.LOG_SESSION_METRICS));
+    }
+
+    @Test
+    void broadcastsUpdatesAfterCommitAndEvictsChangesOfOtherInstances() {
+        Customer customer = customerRepository.save(newCustomer());
+        naturalIdLoader.load(Customer.class, customer.getTckn()).orElseThrow();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        assertTrue(sessionFactory.getCache().containsEntity(Customer.class, customer.getId()));
+
+        List<CacheInvalidation> published = new ArrayList<>();
+        channel.subscribe(published::add);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            customerRepository.findById(customer.getId()).orElseThrow().setTier(CustomerTier.PREMIUM);
+            customerRepository.flush();
+            assertTrue(published.isEmpty(), "published before commit");
+        });
+
+        assertEquals(1, published.size());
+        assertEquals(secondLevelCache.getNodeId(), published.get(0).getNodeId());
+        assertEquals(customer.getId(), published.get(0).getId());
+        // The instance's own message is ignored; read-write access already holds the new state
+        assertEquals(CustomerTier.PREMIUM,
+                naturalIdLoader.load(Customer.class, customer.getTckn()).orElseThrow().getTier());
+        assertTrue(sessionFactory.getCache().containsEntity(Customer.class, customer.getId()));
+
+        channel.publish(new CacheInvalidation("other-node", Customer.class.getName(), customer.getId(), false));
+        assertFalse(sessionFactory.getCache().containsEntity(Customer.class, customer.getId()));
+    }
+
+    @Test
+    void boundedStorageEvictsLeastRecentlyUsedAndExpiredEntries() throws InterruptedException {
+        BoundedStorageAccess storage = new BoundedStorageAccess("test", 2, 1_000_000_000L);
+        storage.putIntoCache("a", 1, null);
+        storage.putIntoCache("b", 2, null);
+        storage.getFromCache("a", null);
+        storage.putIntoCache("c", 3, null);
+
+        assertEquals(1, storage.getFromCache("a", null));
+        assertNull(storage.getFromCache("b", null));
+        assertEquals(2, storage.size());
+        assertEquals(1, storage.getEvictions());
+
+        BoundedStorageAccess expiring = new BoundedStorageAccess("test", 2, 1_000_000L);
+        expiring.putIntoCache("a", 1, null);
+        Thread.sleep(5);
+        assertNull(expiring.getFromCache("a", null));
+        assertEquals(0, expiring.size());
+    }
+
+    private static Customer newCustomer() {
+        return new Customer(null, "Cem", "Aydin", "secret", String.valueOf(System.nanoTime()).substring(0, 11));
+    }
+}
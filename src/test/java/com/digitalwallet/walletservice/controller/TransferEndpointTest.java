@@ -0,0 +1,108 @@
+package com.digitalwallet.walletservice.controller;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.digitalwallet.walletservice.security.JwtService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Posts transfers to the embedded server, so the request body goes through the same JSON binding as a client's.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TransferEndpointTest {
+
+    private static final AtomicLong TCKN = new AtomicLong(32_000_000_000L);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Wallet lira;
+    private Wallet dollar;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerRepository.save(new Customer(null, "Can", "Demir", "secret",
+                String.valueOf(TCKN.incrementAndGet())));
+        BigDecimal initial = new BigDecimal("1000.00");
+        lira = walletRepository.save(new Wallet(null, "Lira", Currency.TRY, true, true, initial, initial, customer));
+        dollar = walletRepository.save(new Wallet(null, "Dollar", Currency.USD, true, true, initial, initial,
+                customer));
+        token = jwtService.generateToken(customer);
+    }
+
+    @Test
+    void transfersWithoutAQuote() throws Exception {
+        HttpResponse<String> response = post("/api/transactions/transfer", "{\"fromWalletId\":" + lira.getId()
+                + ",\"toWalletId\":" + dollar.getId() + ",\"amount\":100.00}");
+
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode transfer = objectMapper.readTree(response.body());
+        assertEquals(lira.getId(), transfer.path("withdrawal").path("walletId").asLong());
+        assertEquals(dollar.getId(), transfer.path("deposit").path("walletId").asLong());
+    }
+
+    @Test
+    void transfersAtTheQuotedRate() throws Exception {
+        HttpResponse<String> quote = post("/api/fx/quotes", "{\"from\":\"TRY\",\"to\":\"USD\"}");
+        assertEquals(200, quote.statusCode(), quote.body());
+        JsonNode quoted = objectMapper.readTree(quote.body());
+
+        HttpResponse<String> response = post("/api/transactions/transfer", "{\"fromWalletId\":" + lira.getId()
+                + ",\"toWalletId\":" + dollar.getId() + ",\"amount\":100.00,\"quoteId\":\""
+                + quoted.path("quoteId").asText() + "\"}");
+
+        assertEquals(200, response.statusCode(), response.body());
+        assertEquals(0, quoted.path("rate").decimalValue()
+                .compareTo(objectMapper.readTree(response.body()).path("exchangeRate").decimalValue()));
+    }
+
+    @Test
+    void rejectsTransfersWithoutAnAmount() throws Exception {
+        HttpResponse<String> response = post("/api/transactions/transfer", "{\"fromWalletId\":" + lira.getId()
+                + ",\"toWalletId\":" + dollar.getId() + "}");
+
+        assertEquals(400, response.statusCode());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,149 @@
+package com.digitalwallet.walletservice.etag;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.digitalwallet.walletservice.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conditional GETs of wallet lists and transaction histories against the embedded server.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "wallet.etag.enabled=true")
+class ConditionalGetTest {
+
+    private static final AtomicLong TCKN = new AtomicLong(31_000_000_000L);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Wallet wallet;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = newCustomer();
+        wallet = walletRepository.save(new Wallet(null, "ETag Wallet", Currency.TRY, true, true,
+                BigDecimal.ZERO, BigDecimal.ZERO, customer));
+        token = jwtService.generateToken(customer);
+    }
+
+    @Test
+    void transactionHistoryIsNotModifiedUntilTheWalletChanges() throws Exception {
+        String historyPath = "/api/transactions/wallet/" + wallet.getId();
+        HttpResponse<String> first = get(historyPath, token, null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertEquals(200, first.statusCode());
+        assertTrue(first.headers().firstValue("Cache-Control").orElseThrow().contains("no-cache"));
+
+        HttpResponse<String> unchanged = get(historyPath, token, etag);
+        assertEquals(304, unchanged.statusCode());
+        assertEquals(etag, unchanged.headers().firstValue("ETag").orElseThrow());
+        // If-None-Match uses weak comparison, so the strong form of the tag matches too
+        assertEquals(304, get(historyPath, token, etag.substring(2)).statusCode());
+
+        deposit(new BigDecimal("25.00"));
+
+        HttpResponse<String> changed = get(historyPath, token, etag);
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+        assertTrue(changed.body().contains("\"amount\":25.00"));
+    }
+
+    @Test
+    void walletListIsNotModifiedUntilABalanceChanges() throws Exception {
+        HttpResponse<String> first = get("/api/auth/wallets", token, null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertEquals(200, first.statusCode());
+
+        assertEquals(304, get("/api/auth/wallets", token, etag).statusCode());
+
+        deposit(new BigDecimal("10.00"));
+
+        HttpResponse<String> changed = get("/api/auth/wallets", token, etag);
+        assertEquals(200, changed.statusCode());
+        assertTrue(changed.body().contains("\"balance\":10.00"));
+    }
+
+    @Test
+    void matchingETagDoesNotBypassAuthorization() throws Exception {
+        String historyPath = "/api/transactions/wallet/" + wallet.getId();
+        String etag = get(historyPath, token, null).headers().firstValue("ETag").orElseThrow();
+        String otherToken = jwtService.generateToken(newCustomer());
+
+        int unconditional = get(historyPath, otherToken, null).statusCode();
+        assertNotEquals(200, unconditional);
+        assertEquals(unconditional, get(historyPath, otherToken, etag).statusCode());
+    }
+
+    @Test
+    void largeHistoriesAreCompressed() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            deposit(new BigDecimal("1.00"));
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/transactions/wallet/" + wallet.getId()))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept-Encoding", "gzip")
+                .build();
+
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(response.headers().firstValue("ETag").isPresent());
+    }
+
+    private Customer newCustomer() {
+        return customerRepository.save(new Customer(null, "Ayse", "Kaya", "secret",
+                String.valueOf(TCKN.incrementAndGet())));
+    }
+
+    private void deposit(BigDecimal amount) throws Exception {
+        String body = "{\"walletId\":" + wallet.getId() + ",\"amount\":" + amount.toPlainString()
+                + ",\"oppositeParty\":\"TR330006100519786457841326\",\"oppositePartyType\":\"IBAN\"}";
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/transactions/deposit"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        assertEquals(200, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    private HttpResponse<String> get(String path, String bearer, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + bearer);
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,95 @@
+package com.digitalwallet.walletservice.identity;
+
+import com.digitalwallet.walletservice.cache.NaturalIdLoader;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Employee;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.EmployeeRepository;
+import com.digitalwallet.walletservice.routing.ReadYourWritesGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdentityLookupServiceTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final NaturalIdLoader naturalIdLoader = mock(NaturalIdLoader.class);
+    private final Customer customer = new Customer(3L, "Ali", "Yilmaz", "secret", "12345678901");
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private IdentityLookupService service;
+
+    @BeforeEach
+    void setUp() {
+        when(customerRepository.count()).thenReturn(1L);
+        when(customerRepository.streamIdentityKeys(anyLong()))
+                .thenAnswer(invocation -> Stream.of(new IdentityKey(3L, "12345678901")));
+        when(employeeRepository.streamIdentityKeys(anyLong())).thenAnswer(invocation -> Stream.empty());
+        when(naturalIdLoader.load(any(), any())).thenReturn(Optional.empty());
+        when(naturalIdLoader.load(Customer.class, "12345678901")).thenReturn(Optional.of(customer));
+        service = new IdentityLookupService(true, 1000, 100, 0.01, customerRepository, employeeRepository,
+                naturalIdLoader, new ReadYourWritesGuard("", Duration.ofSeconds(5)),
+                mock(PlatformTransactionManager.class));
+        service.bindTo(registry);
+        service.init();
+    }
+
+    @Test
+    void rejectsUnknownNamesWithoutQuerying() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(service.findCustomer("9" + (1_000_000_000L + i)).isEmpty());
+        }
+
+        double rejected = registry.get("wallet.identity.bloom.rejected").tag("kind", "customer").functionCounter()
+                .count();
+        double passed = registry.get("wallet.identity.bloom.false-positives").tag("kind", "customer")
+                .functionCounter().count();
+        assertEquals(100, rejected + passed);
+        verify(naturalIdLoader, times((int) passed)).load(eq(Customer.class), argThat(tckn -> !tckn.equals("12345678901")));
+        assertTrue(rejected >= 90);
+    }
+
+    @Test
+    void findsExistingAndNewlyAddedNames() {
+        assertSame(customer, service.findCustomer("12345678901").orElseThrow());
+
+        Employee employee = new Employee(5L, "Ayse", "Demir", "secret", "Ayse@Wallet.com");
+        assertTrue(service.findEmployee("ayse@wallet.com").isEmpty());
+        verify(naturalIdLoader, never()).load(eq(Employee.class), any());
+
+        service.employeeAdded(employee);
+        when(naturalIdLoader.load(Employee.class, "ayse@wallet.com")).thenReturn(Optional.of(employee));
+        assertSame(employee, service.findEmployee("ayse@wallet.com").orElseThrow());
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndStaysNearItsTargetRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("1" + (1_000_000_000L + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("1" + (1_000_000_000L + i)));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("2" + (1_000_000_000L + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFpp(), 0.005);
+    }
+}
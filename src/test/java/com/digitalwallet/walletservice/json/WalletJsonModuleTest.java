@@ -0,0 +1,100 @@
+package com.digitalwallet.walletservice.json;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.WalletResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the hand-written serializers produce exactly what Jackson's bean serializer produces.
+ */
+class WalletJsonModuleTest {
+
+    // Spring Boot's defaults: ISO timestamps
+    private final ObjectMapper defaultMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final ObjectMapper fastMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).modulesToInstall(new WalletJsonModule()).build();
+
+    @Test
+    void transactionMatchesDefaultSerialization() throws Exception {
+        for (TransactionResponse transaction : sampleTransactions()) {
+            assertEquals(defaultMapper.writeValueAsString(transaction), fastMapper.writeValueAsString(transaction));
+        }
+    }
+
+    @Test
+    void walletMatchesDefaultSerialization() throws Exception {
+        List<WalletResponse> wallets = List.of(
+                new WalletResponse(1L, "Main \"TRY\" wallet", Currency.TRY, true, false,
+                        new BigDecimal("1500.00"), new BigDecimal("1000.50")),
+                new WalletResponse(2L, "Ünlü cüzdan", Currency.EUR, false, true, BigDecimal.ZERO, new BigDecimal("0.0001")),
+                new WalletResponse());
+        for (WalletResponse wallet : wallets) {
+            assertEquals(defaultMapper.writeValueAsString(wallet), fastMapper.writeValueAsString(wallet));
+        }
+    }
+
+    @Test
+    void streamingWriterMatchesDefaultListSerialization() throws Exception {
+        List<TransactionResponse> transactions = new ArrayList<>();
+        for (int i = 0; i < TransactionListJsonWriter.FLUSH_INTERVAL * 2 + 7; i++) {
+            transactions.addAll(sampleTransactions());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new TransactionListJsonWriter(fastMapper.getFactory(), false).write(transactions, out);
+
+        assertEquals(defaultMapper.writeValueAsString(transactions), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void numericTimestampsFallBackToDefaultSerialization() throws Exception {
+        ObjectMapper numericDefault = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper numericFast = Jackson2ObjectMapperBuilder.json().modulesToInstall(new WalletJsonModule()).build();
+
+        for (TransactionResponse transaction : sampleTransactions()) {
+            assertEquals(numericDefault.writeValueAsString(transaction), numericFast.writeValueAsString(transaction));
+        }
+    }
+
+    @Test
+    void amountsAreWrittenInPlainNotation() throws Exception {
+        TransactionResponse transaction = new TransactionResponse(1L, 2L, new BigDecimal("0.0000001"),
+                TransactionType.DEPOSIT, OppositePartyType.IBAN, "TR01", TransactionStatus.APPROVED, null);
+
+        assertTrue(fastMapper.writeValueAsString(transaction).contains("\"amount\":0.0000001,"));
+    }
+
+    private static List<TransactionResponse> sampleTransactions() {
+        return List.of(
+                new TransactionResponse(1L, 10L, new BigDecimal("250.00"), TransactionType.DEPOSIT,
+                        OppositePartyType.IBAN, "TR330006100519786457841326", TransactionStatus.APPROVED,
+                        LocalDateTime.of(2026, 10, 18, 9, 30, 15, 123_456_789)),
+                new TransactionResponse(2L, 10L, new BigDecimal("1500"), TransactionType.WITHDRAW,
+                        OppositePartyType.PAYMENT, "PAY-çö\"\\/\n", TransactionStatus.PENDING,
+                        LocalDateTime.of(2026, 10, 18, 9, 30)),
+                new TransactionResponse(3L, 11L, new BigDecimal("0.10"), TransactionType.DEPOSIT,
+                        OppositePartyType.IBAN, "TR01", TransactionStatus.DENIED,
+                        LocalDateTime.of(999, 1, 2, 3, 4, 5, 120_000_000)),
+                new TransactionResponse(4L, 11L, new BigDecimal("99.99"), TransactionType.WITHDRAW,
+                        OppositePartyType.IBAN, "TR02", TransactionStatus.APPROVED,
+                        LocalDateTime.of(2026, 10, 19, 23, 59, 59, 1_000)),
+                new TransactionResponse());
+    }
+}
@@ -0,0 +1,53 @@
+package com.digitalwallet.walletservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a short load test against the application started on a random port with the embedded test database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTestDriverTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void reportsLatenciesPerEndpointWithoutErrors() {
+        LoadTestClient client = new LoadTestClient("http://localhost:" + port, objectMapper, Duration.ofSeconds(30));
+        LoadTestDriver driver = new LoadTestDriver(client, 3, 20, Duration.ZERO, Duration.ofSeconds(3), 4,
+                OperationMix.parse("login:1,deposit:5,withdraw:2,approve:2,list:2"));
+
+        LoadTestReport report = driver.run();
+
+        assertTrue(report.getRequests() > 0);
+        assertEquals(0, report.getErrorRate());
+        List<String> endpoints = report.getEndpoints().stream().map(EndpointStats::getEndpoint).toList();
+        assertTrue(endpoints.contains(LoadTestOperation.DEPOSIT.getEndpoint()));
+        assertTrue(endpoints.contains(LoadTestOperation.LIST.getEndpoint()));
+        for (EndpointStats stats : report.getEndpoints()) {
+            if (stats.getRequests() > 0) {
+                assertTrue(stats.getP50Millis() <= stats.getP99Millis());
+                assertTrue(stats.getP99Millis() <= stats.getMaxMillis());
+            }
+        }
+    }
+
+    @Test
+    void rejectsInvalidMix() {
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("deposit"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("transfer:10"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("login:0"));
+    }
+}
@@ -0,0 +1,156 @@
+package com.digitalwallet.walletservice.routing;
+
+import com.digitalwallet.walletservice.dto.DepositRequest;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Employee;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.EmployeeRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.digitalwallet.walletservice.service.TransactionService;
+import com.digitalwallet.walletservice.service.WalletService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read-replica routing with two embedded H2 databases standing in for the primary and the replica.
+ * <p>
+ * "Replication" copies the primary into the replica with {@code SCRIPT}/{@code RUNSCRIPT}; the replica's copy is
+ * then changed behind the application's back, so every read shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "wallet.datasource.replica.url=" + ReplicaRoutingTest.REPLICA_URL,
+        "wallet.datasource.replica.username=sa",
+        "wallet.datasource.replica.read-your-writes-window=1s"
+})
+class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL =
+            "jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String PRIMARY_NAME = "Primary Wallet";
+    private static final String REPLICA_NAME = "Replica Wallet";
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Customer customer;
+    private Employee employee;
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        customer = customerRepository.save(new Customer(null, "Ali", "Yilmaz", "secret",
+                String.valueOf(System.nanoTime()).substring(0, 11)));
+        employee = employeeRepository.save(new Employee(null, "Ece", "Demir", "secret",
+                System.nanoTime() + "@wallet.test"));
+        wallet = walletRepository.save(new Wallet(null, PRIMARY_NAME, Currency.TRY, true, true,
+                BigDecimal.ZERO, BigDecimal.ZERO, customer));
+        replicate();
+        execute(REPLICA_URL, "update wallet set wallet_name = '" + REPLICA_NAME + "'");
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyServiceMethodsReadTheReplica() {
+        authenticate(employee, "ROLE_EMPLOYEE");
+
+        assertEquals(REPLICA_NAME, walletService.listWalletsCustomer(customer.getId()).get(0).getWalletName());
+        assertEquals(REPLICA_NAME, walletService.listAllWalletsGroupedByCustomer().stream()
+                .filter(entry -> entry.getCustomerId().equals(customer.getId()))
+                .findFirst().orElseThrow().getWallets().get(0).getWalletName());
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        authenticate(customer, "ROLE_CUSTOMER");
+
+        transactionService.deposit(new DepositRequest(wallet.getId(), new BigDecimal("40.00"),
+                "TR330006100519786457841326", OppositePartyType.IBAN));
+
+        assertEquals(0, new BigDecimal("40.00").compareTo(walletRepository.findById(wallet.getId())
+                .map(Wallet::getBalance).orElseThrow()));
+    }
+
+    @Test
+    void principalReadsThePrimaryShortlyAfterOwnWrite() throws Exception {
+        authenticate(customer, "ROLE_CUSTOMER");
+        assertEquals(REPLICA_NAME, walletService.listWalletsCustomerByToken().get(0).getWalletName());
+
+        transactionService.deposit(new DepositRequest(wallet.getId(), new BigDecimal("15.00"),
+                "TR330006100519786457841326", OppositePartyType.IBAN));
+
+        // The writer sees the primary ...
+        assertEquals(PRIMARY_NAME, walletService.listWalletsCustomerByToken().get(0).getWalletName());
+        assertEquals(1, transactionService.getTransactionsForWallet(wallet.getId()).size());
+
+        // ... other principals keep reading the replica ...
+        authenticate(employee, "ROLE_EMPLOYEE");
+        assertEquals(REPLICA_NAME, walletService.listWalletsCustomer(customer.getId()).get(0).getWalletName());
+
+        // ... and the writer goes back to the replica once the window has passed
+        authenticate(customer, "ROLE_CUSTOMER");
+        Thread.sleep(1_200);
+        assertEquals(REPLICA_NAME, walletService.listWalletsCustomerByToken().get(0).getWalletName());
+    }
+
+    private void authenticate(Object principal, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority(role))));
+    }
+
+    private static void replicate() throws Exception {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            execute(PRIMARY_URL, "script to '" + script + "'");
+            execute(REPLICA_URL, "drop all objects");
+            execute(REPLICA_URL, "runscript from '" + script + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    private static void execute(String url, String sql) throws Exception {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.digitalwallet.walletservice.search;
+
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.TransactionSearchResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Transaction;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.digitalwallet.walletservice.service.TransactionService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Searches transactions of several wallets by counterparty against the embedded database.
+ */
+@SpringBootTest
+class CounterpartySearchTest {
+
+    /**
+     * The SQL of every statement Hibernate prepared, so the search queries can be explained.
+     */
+    private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        HibernatePropertiesCustomizer captureStatements() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    (StatementInspector) sql -> {
+                        STATEMENTS.add(sql);
+                        return sql;
+                    });
+        }
+    }
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CounterpartyKeyBackfill backfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void normalizesIbansAndReferences() {
+        assertEquals("TR330006100519786457841326", CounterpartyKeys.normalize("tr33 0006-1005 1978 6457 8413 26"));
+        assertEquals("INV20240017", CounterpartyKeys.normalize(" inv/2024.0017 "));
+        assertEquals(CounterpartyKeys.MAX_LENGTH, CounterpartyKeys.normalize("A".repeat(100)).length());
+        assertNull(CounterpartyKeys.normalize(null));
+    }
+
+    @Test
+    void findsMatchesAcrossWalletsPageByPage() {
+        String iban = "TR99 " + System.nanoTime() % 1_000_000_000L;
+        Customer customer = customerRepository.save(new Customer(null, "Deniz", "Kaya", "secret",
+                String.valueOf(System.nanoTime()).substring(0, 11)));
+        Wallet first = wallet(customer, Currency.TRY);
+        Wallet second = wallet(customer, Currency.USD);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            transactions.add(transaction(first, iban, TransactionType.WITHDRAW, TransactionStatus.APPROVED));
+            transactions.add(transaction(second, iban.toLowerCase().replace(" ", "-"), TransactionType.DEPOSIT,
+                    TransactionStatus.PENDING));
+        }
+        transactions.add(transaction(first, "TR11 0000", TransactionType.WITHDRAW, TransactionStatus.APPROVED));
+        transactionRepository.saveAll(transactions);
+
+        List<TransactionResponse> found = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionSearchResponse page = transactionService.searchByCounterparty(iban, null, null, null, null,
+                    cursor, 3);
+            found.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(10, found.size());
+        assertEquals(4, pages);
+        assertEquals(2, found.stream().map(TransactionResponse::getWalletId).distinct().count());
+        for (int i = 1; i < found.size(); i++) {
+            assertTrue(found.get(i).getId() > found.get(i - 1).getId());
+        }
+
+        TransactionSearchResponse pending = transactionService.searchByCounterparty(iban.substring(0, 8), null, null,
+                TransactionStatus.PENDING, TransactionType.DEPOSIT, null, 50);
+        assertEquals(5, pending.getTransactions().size());
+        assertTrue(pending.getTransactions().stream().allMatch(t -> t.getWalletId().equals(second.getId())));
+        assertNull(pending.getNextCursor());
+
+        assertTrue(transactionService.searchByCounterparty(iban, found.get(9).getCreatedAt().plusSeconds(1), null,
+                null, null, null, 50).getTransactions().isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.searchByCounterparty("TR-9", null, null, null, null, null, 50));
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.searchByCounterparty(iban, null, null, null, null, "not a cursor", 50));
+    }
+
+    @Test
+    void laterPagesSeekToTheCursorInTheIndex() {
+        STATEMENTS.clear();
+        transactionService.searchByCounterparty("TR42", null, null, null, null, null, 10);
+        transactionService.searchByCounterparty("TR42", null, null, null, null,
+                new CounterpartyCursor("TR4200", 1).encode(), 10);
+        List<String> searches = STATEMENTS.stream().filter(sql -> sql.contains("counterparty_key like")).toList();
+        assertEquals(2, searches.size());
+
+        String firstPage = explain(searches.get(0));
+        assertTrue(firstPage.contains("idx_transaction_counterparty"), firstPage);
+        assertTrue(firstPage.contains("index sorted"), firstPage);
+
+        String laterPage = explain(searches.get(1));
+        assertTrue(laterPage.contains("idx_transaction_counterparty: counterparty_key >= ?"), laterPage);
+        assertTrue(laterPage.contains("index sorted"), laterPage);
+    }
+
+    @Test
+    void backfillsKeysOfOlderTransactions() {
+        Customer customer = customerRepository.save(new Customer(null, "Ece", "Arslan", "secret",
+                String.valueOf(System.nanoTime()).substring(0, 11)));
+        Transaction saved = transactionRepository.save(transaction(wallet(customer, Currency.EUR), "pay-ref 0042",
+                TransactionType.WITHDRAW, TransactionStatus.APPROVED));
+        jdbcTemplate.update("update transaction set counterparty_key = null where id = ?", saved.getId());
+
+        backfill.run(null);
+
+        assertEquals("PAYREF0042", transactionRepository.findById(saved.getId()).orElseThrow().getCounterpartyKey());
+    }
+
+    /**
+     * Returns the plan of the given query, with every parameter unset, which shows the index condition it seeks with.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private Wallet wallet(Customer customer, Currency currency) {
+        return walletRepository.save(new Wallet(null, "Search", currency, true, true, BigDecimal.ZERO,
+                BigDecimal.ZERO, customer));
+    }
+
+    private static Transaction transaction(Wallet wallet, String oppositeParty, TransactionType type,
+                                           TransactionStatus status) {
+        return new Transaction(null, BigDecimal.TEN, type, OppositePartyType.IBAN, oppositeParty, status, null,
+                wallet);
+    }
+}
@@ -0,0 +1,112 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.CustomerTier;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.rules.ApprovalContext;
+import com.digitalwallet.walletservice.rules.ApprovalRuleSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApprovalRuleServiceImplTest {
+
+    private static final long NOON = ZonedDateTime.of(2026, 10, 18, 12, 0, 0, 0, ZoneId.of("Europe/Istanbul"))
+            .toInstant().toEpochMilli();
+    private static final long NIGHT = NOON + 13 * 3_600_000L;
+
+    @TempDir
+    Path dir;
+
+    private Path rulesFile;
+    private SimpleMeterRegistry registry;
+    private ApprovalRuleServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        rulesFile = dir.resolve("approval-rules.properties");
+        write("""
+                zone=Europe/Istanbul
+                default.max-amount=1000
+                rules=burst,night,premium
+                rule.burst.types=WITHDRAW
+                rule.burst.min-recent-count=5
+                rule.burst.max-amount=0
+                rule.night.hours=23:00-06:00
+                rule.night.opposite-party-types=IBAN
+                rule.night.max-amount=250
+                rule.premium.tiers=PREMIUM,BUSINESS
+                rule.premium.currencies=TRY
+                rule.premium.max-amount=20000
+                """);
+        registry = new SimpleMeterRegistry();
+        service = new ApprovalRuleServiceImpl(new FileSystemResource(rulesFile), registry);
+        service.init();
+    }
+
+    @Test
+    void firstMatchingRuleDecides() {
+        assertEquals(TransactionStatus.APPROVED, service.evaluate(context(CustomerTier.PREMIUM, "15000", 0, NOON)));
+        assertEquals(TransactionStatus.PENDING, service.evaluate(context(CustomerTier.STANDARD, "15000", 0, NOON)));
+        assertEquals(TransactionStatus.APPROVED, service.evaluate(context(CustomerTier.STANDARD, "1000", 0, NOON)));
+        // Night window wraps midnight and comes before the premium rule
+        assertEquals(TransactionStatus.PENDING, service.evaluate(context(CustomerTier.PREMIUM, "300", 0, NIGHT)));
+        // Five recent withdrawals hold back any amount
+        assertEquals(TransactionStatus.PENDING, service.evaluate(context(CustomerTier.PREMIUM, "1", 5, NOON)));
+
+        ApprovalRuleSet rules = service.getRuleSet();
+        assertEquals(1, rules.getRules().get(0).getHits().getPending());
+        assertEquals(1, rules.getRules().get(1).getHits().getPending());
+        assertEquals(1, rules.getRules().get(2).getHits().getApproved());
+        assertEquals(1, rules.getDefaultRule().getHits().getApproved());
+        assertEquals(1.0, registry.get("wallet.approval.rules.hits").tag("rule", "default")
+                .tag("outcome", "pending").functionCounter().count());
+    }
+
+    @Test
+    void reloadSwapsChangedRulesAndKeepsHits() throws IOException {
+        service.evaluate(context(CustomerTier.STANDARD, "50", 0, NOON));
+        assertSame(service.getRuleSet(), service.reload());
+
+        write("default.max-amount=10\n");
+        ApprovalRuleSet reloaded = service.reload();
+
+        assertEquals(2, reloaded.getVersion());
+        assertTrue(reloaded.getRules().isEmpty());
+        assertEquals(TransactionStatus.PENDING, service.evaluate(context(CustomerTier.STANDARD, "50", 0, NOON)));
+        assertEquals(1, reloaded.getDefaultRule().getHits().getApproved());
+        assertEquals(1, reloaded.getDefaultRule().getHits().getPending());
+    }
+
+    @Test
+    void invalidRulesKeepPreviousVersion() throws IOException {
+        write("rules=typo\nrule.typo.currency=TRY\nrule.typo.max-amount=5\n");
+
+        ApprovalRuleSet current = service.reload();
+
+        assertEquals(1, current.getVersion());
+        assertEquals(3, current.getRules().size());
+    }
+
+    private ApprovalContext context(CustomerTier tier, String amount, int recentCount, long epochMillis) {
+        return new ApprovalContext(TransactionType.WITHDRAW, Currency.TRY, tier, OppositePartyType.IBAN,
+                new BigDecimal(amount), recentCount, BigDecimal.ZERO, epochMillis);
+    }
+
+    private void write(String content) throws IOException {
+        Files.writeString(rulesFile, content);
+    }
+}
@@ -0,0 +1,87 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.approval.ApprovalJob;
+import com.digitalwallet.walletservice.dto.TransactionApprovalRequest;
+import com.digitalwallet.walletservice.enums.ApprovalJobStatus;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Transaction;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Submits a burst of approvals for one wallet against an embedded database and verifies that they are applied
+ * in one coalesced transaction, with a result per approval.
+ */
+@SpringBootTest
+class AsyncApprovalExecutorTest {
+
+    private static final int APPROVALS = 50;
+
+    @Autowired
+    private AsyncApprovalExecutor executor;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void coalescesApprovalsOfOneWallet() throws Exception {
+        Customer customer = customerRepository.save(new Customer(null, "Ali", "Yilmaz", "secret",
+                String.valueOf(System.nanoTime()).substring(0, 11)));
+        BigDecimal amount = BigDecimal.valueOf(2000);
+        BigDecimal balance = amount.multiply(BigDecimal.valueOf(APPROVALS));
+        Wallet wallet = walletRepository.save(new Wallet(null, "Pending", Currency.TRY, true, true,
+                balance, BigDecimal.ZERO, customer));
+
+        List<TransactionApprovalRequest> requests = new ArrayList<>();
+        for (int i = 0; i < APPROVALS; i++) {
+            Transaction deposit = transactionRepository.save(new Transaction(null, amount, TransactionType.DEPOSIT,
+                    OppositePartyType.IBAN, "TR111", TransactionStatus.PENDING, null, wallet));
+            requests.add(new TransactionApprovalRequest(deposit.getId(), TransactionStatus.APPROVED));
+        }
+        // The same approval twice and an unknown transaction fail without affecting the others
+        requests.add(requests.get(0));
+        requests.add(new TransactionApprovalRequest(Long.MAX_VALUE, TransactionStatus.APPROVED));
+
+        long batchesBefore = executor.getBatches();
+        List<ApprovalJob> jobs = executor.submit(requests);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!jobs.stream().allMatch(ApprovalJob::isDone) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        for (int i = 0; i < APPROVALS; i++) {
+            assertEquals(ApprovalJobStatus.SUCCEEDED, jobs.get(i).getStatus());
+            assertEquals(TransactionStatus.APPROVED, jobs.get(i).getTransaction().getStatus());
+        }
+        assertEquals("Transaction is already processed.", jobs.get(APPROVALS).getError());
+        assertEquals("Transaction not found", jobs.get(APPROVALS + 1).getError());
+        assertSame(jobs.get(0), executor.getJob(jobs.get(0).getId()));
+        assertEquals(1, executor.getBatches() - batchesBefore);
+        assertEquals(0, executor.getQueueDepth());
+
+        Wallet updated = walletRepository.findById(wallet.getId()).orElseThrow();
+        assertEquals(0, balance.compareTo(updated.getUsableBalance()));
+    }
+}
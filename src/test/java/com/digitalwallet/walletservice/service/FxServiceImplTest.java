@@ -0,0 +1,105 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.event.FxRatesUpdatedEvent;
+import com.digitalwallet.walletservice.fx.FxQuote;
+import com.digitalwallet.walletservice.fx.FxRateProvider;
+import com.digitalwallet.walletservice.fx.FxRateSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxServiceImplTest {
+
+    private final Map<Currency, BigDecimal> rates = new EnumMap<>(Currency.class);
+    private final List<Object> events = new ArrayList<>();
+
+    private FxServiceImpl fxService;
+
+    @BeforeEach
+    void setUp() {
+        rates.put(Currency.USD, new BigDecimal("40"));
+        rates.put(Currency.EUR, new BigDecimal("50"));
+        FxRateProvider provider = new FxRateProvider() {
+            @Override
+            public Map<Currency, BigDecimal> loadRates() {
+                return new EnumMap<>(rates);
+            }
+
+            @Override
+            public String getName() {
+                return "test";
+            }
+        };
+        fxService = new FxServiceImpl(provider, Duration.ofSeconds(30), 2, events::add);
+        fxService.init();
+    }
+
+    @Test
+    void testSnapshotCrossRates() {
+        FxRateSnapshot snapshot = fxService.getSnapshot();
+
+        assertEquals(0, new BigDecimal("40").compareTo(snapshot.rate(Currency.USD, Currency.TRY)));
+        assertEquals(0, new BigDecimal("0.8").compareTo(snapshot.rate(Currency.USD, Currency.EUR)));
+        assertEquals(BigDecimal.ONE, snapshot.rate(Currency.EUR, Currency.EUR));
+    }
+
+    @Test
+    void testReloadSwapsSnapshotOnlyWhenRatesChange() {
+        FxRateSnapshot first = fxService.getSnapshot();
+        assertSame(first, fxService.reload());
+
+        rates.put(Currency.USD, new BigDecimal("42"));
+        FxRateSnapshot second = fxService.reload();
+
+        assertEquals(first.getVersion() + 1, second.getVersion());
+        assertEquals(1, events.size());
+        assertSame(second, ((FxRatesUpdatedEvent) events.get(0)).getSnapshot());
+        assertEquals(0, new BigDecimal("42").compareTo(second.rate(Currency.USD, Currency.TRY)));
+    }
+
+    @Test
+    void testReloadFailureKeepsPreviousSnapshot() {
+        FxRateSnapshot first = fxService.getSnapshot();
+        rates.remove(Currency.EUR);
+
+        assertSame(first, fxService.reload());
+    }
+
+    @Test
+    void testQuoteLocksRateAndIsSingleUse() {
+        FxQuote quote = fxService.quote(Currency.USD, Currency.TRY);
+        rates.put(Currency.USD, new BigDecimal("45"));
+        fxService.reload();
+
+        assertEquals(0, new BigDecimal("40").compareTo(fxService.resolveRate(quote.getId(), Currency.USD, Currency.TRY)));
+        assertThrows(IllegalArgumentException.class,
+                () -> fxService.resolveRate(quote.getId(), Currency.USD, Currency.TRY));
+    }
+
+    @Test
+    void testQuoteCacheIsBounded() {
+        FxQuote oldest = fxService.quote(Currency.USD, Currency.TRY);
+        fxService.quote(Currency.EUR, Currency.TRY);
+        fxService.quote(Currency.EUR, Currency.USD);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> fxService.resolveRate(oldest.getId(), Currency.USD, Currency.TRY));
+    }
+
+    @Test
+    void testQuoteMustMatchCurrencies() {
+        FxQuote quote = fxService.quote(Currency.USD, Currency.TRY);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> fxService.resolveRate(quote.getId(), Currency.EUR, Currency.TRY));
+    }
+}
@@ -0,0 +1,207 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.DepositRequest;
+import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Employee;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises {@link GroupCommitExecutor} against an embedded file-backed H2 database. The commit rate with and
+ * without group commit is measured by {@code GroupCommitBenchmark} in the {@code benchmarks} module.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:file:./target/h2/group-commit;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+class GroupCommitExecutorTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 10;
+    private static final AtomicLong TCKNS = new AtomicLong(System.nanoTime() % 10_000_000_000L);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<GroupCommitExecutor> executors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executors.forEach(GroupCommitExecutor::stop);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void failingOperationIsIsolatedFromItsBatch() {
+        Wallet wallet = createWallet(BigDecimal.valueOf(100));
+        GroupCommitExecutor executor = startExecutor(Duration.ofMillis(200), 256);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(submitAsEmployee(pool, () -> executor.submit(() -> transactionService.deposit(
+                    new DepositRequest(wallet.getId(), BigDecimal.TEN, "TR111", OppositePartyType.IBAN)))));
+        }
+        results.add(submitAsEmployee(pool, () -> executor.submit(() -> transactionService.withdraw(
+                new WithDrawRequest(wallet.getId(), BigDecimal.valueOf(500), OppositePartyType.IBAN, "TR222")))));
+        pool.shutdown();
+
+        CompletableFuture.allOf(results.subList(0, 3).toArray(new CompletableFuture[0])).join();
+        CompletableFuture<Object> failed = results.get(3);
+        Exception ex = assertThrows(Exception.class, failed::join);
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+
+        Wallet reloaded = walletRepository.findById(wallet.getId()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(130).compareTo(reloaded.getBalance()));
+        assertEquals(1, executor.getFailedOperations());
+        assertEquals(3, executor.getCommittedOperations());
+    }
+
+    @Test
+    void errorFailsOnlyItsOperationAndKeepsTheFlusherRunning() {
+        GroupCommitExecutor executor = startExecutor(Duration.ofMillis(200), 256);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CompletableFuture<Object> failing = submitAsEmployee(pool, () -> executor.submit(() -> {
+            throw new StackOverflowError();
+        }));
+        CompletableFuture<Object> succeeding = submitAsEmployee(pool, () -> executor.submit(() -> "committed"));
+        pool.shutdown();
+
+        assertEquals("committed", succeeding.join());
+        Exception ex = assertThrows(Exception.class, failing::join);
+        assertInstanceOf(StackOverflowError.class, ex.getCause());
+        assertEquals(1, executor.getFailedOperations());
+        // The flusher survived the error
+        assertEquals("again", executor.submit(() -> "again"));
+        assertEquals(2, executor.getCommittedOperations());
+    }
+
+    @Test
+    void operationStillQueuedAfterTheTimeoutRunsOnTheCaller() throws Exception {
+        GroupCommitExecutor executor = startExecutor(Duration.ZERO, 1, Duration.ofMillis(100));
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CompletableFuture<Object> slow = submitAsEmployee(pool, () -> executor.submit(() -> {
+            blocking.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }));
+        pool.shutdown();
+        assertTrue(blocking.await(10, TimeUnit.SECONDS));
+
+        // The flusher is busy with the slow batch, so this one is still queued when the caller gives up waiting
+        assertSame(Thread.currentThread(), executor.submit(Thread::currentThread));
+        // The slow operation was already running, so its caller cannot run it again and learns that instead
+        Exception ex = assertThrows(Exception.class, slow::join);
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        release.countDown();
+
+        executor.stop();
+        assertSame(Thread.currentThread(), executor.submit(Thread::currentThread));
+    }
+
+    @Test
+    void groupCommitReducesCommitsPerOperation() throws Exception {
+        List<Wallet> wallets = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            wallets.add(createWallet(BigDecimal.ZERO));
+        }
+
+        GroupCommitExecutor executor = startExecutor(Duration.ofMillis(20), 256);
+        runDeposits(wallets, request -> executor.submit(() -> transactionService.deposit(request)));
+
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        assertEquals(operations, executor.getCommittedOperations());
+        assertTrue(executor.getCommittedBatches() < operations);
+        for (Wallet wallet : wallets) {
+            Wallet reloaded = walletRepository.findById(wallet.getId()).orElseThrow();
+            assertEquals(0, BigDecimal.valueOf(OPERATIONS_PER_THREAD).compareTo(reloaded.getBalance()));
+        }
+    }
+
+    private void runDeposits(List<Wallet> wallets, Consumer<DepositRequest> deposit) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        for (Wallet wallet : wallets) {
+            results.add(submitAsEmployee(pool, () -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    deposit.accept(new DepositRequest(wallet.getId(), BigDecimal.ONE, "TR111", OppositePartyType.IBAN));
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get();
+        pool.shutdown();
+    }
+
+    private CompletableFuture<Object> submitAsEmployee(ExecutorService pool, java.util.function.Supplier<Object> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            Employee employee = new Employee(1L, "Kemal", "Yildiz", "secret", "kemal@company.com");
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    employee, null, List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))));
+            try {
+                return task.get();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }, pool);
+    }
+
+    private GroupCommitExecutor startExecutor(Duration window, int maxBatchSize) {
+        return startExecutor(window, maxBatchSize, Duration.ofSeconds(30));
+    }
+
+    private GroupCommitExecutor startExecutor(Duration window, int maxBatchSize, Duration awaitTimeout) {
+        GroupCommitExecutor executor = new GroupCommitExecutor(transactionManager, true, window, maxBatchSize, 4096,
+                awaitTimeout);
+        executor.start();
+        executors.add(executor);
+        return executor;
+    }
+
+    private Wallet createWallet(BigDecimal balance) {
+        // A customer has one wallet per currency, so every wallet gets its own customer
+        Customer customer = customerRepository.save(new Customer(null, "Ali", "Yilmaz", "secret",
+                String.format("%011d", TCKNS.incrementAndGet())));
+        Wallet wallet = new Wallet(null, "Bench Wallet", Currency.TRY, true, true, balance, balance, customer);
+        return walletRepository.save(wallet);
+    }
+}
@@ -0,0 +1,129 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.PortfolioResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.event.FxRatesUpdatedEvent;
+import com.digitalwallet.walletservice.event.WalletBalanceChangedEvent;
+import com.digitalwallet.walletservice.fx.FxRateSnapshot;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PortfolioServiceImplTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private FxService fxService;
+
+    private PortfolioServiceImpl portfolioService;
+
+    private FxRateSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = snapshot(1, "40");
+        when(fxService.getSnapshot()).thenReturn(snapshot);
+        when(walletRepository.sumBalancesByCustomerAndCurrency()).thenReturn(List.of(
+                new Object[]{1L, Currency.TRY, new BigDecimal("100.00"), new BigDecimal("50.00")},
+                new Object[]{1L, Currency.USD, new BigDecimal("10.00"), new BigDecimal("10.00")}));
+
+        portfolioService = new PortfolioServiceImpl(walletRepository, customerRepository, fxService,
+                Duration.ofMinutes(1));
+        portfolioService.init();
+    }
+
+    @Test
+    void testInitLoadsValuedTotals() {
+        PortfolioResponse response = portfolioService.getPortfolio(1L);
+
+        assertEquals(Currency.TRY, response.getBaseCurrency());
+        assertEquals(new BigDecimal("500.00"), response.getTotalValue());
+        assertEquals(new BigDecimal("450.00"), response.getUsableValue());
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testBalanceChangeIsAppliedIncrementally() {
+        portfolioService.onBalanceChanged(new WalletBalanceChangedEvent(7L, 1L, Currency.USD,
+                new BigDecimal("-2.50"), BigDecimal.ZERO));
+
+        PortfolioResponse response = portfolioService.getPortfolio(1L);
+        assertEquals(new BigDecimal("400.00"), response.getTotalValue());
+        assertEquals(new BigDecimal("450.00"), response.getUsableValue());
+        assertEquals(0, new BigDecimal("7.50").compareTo(response.getBalances().get(Currency.USD)));
+    }
+
+    @Test
+    void testRatesUpdateRevaluesPortfolios() {
+        FxRateSnapshot updated = snapshot(2, "42");
+
+        portfolioService.onRatesUpdated(new FxRatesUpdatedEvent(updated));
+
+        PortfolioResponse response = portfolioService.getPortfolio(1L);
+        assertEquals(new BigDecimal("520.00"), response.getTotalValue());
+        assertEquals(2, response.getFxVersion());
+    }
+
+    @Test
+    void testStalePortfolioIsReloaded() {
+        PortfolioServiceImpl reloading = new PortfolioServiceImpl(walletRepository, customerRepository, fxService,
+                Duration.ZERO);
+        reloading.init();
+        // Another instance withdrew the dollars
+        when(walletRepository.sumBalancesByCurrency(1L)).thenReturn(List.<Object[]>of(
+                new Object[]{Currency.TRY, new BigDecimal("100.00"), new BigDecimal("50.00")}));
+
+        PortfolioResponse response = reloading.getPortfolio(1L);
+
+        assertEquals(new BigDecimal("100.00"), response.getTotalValue());
+        assertEquals(new BigDecimal("50.00"), response.getUsableValue());
+    }
+
+    @Test
+    void testReloadOverlappingADeltaIsDropped() {
+        PortfolioServiceImpl reloading = new PortfolioServiceImpl(walletRepository, customerRepository, fxService,
+                Duration.ZERO);
+        reloading.init();
+        when(walletRepository.sumBalancesByCurrency(1L)).thenAnswer(invocation -> {
+            reloading.onBalanceChanged(new WalletBalanceChangedEvent(7L, 1L, Currency.TRY,
+                    new BigDecimal("20.00"), new BigDecimal("20.00")));
+            return List.<Object[]>of(new Object[]{Currency.TRY, new BigDecimal("120.00"), new BigDecimal("70.00")});
+        });
+
+        PortfolioResponse response = reloading.getPortfolio(1L);
+
+        // The delta is counted once, whether or not the query saw it
+        assertEquals(new BigDecimal("520.00"), response.getTotalValue());
+    }
+
+    @Test
+    void testUnknownCustomer() {
+        when(customerRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> portfolioService.getPortfolio(9L));
+    }
+
+    private FxRateSnapshot snapshot(long version, String usdRate) {
+        return new FxRateSnapshot(version, Instant.now(), "test",
+                Map.of(Currency.USD, new BigDecimal(usdRate), Currency.EUR, new BigDecimal("50")));
+    }
+}
@@ -0,0 +1,95 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.BalanceDiscrepancyResponse;
+import com.digitalwallet.walletservice.dto.ReconciliationReportResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.ReconciliationMode;
+import com.digitalwallet.walletservice.enums.ReconciliationStatus;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Transaction;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs full and incremental reconciliation against the embedded database.
+ */
+@SpringBootTest
+class ReconciliationServiceImplTest {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void reportsDriftedWalletsAndRechecksOnlyChangedOnes() {
+        Customer customer = customerRepository.save(new Customer(null, "Can", "Demir", "secret", "48845678901"));
+        // deposits 3000 + 2000 (pending), withdraws 100 + 1500 (pending)
+        Wallet consistent = wallet(customer, Currency.TRY, "4900", "1400");
+        Wallet drifted = wallet(customer, Currency.USD, "4900", "1500");
+        for (Wallet wallet : List.of(consistent, drifted)) {
+            transactionRepository.saveAll(List.of(
+                    transaction(wallet, "3000", TransactionType.DEPOSIT, TransactionStatus.APPROVED),
+                    transaction(wallet, "2000", TransactionType.DEPOSIT, TransactionStatus.PENDING),
+                    transaction(wallet, "100", TransactionType.WITHDRAW, TransactionStatus.APPROVED),
+                    transaction(wallet, "1500", TransactionType.WITHDRAW, TransactionStatus.PENDING)));
+        }
+
+        ReconciliationReportResponse full = reconciliationService.reconcile(ReconciliationMode.FULL);
+
+        assertEquals(ReconciliationStatus.COMPLETED, full.getStatus());
+        assertTrue(full.getWalletsChecked() >= 2);
+        assertTrue(find(full, consistent.getId()).isEmpty());
+        BalanceDiscrepancyResponse discrepancy = find(full, drifted.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("1400").compareTo(discrepancy.getExpectedUsableBalance()));
+        assertEquals(0, new BigDecimal("4900").compareTo(discrepancy.getExpectedBalance()));
+
+        ReconciliationReportResponse unchanged = reconciliationService.reconcile(ReconciliationMode.INCREMENTAL);
+        assertEquals(ReconciliationMode.INCREMENTAL, unchanged.getMode());
+        assertEquals(0, unchanged.getWalletsChecked());
+
+        drifted.setUsableBalance(new BigDecimal("1400"));
+        walletRepository.save(drifted);
+
+        ReconciliationReportResponse fixed = reconciliationService.reconcile(ReconciliationMode.INCREMENTAL);
+        assertEquals(1, fixed.getWalletsChecked());
+        assertTrue(fixed.getDiscrepancies().isEmpty());
+
+        assertEquals(1, reconciliationService.getReport(full.getRunId()).getDiscrepancies().stream()
+                .filter(d -> d.getWalletId().equals(drifted.getId())).count());
+    }
+
+    private Optional<BalanceDiscrepancyResponse> find(ReconciliationReportResponse report, Long walletId) {
+        return report.getDiscrepancies().stream().filter(d -> d.getWalletId().equals(walletId)).findFirst();
+    }
+
+    private Wallet wallet(Customer customer, Currency currency, String balance, String usableBalance) {
+        return walletRepository.save(new Wallet(null, "Reconciled", currency, true, true,
+                new BigDecimal(balance), new BigDecimal(usableBalance), customer));
+    }
+
+    private Transaction transaction(Wallet wallet, String amount, TransactionType type, TransactionStatus status) {
+        return new Transaction(null, new BigDecimal(amount), type, OppositePartyType.IBAN, "TR111", status, null, wallet);
+    }
+}
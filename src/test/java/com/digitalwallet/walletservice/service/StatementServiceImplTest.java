@@ -0,0 +1,90 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.StatementJobResponse;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Transaction;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the statement job against the embedded database and checks the written files and checkpoint.
+ */
+@SpringBootTest
+class StatementServiceImplTest {
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writesStatementsAndResumesFromCheckpoint() throws Exception {
+        Customer customer = customerRepository.save(new Customer(null, "Ayse", "Kaya", "secret", "38845678901"));
+        Wallet wallet = walletRepository.save(new Wallet(null, "Main, TRY", Currency.TRY, true, true,
+                BigDecimal.valueOf(1450), BigDecimal.valueOf(450), customer));
+        transactionRepository.saveAll(List.of(
+                transaction(wallet, "500", TransactionType.DEPOSIT, TransactionStatus.APPROVED),
+                transaction(wallet, "1000", TransactionType.DEPOSIT, TransactionStatus.APPROVED),
+                transaction(wallet, "50", TransactionType.WITHDRAW, TransactionStatus.APPROVED),
+                transaction(wallet, "2000", TransactionType.DEPOSIT, TransactionStatus.PENDING)));
+        YearMonth month = YearMonth.now();
+
+        StatementJobResponse first = statementService.generateStatements(month, true);
+
+        assertEquals(0, first.getFailedPartitions());
+        assertEquals(0, first.getSkippedPartitions());
+        assertTrue(first.getTransactions() >= 4);
+        Path directory = Paths.get(first.getOutputDirectory());
+
+        List<String> csv = Files.readAllLines(directory.resolve("wallet-" + wallet.getId() + ".csv"));
+        assertEquals(5, csv.size());
+        assertTrue(csv.get(1).endsWith(",DEPOSIT,APPROVED,500.00,IBAN,TR111"));
+
+        JsonNode json = objectMapper.readTree(directory.resolve("wallet-" + wallet.getId() + ".json").toFile());
+        assertEquals("Main, TRY", json.get("walletName").asText());
+        assertEquals(4, json.get("transactions").size());
+        assertEquals(0, new BigDecimal("1500").compareTo(json.get("totals").get("approvedDeposits").decimalValue()));
+        assertEquals(0, new BigDecimal("50").compareTo(json.get("totals").get("approvedWithdrawals").decimalValue()));
+        assertEquals(1, json.get("totals").get("pendingTransactions").asInt());
+        assertTrue(Files.exists(directory.resolve("_report.json")));
+
+        StatementJobResponse resumed = statementService.generateStatements(month, false);
+
+        assertEquals(first.getPartitions(), resumed.getSkippedPartitions());
+        assertEquals(0, resumed.getWallets());
+    }
+
+    private Transaction transaction(Wallet wallet, String amount, TransactionType type, TransactionStatus status) {
+        return new Transaction(null, new BigDecimal(amount), type, OppositePartyType.IBAN, "TR111", status, null, wallet);
+    }
+}
@@ -1,24 +1,40 @@
 package com.digitalwallet.walletservice.service;
 
+import com.digitalwallet.walletservice.activity.RecentActivityStore;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import com.digitalwallet.walletservice.approval.ApprovalOutcome;
 import com.digitalwallet.walletservice.dto.DepositRequest;
 import com.digitalwallet.walletservice.dto.TransactionApprovalRequest;
 import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.TransferRequest;
+import com.digitalwallet.walletservice.dto.TransferResponse;
 import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.CustomerTier;
 import com.digitalwallet.walletservice.enums.OppositePartyType;
 import com.digitalwallet.walletservice.enums.TransactionStatus;
 import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.event.WalletBalanceChangedEvent;
 import com.digitalwallet.walletservice.model.Customer;
 import com.digitalwallet.walletservice.model.Transaction;
 import com.digitalwallet.walletservice.model.Wallet;
 import com.digitalwallet.walletservice.repository.TransactionRepository;
 import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.digitalwallet.walletservice.rules.ApprovalContext;
+import com.digitalwallet.walletservice.exception.VelocityLimitExceededException;
+import com.digitalwallet.walletservice.exception.WithdrawalLimitExceededException;
+import com.digitalwallet.walletservice.velocity.VelocityAction;
+import com.digitalwallet.walletservice.velocity.VelocityLimits;
+import com.digitalwallet.walletservice.velocity.VelocityReservation;
+import com.digitalwallet.walletservice.velocity.VelocityTracker;
+import com.digitalwallet.walletservice.velocity.VelocityWindow;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -28,6 +44,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.Collections;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -45,6 +62,27 @@ class TransactionServiceImplTest {
     @Mock
     private WalletRepository walletRepository;
 
+    @Mock
+    private FxService fxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ApprovalRuleService approvalRuleService;
+
+    @Mock
+    private VelocityTracker velocityTracker;
+
+    @Mock
+    private VelocityLimits velocityLimits;
+
+    @Mock
+    private WithdrawalLimitService withdrawalLimitService;
+
+    @Mock
+    private RecentActivityStore recentActivityStore;
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
@@ -81,6 +119,18 @@ class TransactionServiceImplTest {
 
         when(context.getAuthentication()).thenReturn(auth);
         SecurityContextHolder.setContext(context);
+
+        // The default rule: amounts above 1000 need an approval
+        when(velocityTracker.current(any(), any(), anyLong())).thenReturn(VelocityWindow.EMPTY);
+        when(velocityTracker.reserve(any(), any(), any(), anyLong(), any())).thenAnswer(inv -> {
+            VelocityWindow recent = velocityTracker.current(inv.getArgument(0), inv.getArgument(1),
+                    inv.<Long>getArgument(3));
+            return new VelocityReservation(recent,
+                    inv.<Function<VelocityWindow, VelocityAction>>getArgument(4).apply(recent));
+        });
+        when(approvalRuleService.evaluate(any())).thenAnswer(inv ->
+                inv.<ApprovalContext>getArgument(0).getAmount().compareTo(BigDecimal.valueOf(1000)) > 0
+                        ? TransactionStatus.PENDING : TransactionStatus.APPROVED);
     }
 
 
@@ -89,7 +139,7 @@ class TransactionServiceImplTest {
         DepositRequest request = new DepositRequest(100L, BigDecimal.valueOf(500), "TR111",
                 OppositePartyType.IBAN);
 
-        when(walletRepository.findById(100L)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> {
             Transaction t = inv.getArgument(0);
             t.setId(1L);
@@ -101,6 +151,12 @@ class TransactionServiceImplTest {
         assertEquals(BigDecimal.valueOf(2500), wallet.getBalance());
         assertEquals(BigDecimal.valueOf(2000), wallet.getUsableBalance());
         assertEquals(TransactionStatus.APPROVED, response.getStatus());
+
+        ArgumentCaptor<WalletBalanceChangedEvent> event = ArgumentCaptor.forClass(WalletBalanceChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getCustomerId());
+        assertEquals(BigDecimal.valueOf(500), event.getValue().getBalanceDelta());
+        assertEquals(BigDecimal.valueOf(500), event.getValue().getUsableBalanceDelta());
     }
 
     @Test
@@ -108,7 +164,7 @@ class TransactionServiceImplTest {
         DepositRequest request = new DepositRequest(100L, BigDecimal.valueOf(1500),
                 "TR111", OppositePartyType.IBAN);
 
-        when(walletRepository.findById(100L)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> {
             Transaction t = inv.getArgument(0);
             t.setId(2L);
@@ -127,7 +183,7 @@ class TransactionServiceImplTest {
         WithDrawRequest request = new WithDrawRequest(100L, BigDecimal.valueOf(200), OppositePartyType.IBAN,
                 "TR222");
 
-        when(walletRepository.findById(100L)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
 
         TransactionResponse response = transactionService.withdraw(request);
@@ -137,12 +193,104 @@ class TransactionServiceImplTest {
         assertEquals(TransactionStatus.APPROVED, response.getStatus());
     }
 
+    @Test
+    void testWithdraw_RulesSeeTierAndVelocity() {
+        customer.setTier(CustomerTier.PREMIUM);
+        wallet.setCurrency(Currency.USD);
+        WithDrawRequest request = new WithDrawRequest(100L, BigDecimal.valueOf(200), OppositePartyType.IBAN,
+                "TR222");
+
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
+        when(velocityTracker.current(eq(100L), eq(TransactionType.WITHDRAW), anyLong()))
+                .thenReturn(new VelocityWindow(5, BigDecimal.valueOf(900)));
+        doReturn(TransactionStatus.PENDING).when(approvalRuleService).evaluate(any());
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionResponse response = transactionService.withdraw(request);
+
+        assertEquals(TransactionStatus.PENDING, response.getStatus());
+        ArgumentCaptor<ApprovalContext> context = ArgumentCaptor.forClass(ApprovalContext.class);
+        verify(approvalRuleService).evaluate(context.capture());
+        assertEquals(TransactionType.WITHDRAW, context.getValue().getType());
+        assertEquals(Currency.USD, context.getValue().getCurrency());
+        assertEquals(CustomerTier.PREMIUM, context.getValue().getTier());
+        assertEquals(OppositePartyType.IBAN, context.getValue().getOppositePartyType());
+        assertEquals(5, context.getValue().getRecentCount());
+        assertEquals(BigDecimal.valueOf(900), context.getValue().getRecentAmount());
+        verify(velocityTracker).reserve(eq(100L), eq(TransactionType.WITHDRAW), eq(BigDecimal.valueOf(200)),
+                anyLong(), any());
+    }
+
+    @Test
+    void testWithdraw_VelocityFlagLeavesPending() {
+        WithDrawRequest request = new WithDrawRequest(100L, BigDecimal.valueOf(200), OppositePartyType.IBAN,
+                "TR222");
+        VelocityWindow recent = new VelocityWindow(5, BigDecimal.valueOf(1000));
+
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
+        when(velocityTracker.current(eq(100L), eq(TransactionType.WITHDRAW), anyLong())).thenReturn(recent);
+        when(velocityLimits.check(wallet.getCurrency(), recent, BigDecimal.valueOf(200)))
+                .thenReturn(VelocityAction.FLAG);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionResponse response = transactionService.withdraw(request);
+
+        assertEquals(TransactionStatus.PENDING, response.getStatus());
+        assertEquals(BigDecimal.valueOf(2000), wallet.getBalance());
+        assertEquals(BigDecimal.valueOf(1300), wallet.getUsableBalance());
+        verify(approvalRuleService, never()).evaluate(any());
+        verify(velocityTracker).reserve(eq(100L), eq(TransactionType.WITHDRAW), eq(BigDecimal.valueOf(200)),
+                anyLong(), any());
+    }
+
+    @Test
+    void testWithdraw_VelocityBlockRejects() {
+        WithDrawRequest request = new WithDrawRequest(100L, BigDecimal.valueOf(200), OppositePartyType.IBAN,
+                "TR222");
+
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
+        when(velocityLimits.check(any(), any(), any())).thenReturn(VelocityAction.BLOCK);
+
+        assertThrows(VelocityLimitExceededException.class, () -> transactionService.withdraw(request));
+        assertEquals(BigDecimal.valueOf(1500), wallet.getUsableBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void testWithdraw_LimitExceededRejects() {
+        WithDrawRequest request = new WithDrawRequest(100L, BigDecimal.valueOf(200), OppositePartyType.IBAN,
+                "TR222");
+
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
+        doThrow(new WithdrawalLimitExceededException("limit")).when(withdrawalLimitService)
+                .reserve(wallet, BigDecimal.valueOf(200));
+
+        assertThrows(WithdrawalLimitExceededException.class, () -> transactionService.withdraw(request));
+        verify(walletRepository, never()).save(any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void testApproveTransaction_DeniedWithdrawalReleasesLimits() {
+        Transaction transaction = new Transaction(1L, BigDecimal.valueOf(300), TransactionType.WITHDRAW,
+                OppositePartyType.IBAN, "TR222", TransactionStatus.PENDING, null, wallet);
+
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
+        when(transactionRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        transactionService.approveTransaction(new TransactionApprovalRequest(1L, TransactionStatus.DENIED));
+
+        assertEquals(TransactionStatus.DENIED, transaction.getStatus());
+        verify(withdrawalLimitService).release(wallet, BigDecimal.valueOf(300), null);
+    }
+
     @Test
     void testWithdraw_InsufficientBalance() {
         WithDrawRequest request = new WithDrawRequest(100L, BigDecimal.valueOf(5000),
                 OppositePartyType.IBAN, "TR222");
 
-        when(walletRepository.findById(100L)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
 
         assertThrows(IllegalArgumentException.class, () -> transactionService.withdraw(request));
     }
@@ -160,6 +308,7 @@ class TransactionServiceImplTest {
         TransactionApprovalRequest request = new TransactionApprovalRequest(3L, TransactionStatus.APPROVED);
 
         when(transactionRepository.findById(3L)).thenReturn(Optional.of(transaction));
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
         when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
 
@@ -167,6 +316,7 @@ class TransactionServiceImplTest {
 
         assertEquals(TransactionStatus.APPROVED, response.getStatus());
         assertEquals(BigDecimal.valueOf(2500), wallet.getUsableBalance());
+        verify(walletRepository).findByIdForUpdate(100L);
     }
 
     @Test
@@ -182,17 +332,46 @@ class TransactionServiceImplTest {
         assertThrows(IllegalStateException.class, () -> transactionService.approveTransaction(request));
     }
 
+    @Test
+    void testApproveTransactions_CoalescesOneWallet() {
+        Transaction deposit = new Transaction(5L, BigDecimal.valueOf(1200), TransactionType.DEPOSIT,
+                OppositePartyType.IBAN, "TR111", TransactionStatus.PENDING, null, wallet);
+        Transaction withdrawal = new Transaction(6L, BigDecimal.valueOf(1100), TransactionType.WITHDRAW,
+                OppositePartyType.IBAN, "TR222", TransactionStatus.PENDING, null, wallet);
+        Transaction processed = new Transaction(7L, BigDecimal.valueOf(1300), TransactionType.DEPOSIT,
+                OppositePartyType.IBAN, "TR333", TransactionStatus.APPROVED, null, wallet);
+
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
+        when(transactionRepository.findAllById(anyCollection())).thenReturn(List.of(deposit, withdrawal, processed));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<ApprovalOutcome> outcomes = transactionService.approveTransactions(100L, List.of(
+                new TransactionApprovalRequest(5L, TransactionStatus.APPROVED),
+                new TransactionApprovalRequest(6L, TransactionStatus.APPROVED),
+                new TransactionApprovalRequest(7L, TransactionStatus.APPROVED),
+                new TransactionApprovalRequest(8L, TransactionStatus.APPROVED)));
+
+        assertTrue(outcomes.get(0).isSucceeded());
+        assertTrue(outcomes.get(1).isSucceeded());
+        assertEquals("Transaction is already processed.", outcomes.get(2).getError());
+        assertEquals("Transaction not found", outcomes.get(3).getError());
+        assertEquals(BigDecimal.valueOf(900), wallet.getBalance());
+        assertEquals(BigDecimal.valueOf(2700), wallet.getUsableBalance());
+
+        verify(walletRepository, times(1)).save(wallet);
+        ArgumentCaptor<WalletBalanceChangedEvent> event = ArgumentCaptor.forClass(WalletBalanceChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(BigDecimal.valueOf(-1100), event.getValue().getBalanceDelta());
+        assertEquals(BigDecimal.valueOf(1200), event.getValue().getUsableBalanceDelta());
+    }
+
     @Test
     void testGetTransactionsForWallet() {
-        Transaction txn = new Transaction();
-        txn.setId(10L);
-        txn.setWallet(wallet);
-        txn.setAmount(BigDecimal.valueOf(500));
-        txn.setType(TransactionType.DEPOSIT);
-        txn.setStatus(TransactionStatus.APPROVED);
+        TransactionResponse txn = new TransactionResponse(10L, 100L, BigDecimal.valueOf(500), TransactionType.DEPOSIT,
+                null, null, TransactionStatus.APPROVED, null);
 
-        when(walletRepository.findById(100L)).thenReturn(Optional.of(wallet));
-        when(transactionRepository.findByWallet(wallet)).thenReturn(List.of(txn));
+        when(walletRepository.findCustomerIdById(100L)).thenReturn(Optional.of(wallet.getCustomer().getId()));
+        when(transactionRepository.findResponsesByWalletId(100L)).thenReturn(List.of(txn));
 
         List<TransactionResponse> responses = transactionService.getTransactionsForWallet(100L);
 
@@ -204,13 +383,81 @@ class TransactionServiceImplTest {
     void testAuthorizeWalletAccess_Forbidden() {
         Customer anotherCustomer = new Customer();
         anotherCustomer.setId(2L);
-        Wallet otherWallet = new Wallet();
-        otherWallet.setId(200L);
-        otherWallet.setCustomer(anotherCustomer);
-
-        when(walletRepository.findById(200L)).thenReturn(Optional.of(otherWallet));
+        when(walletRepository.findCustomerIdById(200L)).thenReturn(Optional.of(anotherCustomer.getId()));
 
         assertThrows(AccessDeniedException.class,
                 () -> transactionService.getTransactionsForWallet(200L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTransfer_LocksInAscendingOrderAndMovesBalance() {
+        Wallet target = new Wallet();
+        target.setId(50L);
+        target.setCustomer(customer);
+        target.setCurrency(Currency.TRY);
+        wallet.setCurrency(Currency.TRY);
+
+        when(walletRepository.findByIdForUpdate(50L)).thenReturn(Optional.of(target));
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        TransferResponse response = transactionService.transfer(new TransferRequest(100L, 50L, BigDecimal.valueOf(300)));
+
+        InOrder inOrder = inOrder(walletRepository);
+        inOrder.verify(walletRepository).findByIdForUpdate(50L);
+        inOrder.verify(walletRepository).findByIdForUpdate(100L);
+
+        assertEquals(BigDecimal.valueOf(1700), wallet.getBalance());
+        assertEquals(BigDecimal.valueOf(1200), wallet.getUsableBalance());
+        assertEquals(BigDecimal.valueOf(300), target.getBalance());
+        assertEquals(BigDecimal.valueOf(300), target.getUsableBalance());
+        assertEquals(TransactionType.WITHDRAW, response.getWithdrawal().getType());
+        assertEquals(TransactionType.DEPOSIT, response.getDeposit().getType());
+        assertEquals(OppositePartyType.WALLET, response.getDeposit().getOppositePartyType());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> legs = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(legs.capture());
+        assertTrue(legs.getValue().stream().allMatch(Transaction::isTransferLeg));
+        verify(withdrawalLimitService, never()).reserve(any(), any());
+        verify(velocityTracker, never()).reserve(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testTransfer_InsufficientBalance() {
+        Wallet target = new Wallet();
+        target.setId(101L);
+        target.setCustomer(customer);
+        target.setCurrency(Currency.TRY);
+        wallet.setCurrency(Currency.TRY);
+
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(101L)).thenReturn(Optional.of(target));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.transfer(new TransferRequest(100L, 101L, BigDecimal.valueOf(5000))));
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testTransfer_CrossCurrencyUsesQuotedRate() {
+        Wallet target = new Wallet();
+        target.setId(101L);
+        target.setCustomer(customer);
+        target.setCurrency(Currency.TRY);
+        wallet.setCurrency(Currency.USD);
+
+        when(walletRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(101L)).thenReturn(Optional.of(target));
+        when(fxService.resolveRate("q-1", Currency.USD, Currency.TRY)).thenReturn(new BigDecimal("41.25"));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        TransferResponse response = transactionService.transfer(
+                new TransferRequest(100L, 101L, BigDecimal.valueOf(10), "q-1"));
+
+        assertEquals(BigDecimal.valueOf(1490), wallet.getUsableBalance());
+        assertEquals(new BigDecimal("412.50"), target.getBalance());
+        assertEquals(new BigDecimal("412.50"), response.getDeposit().getAmount());
+        assertEquals(BigDecimal.valueOf(10), response.getWithdrawal().getAmount());
+    }
+}
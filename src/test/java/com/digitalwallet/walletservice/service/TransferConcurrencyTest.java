@@ -0,0 +1,163 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.DepositRequest;
+import com.digitalwallet.walletservice.dto.TransactionResponse;
+import com.digitalwallet.walletservice.dto.TransferRequest;
+import com.digitalwallet.walletservice.dto.WithDrawRequest;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs thousands of opposing transfers between the same two wallets against an embedded database
+ * and verifies that none of them deadlock and that no money is created or lost. A customer has one wallet
+ * per currency, so the transfers convert between TRY and USD. Deposits and withdrawals on the same wallets
+ * must not overwrite the transfers' balance changes either.
+ */
+@SpringBootTest
+class TransferConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 250;
+    private static final String IBAN = "TR330006100519786457841326";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void opposingTransfersDoNotDeadlock() throws Exception {
+        Customer customer = customerRepository.save(new Customer(null, "Ali", "Yilmaz", "secret", "29845678901"));
+        BigDecimal initial = BigDecimal.valueOf(10_000);
+        Wallet a = walletRepository.save(new Wallet(null, "A", Currency.TRY, true, true, initial, initial, customer));
+        Wallet b = walletRepository.save(new Wallet(null, "B", Currency.USD, true, true, initial, initial, customer));
+
+        run(customer, t -> {
+            boolean forward = t % 2 == 0;
+            Long from = forward ? a.getId() : b.getId();
+            Long to = forward ? b.getId() : a.getId();
+            transactionService.transfer(new TransferRequest(from, to, BigDecimal.ONE));
+        });
+
+        for (Wallet wallet : List.of(a, b)) {
+            assertEquals(THREADS * TRANSFERS_PER_THREAD,
+                    transactionRepository.findResponsesByWalletId(wallet.getId()).size());
+            assertBalancesMatchHistory(wallet.getId(), initial);
+        }
+    }
+
+    @Test
+    void depositsAndWithdrawalsDoNotOverwriteTransfers() throws Exception {
+        Customer customer = customerRepository.save(new Customer(null, "Ayse", "Kaya", "secret", "29845678902"));
+        BigDecimal initial = BigDecimal.valueOf(10_000);
+        Wallet a = walletRepository.save(new Wallet(null, "A", Currency.TRY, true, true, initial, initial, customer));
+        Wallet b = walletRepository.save(new Wallet(null, "B", Currency.USD, true, true, initial, initial, customer));
+
+        // Threads 0 and 1 transfer in opposite directions, the others deposit into and withdraw from either wallet
+        run(customer, t -> {
+            Long own = t % 2 == 0 ? a.getId() : b.getId();
+            Long other = own.equals(a.getId()) ? b.getId() : a.getId();
+            if (t < 2) {
+                transactionService.transfer(new TransferRequest(own, other, BigDecimal.ONE));
+            } else if (t % 4 < 2) {
+                transactionService.deposit(new DepositRequest(own, BigDecimal.valueOf(3), IBAN,
+                        OppositePartyType.IBAN));
+            } else {
+                transactionService.withdraw(new WithDrawRequest(own, BigDecimal.valueOf(2), OppositePartyType.IBAN,
+                        IBAN));
+            }
+        });
+
+        assertBalancesMatchHistory(a.getId(), initial);
+        assertBalancesMatchHistory(b.getId(), initial);
+    }
+
+    /**
+     * Runs {@code TRANSFERS_PER_THREAD} operations on each of {@code THREADS} threads, authenticated as the
+     * customer, and fails if any of them failed.
+     *
+     * @param customer  the customer the operations run as
+     * @param operation one operation, given the number of its thread
+     */
+    private void run(Customer customer, ThreadOperation operation) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            results.add(pool.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        customer, null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+                try {
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        operation.run(thread);
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+        for (Future<?> result : results) {
+            result.get();
+        }
+    }
+
+    /**
+     * Replays the wallet's history and compares the result with its stored balances: deposits add to the balance
+     * and, once approved, to the usable balance; withdrawals take from the usable balance at once and, once
+     * approved, from the balance.
+     */
+    private void assertBalancesMatchHistory(Long walletId, BigDecimal initial) {
+        BigDecimal balance = initial;
+        BigDecimal usableBalance = initial;
+        for (TransactionResponse transaction : transactionRepository.findResponsesByWalletId(walletId)) {
+            boolean approved = transaction.getStatus() == TransactionStatus.APPROVED;
+            if (transaction.getType() == TransactionType.DEPOSIT) {
+                balance = balance.add(transaction.getAmount());
+                usableBalance = approved ? usableBalance.add(transaction.getAmount()) : usableBalance;
+            } else {
+                balance = approved ? balance.subtract(transaction.getAmount()) : balance;
+                usableBalance = usableBalance.subtract(transaction.getAmount());
+            }
+        }
+        Wallet wallet = walletRepository.findById(walletId).orElseThrow();
+        assertEquals(0, balance.compareTo(wallet.getBalance()), "balance");
+        assertEquals(0, usableBalance.compareTo(wallet.getUsableBalance()), "usable balance");
+    }
+
+    private interface ThreadOperation {
+        void run(int thread);
+    }
+}
@@ -0,0 +1,101 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.dto.BulkCreateWalletRequest;
+import com.digitalwallet.walletservice.dto.BulkCreateWalletResponse;
+import com.digitalwallet.walletservice.dto.CreateWalletRequest;
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.exception.WalletAlreadyExistsException;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Creates wallets concurrently and in bulk against an embedded database and verifies that the unique
+ * {@code (customer_id, currency)} constraint lets exactly one wallet per customer and currency through.
+ */
+@SpringBootTest
+class WalletCreationTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Test
+    void concurrentCreationsOfTheSameWalletLetOneThrough() throws Exception {
+        Customer customer = customer();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(pool.submit((Callable<Object>) () -> {
+                start.await();
+                return walletService.createWallet(new CreateWalletRequest("Main", Currency.TRY, true, true),
+                        customer.getId());
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+
+        int created = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException ex) {
+                assertInstanceOf(WalletAlreadyExistsException.class, ex.getCause());
+            }
+        }
+        assertEquals(1, created);
+        assertEquals(1, walletRepository.findCustomerIdsWithWallet(List.of(customer.getId()), Currency.TRY).size());
+        assertThrows(IllegalArgumentException.class, () -> walletService.createWallet(
+                new CreateWalletRequest("Main", Currency.TRY, true, true), Long.MAX_VALUE));
+    }
+
+    @Test
+    void bulkCreationSkipsExistingAndMissingCustomers() {
+        Customer first = customer();
+        Customer second = customer();
+        walletService.createWallet(new CreateWalletRequest("Main", Currency.USD, true, true), first.getId());
+        BulkCreateWalletRequest request = new BulkCreateWalletRequest(
+                new CreateWalletRequest("Savings", Currency.USD, false, true),
+                List.of(first.getId(), second.getId(), Long.MAX_VALUE));
+
+        BulkCreateWalletResponse response = walletService.createWallets(request);
+
+        assertEquals(List.of(second.getId()), List.copyOf(response.getCreated().keySet()));
+        assertEquals("Savings", response.getCreated().get(second.getId()).getWalletName());
+        assertEquals(List.of(first.getId()), response.getExistingCustomerIds());
+        assertEquals(List.of(Long.MAX_VALUE), response.getMissingCustomerIds());
+
+        // Repeating the request opens nothing new
+        BulkCreateWalletResponse repeated = walletService.createWallets(request);
+        assertTrue(repeated.getCreated().isEmpty());
+        assertEquals(List.of(first.getId(), second.getId()), repeated.getExistingCustomerIds());
+    }
+
+    private Customer customer() {
+        return customerRepository.save(new Customer(null, "Selin", "Ozturk", "secret",
+                String.valueOf(System.nanoTime()).substring(0, 11)));
+    }
+}
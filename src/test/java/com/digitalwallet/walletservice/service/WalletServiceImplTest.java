@@ -1,6 +1,9 @@
 package com.digitalwallet.walletservice.service;
 
+import com.digitalwallet.walletservice.dto.BulkCreateWalletRequest;
+import com.digitalwallet.walletservice.dto.BulkCreateWalletResponse;
 import com.digitalwallet.walletservice.dto.CreateWalletRequest;
+import com.digitalwallet.walletservice.dto.CustomerWalletRow;
 import com.digitalwallet.walletservice.dto.CustomerWithWalletsResponse;
 import com.digitalwallet.walletservice.dto.WalletResponse;
 import com.digitalwallet.walletservice.enums.Currency;
@@ -10,16 +13,20 @@ import com.digitalwallet.walletservice.model.Customer;
 import com.digitalwallet.walletservice.model.Wallet;
 import com.digitalwallet.walletservice.repository.CustomerRepository;
 import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +41,9 @@ class WalletServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private WalletServiceImpl walletService;
 
@@ -53,8 +63,7 @@ class WalletServiceImplTest {
         CreateWalletRequest request = new CreateWalletRequest("My Wallet", Currency.USD,
                 true, true);
 
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
-        when(walletRepository.existsByCustomerIdAndCurrency(1L, Currency.USD)).thenReturn(false);
+        when(customerRepository.getReferenceById(1L)).thenReturn(sampleCustomer);
         when(walletRepository.save(any(Wallet.class))).thenAnswer(invocation -> {
             Wallet wallet = invocation.getArgument(0);
             wallet.setId(100L);
@@ -66,23 +75,47 @@ class WalletServiceImplTest {
         assertEquals("My Wallet", response.getWalletName());
         assertEquals(Currency.USD, response.getCurrency());
         assertEquals(BigDecimal.ZERO, response.getBalance());
+        verify(customerRepository, never()).findById(any());
     }
 
     @Test
     void testCreateWallet_CustomerNotFound() {
-        when(customerRepository.findById(99L)).thenReturn(Optional.empty());
+        when(customerRepository.getReferenceById(99L)).thenReturn(new Customer());
+        when(walletRepository.save(any(Wallet.class)))
+                .thenThrow(violation(ConstraintViolationException.ConstraintKind.OTHER, "23503", 0));
 
         CreateWalletRequest request = new CreateWalletRequest("Wallet", Currency.TRY,
                 true, true);
 
         assertThrows(IllegalArgumentException.class,
                 () -> walletService.createWallet(request, 99L));
+
+        // MySQL reports a missing parent with its error code only
+        reset(walletRepository);
+        when(walletRepository.save(any(Wallet.class)))
+                .thenThrow(violation(ConstraintViolationException.ConstraintKind.OTHER, "23000", 1452));
+        assertThrows(IllegalArgumentException.class,
+                () -> walletService.createWallet(request, 99L));
+    }
+
+    @Test
+    void testCreateWallet_OtherViolationIsRethrown() {
+        when(customerRepository.getReferenceById(1L)).thenReturn(sampleCustomer);
+        when(walletRepository.save(any(Wallet.class)))
+                .thenThrow(violation(ConstraintViolationException.ConstraintKind.OTHER, "23502", 0));
+
+        CreateWalletRequest request = new CreateWalletRequest("Wallet", null, true, true);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> walletService.createWallet(request, 1L));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
     void testCreateWallet_AlreadyExists() {
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
-        when(walletRepository.existsByCustomerIdAndCurrency(1L, Currency.EUR)).thenReturn(true);
+        when(customerRepository.getReferenceById(1L)).thenReturn(sampleCustomer);
+        when(walletRepository.save(any(Wallet.class)))
+                .thenThrow(violation(ConstraintViolationException.ConstraintKind.UNIQUE, "23505", 0));
 
         CreateWalletRequest request = new CreateWalletRequest("Existing", Currency.EUR,
                 true, false);
@@ -91,18 +124,44 @@ class WalletServiceImplTest {
                 () -> walletService.createWallet(request, 1L));
     }
 
+    @Test
+    void testCreateWallets_SkipsExistingAndMissingCustomers() {
+        List<Long> customerIds = List.of(1L, 2L, 3L);
+
+        when(walletRepository.findCustomerIdsWithWallet(new LinkedHashSet<>(customerIds), Currency.EUR))
+                .thenReturn(List.of(1L));
+        when(walletRepository.insertMissingWallets(eq(new LinkedHashSet<>(customerIds)), eq("Savings"), eq("EUR"),
+                eq(true), eq(false), any())).thenReturn(1);
+        when(walletRepository.findRowsByCustomerIdInAndCurrency(new LinkedHashSet<>(customerIds), Currency.EUR))
+                .thenReturn(List.of(
+                        new CustomerWalletRow(1L, 100L, "Old", Currency.EUR, true, true, BigDecimal.ONE, BigDecimal.ONE),
+                        new CustomerWalletRow(2L, 200L, "Savings", Currency.EUR, true, false, BigDecimal.ZERO,
+                                BigDecimal.ZERO)));
+
+        BulkCreateWalletResponse response = walletService.createWallets(new BulkCreateWalletRequest(
+                new CreateWalletRequest("Savings", Currency.EUR, true, false), customerIds));
+
+        assertEquals(Set.of(2L), response.getCreated().keySet());
+        assertEquals(200L, response.getCreated().get(2L).getId());
+        assertEquals(List.of(1L), response.getExistingCustomerIds());
+        assertEquals(List.of(3L), response.getMissingCustomerIds());
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    private static DataIntegrityViolationException violation(ConstraintViolationException.ConstraintKind kind,
+                                                              String sqlState, int errorCode) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("violation", sqlState, errorCode), "insert", kind, "constraint"));
+    }
+
     @Test
     void testListWalletsCustomer_Success() {
-        Wallet wallet = new Wallet();
-        wallet.setId(1L);
-        wallet.setWalletName("Test");
-        wallet.setCurrency(Currency.USD);
-        wallet.setBalance(BigDecimal.TEN);
-        wallet.setUsableBalance(BigDecimal.TEN);
-        wallet.setCustomer(sampleCustomer);
+        WalletResponse wallet = new WalletResponse(1L, "Test", Currency.USD, false, false, BigDecimal.TEN,
+                BigDecimal.TEN);
 
         when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
-        when(walletRepository.findByCustomer(sampleCustomer)).thenReturn(List.of(wallet));
+        when(walletRepository.findResponsesByCustomerId(1L)).thenReturn(List.of(wallet));
 
         List<WalletResponse> result = walletService.listWalletsCustomer(1L);
 
@@ -113,7 +172,7 @@ class WalletServiceImplTest {
     @Test
     void testListWalletsCustomer_NoWallets() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
-        when(walletRepository.findByCustomer(sampleCustomer)).thenReturn(Collections.emptyList());
+        when(walletRepository.findResponsesByCustomerId(1L)).thenReturn(Collections.emptyList());
 
         assertThrows(WalletNotFoundException.class,
                 () -> walletService.listWalletsCustomer(1L));
@@ -121,12 +180,8 @@ class WalletServiceImplTest {
 
     @Test
     void testListWalletsCustomerByToken() {
-        Wallet wallet = new Wallet();
-        wallet.setId(2L);
-        wallet.setWalletName("Ali Wallet");
-        wallet.setCurrency(Currency.TRY);
-        wallet.setBalance(BigDecimal.ONE);
-        wallet.setCustomer(sampleCustomer);
+        WalletResponse wallet = new WalletResponse(2L, "Ali Wallet", Currency.TRY, false, false, BigDecimal.ONE,
+                null);
 
         SecurityContext context = mock(SecurityContext.class);
         Authentication auth = mock(Authentication.class);
@@ -134,7 +189,7 @@ class WalletServiceImplTest {
         when(auth.getPrincipal()).thenReturn(sampleCustomer);
         SecurityContextHolder.setContext(context);
 
-        when(walletRepository.findByCustomer(sampleCustomer)).thenReturn(List.of(wallet));
+        when(walletRepository.findResponsesByCustomerId(sampleCustomer.getId())).thenReturn(List.of(wallet));
 
         List<WalletResponse> result = walletService.listWalletsCustomerByToken();
 
@@ -144,20 +199,20 @@ class WalletServiceImplTest {
 
     @Test
     void testListAllWalletsGroupedByCustomer() {
-        Wallet wallet = new Wallet();
-        wallet.setId(3L);
-        wallet.setWalletName("Group Wallet");
-        wallet.setCurrency(Currency.EUR);
-        wallet.setBalance(BigDecimal.ZERO);
-        wallet.setCustomer(sampleCustomer);
-
-        when(customerRepository.findAll()).thenReturn(List.of(sampleCustomer));
-        when(walletRepository.findByCustomer(sampleCustomer)).thenReturn(List.of(wallet));
+        when(customerRepository.findAllListings()).thenReturn(List.of(
+                new CustomerWithWalletsResponse(1L, "Ali", "Yilmaz", "12345678901"),
+                new CustomerWithWalletsResponse(2L, "Ayse", "Demir", "10987654321")));
+        when(walletRepository.findAllRows()).thenReturn(List.of(
+                new CustomerWalletRow(1L, 3L, "Group Wallet", Currency.EUR, true, true, BigDecimal.ZERO,
+                        BigDecimal.ZERO),
+                new CustomerWalletRow(1L, 4L, "Second Wallet", Currency.USD, true, true, BigDecimal.ZERO,
+                        BigDecimal.ZERO)));
 
         List<CustomerWithWalletsResponse> result = walletService.listAllWalletsGroupedByCustomer();
 
-        assertEquals(1, result.size());
+        assertEquals(2, result.size());
         assertEquals("Ali", result.get(0).getName());
-        assertEquals(1, result.get(0).getWallets().size());
+        assertEquals(2, result.get(0).getWallets().size());
+        assertTrue(result.get(1).getWallets().isEmpty());
     }
 }
\ No newline at end of file
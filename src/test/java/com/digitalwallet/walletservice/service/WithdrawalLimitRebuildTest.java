@@ -0,0 +1,82 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.LimitPeriod;
+import com.digitalwallet.walletservice.enums.LimitScope;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Transaction;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import com.digitalwallet.walletservice.repository.WithdrawalUsageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rebuilds the withdrawal limit counters from transactions in the embedded database.
+ */
+@SpringBootTest
+class WithdrawalLimitRebuildTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private WithdrawalUsageRepository usageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void countsClientWalletWithdrawalsButNotTransferLegs() {
+        Customer customer = customerRepository.save(new Customer(null, "Ayse", "Demir", "secret",
+                String.valueOf(System.nanoTime()).substring(0, 11)));
+        Wallet wallet = walletRepository.save(new Wallet(null, "Limits", Currency.TRY, true, true,
+                BigDecimal.valueOf(5000), BigDecimal.valueOf(5000), customer));
+        Transaction transferLeg = withdrawal(wallet, "400", OppositePartyType.WALLET, TransactionStatus.APPROVED);
+        transferLeg.setTransferLeg(true);
+        transactionRepository.saveAll(List.of(
+                withdrawal(wallet, "100", OppositePartyType.IBAN, TransactionStatus.APPROVED),
+                // A client may name a wallet as the opposite party of a plain withdrawal
+                withdrawal(wallet, "200", OppositePartyType.WALLET, TransactionStatus.PENDING),
+                withdrawal(wallet, "800", OppositePartyType.IBAN, TransactionStatus.DENIED),
+                transferLeg));
+
+        WithdrawalLimitServiceImpl service = new WithdrawalLimitServiceImpl(new MockEnvironment()
+                .withProperty("wallet.limits.withdraw.wallet.daily.TRY", "1000")
+                .withProperty("wallet.limits.withdraw.wallet.monthly.TRY", "5000"),
+                usageRepository, transactionRepository, transactionManager, new SimpleMeterRegistry());
+        service.rebuild(LocalDate.now());
+
+        assertEquals(new BigDecimal("700.00"),
+                service.getRemaining(LimitScope.WALLET, wallet.getId(), Currency.TRY, LimitPeriod.DAILY));
+        assertEquals(new BigDecimal("4700.00"),
+                service.getRemaining(LimitScope.WALLET, wallet.getId(), Currency.TRY, LimitPeriod.MONTHLY));
+    }
+
+    private static Transaction withdrawal(Wallet wallet, String amount, OppositePartyType oppositePartyType,
+                                          TransactionStatus status) {
+        return new Transaction(null, new BigDecimal(amount), TransactionType.WITHDRAW, oppositePartyType, "TR42",
+                status, null, wallet);
+    }
+}
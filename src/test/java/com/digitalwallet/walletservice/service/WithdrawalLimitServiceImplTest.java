@@ -0,0 +1,108 @@
+package com.digitalwallet.walletservice.service;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.LimitPeriod;
+import com.digitalwallet.walletservice.enums.LimitScope;
+import com.digitalwallet.walletservice.exception.WithdrawalLimitExceededException;
+import com.digitalwallet.walletservice.limits.WithdrawalTotal;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.model.WithdrawalUsage;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WithdrawalUsageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WithdrawalLimitServiceImplTest {
+
+    private final WithdrawalUsageRepository usageRepository = mock(WithdrawalUsageRepository.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final Customer customer = new Customer(3L, "Ali", "Yilmaz", "secret", "12345678901");
+    private final Wallet wallet = new Wallet(7L, "Main", Currency.TRY, true, true, BigDecimal.ZERO, BigDecimal.ZERO,
+            customer);
+
+    private WithdrawalLimitServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("wallet.limits.withdraw.wallet.daily.TRY", "1000")
+                .withProperty("wallet.limits.withdraw.wallet.monthly.TRY", "5000")
+                .withProperty("wallet.limits.withdraw.customer.daily.TRY", "1500");
+        service = new WithdrawalLimitServiceImpl(environment, usageRepository, transactionRepository,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void rejectsWithdrawalsBeyondTheLimitWithoutKeepingPartialReservations() {
+        service.reserve(wallet, new BigDecimal("600"));
+
+        assertThrows(WithdrawalLimitExceededException.class, () -> service.reserve(wallet, new BigDecimal("400.01")));
+        assertEquals(new BigDecimal("400.00"),
+                service.getRemaining(LimitScope.WALLET, 7L, Currency.TRY, LimitPeriod.DAILY));
+        assertEquals(new BigDecimal("900.00"),
+                service.getRemaining(LimitScope.CUSTOMER, 3L, Currency.TRY, LimitPeriod.DAILY));
+        assertEquals(new BigDecimal("4400.00"),
+                service.getRemaining(LimitScope.WALLET, 7L, Currency.TRY, LimitPeriod.MONTHLY));
+        assertNull(service.getRemaining(LimitScope.CUSTOMER, 3L, Currency.TRY, LimitPeriod.MONTHLY));
+
+        // A denied withdrawal frees its allowance again
+        service.release(wallet, new BigDecimal("600"), LocalDateTime.now());
+        service.reserve(wallet, new BigDecimal("1000"));
+        assertEquals(new BigDecimal("0.00"),
+                service.getRemaining(LimitScope.WALLET, 7L, Currency.TRY, LimitPeriod.DAILY));
+    }
+
+    @Test
+    void flushesOnlyChangedCounters() {
+        service.reserve(wallet, new BigDecimal("100"));
+
+        assertEquals(3, service.flush());
+        verify(usageRepository).upsert(eq("WALLET"), eq(7L), eq("TRY"), eq("MONTHLY"),
+                eq(LocalDate.now().withDayOfMonth(1)), eq(new BigDecimal("100.00")), any());
+        assertEquals(0, service.flush());
+
+        service.release(wallet, new BigDecimal("100"), LocalDateTime.now());
+        assertEquals(3, service.flush());
+    }
+
+    @Test
+    void rebuildsTheMonthFromItsWithdrawalsRatherThanFromFlushedUsage() {
+        LocalDate today = LocalDate.now();
+        LocalDate monthStart = today.withDayOfMonth(1);
+        assumeTrue(today.isAfter(monthStart), "needs a day of the month before today");
+        // The last flush happened yesterday, before the last 500 of yesterday's withdrawals
+        when(usageRepository.findByPeriodAndPeriodStart(LimitPeriod.MONTHLY, monthStart)).thenReturn(List.of(
+                new WithdrawalUsage(LimitScope.WALLET, 7L, Currency.TRY, LimitPeriod.MONTHLY, monthStart,
+                        new BigDecimal("2700"))));
+        when(transactionRepository.sumWithdrawalsSince(today.atStartOfDay())).thenReturn(List.of(
+                new WithdrawalTotal(7L, 3L, Currency.TRY, new BigDecimal("700"))));
+        when(transactionRepository.sumWithdrawalsSince(monthStart.atStartOfDay())).thenReturn(List.of(
+                new WithdrawalTotal(7L, 3L, Currency.TRY, new BigDecimal("3900"))));
+
+        service.rebuild(today);
+
+        assertEquals(new BigDecimal("300.00"),
+                service.getRemaining(LimitScope.WALLET, 7L, Currency.TRY, LimitPeriod.DAILY));
+        assertEquals(new BigDecimal("800.00"),
+                service.getRemaining(LimitScope.CUSTOMER, 3L, Currency.TRY, LimitPeriod.DAILY));
+        assertEquals(new BigDecimal("1100.00"),
+                service.getRemaining(LimitScope.WALLET, 7L, Currency.TRY, LimitPeriod.MONTHLY));
+        // The daily counters and the changed monthly one are written back
+        assertEquals(3, service.flush());
+    }
+}
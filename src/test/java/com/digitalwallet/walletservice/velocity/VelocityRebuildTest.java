@@ -0,0 +1,69 @@
+package com.digitalwallet.walletservice.velocity;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.enums.OppositePartyType;
+import com.digitalwallet.walletservice.enums.TransactionStatus;
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Transaction;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rebuilds the velocity counters from transactions in the embedded database.
+ */
+@SpringBootTest
+class VelocityRebuildTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void countsClientWalletWithdrawalsButNotTransferLegs() {
+        Customer customer = customerRepository.save(new Customer(null, "Mert", "Celik", "secret",
+                String.valueOf(System.nanoTime()).substring(0, 11)));
+        Wallet wallet = walletRepository.save(new Wallet(null, "Velocity", Currency.TRY, true, true,
+                BigDecimal.valueOf(5000), BigDecimal.valueOf(5000), customer));
+        Transaction transferLeg = withdrawal(wallet, "400", OppositePartyType.WALLET);
+        transferLeg.setTransferLeg(true);
+        transactionRepository.saveAll(List.of(
+                withdrawal(wallet, "100", OppositePartyType.IBAN),
+                // A client may name a wallet as the opposite party of a plain withdrawal
+                withdrawal(wallet, "200", OppositePartyType.WALLET),
+                transferLeg));
+
+        VelocityTracker rebuilt = new VelocityTracker(Duration.ofMinutes(10), Duration.ofSeconds(30), 100_000, true,
+                transactionRepository, transactionManager);
+        rebuilt.run(null);
+
+        VelocityWindow recent = rebuilt.current(wallet.getId(), TransactionType.WITHDRAW, System.currentTimeMillis());
+        assertEquals(2, recent.getCount());
+        assertEquals(new BigDecimal("300.00"), recent.getAmount());
+    }
+
+    private static Transaction withdrawal(Wallet wallet, String amount, OppositePartyType oppositePartyType) {
+        return new Transaction(null, new BigDecimal(amount), TransactionType.WITHDRAW, oppositePartyType, "TR42",
+                TransactionStatus.APPROVED, null, wallet);
+    }
+}
@@ -0,0 +1,129 @@
+package com.digitalwallet.walletservice.velocity;
+
+import com.digitalwallet.walletservice.enums.TransactionType;
+import com.digitalwallet.walletservice.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VelocityTrackerTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private final VelocityTracker tracker = new VelocityTracker(Duration.ofMinutes(10), Duration.ofMinutes(1), 2,
+            false, null, null);
+
+    @Test
+    void windowSlidesBucketByBucket() {
+        long start = 1_000 * MINUTE;
+        tracker.record(1L, TransactionType.WITHDRAW, new BigDecimal("100.50"), start);
+        tracker.record(1L, TransactionType.WITHDRAW, new BigDecimal("200"), start + 5 * MINUTE);
+        tracker.record(1L, TransactionType.DEPOSIT, new BigDecimal("999"), start + 5 * MINUTE);
+
+        VelocityWindow recent = tracker.current(1L, TransactionType.WITHDRAW, start + 9 * MINUTE);
+        assertEquals(2, recent.getCount());
+        assertEquals(new BigDecimal("300.50"), recent.getAmount());
+        assertEquals(1, tracker.current(1L, TransactionType.DEPOSIT, start + 9 * MINUTE).getCount());
+
+        // The first bucket falls out of the window, and its slot is reused without mixing old counts in
+        recent = tracker.current(1L, TransactionType.WITHDRAW, start + 10 * MINUTE);
+        assertEquals(1, recent.getCount());
+        tracker.record(1L, TransactionType.WITHDRAW, new BigDecimal("1"), start + 10 * MINUTE);
+        assertEquals(new BigDecimal("201.00"), tracker.current(1L, TransactionType.WITHDRAW, start + 10 * MINUTE)
+                .getAmount());
+
+        assertSame(VelocityWindow.EMPTY, tracker.current(1L, TransactionType.WITHDRAW, start + 30 * MINUTE));
+        assertSame(VelocityWindow.EMPTY, tracker.current(2L, TransactionType.WITHDRAW, start));
+    }
+
+    @Test
+    void staysWithinMaxWalletsByEvictingIdleAndOldestWallets() {
+        long now = System.currentTimeMillis();
+        tracker.record(1L, TransactionType.WITHDRAW, BigDecimal.TEN, now - 60 * MINUTE);
+        tracker.record(2L, TransactionType.WITHDRAW, BigDecimal.TEN, now - 2 * MINUTE);
+
+        tracker.record(3L, TransactionType.WITHDRAW, BigDecimal.TEN, now);
+        assertEquals(2, tracker.getTrackedWallets());
+        assertEquals(1, tracker.getEvictions());
+
+        tracker.record(4L, TransactionType.WITHDRAW, BigDecimal.TEN, now);
+        assertEquals(2, tracker.getTrackedWallets());
+        assertEquals(2, tracker.getEvictions());
+        assertSame(VelocityWindow.EMPTY, tracker.current(2L, TransactionType.WITHDRAW, now));
+        assertEquals(1, tracker.current(3L, TransactionType.WITHDRAW, now).getCount());
+    }
+
+    @Test
+    void reservesWithdrawalsSoConcurrentOnesSeeEachOther() throws Exception {
+        VelocityTracker limited = new VelocityTracker(Duration.ofMinutes(10), Duration.ofMinutes(1), 100, false,
+                null, null);
+        long now = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<VelocityReservation>> reservations = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                reservations.add(pool.submit(() -> limited.reserve(1L, TransactionType.WITHDRAW, BigDecimal.TEN, now,
+                        recent -> recent.getCount() + 1 > 5 ? VelocityAction.BLOCK : null)));
+            }
+            int passed = 0;
+            for (Future<VelocityReservation> reservation : reservations) {
+                passed += reservation.get().getAction() == null ? 1 : 0;
+            }
+            assertEquals(5, passed);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(5, limited.current(1L, TransactionType.WITHDRAW, now).getCount());
+    }
+
+    @Test
+    void takesBackReservationsOfRolledBackTransactions() {
+        long now = System.currentTimeMillis();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            VelocityReservation reservation = tracker.reserve(1L, TransactionType.WITHDRAW, new BigDecimal("250"),
+                    now, recent -> VelocityAction.FLAG);
+            assertSame(VelocityWindow.EMPTY, reservation.getRecent());
+            assertEquals(1, tracker.current(1L, TransactionType.WITHDRAW, now).getCount());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertSame(VelocityWindow.EMPTY, tracker.current(1L, TransactionType.WITHDRAW, now));
+    }
+
+    @Test
+    void rebuildsFromRecentTransactionsOnStartup() {
+        TransactionRepository repository = mock(TransactionRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.streamVelocityEntries(any())).thenReturn(Stream.of(
+                new VelocityEntry(7L, TransactionType.WITHDRAW, new BigDecimal("4000"), now.minusMinutes(3)),
+                new VelocityEntry(7L, TransactionType.WITHDRAW, new BigDecimal("6000"), now.minusMinutes(1))));
+        VelocityTracker rebuilt = new VelocityTracker(Duration.ofMinutes(10), Duration.ofSeconds(30), 100, true,
+                repository, mock(PlatformTransactionManager.class));
+
+        rebuilt.run(null);
+
+        VelocityWindow recent = rebuilt.current(7L, TransactionType.WITHDRAW, System.currentTimeMillis());
+        assertEquals(2, recent.getCount());
+        assertEquals(new BigDecimal("10000.00"), recent.getAmount());
+    }
+}
@@ -0,0 +1,77 @@
+package com.digitalwallet.walletservice.warmup;
+
+import com.digitalwallet.walletservice.enums.Currency;
+import com.digitalwallet.walletservice.model.Customer;
+import com.digitalwallet.walletservice.model.Wallet;
+import com.digitalwallet.walletservice.repository.CustomerRepository;
+import com.digitalwallet.walletservice.repository.WalletRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the warm-up against the embedded server and checks what it preloaded.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "wallet.warmup.rounds=300",
+        "wallet.warmup.http-requests=20"
+})
+class ApplicationWarmupTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationWarmup warmup;
+
+    @Autowired
+    private WarmupHealthIndicator healthIndicator;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Test
+    void warmsUpHotWalletsPrincipalsAndHttpPath() {
+        Customer customer = customerRepository.save(new Customer(null, "Ali", "Yilmaz", "secret",
+                String.valueOf(System.nanoTime()).substring(0, 11)));
+        Wallet wallet = walletRepository.save(new Wallet(null, "Hot Wallet", Currency.TRY, true, true,
+                BigDecimal.TEN, BigDecimal.TEN, customer));
+
+        WarmupReport report = warmup.warmUp();
+
+        assertEquals(10, report.getConnections());
+        assertTrue(report.getHotWallets() >= 1);
+        assertTrue(report.getPrincipals() >= 1);
+        assertEquals(300, report.getRounds());
+        assertEquals(20, report.getHttpRequests());
+        assertEquals(0, report.getHttpFailures());
+
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+        assertEquals(300, healthIndicator.health().getDetails().get("rounds"));
+        assertTrue(walletRepository.findById(wallet.getId()).isPresent());
+    }
+
+    @Test
+    void readinessGroupIncludesWarmup() throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"UP\""));
+        assertTrue(warmup.isComplete());
+    }
+}